@@ -1,3 +1,4 @@
 from .routes_summarize import router as summarize_router
 from .routes_keywords import router as keywords_router
-from .routes_entities import router as entities_router
\ No newline at end of file
+from .routes_entities import router as entities_router
+from .routes_embed import router as embed_router
\ No newline at end of file
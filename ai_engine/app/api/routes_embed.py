@@ -0,0 +1,36 @@
+import logging
+from fastapi import APIRouter, HTTPException
+from app.models.schemas import TextRequest, EmbeddingResponse, BatchTextRequest, BatchEmbeddingResponse
+from app.services.embedder import embed_texts, DIMENSIONS
+
+# Initialize logger
+logger = logging.getLogger(__name__)
+
+# Add prefix so the endpoint becomes /embed
+router = APIRouter(prefix="/embed")
+
+@router.post("/", response_model=EmbeddingResponse)
+def embed(request: TextRequest):
+    logger.info("Received embedding request.")
+    logger.debug(f"Input text length: {len(request.text)} characters")
+
+    try:
+        embedding = embed_texts([request.text])[0]
+        return EmbeddingResponse(embedding=embedding, dimensions=DIMENSIONS)
+
+    except Exception as e:
+        logger.exception("Error occurred during embedding.")
+        raise HTTPException(status_code=500, detail=str(e))
+
+
+@router.post("/batch", response_model=BatchEmbeddingResponse)
+def embed_batch(request: BatchTextRequest):
+    logger.info(f"Received batched embedding request with {len(request.texts)} texts.")
+
+    try:
+        embeddings = embed_texts(request.texts) if request.texts else []
+        return BatchEmbeddingResponse(embeddings=embeddings, dimensions=DIMENSIONS)
+
+    except Exception as e:
+        logger.exception("Error occurred during batched embedding.")
+        raise HTTPException(status_code=500, detail=str(e))
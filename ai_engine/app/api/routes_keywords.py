@@ -4,6 +4,7 @@ import csv
 import nltk
 from fastapi import APIRouter, HTTPException, Request
 from pydantic import BaseModel
+from typing import List
 from sklearn.feature_extraction.text import TfidfVectorizer
 from nltk.corpus import stopwords
 from fastapi.responses import StreamingResponse
@@ -20,21 +21,50 @@ class KeywordRequest(BaseModel):
     text: str
     top_k: int = 10  # Number of keywords to return
 
+class BatchKeywordRequest(BaseModel):
+    items: List[KeywordRequest]
+
+def top_keywords_for(text: str, top_k: int):
+    vectorizer = TfidfVectorizer(stop_words="english")
+    X = vectorizer.fit_transform([text])
+    scores = X.toarray()[0]
+
+    feature_names = vectorizer.get_feature_names_out()
+    scored_keywords = list(zip(feature_names, scores))
+    sorted_keywords = sorted(scored_keywords, key=lambda x: x[1], reverse=True)
+    return sorted_keywords[:top_k]
+
+def top_keywords_batch(texts: List[str], top_ks: List[int]):
+    """Keywords for several texts from one vectorizer pass.
+
+    A single document's IDF is 1 for every term, so plain L2-normalized term
+    frequencies over the shared vocabulary score each text exactly as
+    top_keywords_for does on its own.
+    """
+    vectorizer = TfidfVectorizer(stop_words="english", use_idf=False)
+    try:
+        X = vectorizer.fit_transform(texts).tocsr()
+    except ValueError:
+        # No text has a single non-stopword term
+        return [[] for _ in texts]
+
+    feature_names = vectorizer.get_feature_names_out()
+    results = []
+    for row, top_k in enumerate(top_ks):
+        start, end = X.indptr[row], X.indptr[row + 1]
+        scored_keywords = [(feature_names[j], score) for j, score in zip(X.indices[start:end], X.data[start:end])]
+        # Ties in vocabulary order, as the per-text sort leaves them
+        scored_keywords.sort(key=lambda x: (-x[1], x[0]))
+        results.append(scored_keywords[:top_k])
+    return results
+
 @router.post("/")
 def extract_keywords(req: KeywordRequest, request: Request):
     logger.info("Received keyword extraction request.")
     logger.debug(f"Input text length: {len(req.text)} | Top K: {req.top_k}")
 
     try:
-        stop_words = "english"
-        vectorizer = TfidfVectorizer(stop_words=stop_words)
-        X = vectorizer.fit_transform([req.text])
-        scores = X.toarray()[0]
-
-        feature_names = vectorizer.get_feature_names_out()
-        scored_keywords = list(zip(feature_names, scores))
-        sorted_keywords = sorted(scored_keywords, key=lambda x: x[1], reverse=True)
-        top_keywords = sorted_keywords[:req.top_k]
+        top_keywords = top_keywords_for(req.text, req.top_k)
 
         export_format = request.query_params.get("export")
         logger.info(f"Export format: {export_format or 'json'}")
@@ -57,3 +87,19 @@ def extract_keywords(req: KeywordRequest, request: Request):
     except Exception as e:
         logger.exception("Error occurred during keyword extraction.")
         raise HTTPException(status_code=500, detail=str(e))
+
+
+@router.post("/batch")
+def extract_keywords_batch(req: BatchKeywordRequest):
+    logger.info(f"Received batched keyword extraction request with {len(req.items)} items.")
+
+    try:
+        return {"results": [
+            {"keywords": [{"keyword": word, "score": float(score)} for word, score in top_keywords]}
+            for top_keywords in top_keywords_batch([item.text for item in req.items],
+                                                   [item.top_k for item in req.items])
+        ]}
+
+    except Exception as e:
+        logger.exception("Error occurred during batched keyword extraction.")
+        raise HTTPException(status_code=500, detail=str(e))
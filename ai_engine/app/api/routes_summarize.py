@@ -2,8 +2,8 @@ import logging
 from fastapi import APIRouter, HTTPException, Query
 from fastapi.responses import PlainTextResponse, StreamingResponse
 from pydantic import BaseModel
-from app.models.schemas import TextRequest, SummaryResponse
-from app.services.summarizer import generate_summary
+from app.models.schemas import TextRequest, SummaryResponse, BatchTextRequest, BatchSummaryResponse
+from app.services.summarizer import generate_summary, generate_summaries
 import csv
 import io
 
@@ -46,3 +46,17 @@ def summarize(
     except Exception as e:
         logger.exception("Error occurred during summarization.")
         raise HTTPException(status_code=500, detail=str(e))
+
+
+@router.post("/batch", response_model=BatchSummaryResponse)
+def summarize_batch(request: BatchTextRequest):
+    logger.info(f"Received batched summarization request with {len(request.texts)} texts.")
+
+    try:
+        summaries = generate_summaries(request.texts)
+        logger.info("Batched summaries generated successfully.")
+        return BatchSummaryResponse(summaries=summaries)
+
+    except Exception as e:
+        logger.exception("Error occurred during batched summarization.")
+        raise HTTPException(status_code=500, detail=str(e))
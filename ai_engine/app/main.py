@@ -1,7 +1,7 @@
 import logging
 from fastapi import FastAPI
 from fastapi.middleware.cors import CORSMiddleware
-from app.api import routes_summarize, routes_keywords, routes_entities
+from app.api import routes_summarize, routes_keywords, routes_entities, routes_embed
 
 # ✅ Configure logging
 logging.basicConfig(
@@ -39,3 +39,4 @@ async def shutdown_event():
 app.include_router(routes_summarize.router)
 app.include_router(routes_keywords.router)
 app.include_router(routes_entities.router)
+app.include_router(routes_embed.router)
@@ -1,3 +1,4 @@
+from typing import List
 from pydantic import BaseModel
 
 class TextRequest(BaseModel):
@@ -5,3 +6,17 @@ class TextRequest(BaseModel):
 
 class SummaryResponse(BaseModel):
     summary: str
+
+class BatchTextRequest(BaseModel):
+    texts: List[str]
+
+class BatchSummaryResponse(BaseModel):
+    summaries: List[str]
+
+class EmbeddingResponse(BaseModel):
+    embedding: List[float]
+    dimensions: int
+
+class BatchEmbeddingResponse(BaseModel):
+    embeddings: List[List[float]]
+    dimensions: int
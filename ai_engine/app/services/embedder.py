@@ -0,0 +1,24 @@
+from typing import List
+
+import torch
+from transformers import AutoModel, AutoTokenizer
+
+MODEL_NAME = "sentence-transformers/all-MiniLM-L6-v2"
+DIMENSIONS = 384
+MAX_TOKENS = 256
+
+tokenizer = AutoTokenizer.from_pretrained(MODEL_NAME)
+model = AutoModel.from_pretrained(MODEL_NAME)
+model.eval()
+
+def embed_texts(texts: List[str]) -> List[List[float]]:
+    """Mean-pooled, L2-normalized sentence embeddings, one per text."""
+    encoded = tokenizer(texts, padding=True, truncation=True, max_length=MAX_TOKENS, return_tensors="pt")
+    with torch.no_grad():
+        output = model(**encoded)
+
+    # Average the token vectors, ignoring padding
+    mask = encoded["attention_mask"].unsqueeze(-1).float()
+    pooled = (output.last_hidden_state * mask).sum(dim=1) / mask.sum(dim=1).clamp(min=1e-9)
+    normalized = torch.nn.functional.normalize(pooled, p=2, dim=1)
+    return normalized.tolist()
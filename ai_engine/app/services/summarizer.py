@@ -1,15 +1,20 @@
+from collections import defaultdict
+from typing import Dict, List
+
 from transformers import pipeline
 
 summarizer = pipeline("summarization", model="facebook/bart-large-cnn")
 
-def generate_summary(text: str) -> str:
+def _max_length(text: str) -> int:
     input_length = len(text.split())
 
     # Ensure max_length is never more than input tokens
     if input_length < 10:
-        max_len = input_length  # don't over-summarize tiny text
-    else:
-        max_len = max(10, int(input_length * 0.6))
+        return input_length  # don't over-summarize tiny text
+    return max(10, int(input_length * 0.6))
+
+def generate_summary(text: str) -> str:
+    max_len = _max_length(text)
 
     summary = summarizer(
         text,
@@ -18,3 +23,29 @@ def generate_summary(text: str) -> str:
         do_sample=False
     )
     return summary[0]['summary_text']
+
+def _bucket(max_len: int) -> int:
+    # Round down to a power of two so texts of similar length share one call;
+    # rounding down keeps max_length within every text of the bucket
+    return 1 << (max(1, max_len).bit_length() - 1)
+
+def generate_summaries(texts: List[str]) -> List[str]:
+    """Summarizes several texts with one batched pipeline call per length bucket."""
+    results: List[str] = [""] * len(texts)
+
+    # The pipeline takes one max_length per call, so group texts of similar length
+    groups: Dict[int, List[int]] = defaultdict(list)
+    for index, text in enumerate(texts):
+        groups[_bucket(_max_length(text))].append(index)
+
+    for max_len, indices in groups.items():
+        outputs = summarizer(
+            [texts[i] for i in indices],
+            max_length=max_len,
+            min_length=min(5, max_len),
+            do_sample=False,
+            batch_size=len(indices)
+        )
+        for i, output in zip(indices, outputs):
+            results[i] = output['summary_text']
+    return results
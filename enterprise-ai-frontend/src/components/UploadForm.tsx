@@ -6,6 +6,21 @@ interface UploadFormProps {
   existingFileNames: string[];
 }
 
+// The list only holds the pages loaded so far, so names are also checked against the server
+const existsOnServer = async (fileName: string): Promise<boolean> => {
+  try {
+    await axios.get('http://localhost:8080/api/documents/by-filename', { params: { name: fileName } });
+    return true;
+  } catch (err) {
+    if (axios.isAxiosError(err) && err.response?.status === 404) {
+      return false;
+    }
+    // Let the upload go ahead if the check itself fails
+    console.error('Failed to check file name:', err);
+    return false;
+  }
+};
+
 const UploadForm: React.FC<UploadFormProps> = ({ onUploadSuccess, existingFileNames }) => {
   const [file, setFile] = useState<File | null>(null);
   const [message, setMessage] = useState('');
@@ -24,8 +39,8 @@ const UploadForm: React.FC<UploadFormProps> = ({ onUploadSuccess, existingFileNa
     }
 
     const selectedName = file.name.toLowerCase();
-    const alreadyExists = existingFileNames.some(name => name.toLowerCase() === selectedName);
-    if (alreadyExists) {
+    const alreadyLoaded = existingFileNames.some(name => name.toLowerCase() === selectedName);
+    if (alreadyLoaded || (await existsOnServer(file.name))) {
       setMessage(`⚠️ A file named "${file.name}" already exists.`);
       return;
     }
@@ -5,12 +5,18 @@ import type { Document } from '../types/Document';
 
 const HomePage: React.FC = () => {
   const [documents, setDocuments] = useState<Document[]>([]);
+  const [nextCursor, setNextCursor] = useState<string | null>(null);
 
-  const fetchDocuments = async () => {
+  // The list is paginated: each response carries the next page's cursor in X-Next-Cursor
+  const fetchDocuments = async (cursor?: string) => {
     try {
-      const res = await fetch('http://localhost:8080/api/documents');
-      const data = await res.json();
-      setDocuments(data);
+      const url = cursor
+        ? `http://localhost:8080/api/documents?cursor=${encodeURIComponent(cursor)}`
+        : 'http://localhost:8080/api/documents';
+      const res = await fetch(url);
+      const data: Document[] = await res.json();
+      setDocuments(prev => (cursor ? [...prev, ...data] : data));
+      setNextCursor(res.headers.get('X-Next-Cursor'));
     } catch (err) {
       console.error('Failed to fetch documents:', err);
     }
@@ -26,12 +32,14 @@ const HomePage: React.FC = () => {
 
   const handleSearchResults = (filteredDocs: Document[]) => {
     setDocuments(filteredDocs);
+    setNextCursor(null);
   };
 
   const handleReset = () => {
     fetchDocuments();
   };
 
+  // Loaded pages only; UploadForm asks the server about the rest
   const existingFileNames = documents.map(doc => doc.fileName);
 
   return (
@@ -39,6 +47,14 @@ const HomePage: React.FC = () => {
       <h1 className="text-2xl font-bold mb-4">Enterprise AI Knowledge Miner</h1>
       <UploadForm onUploadSuccess={handleUploadSuccess} existingFileNames={existingFileNames} />
       <DocumentList documents={documents} onSearchResults={handleSearchResults} onReset={handleReset} />
+      {nextCursor && (
+        <button
+          onClick={() => fetchDocuments(nextCursor)}
+          className="mt-4 px-4 py-2 bg-gray-200 rounded hover:bg-gray-300"
+        >
+          Load more
+        </button>
+      )}
     </div>
   );
 };
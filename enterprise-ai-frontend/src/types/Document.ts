@@ -3,7 +3,9 @@ export interface Document {
   fileName: string;
   createdAt: string;
   summary: string;
-  content: string;
+  // Only returned by GET /api/documents/{id}; list and search responses omit it
+  content?: string;
+  contentLength?: number;
   keywords: string;
   entities: string;
 }
@@ -0,0 +1,64 @@
+package com.enterprise.ai_backend.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * JSON serialization of {@link DocumentEntity} lists as the API writes them,
+ * with Spring's object mapper defaults and indented output as configured
+ * by {@code spring.jackson.serialization.INDENT_OUTPUT}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DocumentJsonBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int documents;
+
+    @Param({"1000", "100000"})
+    public int contentChars;
+
+    private ObjectMapper objectMapper;
+    private List<DocumentEntity> page;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().indentOutput(true).build();
+        String content = "Quarterly revenue grew across regions while margins held steady. "
+                .repeat(contentChars / 66 + 1).substring(0, contentChars);
+        page = new ArrayList<>(documents);
+        for (long id = 1; id <= documents; id++) {
+            DocumentEntity doc = new DocumentEntity("report-" + id + ".pdf", content,
+                    "Revenue grew and margins held steady in every region.",
+                    "revenue, margin, region, growth", "Acme Corp, Berlin, Q3 2024");
+            doc.setId(id);
+            page.add(doc);
+        }
+    }
+
+    @Benchmark
+    public String serializeList() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(page);
+    }
+}
@@ -0,0 +1,63 @@
+package com.enterprise.ai_backend.parser;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockMultipartFile;
+
+import com.enterprise.ai_backend.support.TestPdfs;
+
+/**
+ * Single-threaded versus page-range-parallel parsing of the same in-memory
+ * PDF upload by {@link PdfDocumentParser}, on as many threads as cores.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PdfExtractionBenchmark {
+
+    @Param({"100", "400"})
+    public int pages;
+
+    private PdfDocumentParser sequentialParser;
+    private PdfDocumentParser parallelParser;
+    private MockMultipartFile upload;
+
+    @Setup
+    public void setUp() throws IOException {
+        upload = new MockMultipartFile("file", "report.pdf", "application/pdf", TestPdfs.create(pages, 45));
+        sequentialParser = new PdfDocumentParser(false, 1, 0, 25, Long.MAX_VALUE, 600_000);
+        parallelParser = new PdfDocumentParser(true, 1, 0, 25, Long.MAX_VALUE, 600_000);
+    }
+
+    @TearDown
+    public void tearDown() {
+        sequentialParser.shutdown();
+        parallelParser.shutdown();
+    }
+
+    @Benchmark
+    public String sequential() throws IOException {
+        return sequentialParser.parse(upload, Integer.MAX_VALUE);
+    }
+
+    @Benchmark
+    public String parallel() throws IOException {
+        return parallelParser.parse(upload, Integer.MAX_VALUE);
+    }
+}
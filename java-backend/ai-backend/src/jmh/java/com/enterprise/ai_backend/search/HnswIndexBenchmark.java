@@ -0,0 +1,82 @@
+package com.enterprise.ai_backend.search;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * k-nearest-neighbour queries answered by the {@link HnswIndex} graph at
+ * several {@code ef} values, versus a brute-force scan over every vector.
+ * The recall@10 of each {@code ef} is printed once per trial, since speed
+ * alone says nothing about an approximate index.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HnswIndexBenchmark {
+
+    private static final int VECTORS = 50_000;
+    private static final int QUERIES = 200;
+    private static final int K = 10;
+
+    @Param({"16", "64", "128"})
+    public int ef;
+
+    private float[][] vectors;
+    private float[][] queries;
+    private HnswIndex index;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(11);
+        vectors = HnswIndexTest.randomUnitVectors(VECTORS, random);
+        queries = HnswIndexTest.randomUnitVectors(QUERIES, random);
+        index = new HnswIndex(new VectorStore(vectors[0].length, null), 16, 100);
+        for (int i = 0; i < vectors.length; i++) {
+            index.add(i, vectors[i]);
+        }
+
+        int found = 0;
+        for (float[] query : queries) {
+            Set<Long> truth = HnswIndexTest.bruteForce(vectors, query, K);
+            found += (int) index.search(query, K, ef).stream().filter(hit -> truth.contains(hit.docId())).count();
+        }
+        System.out.printf("%nHNSW ef=%d: recall@%d %.3f over %d queries%n", ef, K, found / (double) (QUERIES * K),
+                QUERIES);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        index.close();
+    }
+
+    @Benchmark
+    public List<HnswIndex.Hit> hnsw() {
+        return index.search(queries[next++ % QUERIES], K, ef);
+    }
+
+    @Benchmark
+    public Set<Long> bruteForce() {
+        return HnswIndexTest.bruteForce(vectors, queries[next++ % QUERIES], K);
+    }
+}
@@ -0,0 +1,80 @@
+package com.enterprise.ai_backend.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * A selective substring query answered by {@link TrigramIndex} candidates
+ * plus verification, versus lower-casing and scanning every document.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TrigramIndexBenchmark {
+
+    private static final int WORDS_PER_DOCUMENT = 1_000;
+    private static final String QUERY = "INV-4242";
+    private static final String[] VOCABULARY = ("revenue quarter region customer contract policy employee "
+            + "report growth margin forecast supplier invoice compliance audit risk product market "
+            + "strategy budget project delivery schedule review approval meeting analysis").split(" ");
+
+    @Param({"1000", "5000"})
+    public int documents;
+
+    private TrigramIndex index;
+    private List<String> texts;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(7);
+        index = new TrigramIndex();
+        texts = new ArrayList<>(documents);
+        for (int id = 0; id < documents; id++) {
+            StringBuilder text = new StringBuilder();
+            for (int w = 0; w < WORDS_PER_DOCUMENT; w++) {
+                text.append(VOCABULARY[random.nextInt(VOCABULARY.length)]).append(' ');
+                if (random.nextInt(50) == 0) {
+                    text.append("INV-").append(random.nextInt(1_000_000)).append(' ');
+                }
+            }
+            texts.add(text.toString());
+            index.index(id, text.toString(), null);
+        }
+    }
+
+    @Benchmark
+    public int fullScan() {
+        String needle = QUERY.toLowerCase(Locale.ROOT);
+        return (int) texts.stream().filter(t -> t.toLowerCase(Locale.ROOT).contains(needle)).count();
+    }
+
+    @Benchmark
+    public int trigramCandidates() {
+        String normalized = TrigramIndex.normalize(QUERY);
+        int verified = 0;
+        for (long id : index.candidates(QUERY)) {
+            if (TrigramIndex.normalize(texts.get((int) id)).contains(normalized)) {
+                verified++;
+            }
+        }
+        return verified;
+    }
+}
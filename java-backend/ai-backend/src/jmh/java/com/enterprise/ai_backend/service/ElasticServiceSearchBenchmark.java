@@ -0,0 +1,100 @@
+package com.enterprise.ai_backend.service;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.enterprise.ai_backend.model.DocumentEntity;
+import com.enterprise.ai_backend.repository.DocumentRepository;
+import com.enterprise.ai_backend.search.InvertedIndex;
+import com.enterprise.ai_backend.search.TrigramIndex;
+
+/**
+ * {@link ElasticService#search} over corpora of generated documents: trigram
+ * candidates, BM25 ordering and verification against the text. The
+ * repository is an in-memory map, so the numbers exclude database loads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ElasticServiceSearchBenchmark {
+
+    private static final int WORDS_PER_DOCUMENT = 300;
+
+    private static final String[] VOCABULARY = ("revenue quarter region customer contract policy employee "
+            + "report growth margin forecast supplier invoice compliance audit risk product market "
+            + "strategy budget project delivery schedule review approval meeting analysis").split(" ");
+
+    @Param({"1000", "10000", "50000"})
+    public int documents;
+
+    // A common word, a rare code and a phrase
+    @Param({"revenue", "INV-4242", "margin forecast"})
+    public String query;
+
+    private ElasticService elasticService;
+
+    @Setup
+    public void setUp() {
+        Map<Long, DocumentEntity> stored = new HashMap<>();
+        DocumentRepository repository = inMemoryRepository(stored);
+        elasticService = new ElasticService(repository, new InvertedIndex(), new TrigramIndex(),
+                new FullTextSearchService(repository, null, null, false, "english", 1_000_000, 100, 30_000));
+
+        Random random = new Random(7);
+        for (long id = 1; id <= documents; id++) {
+            StringBuilder text = new StringBuilder();
+            for (int w = 0; w < WORDS_PER_DOCUMENT; w++) {
+                text.append(VOCABULARY[random.nextInt(VOCABULARY.length)]).append(' ');
+                if (random.nextInt(100) == 0) {
+                    text.append("INV-").append(random.nextInt(100_000)).append(' ');
+                }
+            }
+            DocumentEntity doc = new DocumentEntity("doc-" + id + ".txt", text.toString(), "Summary of " + id);
+            doc.setId(id);
+            stored.put(id, doc);
+            elasticService.indexDocument(doc);
+        }
+    }
+
+    @Benchmark
+    public List<String> search() {
+        return elasticService.search(query);
+    }
+
+    private static DocumentRepository inMemoryRepository(Map<Long, DocumentEntity> stored) {
+        return (DocumentRepository) Proxy.newProxyInstance(DocumentRepository.class.getClassLoader(),
+                new Class<?>[] {DocumentRepository.class}, (proxy, method, args) -> {
+                    if (!"findAllById".equals(method.getName())) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    List<DocumentEntity> found = new ArrayList<>();
+                    for (Object id : (Iterable<?>) args[0]) {
+                        DocumentEntity doc = stored.get(id);
+                        if (doc != null) {
+                            found.add(doc);
+                        }
+                    }
+                    return found;
+                });
+    }
+}
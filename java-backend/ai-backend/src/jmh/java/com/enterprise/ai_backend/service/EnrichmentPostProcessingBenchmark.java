@@ -0,0 +1,82 @@
+package com.enterprise.ai_backend.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Turning AI engine responses into the stored keyword and entity columns:
+ * {@link DocumentService#joinKeywords} and {@link DocumentService#flattenEntities}
+ * on responses with repeated, blank and non-string values, as the engine returns them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EnrichmentPostProcessingBenchmark {
+
+    private static final String[] LABELS = {"ORG", "PERSON", "GPE", "DATE", "MONEY", "PRODUCT"};
+
+    @Param({"10", "100", "1000"})
+    public int items;
+
+    private List<Map<String, Object>> keywordList;
+    private Map<String, Object> entityMap;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(7);
+        keywordList = new ArrayList<>(items);
+        for (int i = 0; i < items; i++) {
+            Map<String, Object> keyword = new LinkedHashMap<>();
+            // About a third of the keywords repeat, a few are blank or not strings
+            keyword.put("keyword", switch (random.nextInt(20)) {
+                case 0 -> " ";
+                case 1 -> 42;
+                default -> " keyword " + random.nextInt(Math.max(1, items * 2 / 3)) + " ";
+            });
+            keyword.put("score", random.nextDouble());
+            keywordList.add(keyword);
+        }
+
+        entityMap = new LinkedHashMap<>();
+        for (String label : LABELS) {
+            List<Map<String, Object>> entities = new ArrayList<>();
+            for (int i = 0; i < items / LABELS.length + 1; i++) {
+                Map<String, Object> entity = new LinkedHashMap<>();
+                entity.put("text", label + " entity " + random.nextInt(Math.max(1, items / 4)));
+                entity.put("start", i * 10);
+                entity.put("end", i * 10 + 8);
+                entities.add(entity);
+            }
+            entityMap.put(label, entities);
+        }
+    }
+
+    @Benchmark
+    public String joinKeywords() {
+        return DocumentService.joinKeywords(keywordList);
+    }
+
+    @Benchmark
+    public String flattenEntities() {
+        return DocumentService.flattenEntities(entityMap);
+    }
+}
@@ -0,0 +1,78 @@
+package com.enterprise.ai_backend.service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.tika.config.TikaConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockMultipartFile;
+
+import com.enterprise.ai_backend.parser.PdfDocumentParser;
+import com.enterprise.ai_backend.parser.PlainTextDocumentParser;
+import com.enterprise.ai_backend.parser.TikaDocumentParser;
+import com.enterprise.ai_backend.support.TestPdfs;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Content sniffing plus text extraction by {@link FileParserService} for
+ * generated plain-text and PDF uploads of the same text, from a few pages
+ * up to the size where PDFs are split across threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FileParserServiceBenchmark {
+
+    private static final int LINES_PER_PAGE = 50;
+
+    @Param({"txt", "pdf"})
+    public String format;
+
+    @Param({"5", "50", "250"})
+    public int pages;
+
+    private FileParserService fileParserService;
+    private MockMultipartFile upload;
+
+    @Setup
+    public void setUp() throws IOException {
+        fileParserService = new FileParserService(
+                List.of(new PdfDocumentParser(), new PlainTextDocumentParser(), new TikaDocumentParser()),
+                TikaConfig.getDefaultConfig(), 5_000_000, new SimpleMeterRegistry());
+        if ("pdf".equals(format)) {
+            upload = new MockMultipartFile("file", "report.pdf", "application/pdf",
+                    TestPdfs.create(pages, LINES_PER_PAGE));
+        } else {
+            StringBuilder text = new StringBuilder();
+            for (int p = 1; p <= pages; p++) {
+                for (int line = 1; line <= LINES_PER_PAGE; line++) {
+                    text.append("Page ").append(p).append(" line ").append(line)
+                            .append(" quarterly revenue grew across regions\n");
+                }
+            }
+            upload = new MockMultipartFile("file", "report.txt", "text/plain",
+                    text.toString().getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    @Benchmark
+    public String parse() throws IOException {
+        return fileParserService.parse(upload);
+    }
+}
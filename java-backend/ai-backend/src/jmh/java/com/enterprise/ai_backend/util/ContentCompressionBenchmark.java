@@ -0,0 +1,77 @@
+package com.enterprise.ai_backend.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Reading document content back from its stored form: decoding plain UTF-8,
+ * as for a TEXT column, versus {@link ContentCompression#decompress}, plus
+ * the cost of compressing on write. Generated prose stands in for extracted
+ * text; the stored sizes are printed once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ContentCompressionBenchmark {
+
+    private static final String[] VOCABULARY = ("the of and to in revenue quarter region customer contract "
+            + "policy employee report growth margin forecast supplier invoice compliance audit risk "
+            + "product market strategy budget project delivery schedule review approval meeting "
+            + "analysis data system service support incident security access account payment").split(" ");
+
+    @Param({"1000", "40000"})
+    public int words;
+
+    private String text;
+    private byte[] plain;
+    private byte[] compressed;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        StringBuilder prose = new StringBuilder();
+        for (int w = 0; w < words; w++) {
+            prose.append(VOCABULARY[random.nextInt(VOCABULARY.length)]);
+            if (random.nextInt(12) == 0) {
+                prose.append(' ').append(random.nextInt(100_000));
+            }
+            prose.append(w % 15 == 14 ? ".\n" : " ");
+        }
+        text = prose.toString();
+        plain = text.getBytes(StandardCharsets.UTF_8);
+        compressed = ContentCompression.compress(text);
+        System.out.printf("%n%d words: plain %d bytes, lz4 %d bytes (%.1fx smaller)%n",
+                words, plain.length, compressed.length, (double) plain.length / compressed.length);
+    }
+
+    @Benchmark
+    public String readPlain() {
+        return new String(plain, StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public String readCompressed() {
+        return ContentCompression.decompress(compressed);
+    }
+
+    @Benchmark
+    public byte[] compress() {
+        return ContentCompression.compress(text);
+    }
+}
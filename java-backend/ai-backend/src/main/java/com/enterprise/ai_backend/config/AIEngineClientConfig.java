@@ -0,0 +1,213 @@
+package com.enterprise.ai_backend.config;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.concurrent.Cancellable;
+import org.apache.hc.core5.http.ClassicHttpRequest;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * HTTP transport used to talk to the Python AI engine: a keep-alive
+ * connection pool with connect, read and total deadlines and idle eviction.
+ */
+@Configuration
+public class AIEngineClientConfig {
+
+    @Bean(name = "aiEngineConnectionManager", destroyMethod = "close")
+    public PoolingHttpClientConnectionManager aiEngineConnectionManager(
+            @Value("${ai.http.max-total:50}") int maxTotal,
+            @Value("${ai.http.max-per-route:20}") int maxPerRoute,
+            @Value("${ai.http.connect-timeout-ms:2000}") long connectTimeoutMs,
+            @Value("${ai.http.read-timeout-ms:60000}") long readTimeoutMs) {
+        return connectionManager(maxTotal, maxPerRoute, connectTimeoutMs, readTimeoutMs);
+    }
+
+    @Bean(name = "aiEngineHttpClient", destroyMethod = "close")
+    public CloseableHttpClient aiEngineHttpClient(
+            @Qualifier("aiEngineConnectionManager") PoolingHttpClientConnectionManager connectionManager,
+            @Value("${ai.http.pool-wait-timeout-ms:5000}") long poolWaitTimeoutMs,
+            @Value("${ai.http.read-timeout-ms:60000}") long readTimeoutMs,
+            @Value("${ai.http.idle-evict-ms:30000}") long idleEvictMs) {
+        return httpClient(connectionManager, poolWaitTimeoutMs, readTimeoutMs, idleEvictMs);
+    }
+
+    @Bean(name = "aiEngineRestTemplate")
+    public RestTemplate aiEngineRestTemplate(
+            @Qualifier("aiEngineHttpClient") CloseableHttpClient httpClient,
+            @Value("${ai.http.total-timeout-ms:90000}") long totalTimeoutMs) {
+        return restTemplate(httpClient, totalTimeoutMs);
+    }
+
+    public static PoolingHttpClientConnectionManager connectionManager(int maxTotal, int maxPerRoute,
+                                                                       long connectTimeoutMs, long readTimeoutMs) {
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxTotal)
+                .setMaxConnPerRoute(maxPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMs))
+                        .setSocketTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        .build())
+                .build();
+    }
+
+    public static CloseableHttpClient httpClient(PoolingHttpClientConnectionManager connectionManager,
+                                                 long poolWaitTimeoutMs, long readTimeoutMs, long idleEvictMs) {
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(poolWaitTimeoutMs))
+                        .setResponseTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofMilliseconds(idleEvictMs))
+                .build();
+    }
+
+    public static RestTemplate restTemplate(CloseableHttpClient httpClient, long totalTimeoutMs) {
+        return new RestTemplate(new DeadlineRequestFactory(httpClient, totalTimeoutMs));
+    }
+
+    /**
+     * Cancels any request that is still running once the total deadline has
+     * passed, so a model call that keeps trickling bytes cannot hold a
+     * servlet thread forever. The deadline is dropped as soon as the call
+     * fails or its response is closed, so finished requests and their
+     * bodies are not kept until it would have fired.
+     */
+    static class DeadlineRequestFactory extends HttpComponentsClientHttpRequestFactory {
+
+        private static final ScheduledExecutorService DEADLINES = deadlineScheduler();
+
+        /** Hands the deadline scheduled for a request over to {@link #createRequest}. */
+        private static final ThreadLocal<ScheduledFuture<?>> SCHEDULED = new ThreadLocal<>();
+
+        private final long totalTimeoutMs;
+
+        DeadlineRequestFactory(CloseableHttpClient httpClient, long totalTimeoutMs) {
+            super(httpClient);
+            this.totalTimeoutMs = totalTimeoutMs;
+        }
+
+        @Override
+        public ClientHttpRequest createRequest(URI uri, HttpMethod httpMethod) throws IOException {
+            ClientHttpRequest request = super.createRequest(uri, httpMethod);
+            ScheduledFuture<?> deadline = SCHEDULED.get();
+            SCHEDULED.remove();
+            return deadline == null ? request : new DeadlineRequest(request, deadline);
+        }
+
+        @Override
+        protected ClassicHttpRequest createHttpUriRequest(HttpMethod httpMethod, URI uri) {
+            ClassicHttpRequest request = super.createHttpUriRequest(httpMethod, uri);
+            if (totalTimeoutMs > 0 && request instanceof Cancellable cancellable) {
+                SCHEDULED.set(DEADLINES.schedule(cancellable::cancel, totalTimeoutMs, TimeUnit.MILLISECONDS));
+            }
+            return request;
+        }
+
+        static int pendingDeadlines() {
+            return ((ScheduledThreadPoolExecutor) DEADLINES).getQueue().size();
+        }
+
+        private static ScheduledExecutorService deadlineScheduler() {
+            ScheduledThreadPoolExecutor scheduler =
+                    new ScheduledThreadPoolExecutor(1, AsyncConfig.namedDaemonThreads("ai-http-deadline-"));
+            scheduler.setRemoveOnCancelPolicy(true);
+            return scheduler;
+        }
+    }
+
+    private record DeadlineRequest(ClientHttpRequest request, ScheduledFuture<?> deadline) implements ClientHttpRequest {
+
+        @Override
+        public ClientHttpResponse execute() throws IOException {
+            try {
+                return new DeadlineResponse(request.execute(), deadline);
+            } catch (IOException | RuntimeException e) {
+                deadline.cancel(false);
+                throw e;
+            }
+        }
+
+        @Override
+        public OutputStream getBody() throws IOException {
+            return request.getBody();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return request.getHeaders();
+        }
+
+        @Override
+        public HttpMethod getMethod() {
+            return request.getMethod();
+        }
+
+        @Override
+        public URI getURI() {
+            return request.getURI();
+        }
+
+        @Override
+        public Map<String, Object> getAttributes() {
+            return request.getAttributes();
+        }
+    }
+
+    private record DeadlineResponse(ClientHttpResponse response, ScheduledFuture<?> deadline)
+            implements ClientHttpResponse {
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return response.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return response.getStatusText();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            return response.getBody();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return response.getHeaders();
+        }
+
+        @Override
+        public void close() {
+            deadline.cancel(false);
+            response.close();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.enterprise.ai_backend.config;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class AsyncConfig {
+
+    /**
+     * Bounded pool that runs the independent AI enrichment stages
+     * (summary, keywords, entities) of an upload side by side.
+     * When the queue is full the stage is rejected and the upload goes on
+     * without it, as it would after a timeout; running it on the caller's
+     * thread instead would hold the upload past its stage deadline.
+     */
+    @Bean(name = "aiStageExecutor", destroyMethod = "shutdown")
+    public ExecutorService aiStageExecutor(
+            @Value("${ai.stages.pool-size:16}") int poolSize,
+            @Value("${ai.stages.queue-capacity:200}") int queueCapacity) {
+        return new ThreadPoolExecutor(
+                poolSize, poolSize,
+                60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                namedDaemonThreads("ai-stage-"),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Pool that summarizes the chunks of long documents concurrently; its
+     * size is the fan-out towards the AI engine across all documents.
+     * A full queue makes the caller summarize the chunk itself.
+     */
+    @Bean(name = "aiSummaryChunkExecutor", destroyMethod = "shutdown")
+    public ExecutorService aiSummaryChunkExecutor(
+            @Value("${ai.summary.fan-out:8}") int fanOut,
+            @Value("${ai.summary.queue-capacity:200}") int queueCapacity) {
+        return new ThreadPoolExecutor(
+                fanOut, fanOut,
+                60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                namedDaemonThreads("ai-summary-chunk-"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    public static ThreadFactory namedDaemonThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,67 @@
+package com.enterprise.ai_backend.config;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.function.ToDoubleFunction;
+
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.core5.pool.PoolStats;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.enterprise.ai_backend.service.SemanticSearchService;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+
+/**
+ * Gauges for the pools behind ingestion and search: the AI stage and
+ * summary chunk executors ({@code executor.*}), the AI engine connection
+ * pool ({@code ai.http.pool.*}) and the size of the semantic search index.
+ * Stage, AI endpoint, parser, cache and search meters are registered by
+ * the services themselves.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder executorMetrics(
+            @Qualifier("aiStageExecutor") ExecutorService aiStageExecutor,
+            @Qualifier("aiSummaryChunkExecutor") ExecutorService aiSummaryChunkExecutor) {
+        return registry -> {
+            new ExecutorServiceMetrics(aiStageExecutor, "aiStageExecutor", List.of()).bindTo(registry);
+            new ExecutorServiceMetrics(aiSummaryChunkExecutor, "aiSummaryChunkExecutor", List.of()).bindTo(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder aiEngineConnectionPoolMetrics(
+            @Qualifier("aiEngineConnectionManager") PoolingHttpClientConnectionManager connectionManager) {
+        return registry -> {
+            poolGauge(registry, connectionManager, "leased", PoolStats::getLeased);
+            poolGauge(registry, connectionManager, "available", PoolStats::getAvailable);
+            poolGauge(registry, connectionManager, "pending", PoolStats::getPending);
+            poolGauge(registry, connectionManager, "max", PoolStats::getMax);
+        };
+    }
+
+    @Bean
+    public MeterBinder semanticIndexMetrics(SemanticSearchService semanticSearchService) {
+        return registry -> Gauge.builder("search.semantic.index.size", semanticSearchService, SemanticSearchService::size)
+                .description("Documents in the semantic search index")
+                .register(registry);
+    }
+
+    private static void poolGauge(MeterRegistry registry,
+                                  PoolingHttpClientConnectionManager connectionManager, String state,
+                                  ToDoubleFunction<PoolStats> value) {
+        Gauge.builder("ai.http.pool.connections", connectionManager,
+                        manager -> value.applyAsDouble(manager.getTotalStats()))
+                .description("AI engine connection pool, by state")
+                .tag("state", state)
+                .register(registry);
+    }
+}
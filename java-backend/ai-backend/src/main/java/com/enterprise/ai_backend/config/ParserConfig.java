@@ -0,0 +1,19 @@
+package com.enterprise.ai_backend.config;
+
+import org.apache.tika.config.TikaConfig;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ParserConfig {
+
+    /**
+     * One Tika configuration for the whole application. Loading it scans
+     * every parser and detector on the classpath, so it is built once and
+     * its thread-safe detector and parsers are shared by all requests.
+     */
+    @Bean
+    public TikaConfig tikaConfig() {
+        return TikaConfig.getDefaultConfig();
+    }
+}
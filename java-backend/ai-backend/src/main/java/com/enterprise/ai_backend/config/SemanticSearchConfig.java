@@ -0,0 +1,41 @@
+package com.enterprise.ai_backend.config;
+
+import java.util.Locale;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.client.RestTemplate;
+
+import com.enterprise.ai_backend.search.Embedder;
+import com.enterprise.ai_backend.search.HashingEmbedder;
+import com.enterprise.ai_backend.service.AIEngineEmbedder;
+import com.enterprise.ai_backend.service.AIEngineLimiter;
+import com.enterprise.ai_backend.service.AIResultCache;
+
+@Configuration
+public class SemanticSearchConfig {
+
+    /**
+     * The embedder behind semantic search. {@code ai-engine} calls the AI
+     * engine's /embed/ endpoint; {@code local} hashes words and word pairs
+     * on this JVM's CPU, without a model or the AI engine. Stored vectors of
+     * other dimensions are re-embedded on startup; after switching embedders
+     * at the same dimensions, clear the {@code embedding} column to do the same.
+     */
+    @Bean
+    public Embedder embedder(
+            @Qualifier("aiEngineRestTemplate") RestTemplate restTemplate,
+            AIResultCache resultCache,
+            AIEngineLimiter limiter,
+            @Value("${search.semantic.embedder:ai-engine}") String embedder,
+            @Value("${search.semantic.dimensions:384}") int dimensions,
+            @Value("${ai.embed-url:http://localhost:8000/embed/}") String embedUrl,
+            @Value("${ai.embed-batch-url:http://localhost:8000/embed/batch}") String embedBatchUrl) {
+        if ("local".equals(embedder.trim().toLowerCase(Locale.ROOT))) {
+            return new HashingEmbedder(dimensions);
+        }
+        return new AIEngineEmbedder(restTemplate, resultCache, limiter, embedUrl, embedBatchUrl, dimensions);
+    }
+}
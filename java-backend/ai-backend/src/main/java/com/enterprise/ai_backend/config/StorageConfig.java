@@ -0,0 +1,26 @@
+package com.enterprise.ai_backend.config;
+
+import java.util.Locale;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.enterprise.ai_backend.util.ContentCompression;
+
+@Configuration
+public class StorageConfig {
+
+    /**
+     * Content compression policy applied when documents are written.
+     * {@code lz4} compresses new content of at least {@code min-chars}
+     * characters; {@code none} stores new content as plain TEXT. Compressed
+     * rows stay readable either way.
+     */
+    @Bean
+    public ContentCompression contentCompression(
+            @Value("${documents.content.compression:lz4}") String codec,
+            @Value("${documents.content.compression-min-chars:1024}") int minChars) {
+        return new ContentCompression("lz4".equals(codec.trim().toLowerCase(Locale.ROOT)), minChars);
+    }
+}
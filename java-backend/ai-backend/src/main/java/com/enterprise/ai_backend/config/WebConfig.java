@@ -1,14 +1,25 @@
 package com.enterprise.ai_backend.config;
 
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.HandlerInterceptor;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import com.enterprise.ai_backend.service.AIEnginePriority;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
 @Configuration
 public class WebConfig {
     @Bean
-    public WebMvcConfigurer corsConfigurer() {
+    public WebMvcConfigurer corsConfigurer(
+            @Value("${ai.limiter.interactive-paths:/api/ai/**,/api/search/**}") List<String> interactivePaths) {
         return new WebMvcConfigurer() {
             @Override
             public void addCorsMappings(CorsRegistry registry) {
@@ -16,8 +27,27 @@ public class WebConfig {
                         .allowedOrigins("http://localhost:5173") // Updated for Vite
                         .allowedMethods("*")
                         .allowedHeaders("*")
+                        .exposedHeaders("X-Next-Cursor", "Link") // Paging headers of GET /api/documents
                         .allowCredentials(true); // Allow cookies/auth headers if needed
             }
+
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                // AI engine calls made while serving these requests go ahead of background ingestion
+                registry.addInterceptor(new HandlerInterceptor() {
+                    @Override
+                    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                        AIEnginePriority.set(AIEnginePriority.INTERACTIVE);
+                        return true;
+                    }
+
+                    @Override
+                    public void afterCompletion(HttpServletRequest request, HttpServletResponse response,
+                                                Object handler, Exception ex) {
+                        AIEnginePriority.reset();
+                    }
+                }).addPathPatterns(interactivePaths);
+            }
         };
     }
 }
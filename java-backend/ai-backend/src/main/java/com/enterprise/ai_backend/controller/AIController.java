@@ -6,6 +6,7 @@ import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -50,4 +51,14 @@ public class AIController {
                 text, filterLabels, uniqueOnly, groupByLabel, returnFreq, sortByFreq, returnSpans
         );
     }
+
+    @GetMapping("/stats")
+    public Map<String, Object> stats() {
+        return Map.of(
+                "pool", aiEngineService.getPoolStats(),
+                "cache", aiEngineService.getCacheStats(),
+                "batching", aiEngineService.getBatchStats(),
+                "limits", aiEngineService.getLimiterStats()
+        );
+    }
 }
@@ -1,9 +1,15 @@
 package com.enterprise.ai_backend.controller;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -15,20 +21,44 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import com.enterprise.ai_backend.dto.BulkIngestionReportDTO;
+import com.enterprise.ai_backend.dto.DocumentImportReportDTO;
+import com.enterprise.ai_backend.dto.DocumentPageDTO;
+import com.enterprise.ai_backend.dto.DocumentSummaryDTO;
 import com.enterprise.ai_backend.dto.DocumentUpdateDTO;
+import com.enterprise.ai_backend.dto.TermFacetDTO;
 import com.enterprise.ai_backend.model.DocumentEntity;
+import com.enterprise.ai_backend.model.TermKind;
+import com.enterprise.ai_backend.service.BulkIngestionService;
 import com.enterprise.ai_backend.service.DocumentService;
+import com.enterprise.ai_backend.service.DocumentTransferService;
+import com.enterprise.ai_backend.service.IngestionJobService;
+
+import jakarta.servlet.http.HttpServletResponse;
 
 @RestController
 @RequestMapping("/api/documents")
 public class DocumentController {
 
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    public static final String NDJSON = "application/x-ndjson";
+
     private final DocumentService documentService;
+    private final IngestionJobService ingestionJobService;
+    private final BulkIngestionService bulkIngestionService;
+    private final DocumentTransferService documentTransferService;
 
     @Autowired
-    public DocumentController(DocumentService documentService) {
+    public DocumentController(DocumentService documentService,
+                              IngestionJobService ingestionJobService,
+                              BulkIngestionService bulkIngestionService,
+                              DocumentTransferService documentTransferService) {
         this.documentService = documentService;
+        this.ingestionJobService = ingestionJobService;
+        this.bulkIngestionService = bulkIngestionService;
+        this.documentTransferService = documentTransferService;
     }
 
     // ✅ Upload a document
@@ -38,19 +68,89 @@ public class DocumentController {
         return ResponseEntity.ok(saved);
     }
 
-    // ✅ Fetch all documents
+    // ✅ Upload a document in the background, poll /api/jobs/{jobId} for progress
+    @PostMapping(value = "/upload", params = "async=true")
+    public ResponseEntity<Map<String, String>> uploadDocumentAsync(@RequestParam("file") MultipartFile file)
+            throws IOException {
+        String jobId = ingestionJobService.submit(file);
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(Map.of("jobId", jobId, "statusUrl", "/api/jobs/" + jobId));
+    }
+
+    // ✅ Bulk upload: many files and/or ZIP, TAR, TAR.GZ archives, with a per-file report
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkIngestionReportDTO> bulkUpload(@RequestParam("files") MultipartFile[] files)
+            throws IOException {
+        return ResponseEntity.ok(bulkIngestionService.ingest(files));
+    }
+
+    // ✅ Export every document as NDJSON (one JSON object per line), streamed; ?gzip=true compresses it
+    @GetMapping("/export")
+    public void exportDocuments(@RequestParam(value = "gzip", defaultValue = "false") boolean gzip,
+                                HttpServletResponse response) throws IOException {
+        response.setContentType(gzip ? "application/gzip" : NDJSON);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename(gzip ? "documents.ndjson.gz" : "documents.ndjson")
+                .build().toString());
+        documentTransferService.export(response.getOutputStream(), gzip);
+    }
+
+    // ✅ Import an export (plain or gzipped NDJSON) sent as the raw request body, e.g.
+    // curl -H "Content-Type: application/x-ndjson" --data-binary @documents.ndjson.gz .../api/documents/import
+    @PostMapping("/import")
+    public ResponseEntity<DocumentImportReportDTO> importDocuments(InputStream body) throws IOException {
+        return ResponseEntity.ok(documentTransferService.importDocuments(body));
+    }
+
+    // ✅ List documents newest first, one page at a time (summaries only, no content).
+    // The next page's cursor is returned in the X-Next-Cursor and Link headers.
     @GetMapping
-    public ResponseEntity<List<DocumentEntity>> getAllDocuments() {
-        return ResponseEntity.ok(documentService.getAllDocuments());
+    public ResponseEntity<List<DocumentSummaryDTO>> getAllDocuments(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        DocumentPageDTO page;
+        try {
+            page = documentService.listDocuments(cursor, limit);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (page.getNextCursor() == null) {
+            return ResponseEntity.ok(page.getItems());
+        }
+        String next = ServletUriComponentsBuilder.fromCurrentRequest()
+                .replaceQueryParam("cursor", page.getNextCursor())
+                .toUriString();
+        return ResponseEntity.ok()
+                .header(NEXT_CURSOR_HEADER, page.getNextCursor())
+                .header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"")
+                .body(page.getItems());
     }
 
     // ✅ Search documents by fileName, content or summary
     @GetMapping("/search")
-    public ResponseEntity<List<DocumentEntity>> searchDocuments(@RequestParam("q") String query) {
-        List<DocumentEntity> results = documentService.searchDocumentsByFileNameContentOrSummary(query);
+    public ResponseEntity<List<DocumentSummaryDTO>> searchDocuments(@RequestParam("q") String query) {
+        List<DocumentSummaryDTO> results = documentService.searchDocumentsByFileNameContentOrSummary(query);
         return ResponseEntity.ok(results);
     }
 
+    // ✅ Top keywords or entities with document counts, e.g. ?kind=entity&label=ORG&limit=20
+    @GetMapping("/facets")
+    public ResponseEntity<List<TermFacetDTO>> getTermFacets(
+            @RequestParam(value = "kind", defaultValue = "keyword") String kind,
+            @RequestParam(value = "label", required = false) String label,
+            @RequestParam(value = "limit", defaultValue = "20") int limit) {
+        return ResponseEntity.ok(documentService.getTermFacets(termKind(kind), label, limit));
+    }
+
+    // ✅ Documents mentioning a keyword or entity, e.g. ?kind=entity&term=Acme&label=ORG
+    @GetMapping("/by-term")
+    public ResponseEntity<List<DocumentSummaryDTO>> getDocumentsByTerm(
+            @RequestParam(value = "kind", defaultValue = "keyword") String kind,
+            @RequestParam("term") String term,
+            @RequestParam(value = "label", required = false) String label) {
+        return ResponseEntity.ok(documentService.getDocumentsMentioning(termKind(kind), term, label));
+    }
+
     // ✅ Get a document by ID
     @GetMapping("/{id}")
     public ResponseEntity<DocumentEntity> getDocumentById(@PathVariable Long id) {
@@ -61,8 +161,8 @@ public class DocumentController {
 
     // ✅ Get documents by filename (not necessarily unique)
     @GetMapping("/by-filename")
-    public ResponseEntity<List<DocumentEntity>> getDocumentsByFileName(@RequestParam("name") String fileName) {
-        List<DocumentEntity> docs = documentService.getDocumentByFileName(fileName);
+    public ResponseEntity<List<DocumentSummaryDTO>> getDocumentsByFileName(@RequestParam("name") String fileName) {
+        List<DocumentSummaryDTO> docs = documentService.getDocumentSummariesByFileName(fileName);
         if (docs.isEmpty()) {
             return ResponseEntity.notFound().build();
         }
@@ -85,10 +185,24 @@ public class DocumentController {
         return ResponseEntity.noContent().build();
     }
 
+    // ✅ Remove near-duplicate documents, keeping the oldest copy
+    @DeleteMapping("/duplicates")
+    public ResponseEntity<Map<String, Integer>> removeDuplicateDocuments() {
+        return ResponseEntity.ok(Map.of("removed", documentService.removeDuplicateDocuments()));
+    }
+
     // ✅ Delete all documents
     @DeleteMapping("/all")
     public ResponseEntity<Void> deleteAllDocuments() {
         documentService.deleteAllDocuments();
         return ResponseEntity.noContent().build();
     }
+
+    private static TermKind termKind(String kind) {
+        try {
+            return TermKind.valueOf(kind.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("kind must be 'keyword' or 'entity'");
+        }
+    }
 }
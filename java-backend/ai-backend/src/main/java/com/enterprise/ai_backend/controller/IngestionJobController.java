@@ -0,0 +1,33 @@
+package com.enterprise.ai_backend.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.enterprise.ai_backend.dto.IngestionJobStatusDTO;
+import com.enterprise.ai_backend.service.IngestionJobService;
+
+@RestController
+@RequestMapping("/api/jobs")
+@CrossOrigin(origins = "http://localhost:5173")
+public class IngestionJobController {
+
+    private final IngestionJobService ingestionJobService;
+
+    @Autowired
+    public IngestionJobController(IngestionJobService ingestionJobService) {
+        this.ingestionJobService = ingestionJobService;
+    }
+
+    // GET /api/jobs/{jobId} -> per-stage progress and the final document ID
+    @GetMapping("/{jobId}")
+    public ResponseEntity<IngestionJobStatusDTO> getJobStatus(@PathVariable String jobId) {
+        return ingestionJobService.getStatus(jobId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+}
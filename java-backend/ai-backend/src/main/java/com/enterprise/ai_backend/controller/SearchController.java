@@ -9,7 +9,9 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.enterprise.ai_backend.dto.SemanticSearchResultDTO;
 import com.enterprise.ai_backend.service.ElasticService;
+import com.enterprise.ai_backend.service.SemanticSearchService;
 
 @RestController
 @RequestMapping("/api/search")
@@ -19,9 +21,20 @@ public class SearchController {
     @Autowired
     private ElasticService elasticService;
 
+    @Autowired
+    private SemanticSearchService semanticSearchService;
+
     // GET /api/search?query=ai
     @GetMapping
     public List<String> searchDocuments(@RequestParam("query") String query) {
         return elasticService.search(query);
     }
+
+    // GET /api/search/semantic?q=how+did+sales+develop&k=10
+    // Documents closest in meaning to the query, with their cosine similarity
+    @GetMapping("/semantic")
+    public List<SemanticSearchResultDTO> semanticSearch(@RequestParam("q") String query,
+                                                        @RequestParam(value = "k", required = false) Integer k) {
+        return semanticSearchService.search(query, k);
+    }
 }
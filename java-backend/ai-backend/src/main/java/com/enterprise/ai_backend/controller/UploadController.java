@@ -1,6 +1,7 @@
 package com.enterprise.ai_backend.controller;
 
 import java.io.IOException;
+import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -14,6 +15,7 @@ import org.springframework.web.multipart.MultipartFile;
 
 import com.enterprise.ai_backend.model.DocumentEntity;
 import com.enterprise.ai_backend.service.DocumentService;
+import com.enterprise.ai_backend.service.IngestionJobService;
 
 @CrossOrigin(origins = "http://localhost:5173") // ✅ Allow frontend connection
 @RestController
@@ -23,6 +25,9 @@ public class UploadController {
     @Autowired
     private DocumentService documentService;
 
+    @Autowired
+    private IngestionJobService ingestionJobService;
+
     // ✅ Upload endpoint
     @PostMapping("/upload")
     public ResponseEntity<DocumentEntity> uploadFile(@RequestParam("file") MultipartFile file) {
@@ -35,5 +40,14 @@ public class UploadController {
         }
     }
 
+    // ✅ Async upload: returns 202 with a job ID to poll at /api/jobs/{jobId}
+    @PostMapping(value = "/upload", params = "async=true")
+    public ResponseEntity<Map<String, String>> uploadFileAsync(@RequestParam("file") MultipartFile file)
+            throws IOException {
+        String jobId = ingestionJobService.submit(file);
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(Map.of("jobId", jobId, "statusUrl", "/api/jobs/" + jobId));
+    }
+
     // ❌ Removed duplicate /documents endpoint to avoid conflict
 }
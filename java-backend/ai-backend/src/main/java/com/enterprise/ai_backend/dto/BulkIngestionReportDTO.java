@@ -0,0 +1,78 @@
+package com.enterprise.ai_backend.dto;
+
+import java.util.List;
+
+public class BulkIngestionReportDTO {
+
+    private int total;
+    private int created;
+    private int skipped;
+    private int failed;
+    private long elapsedMs;
+    private List<BulkIngestionResultDTO> results;
+
+    public BulkIngestionReportDTO() {
+    }
+
+    public BulkIngestionReportDTO(List<BulkIngestionResultDTO> results, long elapsedMs) {
+        this.results = results;
+        this.elapsedMs = elapsedMs;
+        this.total = results.size();
+        for (BulkIngestionResultDTO result : results) {
+            switch (result.getStatus()) {
+                case "CREATED" -> created++;
+                case "SKIPPED" -> skipped++;
+                default -> failed++;
+            }
+        }
+    }
+
+    // Getters and Setters
+    public int getTotal() {
+        return total;
+    }
+
+    public void setTotal(int total) {
+        this.total = total;
+    }
+
+    public int getCreated() {
+        return created;
+    }
+
+    public void setCreated(int created) {
+        this.created = created;
+    }
+
+    public int getSkipped() {
+        return skipped;
+    }
+
+    public void setSkipped(int skipped) {
+        this.skipped = skipped;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+
+    public long getElapsedMs() {
+        return elapsedMs;
+    }
+
+    public void setElapsedMs(long elapsedMs) {
+        this.elapsedMs = elapsedMs;
+    }
+
+    public List<BulkIngestionResultDTO> getResults() {
+        return results;
+    }
+
+    public void setResults(List<BulkIngestionResultDTO> results) {
+        this.results = results;
+    }
+}
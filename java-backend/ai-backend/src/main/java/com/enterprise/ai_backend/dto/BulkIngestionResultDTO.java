@@ -0,0 +1,52 @@
+package com.enterprise.ai_backend.dto;
+
+public class BulkIngestionResultDTO {
+
+    private String fileName;
+    private String status;
+    private Long documentId;
+    private String error;
+
+    public BulkIngestionResultDTO() {
+    }
+
+    public BulkIngestionResultDTO(String fileName, String status, Long documentId, String error) {
+        this.fileName = fileName;
+        this.status = status;
+        this.documentId = documentId;
+        this.error = error;
+    }
+
+    // Getters and Setters
+    public String getFileName() {
+        return fileName;
+    }
+
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public Long getDocumentId() {
+        return documentId;
+    }
+
+    public void setDocumentId(Long documentId) {
+        this.documentId = documentId;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
@@ -0,0 +1,102 @@
+package com.enterprise.ai_backend.dto;
+
+import java.time.LocalDateTime;
+
+import com.enterprise.ai_backend.model.DocumentEntity;
+
+/**
+ * One line of an NDJSON export. Derived data (search vectors, MinHash
+ * signatures, normalized terms) is not exported; it is rebuilt on import.
+ */
+public class DocumentExportDTO {
+
+    private Long id;
+    private String fileName;
+    private String content;
+    private String summary;
+    private String keywords;
+    private String entities;
+    private LocalDateTime createdAt;
+    private String contentHash;
+
+    public DocumentExportDTO() {
+    }
+
+    public static DocumentExportDTO from(DocumentEntity doc) {
+        DocumentExportDTO dto = new DocumentExportDTO();
+        dto.id = doc.getId();
+        dto.fileName = doc.getFileName();
+        dto.content = doc.getContent();
+        dto.summary = doc.getSummary();
+        dto.keywords = doc.getKeywords();
+        dto.entities = doc.getEntities();
+        dto.createdAt = doc.getCreatedAt();
+        dto.contentHash = doc.getContentHash();
+        return dto;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public String getContent() {
+        return content;
+    }
+
+    public void setContent(String content) {
+        this.content = content;
+    }
+
+    public String getSummary() {
+        return summary;
+    }
+
+    public void setSummary(String summary) {
+        this.summary = summary;
+    }
+
+    public String getKeywords() {
+        return keywords;
+    }
+
+    public void setKeywords(String keywords) {
+        this.keywords = keywords;
+    }
+
+    public String getEntities() {
+        return entities;
+    }
+
+    public void setEntities(String entities) {
+        this.entities = entities;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+}
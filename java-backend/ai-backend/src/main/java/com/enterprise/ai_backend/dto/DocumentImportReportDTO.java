@@ -0,0 +1,52 @@
+package com.enterprise.ai_backend.dto;
+
+public class DocumentImportReportDTO {
+
+    private long imported;
+    private long skipped;
+    private long failed;
+    private long elapsedMs;
+
+    public DocumentImportReportDTO() {
+    }
+
+    public DocumentImportReportDTO(long imported, long skipped, long failed, long elapsedMs) {
+        this.imported = imported;
+        this.skipped = skipped;
+        this.failed = failed;
+        this.elapsedMs = elapsedMs;
+    }
+
+    // Getters and Setters
+    public long getImported() {
+        return imported;
+    }
+
+    public void setImported(long imported) {
+        this.imported = imported;
+    }
+
+    public long getSkipped() {
+        return skipped;
+    }
+
+    public void setSkipped(long skipped) {
+        this.skipped = skipped;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public void setFailed(long failed) {
+        this.failed = failed;
+    }
+
+    public long getElapsedMs() {
+        return elapsedMs;
+    }
+
+    public void setElapsedMs(long elapsedMs) {
+        this.elapsedMs = elapsedMs;
+    }
+}
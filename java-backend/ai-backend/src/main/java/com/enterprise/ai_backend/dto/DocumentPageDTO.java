@@ -0,0 +1,26 @@
+package com.enterprise.ai_backend.dto;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated document listing. {@code nextCursor} is
+ * null on the last page.
+ */
+public class DocumentPageDTO {
+
+    private final List<DocumentSummaryDTO> items;
+    private final String nextCursor;
+
+    public DocumentPageDTO(List<DocumentSummaryDTO> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<DocumentSummaryDTO> getItems() {
+        return items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+}
@@ -0,0 +1,89 @@
+package com.enterprise.ai_backend.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Lightweight view of a document for list and search responses.
+ * The content itself is only returned by {@code GET /api/documents/{id}}.
+ */
+public class DocumentSummaryDTO {
+
+    private Long id;
+    private String fileName;
+    private String summary;
+    private String keywords;
+    private String entities;
+    private LocalDateTime createdAt;
+    private Integer contentLength;
+
+    public DocumentSummaryDTO() {
+    }
+
+    // ✅ Used by the JPQL constructor expressions in DocumentRepository
+    public DocumentSummaryDTO(Long id, String fileName, String summary, String keywords, String entities,
+                              LocalDateTime createdAt, Integer contentLength) {
+        this.id = id;
+        this.fileName = fileName;
+        this.summary = summary;
+        this.keywords = keywords;
+        this.entities = entities;
+        this.createdAt = createdAt;
+        this.contentLength = contentLength;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public String getSummary() {
+        return summary;
+    }
+
+    public void setSummary(String summary) {
+        this.summary = summary;
+    }
+
+    public String getKeywords() {
+        return keywords;
+    }
+
+    public void setKeywords(String keywords) {
+        this.keywords = keywords;
+    }
+
+    public String getEntities() {
+        return entities;
+    }
+
+    public void setEntities(String entities) {
+        this.entities = entities;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public Integer getContentLength() {
+        return contentLength;
+    }
+
+    public void setContentLength(Integer contentLength) {
+        this.contentLength = contentLength;
+    }
+}
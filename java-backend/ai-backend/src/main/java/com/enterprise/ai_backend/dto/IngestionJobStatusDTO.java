@@ -0,0 +1,97 @@
+package com.enterprise.ai_backend.dto;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+public class IngestionJobStatusDTO {
+
+    private String jobId;
+    private String fileName;
+    private String state;
+    private Map<String, String> stages;
+    private Long documentId;
+    private String error;
+    private LocalDateTime submittedAt;
+    private LocalDateTime finishedAt;
+
+    public IngestionJobStatusDTO() {
+    }
+
+    public IngestionJobStatusDTO(String jobId, String fileName, String state, Map<String, String> stages,
+                                 Long documentId, String error,
+                                 LocalDateTime submittedAt, LocalDateTime finishedAt) {
+        this.jobId = jobId;
+        this.fileName = fileName;
+        this.state = state;
+        this.stages = stages;
+        this.documentId = documentId;
+        this.error = error;
+        this.submittedAt = submittedAt;
+        this.finishedAt = finishedAt;
+    }
+
+    // Getters and Setters
+    public String getJobId() {
+        return jobId;
+    }
+
+    public void setJobId(String jobId) {
+        this.jobId = jobId;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public String getState() {
+        return state;
+    }
+
+    public void setState(String state) {
+        this.state = state;
+    }
+
+    public Map<String, String> getStages() {
+        return stages;
+    }
+
+    public void setStages(Map<String, String> stages) {
+        this.stages = stages;
+    }
+
+    public Long getDocumentId() {
+        return documentId;
+    }
+
+    public void setDocumentId(Long documentId) {
+        this.documentId = documentId;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public LocalDateTime getSubmittedAt() {
+        return submittedAt;
+    }
+
+    public void setSubmittedAt(LocalDateTime submittedAt) {
+        this.submittedAt = submittedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(LocalDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+}
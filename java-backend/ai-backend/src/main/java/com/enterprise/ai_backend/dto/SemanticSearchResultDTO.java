@@ -0,0 +1,52 @@
+package com.enterprise.ai_backend.dto;
+
+public class SemanticSearchResultDTO {
+
+    private Long id;
+    private String fileName;
+    private String summary;
+    private double score;
+
+    public SemanticSearchResultDTO() {
+    }
+
+    public SemanticSearchResultDTO(Long id, String fileName, String summary, double score) {
+        this.id = id;
+        this.fileName = fileName;
+        this.summary = summary;
+        this.score = score;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public String getSummary() {
+        return summary;
+    }
+
+    public void setSummary(String summary) {
+        this.summary = summary;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    public void setScore(double score) {
+        this.score = score;
+    }
+}
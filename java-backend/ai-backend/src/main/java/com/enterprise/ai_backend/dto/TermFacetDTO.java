@@ -0,0 +1,44 @@
+package com.enterprise.ai_backend.dto;
+
+/**
+ * A keyword or entity and the number of documents that mention it.
+ */
+public class TermFacetDTO {
+
+    private String term;
+    private String label;
+    private long count;
+
+    public TermFacetDTO() {
+    }
+
+    public TermFacetDTO(String term, String label, long count) {
+        this.term = term;
+        this.label = label;
+        this.count = count;
+    }
+
+    public String getTerm() {
+        return term;
+    }
+
+    public void setTerm(String term) {
+        this.term = term;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public void setLabel(String label) {
+        this.label = label;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+}
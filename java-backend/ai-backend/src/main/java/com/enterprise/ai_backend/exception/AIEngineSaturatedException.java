@@ -0,0 +1,15 @@
+package com.enterprise.ai_backend.exception;
+
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Thrown when a call to the AI engine is turned away because its endpoint
+ * is at its concurrency limit and the wait queue is full or the caller has
+ * waited too long. Answered with 429 Too Many Requests.
+ */
+public class AIEngineSaturatedException extends RejectedExecutionException {
+
+    public AIEngineSaturatedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,29 @@
+package com.enterprise.ai_backend.model;
+
+import org.springframework.beans.factory.ObjectProvider;
+
+import com.enterprise.ai_backend.util.ContentCompression;
+
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+
+/**
+ * Compresses document content on its way to the database according to the
+ * {@link ContentCompression} bean. Hibernate obtains the listener from the
+ * Spring context, so the policy is injected; contexts without one, such as
+ * JPA test slices, store content as plain TEXT.
+ */
+public class ContentCompressionListener {
+
+    private final ObjectProvider<ContentCompression> compression;
+
+    public ContentCompressionListener(ObjectProvider<ContentCompression> compression) {
+        this.compression = compression;
+    }
+
+    @PrePersist
+    @PreUpdate
+    void compress(DocumentEntity document) {
+        document.compressContent(compression.getIfAvailable(() -> ContentCompression.NONE));
+    }
+}
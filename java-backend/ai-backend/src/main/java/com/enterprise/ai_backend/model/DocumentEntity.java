@@ -1,16 +1,31 @@
 package com.enterprise.ai_backend.model;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.List;
+
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import com.enterprise.ai_backend.util.ContentCompression;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
 
 @Entity
-@Table(name = "documents")
+@Table(name = "documents", indexes = {
+        // ✅ Backs the keyset-paginated listing (ORDER BY created_at DESC, id DESC)
+        @Index(name = "idx_documents_created_at_id", columnList = "created_at, id")
+})
+@EntityListeners(ContentCompressionListener.class)
 public class DocumentEntity {
 
     @Id
@@ -20,9 +35,23 @@ public class DocumentEntity {
     @Column(name = "file_name", nullable = false, unique = true)
     private String fileName;
 
+    // Plain content; left empty when the content is stored compressed below
     @Column(name = "content", columnDefinition = "TEXT", nullable = false)
     private String content;
 
+    // LZ4-compressed content, decompressed on first read (see ContentCompression)
+    @JsonIgnore
+    @JdbcTypeCode(SqlTypes.LONG32VARBINARY)
+    @Column(name = "content_lz4")
+    private byte[] contentCompressed;
+
+    @Transient
+    private String decompressedContent;
+
+    // Character count of content, so listings can report sizes without reading content
+    @Column(name = "content_length")
+    private Integer contentLength;
+
     @Column(name = "summary", columnDefinition = "TEXT")
     private String summary;
 
@@ -35,6 +64,29 @@ public class DocumentEntity {
     @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
 
+    // SHA-256 of the uploaded bytes; identical uploads are stored once
+    @Column(name = "content_hash", length = 64, unique = true)
+    private String contentHash;
+
+    // MinHash signature of the content, used for near-duplicate detection
+    @JsonIgnore
+    @Column(name = "minhash", length = 512)
+    private byte[] minhash;
+
+    // Unit-length float32 embedding of the content for semantic search (see Vectors)
+    @JsonIgnore
+    @JdbcTypeCode(SqlTypes.LONG32VARBINARY)
+    @Column(name = "embedding")
+    private byte[] embedding;
+
+    // ID of an earlier document this one nearly duplicates, if any
+    @Column(name = "near_duplicate_of")
+    private Long nearDuplicateOf;
+
+    // Keywords and entities with scores and labels from the last enrichment, stored by TermService
+    @Transient
+    private List<DocumentTermEntity> extractedTerms = List.of();
+
     // --- Constructors ---
     public DocumentEntity() {
         this.createdAt = LocalDateTime.now();
@@ -42,14 +94,14 @@ public class DocumentEntity {
 
     public DocumentEntity(String fileName, String content, String summary) {
         this.fileName = fileName;
-        this.content = content;
+        setContent(content);
         this.summary = summary;
         this.createdAt = LocalDateTime.now();
     }
 
     public DocumentEntity(String fileName, String content, String summary, String keywords, String entities) {
         this.fileName = fileName;
-        this.content = content;
+        setContent(content);
         this.summary = summary;
         this.keywords = keywords;
         this.entities = entities;
@@ -74,11 +126,54 @@ public class DocumentEntity {
     }
 
     public String getContent() {
-        return content;
-    }
-
+        if (contentCompressed == null) {
+            return content;
+        }
+        if (decompressedContent == null) {
+            decompressedContent = ContentCompression.decompress(contentCompressed);
+        }
+        return decompressedContent;
+    }
+
+    /**
+     * Sets plain content; {@link ContentCompressionListener} compresses it
+     * on insert or update if the configured policy asks for it.
+     */
     public void setContent(String content) {
+        this.contentCompressed = null;
+        this.decompressedContent = null;
         this.content = content;
+        this.contentLength = content == null ? null : content.length();
+    }
+
+    // Moves plain content to compressed storage if the policy asks for it
+    public void compressContent(ContentCompression compression) {
+        if (contentCompressed == null && compression.shouldCompress(content)) {
+            this.contentCompressed = ContentCompression.compress(content);
+            this.decompressedContent = content;
+            this.content = "";
+        }
+    }
+
+    // Raw LZ4 block as stored in content_lz4, or null for plain rows
+    public byte[] getContentCompressed() {
+        return contentCompressed;
+    }
+
+    public boolean isContentCompressed() {
+        return contentCompressed != null;
+    }
+
+    // Size of the stored content column(s) in bytes, before PostgreSQL's own TOAST compression
+    @JsonIgnore
+    public int getStoredContentBytes() {
+        return contentCompressed != null
+                ? contentCompressed.length
+                : content == null ? 0 : content.getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    public Integer getContentLength() {
+        return contentLength;
     }
 
     public String getSummary() {
@@ -112,4 +207,45 @@ public class DocumentEntity {
     public void setCreatedAt(LocalDateTime createdAt) {
         this.createdAt = createdAt;
     }
+
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
+    public byte[] getMinhash() {
+        return minhash;
+    }
+
+    public void setMinhash(byte[] minhash) {
+        this.minhash = minhash;
+    }
+
+    public byte[] getEmbedding() {
+        return embedding;
+    }
+
+    public void setEmbedding(byte[] embedding) {
+        this.embedding = embedding;
+    }
+
+    public Long getNearDuplicateOf() {
+        return nearDuplicateOf;
+    }
+
+    public void setNearDuplicateOf(Long nearDuplicateOf) {
+        this.nearDuplicateOf = nearDuplicateOf;
+    }
+
+    @JsonIgnore
+    public List<DocumentTermEntity> getExtractedTerms() {
+        return extractedTerms;
+    }
+
+    public void setExtractedTerms(List<DocumentTermEntity> extractedTerms) {
+        this.extractedTerms = extractedTerms == null ? List.of() : extractedTerms;
+    }
 }
@@ -0,0 +1,84 @@
+package com.enterprise.ai_backend.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+/**
+ * A keyword or named entity extracted from a document, one row per
+ * distinct (kind, label, term) in that document.
+ */
+@Entity
+@Table(name = "document_terms", indexes = {
+        @Index(name = "idx_document_terms_document", columnList = "document_id"),
+        // ✅ "Documents mentioning X" lookups
+        @Index(name = "idx_document_terms_term", columnList = "kind, term, label")
+})
+public class DocumentTermEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "document_id", nullable = false)
+    private Long documentId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "kind", length = 16, nullable = false)
+    private TermKind kind;
+
+    @Column(name = "term", nullable = false)
+    private String term;
+
+    // Entity label such as ORG or PERSON; empty for keywords and for entities of unknown label
+    @Column(name = "label", length = 64, nullable = false)
+    private String label;
+
+    // Keyword relevance from the AI engine, or how often the entity occurs in the document
+    @Column(name = "score")
+    private Double score;
+
+    public DocumentTermEntity() {
+    }
+
+    public DocumentTermEntity(TermKind kind, String term, String label, Double score) {
+        this.kind = kind;
+        this.term = term;
+        this.label = label == null ? "" : label;
+        this.score = score;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getDocumentId() {
+        return documentId;
+    }
+
+    public void setDocumentId(Long documentId) {
+        this.documentId = documentId;
+    }
+
+    public TermKind getKind() {
+        return kind;
+    }
+
+    public String getTerm() {
+        return term;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public Double getScore() {
+        return score;
+    }
+}
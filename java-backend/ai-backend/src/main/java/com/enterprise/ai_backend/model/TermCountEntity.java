@@ -0,0 +1,70 @@
+package com.enterprise.ai_backend.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+/**
+ * Number of documents that mention a term, kept up to date as documents
+ * are saved and deleted, so facet counts never scan the corpus.
+ */
+@Entity
+@Table(name = "term_counts",
+        uniqueConstraints = @UniqueConstraint(name = "uk_term_counts_term", columnNames = {"kind", "label", "term"}),
+        indexes = @Index(name = "idx_term_counts_top", columnList = "kind, document_count"))
+public class TermCountEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "kind", length = 16, nullable = false)
+    private TermKind kind;
+
+    @Column(name = "term", nullable = false)
+    private String term;
+
+    @Column(name = "label", length = 64, nullable = false)
+    private String label;
+
+    @Column(name = "document_count", nullable = false)
+    private long documentCount;
+
+    public TermCountEntity() {
+    }
+
+    public TermCountEntity(TermKind kind, String term, String label, long documentCount) {
+        this.kind = kind;
+        this.term = term;
+        this.label = label;
+        this.documentCount = documentCount;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public TermKind getKind() {
+        return kind;
+    }
+
+    public String getTerm() {
+        return term;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public long getDocumentCount() {
+        return documentCount;
+    }
+}
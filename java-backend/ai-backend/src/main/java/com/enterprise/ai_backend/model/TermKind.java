@@ -0,0 +1,9 @@
+package com.enterprise.ai_backend.model;
+
+/**
+ * What an extracted document term is.
+ */
+public enum TermKind {
+    KEYWORD,
+    ENTITY
+}
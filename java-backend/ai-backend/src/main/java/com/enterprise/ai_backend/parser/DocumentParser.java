@@ -0,0 +1,23 @@
+package com.enterprise.ai_backend.parser;
+
+import java.io.IOException;
+
+import org.apache.tika.mime.MediaType;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * Extracts plain text from one family of document types. Implementations
+ * are Spring beans and are consulted in {@code @Order} order; the first one
+ * whose {@link #supports} accepts the detected type parses the file.
+ * Implementations must be thread-safe, as one instance serves all requests.
+ */
+public interface DocumentParser {
+
+    boolean supports(MediaType type);
+
+    /**
+     * @param file     the upload, its type already detected from the content
+     * @param maxChars upper bound on the returned text length
+     */
+    String parse(MultipartFile file, int maxChars) throws IOException;
+}
@@ -0,0 +1,269 @@
+package com.enterprise.ai_backend.parser;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.apache.tika.mime.MediaType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.enterprise.ai_backend.util.SpooledMultipartFile;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * PDFBox fast path for PDFs. Large files are parsed from a temp file with
+ * disk-backed buffers, and PDFs with many pages are extracted in page
+ * ranges on a fork-join pool, one document per worker thread.
+ */
+@Component
+@Order(1)
+public class PdfDocumentParser implements DocumentParser {
+
+    private static final Logger logger = LoggerFactory.getLogger(PdfDocumentParser.class);
+    private static final MediaType PDF = MediaType.application("pdf");
+
+    private final boolean parallelEnabled;
+    private final int parallelMinPages;
+    private final int pagesPerTask;
+    private final ForkJoinPool pool;
+    private final long largeFileThresholdBytes;
+    private final long timeoutMs;
+
+    public PdfDocumentParser() {
+        this(true, 100, 0, 25, 20L * 1024 * 1024, 120_000);
+    }
+
+    @Autowired
+    public PdfDocumentParser(
+            @Value("${parser.pdf.parallel.enabled:true}") boolean parallelEnabled,
+            @Value("${parser.pdf.parallel.min-pages:100}") int parallelMinPages,
+            @Value("${parser.pdf.parallel.parallelism:0}") int parallelism,
+            @Value("${parser.pdf.parallel.pages-per-task:25}") int pagesPerTask,
+            @Value("${parser.large-file.threshold-bytes:20971520}") long largeFileThresholdBytes,
+            @Value("${parser.pdf.parallel.timeout-ms:120000}") long timeoutMs) {
+        this.parallelEnabled = parallelEnabled;
+        this.parallelMinPages = Math.max(1, parallelMinPages);
+        this.pagesPerTask = Math.max(1, pagesPerTask);
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.largeFileThresholdBytes = largeFileThresholdBytes;
+        this.timeoutMs = Math.max(1, timeoutMs);
+    }
+
+    @Override
+    public boolean supports(MediaType type) {
+        return PDF.equals(type.getBaseType());
+    }
+
+    @Override
+    public String parse(MultipartFile file, int maxChars) throws IOException {
+        if (file.getSize() < largeFileThresholdBytes) {
+            byte[] bytes = file.getBytes();
+            return parse(file.getOriginalFilename(), () -> PDDocument.load(bytes), maxChars);
+        }
+
+        // Large PDF: parse from a temp file with temp-file-backed scratch buffers instead of the heap
+        SpooledMultipartFile spooled = SpooledMultipartFile.spool(file);
+        try {
+            logger.info("💾 Parsing large PDF '{}' ({} bytes) from disk", file.getOriginalFilename(), file.getSize());
+            return parse(file.getOriginalFilename(),
+                    () -> PDDocument.load(spooled.getPath().toFile(), MemoryUsageSetting.setupTempFileOnly()),
+                    maxChars);
+        } finally {
+            if (spooled != file) {
+                spooled.delete();
+            }
+        }
+    }
+
+    private String parse(String filename, PdfSource source, int maxChars) throws IOException {
+        int pageCount;
+        try (PDDocument document = source.open()) {
+            if (document.isEncrypted()) {
+                throw new IOException("Cannot parse encrypted PDF file.");
+            }
+            pageCount = document.getNumberOfPages();
+            if (!parallelEnabled || pageCount < parallelMinPages) {
+                return extractPageRange(document, 1, pageCount, filename, maxChars, () -> false).trim();
+            }
+        }
+        return extractInParallel(source, pageCount, filename, maxChars).trim();
+    }
+
+    /**
+     * Splits the document into page ranges and extracts them on the fork-join
+     * pool. PDDocument is not thread-safe, so each worker opens its own copy
+     * from the same source, once, and then takes the next unclaimed range
+     * until none are left; the ranges are joined back in page order. The
+     * character cap is shared: once the ranges joined so far fill it, the
+     * ranges still running stop at their next write and the workers stop
+     * taking new ones.
+     * <p>
+     * The ranges are awaited for at most {@code parser.pdf.parallel.timeout-ms}
+     * in total. On a timeout or the first failed range the extraction fails,
+     * the other ranges are cancelled and the workers stop at their next write.
+     */
+    String extractInParallel(PdfSource source, int pageCount, String filename, int maxChars) throws IOException {
+        int rangeCount = (pageCount + pagesPerTask - 1) / pagesPerTask;
+        List<CompletableFuture<String>> ranges = new ArrayList<>(rangeCount);
+        for (int i = 0; i < rangeCount; i++) {
+            ranges.add(new CompletableFuture<>());
+        }
+        AtomicInteger nextRange = new AtomicInteger();
+        AtomicBoolean capReached = new AtomicBoolean();
+        int workers = Math.min(rangeCount, pool.getParallelism());
+        List<Future<?>> running = new ArrayList<>(workers);
+        for (int w = 0; w < workers; w++) {
+            running.add(pool.submit(() -> {
+                try (PDDocument document = source.open()) {
+                    int range;
+                    while (!capReached.get() && (range = nextRange.getAndIncrement()) < rangeCount) {
+                        int from = range * pagesPerTask + 1;
+                        int to = Math.min(pageCount, from + pagesPerTask - 1);
+                        ranges.get(range).complete(
+                                extractPageRange(document, from, to, filename, maxChars, capReached::get));
+                    }
+                } catch (Throwable e) {
+                    // One failed worker fails the whole extraction, as a sequential run would
+                    capReached.set(true);
+                    ranges.forEach(r -> r.completeExceptionally(e));
+                    if (e instanceof Error error) {
+                        throw error;
+                    }
+                }
+            }));
+        }
+        logger.info("📄 Extracting {} PDF pages in {} ranges on {} threads", pageCount, rangeCount, workers);
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        StringBuilder text = new StringBuilder();
+        try {
+            for (int i = 0; i < rangeCount; i++) {
+                String part = ranges.get(i).get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                int taken = Math.min(part.length(), maxChars - text.length());
+                text.append(part, 0, taken);
+                if (text.length() >= maxChars) {
+                    if (taken < part.length() || i < rangeCount - 1) {
+                        logger.warn("✂️ Truncated '{}' to {} characters", filename, maxChars);
+                    }
+                    break;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while extracting PDF text", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof IOException io ? io : new IOException("PDF text extraction failed", cause);
+        } catch (TimeoutException e) {
+            throw new IOException("PDF text extraction of '" + filename + "' timed out after " + timeoutMs + " ms", e);
+        } finally {
+            // Nothing after this point is used: stop the ranges still running
+            capReached.set(true);
+            ranges.forEach(range -> range.cancel(false));
+            running.forEach(worker -> worker.cancel(false));
+        }
+        return text.toString();
+    }
+
+    /**
+     * Runs the stripper over pages {@code from..to}, stopping as soon as
+     * the character cap is reached, or {@code stopped} turns true, rather
+     * than extracting the rest.
+     */
+    private static String extractPageRange(PDDocument document, int from, int to, String filename, int maxChars,
+                                           BooleanSupplier stopped) throws IOException {
+        PDFTextStripper stripper = new PDFTextStripper();
+        stripper.setStartPage(from);
+        stripper.setEndPage(to);
+        CappedWriter writer = new CappedWriter(maxChars, stopped);
+        try {
+            stripper.writeText(document, writer);
+        } catch (CappedWriter.LimitReachedException e) {
+            if (!stopped.getAsBoolean()) {
+                logger.warn("✂️ Truncated '{}' to {} characters", filename, maxChars);
+            }
+        }
+        return writer.toString();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    /**
+     * Opens a fresh PDDocument over the same bytes or temp file.
+     */
+    @FunctionalInterface
+    interface PdfSource {
+        PDDocument open() throws IOException;
+    }
+
+    /**
+     * Collects text up to a character limit, then aborts the writer's caller;
+     * also aborts once {@code stopped} turns true.
+     */
+    private static final class CappedWriter extends Writer {
+
+        private final StringBuilder text = new StringBuilder();
+        private final int limit;
+        private final BooleanSupplier stopped;
+
+        CappedWriter(int limit, BooleanSupplier stopped) {
+            this.limit = limit;
+            this.stopped = stopped;
+        }
+
+        @Override
+        public void write(char[] cbuf, int off, int len) throws IOException {
+            if (stopped.getAsBoolean()) {
+                throw new LimitReachedException();
+            }
+            int room = limit - text.length();
+            text.append(cbuf, off, Math.min(len, room));
+            // Text that ends exactly at the limit is complete, not truncated
+            if (len > room) {
+                throw new LimitReachedException();
+            }
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public String toString() {
+            return text.toString();
+        }
+
+        static final class LimitReachedException extends IOException {
+            LimitReachedException() {
+                super("Character limit reached");
+            }
+        }
+    }
+}
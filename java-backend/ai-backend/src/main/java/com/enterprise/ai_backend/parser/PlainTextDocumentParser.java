@@ -0,0 +1,67 @@
+package com.enterprise.ai_backend.parser;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.tika.mime.MediaType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * Fast path for plain text: decodes UTF-8 through a fixed-size channel
+ * buffer, so only the extracted text (bounded by the character cap) is
+ * held on the heap.
+ */
+@Component
+@Order(2)
+public class PlainTextDocumentParser implements DocumentParser {
+
+    private static final Logger logger = LoggerFactory.getLogger(PlainTextDocumentParser.class);
+    private static final int DECODE_BUFFER_BYTES = 64 * 1024;
+
+    @Override
+    public boolean supports(MediaType type) {
+        return MediaType.TEXT_PLAIN.equals(type.getBaseType());
+    }
+
+    @Override
+    public String parse(MultipartFile file, int maxChars) throws IOException {
+        CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        ByteBuffer in = ByteBuffer.allocate(DECODE_BUFFER_BYTES);
+        CharBuffer out = CharBuffer.allocate(DECODE_BUFFER_BYTES);
+        StringBuilder sb = new StringBuilder((int) Math.min(file.getSize(), Math.min(maxChars, DECODE_BUFFER_BYTES * 16L)));
+
+        try (InputStream stream = file.getInputStream();
+             ReadableByteChannel channel = Channels.newChannel(stream)) {
+            boolean eof = false;
+            while (!eof && sb.length() < maxChars) {
+                eof = channel.read(in) < 0;
+                in.flip();
+                decoder.decode(in, out, eof);
+                if (eof) {
+                    decoder.flush(out);
+                }
+                in.compact();
+                out.flip();
+                sb.append(out, 0, Math.min(out.remaining(), maxChars - sb.length()));
+                out.clear();
+            }
+        }
+        if (sb.length() >= maxChars) {
+            logger.warn("✂️ Truncated '{}' to {} characters", file.getOriginalFilename(), maxChars);
+        }
+        return sb.toString().replace("\r\n", "\n").trim();
+    }
+}
@@ -0,0 +1,107 @@
+package com.enterprise.ai_backend.parser;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.apache.tika.config.TikaConfig;
+import org.apache.tika.exception.TikaException;
+import org.apache.tika.exception.WriteLimitReachedException;
+import org.apache.tika.extractor.EmbeddedDocumentExtractor;
+import org.apache.tika.io.TikaInputStream;
+import org.apache.tika.metadata.Metadata;
+import org.apache.tika.metadata.TikaCoreProperties;
+import org.apache.tika.mime.MediaType;
+import org.apache.tika.parser.AutoDetectParser;
+import org.apache.tika.parser.ParseContext;
+import org.apache.tika.parser.microsoft.OfficeParserConfig;
+import org.apache.tika.sax.BodyContentHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+import org.xml.sax.ContentHandler;
+import org.xml.sax.SAXException;
+
+import com.enterprise.ai_backend.util.SpooledMultipartFile;
+
+/**
+ * Fallback for every other type Tika understands (DOCX, PPTX, XLSX, HTML,
+ * RTF, ODF, ...). Text is streamed through a SAX {@link BodyContentHandler}
+ * with a write limit, and the SAX-based DOCX/PPTX extractors are used so
+ * that huge office documents are never loaded as full DOM trees.
+ * Embedded documents (attachments, images) are skipped.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class TikaDocumentParser implements DocumentParser {
+
+    private static final Logger logger = LoggerFactory.getLogger(TikaDocumentParser.class);
+
+    private static final EmbeddedDocumentExtractor SKIP_EMBEDDED = new EmbeddedDocumentExtractor() {
+        @Override
+        public boolean shouldParseEmbedded(Metadata metadata) {
+            return false;
+        }
+
+        @Override
+        public void parseEmbedded(InputStream stream, ContentHandler handler, Metadata metadata, boolean outputHtml) {
+        }
+    };
+
+    private final AutoDetectParser parser;
+
+    public TikaDocumentParser() {
+        this(TikaConfig.getDefaultConfig());
+    }
+
+    @Autowired
+    public TikaDocumentParser(TikaConfig tikaConfig) {
+        this.parser = new AutoDetectParser(tikaConfig);
+    }
+
+    @Override
+    public boolean supports(MediaType type) {
+        return !MediaType.OCTET_STREAM.equals(type) && parser.getParsers().containsKey(type.getBaseType());
+    }
+
+    @Override
+    public String parse(MultipartFile file, int maxChars) throws IOException {
+        BodyContentHandler handler = new BodyContentHandler(maxChars);
+        Metadata metadata = new Metadata();
+        metadata.set(TikaCoreProperties.RESOURCE_NAME_KEY, file.getOriginalFilename());
+
+        try (TikaInputStream stream = open(file)) {
+            parser.parse(stream, handler, metadata, parseContext());
+        } catch (SAXException e) {
+            if (!WriteLimitReachedException.isWriteLimitReached(e)) {
+                throw new IOException("Failed to extract text from " + file.getOriginalFilename(), e);
+            }
+            logger.warn("✂️ Truncated '{}' to {} characters", file.getOriginalFilename(), maxChars);
+        } catch (TikaException e) {
+            throw new IllegalArgumentException("Unable to parse " + file.getOriginalFilename() + ": " + e.getMessage(), e);
+        }
+        return handler.toString().trim();
+    }
+
+    private static TikaInputStream open(MultipartFile file) throws IOException {
+        // Spooled uploads are read straight from their temp file
+        if (file instanceof SpooledMultipartFile spooled) {
+            return TikaInputStream.get(spooled.getPath());
+        }
+        return TikaInputStream.get(file.getInputStream());
+    }
+
+    private static ParseContext parseContext() {
+        OfficeParserConfig officeConfig = new OfficeParserConfig();
+        officeConfig.setUseSAXDocxExtractor(true);
+        officeConfig.setUseSAXPptxExtractor(true);
+
+        ParseContext context = new ParseContext();
+        context.set(OfficeParserConfig.class, officeConfig);
+        context.set(EmbeddedDocumentExtractor.class, SKIP_EMBEDDED);
+        return context;
+    }
+}
@@ -0,0 +1,11 @@
+package com.enterprise.ai_backend.repository;
+
+/**
+ * Projection of a document's ID and stored embedding.
+ */
+public interface DocumentEmbeddingView {
+
+    Long getId();
+
+    byte[] getEmbedding();
+}
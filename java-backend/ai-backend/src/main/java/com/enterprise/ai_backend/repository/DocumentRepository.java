@@ -1,20 +1,167 @@
 package com.enterprise.ai_backend.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.enterprise.ai_backend.dto.DocumentSummaryDTO;
 import com.enterprise.ai_backend.model.DocumentEntity;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface DocumentRepository extends JpaRepository<DocumentEntity, Long> {
 
     // ✅ UPDATED: Return a list to avoid IncorrectResultSizeDataAccessException
     List<DocumentEntity> findByFileName(String fileName);
 
-    // 🔎 Search by fileName, content, or summary (case-insensitive, partial match)
-    List<DocumentEntity> findByFileNameContainingIgnoreCaseOrContentContainingIgnoreCaseOrSummaryContainingIgnoreCase(
-        String fileName, String content, String summary
-    );
+    boolean existsByFileName(String fileName);
+
+    // 📥 Which of these names / hashes are already stored, for skipping rows during an import
+    @Query("SELECT d.fileName FROM DocumentEntity d WHERE d.fileName IN :fileNames")
+    List<String> findExistingFileNames(@Param("fileNames") Collection<String> fileNames);
+
+    @Query("SELECT d.contentHash FROM DocumentEntity d WHERE d.contentHash IN :hashes")
+    List<String> findExistingContentHashes(@Param("hashes") Collection<String> hashes);
+
+    // 📤 Every document in ID order through a server-side cursor; must run inside a transaction,
+    // and callers detach each entity once written so memory stays flat
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "200"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT d FROM DocumentEntity d ORDER BY d.id ASC")
+    Stream<DocumentEntity> streamAllOrderById();
+
+    // 📃 First page of the listing, newest first, without the content column
+    @Query("SELECT new com.enterprise.ai_backend.dto.DocumentSummaryDTO("
+            + "d.id, d.fileName, d.summary, d.keywords, d.entities, d.createdAt, d.contentLength) "
+            + "FROM DocumentEntity d ORDER BY d.createdAt DESC, d.id DESC")
+    List<DocumentSummaryDTO> findSummaries(Pageable page);
+
+    // 📃 Following pages: rows strictly after the (createdAt, id) cursor
+    @Query("SELECT new com.enterprise.ai_backend.dto.DocumentSummaryDTO("
+            + "d.id, d.fileName, d.summary, d.keywords, d.entities, d.createdAt, d.contentLength) "
+            + "FROM DocumentEntity d "
+            + "WHERE d.createdAt < :createdAt OR (d.createdAt = :createdAt AND d.id < :id) "
+            + "ORDER BY d.createdAt DESC, d.id DESC")
+    List<DocumentSummaryDTO> findSummariesAfter(@Param("createdAt") LocalDateTime createdAt,
+                                                @Param("id") Long id, Pageable page);
+
+    @Query("SELECT new com.enterprise.ai_backend.dto.DocumentSummaryDTO("
+            + "d.id, d.fileName, d.summary, d.keywords, d.entities, d.createdAt, d.contentLength) "
+            + "FROM DocumentEntity d WHERE d.fileName = :fileName")
+    List<DocumentSummaryDTO> findSummariesByFileName(@Param("fileName") String fileName);
+
+    @Query("SELECT new com.enterprise.ai_backend.dto.DocumentSummaryDTO("
+            + "d.id, d.fileName, d.summary, d.keywords, d.entities, d.createdAt, d.contentLength) "
+            + "FROM DocumentEntity d WHERE d.id IN :ids")
+    List<DocumentSummaryDTO> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // 🔎 Fallback search where full-text search is unavailable: case-insensitive partial match on
+    // fileName. Content and summary are matched by ElasticService, which can read compressed content.
+    @Query("SELECT new com.enterprise.ai_backend.dto.DocumentSummaryDTO("
+            + "d.id, d.fileName, d.summary, d.keywords, d.entities, d.createdAt, d.contentLength) "
+            + "FROM DocumentEntity d "
+            + "WHERE LOWER(d.fileName) LIKE LOWER(CONCAT('%', :q, '%')) "
+            + "ORDER BY d.createdAt DESC, d.id DESC")
+    List<DocumentSummaryDTO> searchSummariesByFileName(@Param("q") String query, Pageable page);
+
+    // 🔎 Keyset pages of searchable text, newest first, for queries the trigram index cannot narrow
+    List<DocumentTextView> findByIdLessThanOrderByIdDesc(Long beforeId, Pageable page);
+
+    // 🔍 Keyset pages of searchable text in ID order, for rebuilding the in-process indexes
+    List<DocumentTextView> findByIdGreaterThanOrderByIdAsc(Long afterId, Pageable page);
+
+    // ✅ Uploads are idempotent on the SHA-256 of their bytes
+    Optional<DocumentEntity> findFirstByContentHash(String contentHash);
+
+    // 🧬 Keyset pages of MinHash signatures, without loading content
+    List<DocumentSignatureView> findByIdGreaterThanAndMinhashIsNotNullOrderByIdAsc(Long afterId, Pageable page);
+
+    // 🧬 Keyset pages of documents that still need a MinHash signature
+    List<DocumentEntity> findByIdGreaterThanAndMinhashIsNullOrderByIdAsc(Long afterId, Pageable page);
+
+    // 🧬 Writes only the signature of a row that is still unsigned; a row edited in the meantime
+    // already carries its new signature and is left alone
+    @Transactional
+    @Modifying
+    @Query("UPDATE DocumentEntity d SET d.minhash = :minhash WHERE d.id = :id AND d.minhash IS NULL")
+    int updateMinhash(@Param("id") Long id, @Param("minhash") byte[] minhash);
+
+    // 🧭 Keyset pages of stored embeddings, without loading content
+    List<DocumentEmbeddingView> findByIdGreaterThanAndEmbeddingIsNotNullOrderByIdAsc(Long afterId, Pageable page);
+
+    // 🧭 Keyset pages of documents that still need an embedding
+    List<DocumentEntity> findByIdGreaterThanAndEmbeddingIsNullOrderByIdAsc(Long afterId, Pageable page);
+
+    // 🧭 Writes only the embedding, leaving the (possibly compressed) content untouched
+    @Transactional
+    @Modifying
+    @Query("UPDATE DocumentEntity d SET d.embedding = :embedding WHERE d.id = :id")
+    int updateEmbedding(@Param("id") Long id, @Param("embedding") byte[] embedding);
+
+    // 🗜️ Keyset pages of rows still stored as plain TEXT that are long enough to compress,
+    // or that predate content_length
+    @Query("SELECT d FROM DocumentEntity d WHERE d.id > :afterId AND d.contentCompressed IS NULL "
+            + "AND (d.contentLength IS NULL OR d.contentLength >= :minChars) ORDER BY d.id ASC")
+    List<DocumentEntity> findUncompressedAfter(@Param("afterId") Long afterId,
+                                               @Param("minChars") int minChars, Pageable page);
+
+    // 🗜️ Moves one row to compressed storage, touching only the content columns;
+    // a row compressed in the meantime is left alone
+    @Transactional
+    @Modifying
+    @Query("UPDATE DocumentEntity d SET d.content = '', d.contentCompressed = :compressed, "
+            + "d.contentLength = :contentLength WHERE d.id = :id AND d.contentCompressed IS NULL")
+    int compressContent(@Param("id") Long id, @Param("compressed") byte[] compressed,
+                        @Param("contentLength") int contentLength);
+
+    // 🗜️ Records the length of a row that predates content_length and stays plain
+    @Transactional
+    @Modifying
+    @Query("UPDATE DocumentEntity d SET d.contentLength = :contentLength WHERE d.id = :id AND d.contentLength IS NULL")
+    int backfillContentLength(@Param("id") Long id, @Param("contentLength") int contentLength);
+
+    // 🔎 PostgreSQL only: IDs matching a web-search style query, ranked by ts_rank over the
+    // weighted search_vector column maintained by FullTextSearchService
+    @Query(value = "SELECT d.id FROM documents d, websearch_to_tsquery(CAST(:config AS regconfig), :q) query "
+            + "WHERE d.search_vector @@ query "
+            + "ORDER BY ts_rank(d.search_vector, query) DESC, d.id DESC LIMIT :limit", nativeQuery = true)
+    List<Long> searchRankedIds(@Param("config") String config, @Param("q") String query, @Param("limit") int limit);
+
+    // 🔎 PostgreSQL only: content is passed in because compressed content cannot be read in SQL
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE documents SET search_vector = "
+            + "setweight(to_tsvector(CAST(:config AS regconfig), :fileName), 'A') || "
+            + "setweight(to_tsvector(CAST(:config AS regconfig), :summary), 'B') || "
+            + "setweight(to_tsvector(CAST(:config AS regconfig), :content), 'C') "
+            + "WHERE id = :id", nativeQuery = true)
+    int updateSearchVector(@Param("id") Long id, @Param("config") String config, @Param("fileName") String fileName,
+                           @Param("summary") String summary, @Param("content") String content);
+
+    // 🔎 PostgreSQL only: keyset pages of rows that still need a search vector
+    @Query(value = "SELECT d.id FROM documents d WHERE d.search_vector IS NULL AND d.id > :afterId "
+            + "ORDER BY d.id LIMIT :limit", nativeQuery = true)
+    List<Long> findIdsWithoutSearchVector(@Param("afterId") Long afterId, @Param("limit") int limit);
+
+    // 🏷️ Keyset pages of documents with keywords or entities but no normalized terms yet
+    @Query("SELECT d.id AS id, d.keywords AS keywords, d.entities AS entities FROM DocumentEntity d "
+            + "WHERE d.id > :afterId AND (d.keywords <> '' OR d.entities <> '') "
+            + "AND NOT EXISTS (SELECT 1 FROM DocumentTermEntity t WHERE t.documentId = d.id) "
+            + "ORDER BY d.id ASC")
+    List<DocumentTermView> findWithoutTermsAfter(@Param("afterId") Long afterId, Pageable page);
 }
@@ -0,0 +1,11 @@
+package com.enterprise.ai_backend.repository;
+
+/**
+ * Projection of a document's ID and MinHash signature.
+ */
+public interface DocumentSignatureView {
+
+    Long getId();
+
+    byte[] getMinhash();
+}
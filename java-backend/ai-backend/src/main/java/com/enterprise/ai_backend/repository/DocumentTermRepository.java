@@ -0,0 +1,37 @@
+package com.enterprise.ai_backend.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.enterprise.ai_backend.model.DocumentTermEntity;
+import com.enterprise.ai_backend.model.TermKind;
+
+@Repository
+public interface DocumentTermRepository extends JpaRepository<DocumentTermEntity, Long> {
+
+    List<DocumentTermEntity> findByDocumentIdIn(Collection<Long> documentIds);
+
+    boolean existsByDocumentId(Long documentId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM DocumentTermEntity t WHERE t.documentId IN :documentIds")
+    int deleteByDocumentIdIn(@Param("documentIds") Collection<Long> documentIds);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM DocumentTermEntity t")
+    int deleteAllTerms();
+
+    // 🏷️ Newest documents mentioning a term, any label when label is null
+    @Query("SELECT t.documentId FROM DocumentTermEntity t "
+            + "WHERE t.kind = :kind AND t.term = :term AND (:label IS NULL OR t.label = :label) "
+            + "ORDER BY t.documentId DESC")
+    List<Long> findDocumentIdsByTerm(@Param("kind") TermKind kind, @Param("term") String term,
+                                     @Param("label") String label, Pageable page);
+}
@@ -0,0 +1,13 @@
+package com.enterprise.ai_backend.repository;
+
+/**
+ * Projection of a document's ID and its comma-joined keywords and entities.
+ */
+public interface DocumentTermView {
+
+    Long getId();
+
+    String getKeywords();
+
+    String getEntities();
+}
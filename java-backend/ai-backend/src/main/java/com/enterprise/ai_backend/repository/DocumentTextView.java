@@ -0,0 +1,18 @@
+package com.enterprise.ai_backend.repository;
+
+/**
+ * Projection of the columns the search indexes read: ID, file name, summary
+ * and content, which is in {@code contentCompressed} for compressed rows.
+ */
+public interface DocumentTextView {
+
+    Long getId();
+
+    String getFileName();
+
+    String getSummary();
+
+    String getContent();
+
+    byte[] getContentCompressed();
+}
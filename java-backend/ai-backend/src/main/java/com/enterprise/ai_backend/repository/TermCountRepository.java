@@ -0,0 +1,37 @@
+package com.enterprise.ai_backend.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.enterprise.ai_backend.model.TermCountEntity;
+import com.enterprise.ai_backend.model.TermKind;
+
+@Repository
+public interface TermCountRepository extends JpaRepository<TermCountEntity, Long> {
+
+    // ✅ Atomic in-place adjustment; returns 0 when the term has no row yet
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE TermCountEntity c SET c.documentCount = c.documentCount + :delta "
+            + "WHERE c.kind = :kind AND c.label = :label AND c.term = :term")
+    int adjust(@Param("kind") TermKind kind, @Param("label") String label, @Param("term") String term,
+               @Param("delta") long delta);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM TermCountEntity c "
+            + "WHERE c.kind = :kind AND c.label = :label AND c.term = :term AND c.documentCount <= 0")
+    int deleteIfUnused(@Param("kind") TermKind kind, @Param("label") String label, @Param("term") String term);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM TermCountEntity c")
+    int deleteAllCounts();
+
+    List<TermCountEntity> findByKindOrderByDocumentCountDescTermAsc(TermKind kind, Pageable page);
+
+    List<TermCountEntity> findByKindAndLabelOrderByDocumentCountDescTermAsc(TermKind kind, String label, Pageable page);
+}
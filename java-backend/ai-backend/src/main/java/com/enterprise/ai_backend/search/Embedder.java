@@ -0,0 +1,25 @@
+package com.enterprise.ai_backend.search;
+
+import java.util.List;
+
+/**
+ * Turns text into a fixed-length vector for semantic search. Vectors are
+ * unit length, so the dot product of two of them is their cosine similarity.
+ */
+public interface Embedder {
+
+    int dimensions();
+
+    /**
+     * @return the normalized vector, or {@code null} if the text could not be embedded
+     */
+    float[] embed(String text);
+
+    /**
+     * Embeds several texts; implementations backed by a remote model send
+     * them in one request. Entries are {@code null} where embedding failed.
+     */
+    default List<float[]> embedAll(List<String> texts) {
+        return texts.stream().map(this::embed).toList();
+    }
+}
@@ -0,0 +1,76 @@
+package com.enterprise.ai_backend.search;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Model-free embedder that runs on the local CPU: words and word pairs are
+ * hashed into signed vector positions (the "hashing trick") with sublinear
+ * term frequency weights. Similarity is lexical rather than learned, but
+ * it needs no AI engine and ranks documents sharing vocabulary and phrases
+ * close together. Words are the same letter/digit runs as in {@link InvertedIndex}.
+ */
+public class HashingEmbedder implements Embedder {
+
+    private static final float PAIR_WEIGHT = 0.5f;
+
+    private final int dimensions;
+
+    public HashingEmbedder(int dimensions) {
+        if (dimensions < 1) {
+            throw new IllegalArgumentException("dimensions must be positive");
+        }
+        this.dimensions = dimensions;
+    }
+
+    @Override
+    public int dimensions() {
+        return dimensions;
+    }
+
+    @Override
+    public float[] embed(String text) {
+        if (text == null || text.isEmpty()) {
+            return null;
+        }
+        // feature hash -> occurrences
+        Map<Long, Integer> counts = new HashMap<>();
+        long hash = 0;
+        long previousWord = 0;
+        boolean inWord = false;
+        for (int i = 0; i <= text.length(); i++) {
+            char c = i < text.length() ? text.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                hash = hash * 1_000_003 + Character.toLowerCase(c);
+                inWord = true;
+            } else if (inWord) {
+                long word = mix(hash);
+                counts.merge(word, 1, Integer::sum);
+                if (previousWord != 0) {
+                    // Pairs get an odd key so they never collide with a single word's key
+                    counts.merge(mix(previousWord * 31 + word) | 1L, 1, Integer::sum);
+                }
+                previousWord = word;
+                hash = 0;
+                inWord = false;
+            }
+        }
+
+        float[] vector = new float[dimensions];
+        for (Map.Entry<Long, Integer> e : counts.entrySet()) {
+            long feature = e.getKey();
+            float weight = (float) (1 + Math.log(e.getValue())) * ((feature & 1L) == 1L ? PAIR_WEIGHT : 1f);
+            // Bit 0 marks pairs, bit 63 is the sign, the bits between pick the position
+            int position = (int) (((feature >>> 1) & 0x3FFF_FFFF_FFFF_FFFFL) % dimensions);
+            vector[position] += (feature >>> 63) == 0 ? weight : -weight;
+        }
+        return Vectors.normalize(vector);
+    }
+
+    // SplitMix64 finalizer, as in MinHash; the low bit is left for the word/pair flag
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return (z ^ (z >>> 31)) & ~1L;
+    }
+}
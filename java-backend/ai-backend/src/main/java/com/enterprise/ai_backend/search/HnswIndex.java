@@ -0,0 +1,412 @@
+package com.enterprise.ai_backend.search;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.SplittableRandom;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Approximate k-nearest-neighbour search over unit vectors with a
+ * Hierarchical Navigable Small World graph (Malkov and Yashunin, 2016).
+ * Every vector is a node on layer 0 and, with exponentially falling
+ * probability, on the layers above. A search descends greedily through the
+ * sparse upper layers and then explores layer 0 keeping the {@code ef} best
+ * candidates, so it touches a small part of the corpus rather than all of it.
+ * <p>
+ * Vectors live off-heap in a {@link VectorStore}; only the links are on the
+ * heap. Removing or replacing a document marks its node deleted: the node
+ * keeps routing searches but is never returned. Once deleted nodes make up
+ * {@code maxDeletedShare} of the graph, the live vectors are moved down to
+ * the lowest slots and the graph is rebuilt from them, so links and vector
+ * slots of deleted nodes are reclaimed. The rebuild runs under the write
+ * lock; since it needs that many deletions first, its cost per deletion
+ * stays constant.
+ */
+public class HnswIndex implements AutoCloseable {
+
+    /** A result of {@link #search}: the document and its cosine similarity to the query. */
+    public record Hit(long docId, float score) {
+    }
+
+    private record Candidate(int node, float score) {
+    }
+
+    private static final Comparator<Candidate> BEST_FIRST =
+            Comparator.comparingDouble(Candidate::score).reversed();
+    private static final Comparator<Candidate> WORST_FIRST = Comparator.comparingDouble(Candidate::score);
+
+    // Small graphs are not worth rebuilding, whatever their deleted share
+    private static final int MIN_DELETED_TO_COMPACT = 64;
+
+    private final VectorStore vectors;
+    private final int maxLinks;
+    private final int maxLinksLayer0;
+    private final int efConstruction;
+    private final double levelFactor;
+    private final double maxDeletedShare;
+    private final SplittableRandom random = new SplittableRandom(0x5eed_4a5bL);
+
+    // node -> layer -> {count, neighbour nodes...}
+    private int[][][] links = new int[1024][][];
+    private long[] docIds = new long[1024];
+    private final Map<Long, Integer> nodeByDoc = new HashMap<>();
+    private final BitSet deleted = new BitSet();
+    private int nodeCount;
+    private int entryPoint = -1;
+    private int topLayer = -1;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * @param maxLinks       links per node on the upper layers (M); layer 0 keeps twice as many
+     * @param efConstruction candidates considered when linking a new node
+     */
+    public HnswIndex(VectorStore vectors, int maxLinks, int efConstruction) {
+        this(vectors, maxLinks, efConstruction, 0.25);
+    }
+
+    /**
+     * @param maxDeletedShare share of deleted nodes, between 0 and 1, at which the graph is rebuilt
+     */
+    public HnswIndex(VectorStore vectors, int maxLinks, int efConstruction, double maxDeletedShare) {
+        this.vectors = vectors;
+        this.maxDeletedShare = maxDeletedShare;
+        this.maxLinks = Math.max(2, maxLinks);
+        this.maxLinksLayer0 = this.maxLinks * 2;
+        this.efConstruction = Math.max(this.maxLinks, efConstruction);
+        this.levelFactor = 1 / Math.log(this.maxLinks);
+    }
+
+    public int dimensions() {
+        return vectors.dimensions();
+    }
+
+    /**
+     * Adds or replaces the vector of the given document. The vector must be
+     * unit length and have {@link #dimensions()} entries.
+     */
+    public void add(long docId, float[] vector) {
+        if (vector == null || vector.length != vectors.dimensions()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            Integer previous = nodeByDoc.remove(docId);
+            if (previous != null) {
+                deleted.set(previous);
+            }
+            insert(newNode(docId, vector), vector);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long docId) {
+        lock.writeLock().lock();
+        try {
+            Integer node = nodeByDoc.remove(docId);
+            if (node != null) {
+                deleted.set(node);
+                compactIfNeeded();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            vectors.clear();
+            links = new int[1024][][];
+            docIds = new long[1024];
+            nodeByDoc.clear();
+            deleted.clear();
+            nodeCount = 0;
+            entryPoint = -1;
+            topLayer = -1;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Number of searchable documents. */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return nodeByDoc.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Vector slots in use, deleted nodes included
+    int slotCount() {
+        lock.readLock().lock();
+        try {
+            return nodeCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long offHeapBytes() {
+        lock.readLock().lock();
+        try {
+            return vectors.allocatedBytes();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns up to {@code k} documents most similar to the unit vector
+     * {@code query}, best first. A larger {@code ef} explores more of the
+     * graph: higher recall, slower search.
+     */
+    public List<Hit> search(float[] query, int k, int ef) {
+        if (query == null || query.length != vectors.dimensions() || k < 1) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            if (entryPoint < 0) {
+                return List.of();
+            }
+            int nearest = entryPoint;
+            for (int layer = topLayer; layer > 0; layer--) {
+                nearest = greedyClosest(query, nearest, layer);
+            }
+            // Deleted nodes take up candidate slots, so widen the search by their share
+            int width = Math.max(ef, k) + Math.min(deleted.cardinality(), Math.max(ef, k));
+            List<Candidate> found = searchLayer(query,
+                    List.of(new Candidate(nearest, vectors.dot(nearest, query))), width, 0);
+            List<Hit> hits = new ArrayList<>(k);
+            for (Candidate candidate : found) {
+                if (!deleted.get(candidate.node())) {
+                    hits.add(new Hit(docIds[candidate.node()], candidate.score()));
+                    if (hits.size() == k) {
+                        break;
+                    }
+                }
+            }
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        vectors.close();
+    }
+
+    private int newNode(long docId, float[] vector) {
+        int node = nodeCount++;
+        if (node == links.length) {
+            links = Arrays.copyOf(links, node * 2);
+            docIds = Arrays.copyOf(docIds, node * 2);
+        }
+        vectors.set(node, vector);
+        docIds[node] = docId;
+        nodeByDoc.put(docId, node);
+
+        // Level drawn from an exponential distribution: layer l holds about 1/M^l of the nodes
+        int level = (int) (-Math.log(1 - random.nextDouble()) * levelFactor);
+        links[node] = new int[level + 1][];
+        for (int layer = 0; layer <= level; layer++) {
+            links[node][layer] = new int[capacity(layer) + 1];
+        }
+        return node;
+    }
+
+    /** Links a new node into every layer up to its level. */
+    private void insert(int node, float[] vector) {
+        int level = links[node].length - 1;
+        if (entryPoint < 0) {
+            entryPoint = node;
+            topLayer = level;
+            return;
+        }
+        int nearest = entryPoint;
+        for (int layer = topLayer; layer > level; layer--) {
+            nearest = greedyClosest(vector, nearest, layer);
+        }
+        List<Candidate> entries = List.of(new Candidate(nearest, vectors.dot(nearest, vector)));
+        for (int layer = Math.min(level, topLayer); layer >= 0; layer--) {
+            List<Candidate> found = searchLayer(vector, entries, efConstruction, layer);
+            for (Candidate neighbour : selectNeighbours(found, maxLinks)) {
+                link(node, neighbour.node(), layer);
+                link(neighbour.node(), node, layer);
+            }
+            entries = found;
+        }
+        if (level > topLayer) {
+            topLayer = level;
+            entryPoint = node;
+        }
+    }
+
+    /**
+     * Rebuilds the graph from the live nodes once deleted ones make up
+     * {@code maxDeletedShare} of it. Live vectors keep their order and move
+     * down into the lowest slots, which later nodes then reuse.
+     */
+    private void compactIfNeeded() {
+        int dead = deleted.cardinality();
+        if (dead < MIN_DELETED_TO_COMPACT || dead < nodeCount * maxDeletedShare) {
+            return;
+        }
+        int live = 0;
+        for (int node = 0; node < nodeCount; node++) {
+            if (!deleted.get(node)) {
+                if (live != node) {
+                    vectors.set(live, vectors.get(node));
+                    docIds[live] = docIds[node];
+                }
+                live++;
+            }
+        }
+        Arrays.fill(links, 0, nodeCount, null);
+        nodeByDoc.clear();
+        deleted.clear();
+        nodeCount = 0;
+        entryPoint = -1;
+        topLayer = -1;
+        for (int slot = 0; slot < live; slot++) {
+            float[] vector = vectors.get(slot);
+            insert(newNode(docIds[slot], vector), vector);
+        }
+    }
+
+    private int capacity(int layer) {
+        return layer == 0 ? maxLinksLayer0 : maxLinks;
+    }
+
+    /** Follows the best neighbour on one layer until no neighbour is closer to the query. */
+    private int greedyClosest(float[] query, int start, int layer) {
+        int current = start;
+        float best = vectors.dot(current, query);
+        boolean improved = true;
+        while (improved) {
+            improved = false;
+            int[] neighbours = links[current][layer];
+            for (int i = 1; i <= neighbours[0]; i++) {
+                float score = vectors.dot(neighbours[i], query);
+                if (score > best) {
+                    best = score;
+                    current = neighbours[i];
+                    improved = true;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Best-first search on one layer that keeps the {@code ef} best nodes
+     * seen and stops once the next candidate is worse than all of them.
+     *
+     * @return the kept nodes, best first
+     */
+    private List<Candidate> searchLayer(float[] query, List<Candidate> entries, int ef, int layer) {
+        BitSet visited = new BitSet(nodeCount);
+        PriorityQueue<Candidate> candidates = new PriorityQueue<>(BEST_FIRST);
+        PriorityQueue<Candidate> results = new PriorityQueue<>(WORST_FIRST);
+        for (Candidate entry : entries) {
+            visited.set(entry.node());
+            candidates.add(entry);
+            results.add(entry);
+            if (results.size() > ef) {
+                results.poll();
+            }
+        }
+        while (!candidates.isEmpty()) {
+            Candidate current = candidates.poll();
+            if (results.size() >= ef && current.score() < results.peek().score()) {
+                break;
+            }
+            int[] neighbours = links[current.node()][layer];
+            for (int i = 1; i <= neighbours[0]; i++) {
+                int neighbour = neighbours[i];
+                if (visited.get(neighbour)) {
+                    continue;
+                }
+                visited.set(neighbour);
+                float score = vectors.dot(neighbour, query);
+                if (results.size() < ef || score > results.peek().score()) {
+                    Candidate candidate = new Candidate(neighbour, score);
+                    candidates.add(candidate);
+                    results.add(candidate);
+                    if (results.size() > ef) {
+                        results.poll();
+                    }
+                }
+            }
+        }
+        List<Candidate> sorted = new ArrayList<>(results);
+        sorted.sort(BEST_FIRST);
+        return sorted;
+    }
+
+    /**
+     * Neighbour selection heuristic: a candidate is kept only if it is closer
+     * to the base node than to every neighbour already kept, which spreads
+     * links in different directions and keeps clusters connected. Remaining
+     * slots are filled with the closest skipped candidates.
+     *
+     * @param candidates scored against the base node, best first
+     */
+    private List<Candidate> selectNeighbours(List<Candidate> candidates, int max) {
+        List<Candidate> selected = new ArrayList<>(max);
+        List<Candidate> skipped = new ArrayList<>();
+        for (Candidate candidate : candidates) {
+            if (selected.size() == max) {
+                break;
+            }
+            boolean diverse = true;
+            for (Candidate kept : selected) {
+                if (vectors.dot(candidate.node(), kept.node()) > candidate.score()) {
+                    diverse = false;
+                    break;
+                }
+            }
+            (diverse ? selected : skipped).add(candidate);
+        }
+        for (int i = 0; i < skipped.size() && selected.size() < max; i++) {
+            selected.add(skipped.get(i));
+        }
+        return selected;
+    }
+
+    /** Adds a directed link, re-selecting the node's neighbours when it is full. */
+    private void link(int from, int to, int layer) {
+        int[] neighbours = links[from][layer];
+        int count = neighbours[0];
+        if (count < neighbours.length - 1) {
+            neighbours[count + 1] = to;
+            neighbours[0] = count + 1;
+            return;
+        }
+        List<Candidate> candidates = new ArrayList<>(count + 1);
+        for (int i = 1; i <= count; i++) {
+            candidates.add(new Candidate(neighbours[i], vectors.dot(from, neighbours[i])));
+        }
+        candidates.add(new Candidate(to, vectors.dot(from, to)));
+        candidates.sort(BEST_FIRST);
+        List<Candidate> kept = selectNeighbours(candidates, count);
+        for (int i = 0; i < kept.size(); i++) {
+            neighbours[i + 1] = kept.get(i).node();
+        }
+        neighbours[0] = kept.size();
+    }
+}
@@ -0,0 +1,195 @@
+package com.enterprise.ai_backend.search;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * In-process full-text index over document content and summary.
+ * Keeps tokenized postings per term and ranks matches with BM25.
+ * Writes are visible to the next search as soon as they return.
+ */
+@Component
+public class InvertedIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    /** A ranked hit returned by {@link #search(String, int)}. */
+    public record Hit(long docId, String fileName, String summary, double score) {
+    }
+
+    private record StoredFields(String fileName, String summary, int length) {
+    }
+
+    // term -> (docId -> term frequency)
+    private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+    // docId -> distinct terms, so a document can be removed without a full scan
+    private final Map<Long, String[]> docTerms = new HashMap<>();
+    private final Map<Long, StoredFields> stored = new HashMap<>();
+    private long totalLength;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Adds or replaces the document with the given ID.
+     */
+    public void index(long docId, String fileName, String content, String summary) {
+        Map<String, Integer> termFreqs = new HashMap<>();
+        int length = 0;
+        length += countTerms(content, termFreqs);
+        length += countTerms(summary, termFreqs);
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(docId);
+            for (Map.Entry<String, Integer> e : termFreqs.entrySet()) {
+                postings.computeIfAbsent(e.getKey(), t -> new HashMap<>()).put(docId, e.getValue());
+            }
+            docTerms.put(docId, termFreqs.keySet().toArray(new String[0]));
+            stored.put(docId, new StoredFields(fileName, summary, length));
+            totalLength += length;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long docId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(docId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            docTerms.clear();
+            stored.clear();
+            totalLength = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return stored.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the top {@code limit} documents for the query, best match first.
+     * A document matches if it contains at least one query term.
+     */
+    public List<Hit> search(String query, int limit) {
+        Map<String, Integer> queryTerms = new HashMap<>();
+        countTerms(query, queryTerms);
+        if (queryTerms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            int n = stored.size();
+            if (n == 0) {
+                return List.of();
+            }
+            double avgLength = Math.max(1.0, (double) totalLength / n);
+
+            Map<Long, Double> scores = new HashMap<>();
+            for (String term : queryTerms.keySet()) {
+                Map<Long, Integer> posting = postings.get(term);
+                if (posting == null) {
+                    continue;
+                }
+                double idf = Math.log(1.0 + (n - posting.size() + 0.5) / (posting.size() + 0.5));
+                for (Map.Entry<Long, Integer> e : posting.entrySet()) {
+                    int tf = e.getValue();
+                    int docLength = stored.get(e.getKey()).length();
+                    double norm = tf + K1 * (1 - B + B * docLength / avgLength);
+                    scores.merge(e.getKey(), idf * tf * (K1 + 1) / norm, Double::sum);
+                }
+            }
+
+            // Bounded min-heap keeps top-K selection at O(matches * log K)
+            Comparator<Map.Entry<Long, Double>> byScore = Map.Entry.comparingByValue();
+            PriorityQueue<Map.Entry<Long, Double>> heap = new PriorityQueue<>(limit + 1, byScore);
+            for (Map.Entry<Long, Double> e : scores.entrySet()) {
+                heap.offer(e);
+                if (heap.size() > limit) {
+                    heap.poll();
+                }
+            }
+
+            List<Hit> hits = new ArrayList<>(heap.size());
+            while (!heap.isEmpty()) {
+                Map.Entry<Long, Double> e = heap.poll();
+                StoredFields fields = stored.get(e.getKey());
+                hits.add(new Hit(e.getKey(), fields.fileName(), fields.summary(), e.getValue()));
+            }
+            Collections.reverse(hits);
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removeLocked(long docId) {
+        String[] terms = docTerms.remove(docId);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            Map<Long, Integer> posting = postings.get(term);
+            if (posting != null) {
+                posting.remove(docId);
+                if (posting.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+        StoredFields fields = stored.remove(docId);
+        if (fields != null) {
+            totalLength -= fields.length();
+        }
+    }
+
+    /**
+     * Lower-cases the text and splits it on anything that is not a letter or digit.
+     *
+     * @return the number of tokens seen
+     */
+    static int countTerms(String text, Map<String, Integer> into) {
+        if (text == null || text.isEmpty()) {
+            return 0;
+        }
+        int count = 0;
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean tokenChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (tokenChar && start < 0) {
+                start = i;
+            } else if (!tokenChar && start >= 0) {
+                into.merge(text.substring(start, i).toLowerCase(), 1, Integer::sum);
+                count++;
+                start = -1;
+            }
+        }
+        return count;
+    }
+}
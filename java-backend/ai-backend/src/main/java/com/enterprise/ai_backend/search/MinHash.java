@@ -0,0 +1,129 @@
+package com.enterprise.ai_backend.search;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * MinHash signatures over word shingles. The fraction of equal positions
+ * in two signatures estimates the Jaccard similarity of the documents'
+ * shingle sets, so near-duplicates can be found without comparing text.
+ */
+public final class MinHash {
+
+    /** Signature length: {@link NearDuplicateIndex#BANDS} x {@link NearDuplicateIndex#ROWS}. */
+    public static final int NUM_HASHES = NearDuplicateIndex.BANDS * NearDuplicateIndex.ROWS;
+    private static final int SHINGLE_WORDS = 3;
+
+    // Fixed seed: signatures are persisted and must stay comparable across restarts
+    private static final long[] MULTIPLIERS = new long[NUM_HASHES];
+    private static final long[] OFFSETS = new long[NUM_HASHES];
+
+    static {
+        SplittableRandom random = new SplittableRandom(0x5eed_1dea_f00dL);
+        for (int i = 0; i < NUM_HASHES; i++) {
+            MULTIPLIERS[i] = random.nextLong() | 1L;
+            OFFSETS[i] = random.nextLong();
+        }
+    }
+
+    private MinHash() {
+    }
+
+    /**
+     * Computes the signature of the text's lower-cased 3-word shingles.
+     * Texts shorter than one shingle are hashed word by word.
+     *
+     * @return the signature, or {@code null} if the text has no words
+     */
+    public static int[] signature(String text) {
+        long[] words = wordHashes(text);
+        if (words.length == 0) {
+            return null;
+        }
+        int[] signature = new int[NUM_HASHES];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        int shingles = Math.max(1, words.length - SHINGLE_WORDS + 1);
+        for (int s = 0; s < shingles; s++) {
+            long shingle = 0;
+            for (int w = s; w < Math.min(words.length, s + SHINGLE_WORDS); w++) {
+                shingle = mix(shingle * 31 + words[w]);
+            }
+            for (int i = 0; i < NUM_HASHES; i++) {
+                // Multiply-shift hash: the high 31 bits of a*x+b form a random permutation of shingles
+                int h = (int) ((MULTIPLIERS[i] * shingle + OFFSETS[i]) >>> 33);
+                if (h < signature[i]) {
+                    signature[i] = h;
+                }
+            }
+        }
+        return signature;
+    }
+
+    /**
+     * Estimated Jaccard similarity: the share of positions where both signatures agree.
+     */
+    public static double similarity(int[] a, int[] b) {
+        int equal = 0;
+        for (int i = 0; i < NUM_HASHES; i++) {
+            if (a[i] == b[i]) {
+                equal++;
+            }
+        }
+        return (double) equal / NUM_HASHES;
+    }
+
+    public static byte[] toBytes(int[] signature) {
+        if (signature == null) {
+            return null;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(signature.length * Integer.BYTES);
+        buffer.asIntBuffer().put(signature);
+        return buffer.array();
+    }
+
+    public static int[] fromBytes(byte[] bytes) {
+        if (bytes == null || bytes.length != NUM_HASHES * Integer.BYTES) {
+            return null;
+        }
+        int[] signature = new int[NUM_HASHES];
+        ByteBuffer.wrap(bytes).asIntBuffer().get(signature);
+        return signature;
+    }
+
+    /**
+     * Hashes each lower-cased letter/digit run, using the same token
+     * boundaries as {@link InvertedIndex}.
+     */
+    private static long[] wordHashes(String text) {
+        if (text == null || text.isEmpty()) {
+            return new long[0];
+        }
+        long[] hashes = new long[16];
+        int count = 0;
+        long hash = 0;
+        boolean inWord = false;
+        for (int i = 0; i <= text.length(); i++) {
+            char c = i < text.length() ? text.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                hash = hash * 1_000_003 + Character.toLowerCase(c);
+                inWord = true;
+            } else if (inWord) {
+                if (count == hashes.length) {
+                    hashes = Arrays.copyOf(hashes, count * 2);
+                }
+                hashes[count++] = mix(hash);
+                hash = 0;
+                inWord = false;
+            }
+        }
+        return Arrays.copyOf(hashes, count);
+    }
+
+    // SplitMix64 finalizer: spreads similar inputs over all 64 bits
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
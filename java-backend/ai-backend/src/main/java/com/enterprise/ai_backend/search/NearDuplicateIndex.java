@@ -0,0 +1,214 @@
+package com.enterprise.ai_backend.search;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Locality-sensitive hashing over {@link MinHash} signatures. Each signature
+ * is cut into {@link #BANDS} bands of {@link #ROWS} rows, and documents
+ * sharing any band land in the same bucket. A lookup only compares the
+ * signatures in its buckets, so its cost depends on the number of similar
+ * documents rather than the size of the corpus. With 16 x 8 the chance of
+ * becoming a candidate rises steeply around a Jaccard similarity of 0.7.
+ */
+@Component
+public class NearDuplicateIndex {
+
+    public static final int BANDS = 16;
+    public static final int ROWS = 8;
+
+    /** A stored document whose estimated similarity passed the threshold. */
+    public record Match(long docId, double similarity) {
+    }
+
+    /**
+     * Result of {@link #findDuplicatesAfter}: the newer copies, the highest ID
+     * examined and the changed documents that were checked again.
+     */
+    public record Sweep(List<Long> duplicates, long lastId, Set<Long> rechecked) {
+    }
+
+    // band bucket key -> document IDs
+    private final Map<Long, Set<Long>> buckets = new HashMap<>();
+    private final Map<Long, int[]> signatures = new HashMap<>();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Adds or replaces the signature of the given document; a null signature,
+     * as for content without words, only removes the previous one.
+     */
+    public void add(long docId, int[] signature) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(docId);
+            if (signature == null) {
+                return;
+            }
+            signatures.put(docId, signature);
+            for (int band = 0; band < BANDS; band++) {
+                buckets.computeIfAbsent(bucketKey(signature, band), k -> new HashSet<>()).add(docId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long docId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(docId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            buckets.clear();
+            signatures.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return signatures.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns stored documents sharing a bucket with {@code signature} whose
+     * estimated similarity is at least {@code minSimilarity}, most similar first.
+     */
+    public List<Match> findSimilar(int[] signature, double minSimilarity) {
+        if (signature == null) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            return matchesLocked(signature, minSimilarity, Long.MAX_VALUE);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds documents with an ID above {@code afterId} that nearly duplicate
+     * a document with a lower ID. Working in ID order keeps the oldest copy,
+     * and passing the last swept ID makes repeated sweeps incremental.
+     *
+     * @return IDs of the newer copies in ascending order, and the highest ID examined
+     */
+    public Sweep findDuplicatesAfter(long afterId, double minSimilarity) {
+        return findDuplicatesAfter(afterId, List.of(), minSimilarity);
+    }
+
+    /**
+     * Like {@link #findDuplicatesAfter(long, double)}, but also checks again
+     * the {@code changed} documents at or below {@code afterId}, whose
+     * signatures were replaced since they were swept, together with the
+     * newer documents similar to them: an edit can turn either side into a
+     * copy of the other.
+     */
+    public Sweep findDuplicatesAfter(long afterId, Collection<Long> changed, double minSimilarity) {
+        lock.readLock().lock();
+        try {
+            Set<Long> examined = new TreeSet<>();
+            Set<Long> rechecked = new HashSet<>();
+            signatures.keySet().stream().filter(id -> id > afterId).forEach(examined::add);
+            for (Long id : changed) {
+                int[] signature = signatures.get(id);
+                if (signature == null || id > afterId) {
+                    continue;
+                }
+                rechecked.add(id);
+                examined.add(id);
+                matchesLocked(signature, minSimilarity, Long.MAX_VALUE).stream()
+                        .map(Match::docId)
+                        .filter(match -> match > id)
+                        .forEach(examined::add);
+            }
+
+            Set<Long> duplicates = new HashSet<>();
+            List<Long> result = new ArrayList<>();
+            long lastId = afterId;
+            for (Long id : examined) {
+                lastId = Math.max(lastId, id);
+                boolean hasOriginal = matchesLocked(signatures.get(id), minSimilarity, id).stream()
+                        .anyMatch(m -> !duplicates.contains(m.docId()));
+                if (hasOriginal) {
+                    duplicates.add(id);
+                    result.add(id);
+                }
+            }
+            return new Sweep(result, lastId, rechecked);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<Match> matchesLocked(int[] signature, double minSimilarity, long belowId) {
+        Set<Long> candidates = new HashSet<>();
+        for (int band = 0; band < BANDS; band++) {
+            Set<Long> bucket = buckets.get(bucketKey(signature, band));
+            if (bucket != null) {
+                candidates.addAll(bucket);
+            }
+        }
+        List<Match> matches = new ArrayList<>();
+        for (Long candidate : candidates) {
+            if (candidate >= belowId) {
+                continue;
+            }
+            // Buckets only nominate candidates; the full signature decides
+            double similarity = MinHash.similarity(signature, signatures.get(candidate));
+            if (similarity >= minSimilarity) {
+                matches.add(new Match(candidate, similarity));
+            }
+        }
+        matches.sort(Comparator.comparingDouble(Match::similarity).reversed().thenComparingLong(Match::docId));
+        return matches;
+    }
+
+    private void removeLocked(long docId) {
+        int[] signature = signatures.remove(docId);
+        if (signature == null) {
+            return;
+        }
+        for (int band = 0; band < BANDS; band++) {
+            long key = bucketKey(signature, band);
+            Set<Long> bucket = buckets.get(key);
+            if (bucket != null) {
+                bucket.remove(docId);
+                if (bucket.isEmpty()) {
+                    buckets.remove(key);
+                }
+            }
+        }
+    }
+
+    private static long bucketKey(int[] signature, int band) {
+        long hash = band;
+        for (int row = band * ROWS; row < (band + 1) * ROWS; row++) {
+            hash = hash * 0x9E3779B97F4A7C15L + signature[row];
+        }
+        return hash;
+    }
+}
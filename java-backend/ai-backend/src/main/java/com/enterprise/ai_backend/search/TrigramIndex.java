@@ -0,0 +1,271 @@
+package com.enterprise.ai_backend.search;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * In-process trigram index over document content and summary, for
+ * arbitrary substring queries: partial words, codes and IDs that a word
+ * tokenizer would split or miss. Every run of three lower-cased characters,
+ * including spaces and punctuation, has a sorted posting list of document
+ * IDs. A document containing the query must contain every trigram of the
+ * query, so intersecting those lists yields a small candidate set. The
+ * caller still has to verify candidates against the text, because the
+ * trigrams may occur apart from each other.
+ * <p>
+ * Queries shorter than {@link #MIN_QUERY_LENGTH} have no trigram to narrow
+ * by and are not answered here (see {@link #isSelective}).
+ * <p>
+ * Keys are primitive and each document keeps the int numbers of its
+ * trigrams rather than the trigrams themselves: 5,000 documents of 1,000
+ * words take about 34 MB of heap, against 42 MB with boxed maps and
+ * per-document {@code long[]} lists. Most of the rest is the posting lists.
+ */
+@Component
+public class TrigramIndex {
+
+    public static final int MIN_QUERY_LENGTH = 3;
+
+    // trigram (three UTF-16 units packed into 48 bits) -> ascending document IDs
+    private final LongObjectMap<Posting> postings = new LongObjectMap<>();
+    // Posting by its number; a trigram keeps its number once seen, even when its posting empties
+    private Posting[] postingsByNumber = new Posting[1024];
+    private int postingCount;
+    // docId -> numbers of its distinct trigrams, so a document can be removed without a full scan
+    private final LongObjectMap<int[]> docTrigrams = new LongObjectMap<>();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Adds or replaces the document with the given ID.
+     */
+    public void index(long docId, String content, String summary) {
+        long[] distinct = trigrams(content, summary);
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(docId);
+            int[] numbers = new int[distinct.length];
+            for (int i = 0; i < distinct.length; i++) {
+                Posting posting = postingLocked(distinct[i]);
+                posting.add(docId);
+                numbers[i] = posting.number;
+            }
+            docTrigrams.put(docId, numbers);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long docId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(docId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            postingsByNumber = new Posting[1024];
+            postingCount = 0;
+            docTrigrams.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docTrigrams.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Whether the query is long enough to have a trigram to look up. */
+    public static boolean isSelective(String query) {
+        return query != null && query.length() >= MIN_QUERY_LENGTH;
+    }
+
+    /**
+     * Returns, in ascending order, the IDs of documents that contain every
+     * trigram of the lower-cased query.
+     *
+     * @throws IllegalArgumentException if the query is shorter than {@link #MIN_QUERY_LENGTH}
+     */
+    public long[] candidates(String query) {
+        if (!isSelective(query)) {
+            throw new IllegalArgumentException("Trigram queries need at least " + MIN_QUERY_LENGTH + " characters");
+        }
+        long[] trigrams = trigrams(query, null);
+
+        lock.readLock().lock();
+        try {
+            Posting[] lists = new Posting[trigrams.length];
+            int n = 0;
+            for (long trigram : trigrams) {
+                Posting posting = postings.get(trigram);
+                if (posting == null || posting.size == 0) {
+                    return new long[0];
+                }
+                lists[n++] = posting;
+            }
+            // Start from the rarest trigram so the working set only shrinks
+            Arrays.sort(lists, (a, b) -> Integer.compare(a.size, b.size));
+            long[] result = lists[0].toArray();
+            int length = result.length;
+            for (int i = 1; i < lists.length && length > 0; i++) {
+                length = retainAll(result, length, lists[i]);
+            }
+            return Arrays.copyOf(result, length);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Posting postingLocked(long trigram) {
+        Posting posting = postings.get(trigram);
+        if (posting == null) {
+            if (postingCount == postingsByNumber.length) {
+                postingsByNumber = Arrays.copyOf(postingsByNumber, postingCount * 2);
+            }
+            posting = new Posting(postingCount);
+            postingsByNumber[postingCount++] = posting;
+            postings.put(trigram, posting);
+        }
+        return posting;
+    }
+
+    private void removeLocked(long docId) {
+        int[] numbers = docTrigrams.remove(docId);
+        if (numbers == null) {
+            return;
+        }
+        for (int number : numbers) {
+            postingsByNumber[number].remove(docId);
+        }
+    }
+
+    // Keeps the IDs in ids[0..length) that also occur in the posting; both are ascending
+    private static int retainAll(long[] ids, int length, Posting posting) {
+        int kept = 0;
+        int from = 0;
+        for (int i = 0; i < length; i++) {
+            int found = Arrays.binarySearch(posting.ids, from, posting.size, ids[i]);
+            if (found >= 0) {
+                ids[kept++] = ids[i];
+                from = found + 1;
+            } else {
+                from = -found - 1;
+            }
+            if (from == posting.size) {
+                break;
+            }
+        }
+        return kept;
+    }
+
+    /**
+     * Distinct trigrams of the lower-cased texts, in ascending order. Uses
+     * the same per-character lower-casing as the verification step, so
+     * matching trigrams line up.
+     */
+    static long[] trigrams(String first, String second) {
+        long[] all = new long[count(first) + count(second)];
+        int n = addTrigrams(second, all, addTrigrams(first, all, 0));
+        Arrays.sort(all, 0, n);
+        int distinct = 0;
+        for (int i = 0; i < n; i++) {
+            if (distinct == 0 || all[distinct - 1] != all[i]) {
+                all[distinct++] = all[i];
+            }
+        }
+        return Arrays.copyOf(all, distinct);
+    }
+
+    private static int count(String text) {
+        return text == null ? 0 : Math.max(0, text.length() - 2);
+    }
+
+    private static int addTrigrams(String text, long[] into, int at) {
+        if (text == null || text.length() < 3) {
+            return at;
+        }
+        long a = Character.toLowerCase(text.charAt(0));
+        long b = Character.toLowerCase(text.charAt(1));
+        for (int i = 2; i < text.length(); i++) {
+            long c = Character.toLowerCase(text.charAt(i));
+            into[at++] = a << 32 | b << 16 | c;
+            a = b;
+            b = c;
+        }
+        return at;
+    }
+
+    /** Lower-cases per UTF-16 unit, exactly as {@link #addTrigrams} does. */
+    public static String normalize(String text) {
+        char[] chars = text.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = Character.toLowerCase(chars[i]);
+        }
+        return new String(chars);
+    }
+
+    /** Sorted, growable list of document IDs. */
+    private static final class Posting {
+
+        private final int number;
+        private long[] ids = new long[4];
+        private int size;
+
+        Posting(int number) {
+            this.number = number;
+        }
+
+        void add(long id) {
+            // IDs mostly arrive in increasing order, so this is usually an append
+            if (size > 0 && ids[size - 1] >= id) {
+                int at = Arrays.binarySearch(ids, 0, size, id);
+                if (at >= 0) {
+                    return;
+                }
+                insert(-at - 1, id);
+                return;
+            }
+            insert(size, id);
+        }
+
+        void remove(long id) {
+            int at = Arrays.binarySearch(ids, 0, size, id);
+            if (at >= 0) {
+                System.arraycopy(ids, at + 1, ids, at, size - at - 1);
+                size--;
+                // Give memory back once the list has mostly emptied
+                if (ids.length > 16 && size < ids.length / 4) {
+                    ids = Arrays.copyOf(ids, ids.length / 2);
+                }
+            }
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(ids, size);
+        }
+
+        private void insert(int at, long id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, at, ids, at + 1, size - at);
+            ids[at] = id;
+            size++;
+        }
+    }
+}
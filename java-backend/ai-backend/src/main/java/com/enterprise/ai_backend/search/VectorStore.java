@@ -0,0 +1,131 @@
+package com.enterprise.ai_backend.search;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fixed-length float vectors kept outside the Java heap and addressed by
+ * slot number. Storage grows in chunks of {@link #SLOTS_PER_CHUNK} vectors,
+ * each a direct buffer or, when a file is given, a memory-mapped region of
+ * that file, so large corpora can be paged by the OS instead of being held
+ * in RAM. The file is scratch space: it is truncated when opened, since the
+ * vectors of record are stored with the documents.
+ * <p>
+ * Not thread-safe; {@link HnswIndex} guards it with its lock.
+ */
+public class VectorStore implements AutoCloseable {
+
+    public static final int SLOTS_PER_CHUNK = 4096;
+
+    private final int dimensions;
+    private final long chunkBytes;
+    private final FileChannel file;
+    private final List<FloatBuffer> chunks = new ArrayList<>();
+
+    /**
+     * @param mappedFile file to memory-map, or {@code null} for direct buffers
+     */
+    public VectorStore(int dimensions, Path mappedFile) {
+        this.dimensions = dimensions;
+        this.chunkBytes = (long) SLOTS_PER_CHUNK * dimensions * Float.BYTES;
+        try {
+            this.file = mappedFile == null ? null : FileChannel.open(mappedFile, StandardOpenOption.CREATE,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open vector file " + mappedFile, e);
+        }
+    }
+
+    public int dimensions() {
+        return dimensions;
+    }
+
+    public void set(int slot, float[] vector) {
+        int chunk = slot / SLOTS_PER_CHUNK;
+        while (chunks.size() <= chunk) {
+            chunks.add(allocate(chunks.size()));
+        }
+        chunks.get(chunk).put(offset(slot), vector, 0, dimensions);
+    }
+
+    public float[] get(int slot) {
+        float[] vector = new float[dimensions];
+        chunks.get(slot / SLOTS_PER_CHUNK).get(offset(slot), vector, 0, dimensions);
+        return vector;
+    }
+
+    public float dot(int slot, float[] query) {
+        FloatBuffer chunk = chunks.get(slot / SLOTS_PER_CHUNK);
+        int base = offset(slot);
+        float sum = 0;
+        for (int i = 0; i < dimensions; i++) {
+            sum += chunk.get(base + i) * query[i];
+        }
+        return sum;
+    }
+
+    public float dot(int slotA, int slotB) {
+        FloatBuffer a = chunks.get(slotA / SLOTS_PER_CHUNK);
+        FloatBuffer b = chunks.get(slotB / SLOTS_PER_CHUNK);
+        int baseA = offset(slotA);
+        int baseB = offset(slotB);
+        float sum = 0;
+        for (int i = 0; i < dimensions; i++) {
+            sum += a.get(baseA + i) * b.get(baseB + i);
+        }
+        return sum;
+    }
+
+    /** Bytes held outside the heap (or mapped), in whole chunks. */
+    public long allocatedBytes() {
+        return chunks.size() * chunkBytes;
+    }
+
+    /**
+     * Drops every vector. Direct buffers are freed once garbage collected.
+     */
+    public void clear() {
+        chunks.clear();
+        if (file != null) {
+            try {
+                file.truncate(0);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        chunks.clear();
+        if (file != null) {
+            file.close();
+        }
+    }
+
+    private int offset(int slot) {
+        return (slot % SLOTS_PER_CHUNK) * dimensions;
+    }
+
+    private FloatBuffer allocate(int chunk) {
+        ByteBuffer bytes;
+        if (file == null) {
+            bytes = ByteBuffer.allocateDirect((int) chunkBytes);
+        } else {
+            try {
+                bytes = file.map(FileChannel.MapMode.READ_WRITE, chunk * chunkBytes, chunkBytes);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return bytes.order(ByteOrder.nativeOrder()).asFloatBuffer();
+    }
+}
@@ -0,0 +1,63 @@
+package com.enterprise.ai_backend.search;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Helpers for the float vectors used by semantic search.
+ */
+public final class Vectors {
+
+    private Vectors() {
+    }
+
+    /**
+     * Scales the vector to unit length in place, so dot products are cosine
+     * similarities.
+     *
+     * @return the vector, or {@code null} if it is all zeros
+     */
+    public static float[] normalize(float[] vector) {
+        double sum = 0;
+        for (float v : vector) {
+            sum += (double) v * v;
+        }
+        if (sum == 0) {
+            return null;
+        }
+        float scale = (float) (1.0 / Math.sqrt(sum));
+        for (int i = 0; i < vector.length; i++) {
+            vector[i] *= scale;
+        }
+        return vector;
+    }
+
+    public static float dot(float[] a, float[] b) {
+        float sum = 0;
+        for (int i = 0; i < a.length; i++) {
+            sum += a[i] * b[i];
+        }
+        return sum;
+    }
+
+    public static byte[] toBytes(float[] vector) {
+        if (vector == null) {
+            return null;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(vector.length * Float.BYTES);
+        buffer.asFloatBuffer().put(vector);
+        return buffer.array();
+    }
+
+    /**
+     * @return the stored vector, or {@code null} if it is missing or has a
+     *         different number of dimensions (e.g. after switching models)
+     */
+    public static float[] fromBytes(byte[] bytes, int dimensions) {
+        if (bytes == null || bytes.length != dimensions * Float.BYTES) {
+            return null;
+        }
+        float[] vector = new float[dimensions];
+        ByteBuffer.wrap(bytes).asFloatBuffer().get(vector);
+        return vector;
+    }
+}
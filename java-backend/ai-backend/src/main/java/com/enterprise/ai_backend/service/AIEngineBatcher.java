@@ -0,0 +1,262 @@
+package com.enterprise.ai_backend.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import com.enterprise.ai_backend.config.AsyncConfig;
+
+/**
+ * Coalesces concurrent /summarize/ and /keywords/ calls into batched
+ * requests to the AI engine. A batch is sent once it reaches
+ * {@code ai.batch.max-size} items or {@code ai.batch.linger-ms} after its
+ * first item arrived, whichever comes first, and the results are handed
+ * back to the waiting callers in order. Callers wait at most
+ * {@code ai.batch.wait-timeout-ms} for their result.
+ */
+@Component
+public class AIEngineBatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(AIEngineBatcher.class);
+
+    /** One queued keyword request; top_k travels with each item. */
+    record KeywordItem(String text, int topK) {
+    }
+
+    private final RestTemplate restTemplate;
+    private final AIEngineLimiter limiter;
+    private final boolean enabled;
+    private final long waitTimeoutMs;
+    private final String summarizeBatchUrl;
+    private final String keywordsBatchUrl;
+    private final MicroBatcher<String, String> summaries;
+    private final MicroBatcher<KeywordItem, List<Map<String, Object>>> keywords;
+
+    @Autowired
+    public AIEngineBatcher(
+            @Qualifier("aiEngineRestTemplate") RestTemplate restTemplate,
+            AIEngineLimiter limiter,
+            @Value("${ai.batch.enabled:false}") boolean enabled,
+            @Value("${ai.batch.max-size:8}") int maxSize,
+            @Value("${ai.batch.linger-ms:20}") long lingerMs,
+            @Value("${ai.batch.wait-timeout-ms:90000}") long waitTimeoutMs,
+            @Value("${ai.summarization-batch-url:http://localhost:8000/summarize/batch}") String summarizeBatchUrl,
+            @Value("${ai.keyword-batch-url:http://localhost:8000/keywords/batch}") String keywordsBatchUrl) {
+        this.restTemplate = restTemplate;
+        this.limiter = limiter;
+        this.enabled = enabled;
+        this.waitTimeoutMs = waitTimeoutMs;
+        this.summarizeBatchUrl = summarizeBatchUrl;
+        this.keywordsBatchUrl = keywordsBatchUrl;
+        this.summaries = new MicroBatcher<>("summarize", maxSize, lingerMs, this::postSummaries);
+        this.keywords = new MicroBatcher<>("keywords", maxSize, lingerMs, this::postKeywords);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Queues the text for the next /summarize/batch call and waits for its summary.
+     */
+    public String summarize(String text) throws InterruptedException, ExecutionException, TimeoutException {
+        return await("summarize", summaries.submit(text));
+    }
+
+    /**
+     * Queues the text for the next /keywords/batch call and waits for its keywords.
+     */
+    public List<Map<String, Object>> keywords(String text, int topK)
+            throws InterruptedException, ExecutionException, TimeoutException {
+        return await("keywords", keywords.submit(new KeywordItem(text, topK)));
+    }
+
+    private <O> O await(String name, CompletableFuture<O> result)
+            throws InterruptedException, ExecutionException, TimeoutException {
+        try {
+            return result.get(waitTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException | InterruptedException e) {
+            // The batch still completes the future; nobody is waiting for it any more
+            result.cancel(false);
+            if (e instanceof TimeoutException) {
+                throw new TimeoutException("No batched /" + name + " result within " + waitTimeoutMs + " ms");
+            }
+            throw e;
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("summarize", summaries.stats());
+        stats.put("keywords", keywords.stats());
+        return stats;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<String> postSummaries(List<String> texts) {
+        Map<String, Object> body = limiter.execute("summarize", () -> post(summarizeBatchUrl, Map.of("texts", texts)));
+        List<String> result = (List<String>) body.get("summaries");
+        if (result == null || result.size() != texts.size()) {
+            throw new IllegalStateException("Batched /summarize/ returned "
+                    + (result == null ? "no" : result.size()) + " summaries for " + texts.size() + " texts");
+        }
+        return result.stream()
+                .map(summary -> summary == null ? "Error: No summary found in response." : summary.trim())
+                .toList();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<List<Map<String, Object>>> postKeywords(List<KeywordItem> items) {
+        List<Map<String, Object>> requestItems = new ArrayList<>(items.size());
+        for (KeywordItem item : items) {
+            Map<String, Object> requestItem = new HashMap<>();
+            requestItem.put("text", item.text());
+            requestItem.put("top_k", item.topK());
+            requestItems.add(requestItem);
+        }
+        Map<String, Object> body = limiter.execute("keywords", () -> post(keywordsBatchUrl, Map.of("items", requestItems)));
+        List<Map<String, Object>> results = (List<Map<String, Object>>) body.get("results");
+        if (results == null || results.size() != items.size()) {
+            throw new IllegalStateException("Batched /keywords/ returned "
+                    + (results == null ? "no" : results.size()) + " results for " + items.size() + " items");
+        }
+        return results.stream()
+                .map(r -> (List<Map<String, Object>>) r.get("keywords"))
+                .toList();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> post(String url, Map<String, Object> request) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        Map<String, Object> body = restTemplate.postForObject(url, new HttpEntity<>(request, headers), Map.class);
+        if (body == null) {
+            throw new IllegalStateException("Empty response from " + url);
+        }
+        return body;
+    }
+
+    /**
+     * Collects submitted items and flushes them as one call to {@code flush},
+     * which must return one result per item in the same order. A batch is
+     * sent with interactive priority if any of its callers is interactive.
+     * The single-threaded timer only hands lingering batches over; the
+     * blocking calls run on their own sender pool.
+     */
+    static class MicroBatcher<I, O> {
+
+        private static final ScheduledExecutorService FLUSHER =
+                Executors.newSingleThreadScheduledExecutor(AsyncConfig.namedDaemonThreads("ai-batch-timer-"));
+        private static final ExecutorService SENDER = sender();
+
+        private record Pending<I, O>(I item, AIEnginePriority priority, CompletableFuture<O> result) {
+        }
+
+        private final String name;
+        private final int maxSize;
+        private final long lingerMs;
+        private final Function<List<I>, List<O>> flush;
+
+        private List<Pending<I, O>> current = new ArrayList<>();
+        private final LongAdder batches = new LongAdder();
+        private final LongAdder items = new LongAdder();
+
+        MicroBatcher(String name, int maxSize, long lingerMs, Function<List<I>, List<O>> flush) {
+            this.name = name;
+            this.maxSize = Math.max(1, maxSize);
+            this.lingerMs = Math.max(0, lingerMs);
+            this.flush = flush;
+        }
+
+        CompletableFuture<O> submit(I item) {
+            CompletableFuture<O> result = new CompletableFuture<>();
+            List<Pending<I, O>> full = null;
+            boolean first;
+            synchronized (this) {
+                current.add(new Pending<>(item, AIEnginePriority.current(), result));
+                first = current.size() == 1;
+                if (current.size() >= maxSize) {
+                    full = current;
+                    current = new ArrayList<>();
+                }
+            }
+            if (full != null) {
+                List<Pending<I, O>> batch = full;
+                SENDER.execute(() -> send(batch));
+            } else if (first) {
+                FLUSHER.schedule(() -> SENDER.execute(this::flushLingering), lingerMs, TimeUnit.MILLISECONDS);
+            }
+            return result;
+        }
+
+        private void flushLingering() {
+            List<Pending<I, O>> batch;
+            synchronized (this) {
+                if (current.isEmpty()) {
+                    return;
+                }
+                batch = current;
+                current = new ArrayList<>();
+            }
+            send(batch);
+        }
+
+        private void send(List<Pending<I, O>> batch) {
+            batches.increment();
+            items.add(batch.size());
+            try {
+                AIEnginePriority priority = batch.stream().anyMatch(p -> p.priority() == AIEnginePriority.INTERACTIVE)
+                        ? AIEnginePriority.INTERACTIVE : AIEnginePriority.BACKGROUND;
+                List<O> results = AIEnginePriority.callAs(priority,
+                        () -> flush.apply(batch.stream().map(Pending::item).toList()));
+                for (int i = 0; i < batch.size(); i++) {
+                    batch.get(i).result().complete(results.get(i));
+                }
+            } catch (Exception e) {
+                logger.error("🔥 Batched /{} call with {} items failed", name, batch.size(), e);
+                batch.forEach(p -> p.result().completeExceptionally(e));
+            }
+        }
+
+        Map<String, Object> stats() {
+            long batchCount = batches.sum();
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("batches", batchCount);
+            stats.put("items", items.sum());
+            stats.put("avgBatchSize", batchCount == 0 ? 0.0 : (double) items.sum() / batchCount);
+            return stats;
+        }
+
+        private static ExecutorService sender() {
+            // Sends block on HTTP and the limiter bounds how many reach the
+            // engine, so grow on demand instead of queueing behind slow batches
+            return new ThreadPoolExecutor(0, Integer.MAX_VALUE, 60, TimeUnit.SECONDS,
+                    new SynchronousQueue<>(), AsyncConfig.namedDaemonThreads("ai-batch-send-"));
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.enterprise.ai_backend.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import com.enterprise.ai_backend.search.Embedder;
+import com.enterprise.ai_backend.search.Vectors;
+import com.fasterxml.jackson.core.type.TypeReference;
+
+/**
+ * Embeds text with the AI engine's /embed/ endpoint (a sentence-transformers
+ * model). Single texts go through the AI result cache, so a repeated query
+ * is embedded once; {@link #embedAll} sends one /embed/batch request.
+ */
+public class AIEngineEmbedder implements Embedder {
+
+    private static final Logger logger = LoggerFactory.getLogger(AIEngineEmbedder.class);
+    private static final TypeReference<List<Double>> EMBEDDING_TYPE = new TypeReference<>() { };
+
+    private final RestTemplate restTemplate;
+    private final AIResultCache resultCache;
+    private final AIEngineLimiter limiter;
+    private final String embedUrl;
+    private final String embedBatchUrl;
+    private final int dimensions;
+
+    public AIEngineEmbedder(RestTemplate restTemplate, AIResultCache resultCache, AIEngineLimiter limiter,
+                            String embedUrl, String embedBatchUrl, int dimensions) {
+        this.restTemplate = restTemplate;
+        this.resultCache = resultCache;
+        this.limiter = limiter;
+        this.embedUrl = embedUrl;
+        this.embedBatchUrl = embedBatchUrl;
+        this.dimensions = dimensions;
+    }
+
+    @Override
+    public int dimensions() {
+        return dimensions;
+    }
+
+    @Override
+    public float[] embed(String text) {
+        if (text == null || text.isBlank()) {
+            return null;
+        }
+        List<Double> values = resultCache.get("embedding", text, "dims=" + dimensions, EMBEDDING_TYPE,
+                () -> requestEmbedding(text),
+                embedding -> embedding.size() == dimensions);
+        return toVector(values);
+    }
+
+    @Override
+    public List<float[]> embedAll(List<String> texts) {
+        if (texts.isEmpty()) {
+            return List.of();
+        }
+        try {
+            logger.info("📡 Calling AI Engine /embed/batch with {} texts", texts.size());
+            Object embeddings = post(embedBatchUrl, Map.of("texts", texts)).get("embeddings");
+            if (embeddings instanceof List<?> list && list.size() == texts.size()) {
+                List<float[]> vectors = new ArrayList<>(list.size());
+                for (Object item : list) {
+                    vectors.add(item instanceof List<?> values ? toVector(values) : null);
+                }
+                return vectors;
+            }
+            logger.warn("⚠️ Batched /embed returned no usable embeddings for {} texts", texts.size());
+        } catch (RestClientException | IllegalStateException e) {
+            logger.error("🔥 Exception during batched /embed call: {}", e.getMessage());
+        }
+        return texts.stream().map(text -> (float[]) null).toList();
+    }
+
+    private List<Double> requestEmbedding(String text) {
+        try {
+            logger.info("📡 Calling AI Engine /embed with content length: {}", text.length());
+            Object embedding = post(embedUrl, Map.of("text", text)).get("embedding");
+            if (embedding instanceof List<?> list) {
+                List<Double> values = new ArrayList<>(list.size());
+                for (Object value : list) {
+                    values.add(((Number) value).doubleValue());
+                }
+                return values;
+            }
+            logger.warn("⚠️ No 'embedding' found in /embed response.");
+        } catch (RestClientException | IllegalStateException e) {
+            logger.error("🔥 Exception during /embed call: {}", e.getMessage());
+        }
+        return List.of();
+    }
+
+    private float[] toVector(List<?> values) {
+        if (values.size() != dimensions) {
+            if (!values.isEmpty()) {
+                logger.warn("⚠️ AI Engine returned a {}-dimensional embedding, expected {} "
+                        + "(search.semantic.dimensions)", values.size(), dimensions);
+            }
+            return null;
+        }
+        float[] vector = new float[dimensions];
+        for (int i = 0; i < dimensions; i++) {
+            vector[i] = ((Number) values.get(i)).floatValue();
+        }
+        return Vectors.normalize(vector);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> post(String url, Map<String, Object> request) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        Map<String, Object> body = limiter.execute("embed",
+                () -> restTemplate.postForObject(url, new HttpEntity<>(request, headers), Map.class));
+        if (body == null) {
+            throw new IllegalStateException("Empty response from " + url);
+        }
+        return body;
+    }
+}
@@ -0,0 +1,305 @@
+package com.enterprise.ai_backend.service;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
+
+import com.enterprise.ai_backend.exception.AIEngineSaturatedException;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Adaptive concurrency limits for calls to the AI engine, one per endpoint
+ * (summarize, keywords, entities, embed), so bursts of uploads and
+ * interactive calls cannot pile more requests onto the model server than it
+ * keeps up with.
+ * <p>
+ * Each limit follows AIMD: while calls are held back by the limit and
+ * complete within {@code ai.limiter.max-latency-ms}, it grows by about one
+ * per round of calls; a timeout, connection failure, 429/503/504 or a call
+ * over the latency budget cuts it by a quarter, at most once per round.
+ * Latency is judged against a fixed budget rather than a no-load baseline
+ * because the cost of a call varies with the length of its text.
+ * <p>
+ * Calls over the limit wait in a bounded queue, interactive callers ahead of
+ * background ones. When the queue is full, or a caller has waited its
+ * maximum, the call fails at once with {@link AIEngineSaturatedException}
+ * instead of adding to the engine's backlog.
+ * <p>
+ * Call latency ({@code ai.engine.requests}, by endpoint and outcome), time
+ * spent queued ({@code ai.engine.queue.wait}), the limits, calls in flight
+ * and waiting, rejections and backoffs are published as Micrometer meters.
+ */
+@Component
+public class AIEngineLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(AIEngineLimiter.class);
+    private static final double BACKOFF = 0.75;
+
+    private final boolean enabled;
+    private final int initialLimit;
+    private final int minLimit;
+    private final int maxLimit;
+    private final long maxLatencyNanos;
+    private final int queueCapacity;
+    private final long interactiveMaxWaitNanos;
+    private final long backgroundMaxWaitNanos;
+    private final MeterRegistry registry;
+    private final Map<String, Limit> limits = new ConcurrentHashMap<>();
+
+    @Autowired
+    public AIEngineLimiter(
+            @Value("${ai.limiter.enabled:true}") boolean enabled,
+            @Value("${ai.limiter.initial-limit:8}") int initialLimit,
+            @Value("${ai.limiter.min-limit:1}") int minLimit,
+            @Value("${ai.limiter.max-limit:20}") int maxLimit,
+            @Value("${ai.limiter.max-latency-ms:20000}") long maxLatencyMs,
+            @Value("${ai.limiter.queue-capacity:100}") int queueCapacity,
+            @Value("${ai.limiter.interactive-max-wait-ms:2000}") long interactiveMaxWaitMs,
+            @Value("${ai.limiter.background-max-wait-ms:60000}") long backgroundMaxWaitMs,
+            MeterRegistry registry) {
+        this.enabled = enabled;
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.initialLimit = Math.min(Math.max(this.minLimit, initialLimit), this.maxLimit);
+        this.maxLatencyNanos = TimeUnit.MILLISECONDS.toNanos(maxLatencyMs);
+        this.queueCapacity = Math.max(0, queueCapacity);
+        this.interactiveMaxWaitNanos = TimeUnit.MILLISECONDS.toNanos(interactiveMaxWaitMs);
+        this.backgroundMaxWaitNanos = TimeUnit.MILLISECONDS.toNanos(backgroundMaxWaitMs);
+        this.registry = registry;
+    }
+
+    /**
+     * Runs the call once the endpoint's limit allows it, with the calling
+     * thread's {@link AIEnginePriority}, and feeds its latency and outcome
+     * back into the limit.
+     *
+     * @throws AIEngineSaturatedException if the call is turned away
+     */
+    public <T> T execute(String endpoint, Supplier<T> call) {
+        if (!enabled) {
+            return timed(endpoint, call);
+        }
+        Limit limit = limits.computeIfAbsent(endpoint, Limit::new);
+        AIEnginePriority priority = AIEnginePriority.current();
+        long queued = System.nanoTime();
+        limit.acquire(priority,
+                priority == AIEnginePriority.INTERACTIVE ? interactiveMaxWaitNanos : backgroundMaxWaitNanos);
+        long start = System.nanoTime();
+        Timer.builder("ai.engine.queue.wait")
+                .description("Time AI engine calls waited for their endpoint's concurrency limit")
+                .tag("endpoint", endpoint)
+                .tag("priority", priority.name().toLowerCase(Locale.ROOT))
+                .register(registry)
+                .record(start - queued, TimeUnit.NANOSECONDS);
+        boolean overloaded = false;
+        try {
+            return timed(endpoint, call);
+        } catch (RuntimeException e) {
+            overloaded = isOverload(e);
+            throw e;
+        } finally {
+            limit.release(start, overloaded);
+        }
+    }
+
+    private <T> T timed(String endpoint, Supplier<T> call) {
+        long start = System.nanoTime();
+        String outcome = "error";
+        try {
+            T result = call.get();
+            outcome = "success";
+            return result;
+        } finally {
+            Timer.builder("ai.engine.requests")
+                    .description("Latency of calls to the AI engine")
+                    .tag("endpoint", endpoint)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(registry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Current limit, calls in flight, queued callers and rejections per endpoint.
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new TreeMap<>();
+        limits.forEach((endpoint, limit) -> stats.put(endpoint, limit.stats()));
+        return stats;
+    }
+
+    private static boolean isOverload(RuntimeException e) {
+        if (e instanceof ResourceAccessException) {
+            return true;
+        }
+        if (e instanceof HttpStatusCodeException status) {
+            int code = status.getStatusCode().value();
+            return code == HttpStatus.TOO_MANY_REQUESTS.value()
+                    || code == HttpStatus.SERVICE_UNAVAILABLE.value()
+                    || code == HttpStatus.GATEWAY_TIMEOUT.value();
+        }
+        return false;
+    }
+
+    /** The adaptive limit and wait queue of one endpoint. */
+    private class Limit {
+
+        private final String endpoint;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Deque<Waiter> interactive = new ArrayDeque<>();
+        private final Deque<Waiter> background = new ArrayDeque<>();
+        private double limit = initialLimit;
+        private int inFlight;
+        private long lastBackoff = System.nanoTime();
+        private long rejected;
+        private long backoffs;
+
+        private final class Waiter {
+            final Condition ready = lock.newCondition();
+            boolean admitted;
+        }
+
+        Limit(String endpoint) {
+            this.endpoint = endpoint;
+            Gauge.builder("ai.engine.concurrency.limit", this, l -> l.read(() -> Math.floor(l.limit)))
+                    .description("Adaptive concurrency limit of the endpoint")
+                    .tag("endpoint", endpoint).register(registry);
+            Gauge.builder("ai.engine.calls.inflight", this, l -> l.read(() -> l.inFlight))
+                    .tag("endpoint", endpoint).register(registry);
+            Gauge.builder("ai.engine.calls.waiting", this, l -> l.read(() -> l.interactive.size()))
+                    .tag("endpoint", endpoint).tag("priority", "interactive").register(registry);
+            Gauge.builder("ai.engine.calls.waiting", this, l -> l.read(() -> l.background.size()))
+                    .tag("endpoint", endpoint).tag("priority", "background").register(registry);
+            FunctionCounter.builder("ai.engine.rejections", this, l -> l.read(() -> l.rejected))
+                    .tag("endpoint", endpoint).register(registry);
+            FunctionCounter.builder("ai.engine.backoffs", this, l -> l.read(() -> l.backoffs))
+                    .tag("endpoint", endpoint).register(registry);
+        }
+
+        private double read(Supplier<Number> value) {
+            lock.lock();
+            try {
+                return value.get().doubleValue();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void acquire(AIEnginePriority priority, long maxWaitNanos) {
+            lock.lock();
+            try {
+                boolean ahead = !interactive.isEmpty() || (priority == AIEnginePriority.BACKGROUND && !background.isEmpty());
+                if (!ahead && inFlight < (int) limit) {
+                    inFlight++;
+                    return;
+                }
+                if (interactive.size() + background.size() >= queueCapacity) {
+                    throw reject("its wait queue is full");
+                }
+                Deque<Waiter> queue = priority == AIEnginePriority.INTERACTIVE ? interactive : background;
+                Waiter waiter = new Waiter();
+                queue.addLast(waiter);
+                long remaining = maxWaitNanos;
+                try {
+                    while (!waiter.admitted) {
+                        if (remaining <= 0) {
+                            queue.remove(waiter);
+                            throw reject("waited " + TimeUnit.NANOSECONDS.toMillis(maxWaitNanos) + " ms");
+                        }
+                        remaining = waiter.ready.awaitNanos(remaining);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    if (waiter.admitted) {
+                        inFlight--;
+                        admitWaiters();
+                    } else {
+                        queue.remove(waiter);
+                    }
+                    throw new AIEngineSaturatedException("Interrupted while waiting for the AI engine /" + endpoint);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void release(long startNanos, boolean overloaded) {
+            long latency = System.nanoTime() - startNanos;
+            lock.lock();
+            try {
+                boolean constrained = inFlight >= (int) limit || !interactive.isEmpty() || !background.isEmpty();
+                inFlight--;
+                if (overloaded || latency > maxLatencyNanos) {
+                    // Calls that started before the last cut were part of the same overload
+                    if (startNanos - lastBackoff > 0) {
+                        double previous = limit;
+                        limit = Math.max(minLimit, limit * BACKOFF);
+                        lastBackoff = System.nanoTime();
+                        backoffs++;
+                        logger.warn("🚦 AI engine /{} is overloaded ({} ms), concurrency limit {} -> {}",
+                                endpoint, TimeUnit.NANOSECONDS.toMillis(latency), (int) previous, (int) limit);
+                    }
+                } else if (constrained) {
+                    limit = Math.min(maxLimit, limit + 1 / limit);
+                }
+                admitWaiters();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void admitWaiters() {
+            while (inFlight < (int) limit && (!interactive.isEmpty() || !background.isEmpty())) {
+                Waiter next = interactive.isEmpty() ? background.pollFirst() : interactive.pollFirst();
+                next.admitted = true;
+                inFlight++;
+                next.ready.signal();
+            }
+        }
+
+        private AIEngineSaturatedException reject(String reason) {
+            rejected++;
+            logger.warn("🚦 Rejected AI engine /{} call: {} ({} in flight, limit {})",
+                    endpoint, reason, inFlight, (int) limit);
+            return new AIEngineSaturatedException("AI engine /" + endpoint + " is saturated: " + reason);
+        }
+
+        Map<String, Object> stats() {
+            lock.lock();
+            try {
+                Map<String, Object> stats = new LinkedHashMap<>();
+                stats.put("limit", (int) limit);
+                stats.put("inFlight", inFlight);
+                stats.put("waitingInteractive", interactive.size());
+                stats.put("waitingBackground", background.size());
+                stats.put("rejected", rejected);
+                stats.put("backoffs", backoffs);
+                return stats;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
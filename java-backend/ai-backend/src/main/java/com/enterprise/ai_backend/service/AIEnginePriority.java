@@ -0,0 +1,53 @@
+package com.enterprise.ai_backend.service;
+
+import java.util.function.Supplier;
+
+/**
+ * Whose work an AI engine call is. Calls made while serving an interactive
+ * request (see {@code ai.limiter.interactive-paths}) are let through ahead of
+ * background ingestion when an endpoint is at its concurrency limit.
+ * <p>
+ * The priority belongs to the current thread and defaults to
+ * {@link #BACKGROUND}; code that hands AI work to another thread carries it
+ * over with {@link #wrap}.
+ */
+public enum AIEnginePriority {
+
+    INTERACTIVE,
+    BACKGROUND;
+
+    private static final ThreadLocal<AIEnginePriority> CURRENT = ThreadLocal.withInitial(() -> BACKGROUND);
+
+    public static AIEnginePriority current() {
+        return CURRENT.get();
+    }
+
+    public static void set(AIEnginePriority priority) {
+        CURRENT.set(priority);
+    }
+
+    public static void reset() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Runs the work with the given priority and restores the previous one.
+     */
+    public static <T> T callAs(AIEnginePriority priority, Supplier<T> work) {
+        AIEnginePriority previous = CURRENT.get();
+        CURRENT.set(priority);
+        try {
+            return work.get();
+        } finally {
+            CURRENT.set(previous);
+        }
+    }
+
+    /**
+     * Binds the work to the calling thread's priority, for running it on another thread.
+     */
+    public static <T> Supplier<T> wrap(Supplier<T> work) {
+        AIEnginePriority priority = current();
+        return () -> callAs(priority, work);
+    }
+}
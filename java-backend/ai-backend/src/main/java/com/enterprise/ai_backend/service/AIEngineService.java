@@ -1,12 +1,25 @@
 package com.enterprise.ai_backend.service;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.core5.pool.PoolStats;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
@@ -14,20 +27,267 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
+import com.enterprise.ai_backend.exception.AIEngineSaturatedException;
+import com.enterprise.ai_backend.util.TextChunker;
+import com.fasterxml.jackson.core.type.TypeReference;
+
 @Service
 public class AIEngineService {
 
     private static final Logger logger = LoggerFactory.getLogger(AIEngineService.class);
-    private final RestTemplate restTemplate = new RestTemplate();
-    private static final String BASE_URL = "http://localhost:8000";
+    private static final int MAX_REDUCE_LEVELS = 3;
+    private static final TypeReference<String> SUMMARY_TYPE = new TypeReference<>() { };
+    private static final TypeReference<List<Map<String, Object>>> KEYWORDS_TYPE = new TypeReference<>() { };
+    private static final TypeReference<Map<String, Object>> ENTITIES_TYPE = new TypeReference<>() { };
+
+    private final RestTemplate restTemplate;
+    private final AIResultCache resultCache;
+    private final AIEngineBatcher batcher;
+    private final AIEngineLimiter limiter;
+    private final PoolingHttpClientConnectionManager connectionManager;
+    private final String summarizeUrl;
+    private final String keywordsUrl;
+    private final String entitiesUrl;
+    private final ExecutorService chunkExecutor;
+    private final boolean chunkedSummaries;
+    private final boolean chunkedEntities;
+    private final int chunkChars;
+    private final long chunkTimeoutMs;
 
+    @Autowired
+    public AIEngineService(
+            @Qualifier("aiEngineRestTemplate") RestTemplate restTemplate,
+            @Qualifier("aiEngineConnectionManager") PoolingHttpClientConnectionManager connectionManager,
+            AIResultCache resultCache,
+            AIEngineBatcher batcher,
+            AIEngineLimiter limiter,
+            @Value("${ai.summarization-url:http://localhost:8000/summarize/}") String summarizeUrl,
+            @Value("${ai.keyword-url:http://localhost:8000/keywords/}") String keywordsUrl,
+            @Value("${ai.entities-url:http://localhost:8000/entities/}") String entitiesUrl,
+            @Qualifier("aiSummaryChunkExecutor") ExecutorService chunkExecutor,
+            @Value("${ai.summary.chunked.enabled:true}") boolean chunkedSummaries,
+            @Value("${ai.entities.chunked.enabled:true}") boolean chunkedEntities,
+            @Value("${ai.summary.chunk-chars:4000}") int chunkChars,
+            @Value("${ai.summary.chunk-timeout-ms:60000}") long chunkTimeoutMs
+    ) {
+        this.restTemplate = restTemplate;
+        this.connectionManager = connectionManager;
+        this.resultCache = resultCache;
+        this.batcher = batcher;
+        this.limiter = limiter;
+        this.summarizeUrl = summarizeUrl;
+        this.keywordsUrl = keywordsUrl;
+        this.entitiesUrl = entitiesUrl;
+        this.chunkExecutor = chunkExecutor;
+        this.chunkedSummaries = chunkedSummaries;
+        this.chunkedEntities = chunkedEntities;
+        this.chunkChars = Math.max(1, chunkChars);
+        this.chunkTimeoutMs = chunkTimeoutMs;
+    }
+
+    /**
+     * Summary of the content. Content longer than {@code ai.summary.chunk-chars}
+     * is summarized map-reduce style, see {@link #mapReduceSummary}.
+     */
     public String getSummary(String content) {
+        if (content == null || content.isBlank()) {
+            return requestSummary(content);
+        }
+        boolean chunked = chunkedSummaries && content.length() > chunkChars;
+        return resultCache.get("summary", content, "", SUMMARY_TYPE,
+                () -> chunked ? mapReduceSummary(content, 1, deadline()) : requestSummary(content),
+                summary -> !summary.startsWith("Error"));
+    }
+
+    public List<Map<String, Object>> getKeywords(String content, int topK) {
+        if (content == null || content.isBlank()) {
+            return requestKeywords(content, topK);
+        }
+        return resultCache.get("keywords", content, "top_k=" + topK, KEYWORDS_TYPE,
+                () -> requestKeywords(content, topK),
+                keywords -> keywords.stream().noneMatch(k -> k.containsKey("error")));
+    }
+
+    /**
+     * Named entities in the content. Content longer than
+     * {@code ai.summary.chunk-chars} is sent chunk by chunk and the results
+     * are merged, unless frequencies or spans are requested: entities are
+     * found within sentences, so the merge matches a single call while each
+     * chunk's result is cached on its own.
+     */
+    public Map<String, Object> getEntities(String content, List<String> filterLabels,
+                                           boolean uniqueOnly, boolean groupByLabel,
+                                           boolean returnFreq, boolean sortByFreq,
+                                           boolean returnSpans) {
+        if (content == null || content.isBlank()) {
+            return requestEntities(content, filterLabels, uniqueOnly, groupByLabel, returnFreq, sortByFreq, returnSpans);
+        }
+        String params = "labels=" + filterLabels + ",unique=" + uniqueOnly + ",group=" + groupByLabel
+                + ",freq=" + returnFreq + ",sort=" + sortByFreq + ",spans=" + returnSpans;
+        boolean chunked = chunkedEntities && content.length() > chunkChars && !returnFreq && !sortByFreq && !returnSpans;
+        return resultCache.get("entities", content, params, ENTITIES_TYPE,
+                () -> chunked
+                        ? mergeChunkEntities(content, filterLabels, uniqueOnly, groupByLabel)
+                        : requestEntities(content, filterLabels, uniqueOnly, groupByLabel, returnFreq, sortByFreq, returnSpans),
+                entities -> !entities.containsKey("error"));
+    }
+
+    /**
+     * Cuts the content into the chunks used for chunked summaries and
+     * entities; see {@link TextChunker}.
+     */
+    public List<String> chunk(String content) {
+        return TextChunker.split(content, chunkChars);
+    }
+
+    /**
+     * Hit, miss and eviction counters of the AI result cache.
+     */
+    public Map<String, Object> getCacheStats() {
+        return resultCache.getStats();
+    }
+
+    /**
+     * Batch counts and average batch size of the micro-batching layer.
+     */
+    public Map<String, Object> getBatchStats() {
+        return batcher.getStats();
+    }
+
+    /**
+     * Concurrency limit, in-flight calls, queued callers and rejections per
+     * AI engine endpoint.
+     */
+    public Map<String, Object> getLimiterStats() {
+        return limiter.getStats();
+    }
+
+    /**
+     * Snapshot of the AI engine connection pool: leased, idle and pending
+     * connections against the configured maximum.
+     */
+    public Map<String, Object> getPoolStats() {
+        PoolStats stats = connectionManager.getTotalStats();
+        Map<String, Object> pool = new LinkedHashMap<>();
+        pool.put("leased", stats.getLeased());
+        pool.put("available", stats.getAvailable());
+        pool.put("pending", stats.getPending());
+        pool.put("max", stats.getMax());
+        pool.put("saturated", stats.getLeased() >= stats.getMax());
+        return pool;
+    }
+
+    /**
+     * Splits the content on paragraph and sentence boundaries into chunks of
+     * at most {@code chunkChars}, summarizes the chunks concurrently on the
+     * chunk pool (through the batcher when it is on) and summarizes the
+     * joined partial summaries again, another level down while they are
+     * still too long. Each chunk summary is cached on its own, so after an
+     * edit only the chunks it touched go back to the engine. If any chunk
+     * fails, or the chunks are not all back by the deadline set by
+     * {@code ai.summary.chunk-timeout-ms}, the whole summary is an error and
+     * is not cached.
+     */
+    private String mapReduceSummary(String content, int level, long deadlineNanos) {
+        List<String> chunks = chunk(content);
+        logger.info("🧩 Summarizing {} chars as {} chunks (level {})", content.length(), chunks.size(), level);
+        List<CompletableFuture<String>> partials = chunks.stream()
+                .map(chunk -> CompletableFuture.supplyAsync(AIEnginePriority.wrap(() -> getSummary(chunk)), chunkExecutor))
+                .toList();
+
+        StringBuilder joined = new StringBuilder();
+        for (int i = 0; i < partials.size(); i++) {
+            String partial;
+            try {
+                partial = await(partials.get(i), deadlineNanos);
+            } catch (TimeoutException e) {
+                partials.forEach(future -> future.cancel(false));
+                logger.warn("⏱️ Chunk {} of {} not summarized within {} ms", i + 1, chunks.size(), chunkTimeoutMs);
+                return "Error while calling AI Engine /summarize: chunk " + (i + 1) + " of " + chunks.size()
+                        + " timed out after " + chunkTimeoutMs + " ms";
+            }
+            if (partial.startsWith("Error")) {
+                partials.forEach(future -> future.cancel(false));
+                logger.warn("⚠️ Chunk {} of {} could not be summarized: {}", i + 1, chunks.size(), partial);
+                return "Error while calling AI Engine /summarize: chunk " + (i + 1) + " of " + chunks.size()
+                        + " failed: " + partial;
+            }
+            if (!joined.isEmpty()) {
+                joined.append("\n\n");
+            }
+            joined.append(partial);
+        }
+
+        String reduced = joined.toString();
+        if (reduced.length() <= chunkChars) {
+            return getSummary(reduced);
+        }
+        if (level < MAX_REDUCE_LEVELS && reduced.length() < content.length()) {
+            return mapReduceSummary(reduced, level + 1, deadlineNanos);
+        }
+        logger.warn("⚠️ Partial summaries still span {} chars after {} levels, summarizing the first {}",
+                reduced.length(), level, chunkChars);
+        return getSummary(TextChunker.split(reduced, chunkChars).get(0));
+    }
+
+    private Map<String, Object> mergeChunkEntities(String content, List<String> filterLabels,
+                                                   boolean uniqueOnly, boolean groupByLabel) {
+        List<String> chunks = chunk(content);
+        logger.info("🧩 Extracting entities from {} chars as {} chunks", content.length(), chunks.size());
+        List<CompletableFuture<Map<String, Object>>> results = chunks.stream()
+                .map(chunk -> CompletableFuture.supplyAsync(AIEnginePriority.wrap(() -> getEntities(chunk, filterLabels,
+                        uniqueOnly, groupByLabel, false, false, false)), chunkExecutor))
+                .toList();
+
+        long deadlineNanos = deadline();
+        Map<String, Object> merged = new LinkedHashMap<>();
+        for (CompletableFuture<Map<String, Object>> result : results) {
+            Map<String, Object> entities;
+            try {
+                entities = await(result, deadlineNanos);
+            } catch (TimeoutException e) {
+                results.forEach(future -> future.cancel(false));
+                logger.warn("⏱️ Chunked /entities not done within {} ms", chunkTimeoutMs);
+                return Map.of("error", "Chunked /entities timed out after " + chunkTimeoutMs + " ms");
+            }
+            if (entities.containsKey("error")) {
+                results.forEach(future -> future.cancel(false));
+                return entities;
+            }
+            entities.forEach((label, value) -> {
+                if (value instanceof List<?> list) {
+                    @SuppressWarnings("unchecked")
+                    List<Object> all = (List<Object>) merged.computeIfAbsent(label, key -> new ArrayList<>());
+                    list.stream().filter(item -> !uniqueOnly || !all.contains(item)).forEach(all::add);
+                } else {
+                    merged.putIfAbsent(label, value);
+                }
+            });
+        }
+        return merged;
+    }
+
+    private String requestSummary(String content) {
         if (content == null || content.isBlank()) {
             logger.warn("❌ Empty or null input received for summarization.");
             return "Error: Content is empty or null.";
         }
 
-        String url = BASE_URL + "/summarize/";
+        if (batcher.isEnabled()) {
+            try {
+                logger.info("📡 Queuing content of length {} for batched /summarize", content.length());
+                return batcher.summarize(content);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return "Error while calling AI Engine /summarize: interrupted";
+            } catch (Exception e) {
+                rethrowIfSaturated(e);
+                logger.error("🔥 Exception during batched /summarize call", e);
+                return "Error while calling AI Engine /summarize: " + rootMessage(e);
+            }
+        }
+
+        String url = summarizeUrl;
         Map<String, String> request = new HashMap<>();
         request.put("text", content);
 
@@ -37,8 +297,8 @@ public class AIEngineService {
 
         try {
             logger.info("📡 Calling AI Engine /summarize with content length: {}", content.length());
-            ResponseEntity<Map<String, Object>> response = restTemplate.postForEntity(
-                url, entity, (Class<Map<String, Object>>) (Class<?>) Map.class);
+            ResponseEntity<Map<String, Object>> response = limiter.execute("summarize", () -> restTemplate.postForEntity(
+                url, entity, (Class<Map<String, Object>>) (Class<?>) Map.class));
             Map<String, Object> body = response.getBody();
 
             if (body != null && body.containsKey("summary")) {
@@ -47,19 +307,35 @@ public class AIEngineService {
                 logger.warn("⚠️ No 'summary' found in response body.");
                 return "Error: No summary found in response.";
             }
+        } catch (AIEngineSaturatedException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("🔥 Exception during /summarize call", e);
             return "Error while calling AI Engine /summarize: " + e.getMessage();
         }
     }
 
-    public List<Map<String, Object>> getKeywords(String content, int topK) {
+    private List<Map<String, Object>> requestKeywords(String content, int topK) {
         if (content == null || content.isBlank()) {
             logger.warn("❌ Empty or null input received for keyword extraction.");
             return List.of(Map.of("error", "Content is empty or null"));
         }
 
-        String url = BASE_URL + "/keywords/";
+        if (batcher.isEnabled()) {
+            try {
+                logger.info("📡 Queuing /keywords request with top_k: {} for batching", topK);
+                return batcher.keywords(content, topK);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return List.of(Map.of("error", "Exception while calling /keywords: interrupted"));
+            } catch (Exception e) {
+                rethrowIfSaturated(e);
+                logger.error("🔥 Exception during batched /keywords call", e);
+                return List.of(Map.of("error", "Exception while calling /keywords: " + rootMessage(e)));
+            }
+        }
+
+        String url = keywordsUrl;
         Map<String, Object> request = new HashMap<>();
         request.put("text", content);
         request.put("top_k", topK);
@@ -70,8 +346,8 @@ public class AIEngineService {
 
         try {
             logger.info("📡 Calling AI Engine /keywords with top_k: {}", topK);
-            ResponseEntity<Map<String, Object>> response = restTemplate.postForEntity(
-                url, entity, (Class<Map<String, Object>>) (Class<?>) Map.class);
+            ResponseEntity<Map<String, Object>> response = limiter.execute("keywords", () -> restTemplate.postForEntity(
+                url, entity, (Class<Map<String, Object>>) (Class<?>) Map.class));
             Map<String, Object> body = response.getBody();
 
             if (body != null && body.containsKey("keywords")) {
@@ -82,22 +358,24 @@ public class AIEngineService {
                 logger.warn("⚠️ No 'keywords' found in response.");
                 return List.of(Map.of("error", "No keywords found in response"));
             }
+        } catch (AIEngineSaturatedException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("🔥 Exception during /keywords call", e);
             return List.of(Map.of("error", "Exception while calling /keywords: " + e.getMessage()));
         }
     }
 
-    public Map<String, Object> getEntities(String content, List<String> filterLabels,
-                                           boolean uniqueOnly, boolean groupByLabel,
-                                           boolean returnFreq, boolean sortByFreq,
-                                           boolean returnSpans) {
+    private Map<String, Object> requestEntities(String content, List<String> filterLabels,
+                                                boolean uniqueOnly, boolean groupByLabel,
+                                                boolean returnFreq, boolean sortByFreq,
+                                                boolean returnSpans) {
         if (content == null || content.isBlank()) {
             logger.warn("❌ Empty or null input received for entity extraction.");
             return Map.of("error", "Content is empty or null");
         }
 
-        String url = BASE_URL + "/entities/";
+        String url = entitiesUrl;
         Map<String, Object> request = new HashMap<>();
         request.put("text", content);
         request.put("filter_labels", filterLabels);
@@ -115,8 +393,8 @@ public class AIEngineService {
             logger.info("📡 Calling AI Engine /entities with flags: uniqueOnly={}, groupByLabel={}, returnFreq={}, sortByFreq={}, returnSpans={}",
                 uniqueOnly, groupByLabel, returnFreq, sortByFreq, returnSpans);
 
-            ResponseEntity<Map<String, Object>> response = restTemplate.postForEntity(
-                url, entity, (Class<Map<String, Object>>) (Class<?>) Map.class);
+            ResponseEntity<Map<String, Object>> response = limiter.execute("entities", () -> restTemplate.postForEntity(
+                url, entity, (Class<Map<String, Object>>) (Class<?>) Map.class));
 
             Map<String, Object> body = response.getBody();
             if (body != null) {
@@ -125,50 +403,59 @@ public class AIEngineService {
                 logger.warn("⚠️ Empty response from /entities.");
                 return Map.of("error", "Empty response from /entities");
             }
+        } catch (AIEngineSaturatedException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("🔥 Exception during /entities call", e);
             return Map.of("error", "Exception while calling /entities: " + e.getMessage());
         }
     }
 
+    private long deadline() {
+        return System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(chunkTimeoutMs);
+    }
+
+    private static <T> T await(CompletableFuture<T> future, long deadlineNanos) throws TimeoutException {
+        try {
+            return future.get(Math.max(0L, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CompletionException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new CompletionException(e.getCause());
+        }
+    }
+
+    /**
+     * Saturation is not an engine error: it is passed on, as 429 to
+     * interactive callers and as a failed stage to ingestion, instead of
+     * being turned into an error result.
+     */
+    private static void rethrowIfSaturated(Exception e) {
+        if (e.getCause() instanceof AIEngineSaturatedException saturated) {
+            throw saturated;
+        }
+    }
+
+    private static String rootMessage(Exception e) {
+        Throwable cause = e instanceof ExecutionException && e.getCause() != null ? e.getCause() : e;
+        return cause.getMessage();
+    }
+
     public List<String> extractKeywords(String content) {
-    if (content == null || content.isBlank()) {
-        logger.warn("❌ Empty or null input received for extractKeywords()");
-        return List.of();
-    }
-
-    String url = BASE_URL + "/keywords/";
-    Map<String, Object> request = new HashMap<>();
-    request.put("text", content);
-    request.put("top_k", 10);  // You can make this dynamic if needed
-
-    HttpHeaders headers = new HttpHeaders();
-    headers.setContentType(MediaType.APPLICATION_JSON);
-    HttpEntity<Map<String, Object>> entity = new HttpEntity<>(request, headers);
-
-    try {
-        logger.info("📡 Calling AI Engine /keywords (extractKeywords)");
-        ResponseEntity<Map<String, Object>> response = restTemplate.postForEntity(
-            url, entity, (Class<Map<String, Object>>) (Class<?>) Map.class);
-
-        Map<String, Object> body = response.getBody();
-
-        if (body != null && body.containsKey("keywords")) {
-            @SuppressWarnings("unchecked")
-            List<Map<String, Object>> keywords = (List<Map<String, Object>>) body.get("keywords");
-
-            return keywords.stream()
-                    .map(m -> (String) m.get("keyword"))
-                    .filter(k -> k != null && !k.isBlank())
-                    .map(String::trim)
-                    .collect(Collectors.toList());
-        } else {
-            logger.warn("⚠️ No 'keywords' found in extractKeywords response.");
+        if (content == null || content.isBlank()) {
+            logger.warn("❌ Empty or null input received for extractKeywords()");
             return List.of();
         }
-    } catch (Exception e) {
-        logger.error("🔥 Exception during extractKeywords", e);
-        return List.of();
+
+        // Same request as getKeywords(content, 10), so both share cached results
+        return getKeywords(content, 10).stream()
+                .map(m -> m.get("keyword"))
+                .filter(k -> k instanceof String str && !str.isBlank())
+                .map(k -> ((String) k).trim())
+                .collect(Collectors.toList());
     }
 }
-}
@@ -0,0 +1,320 @@
+package com.enterprise.ai_backend.service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Result cache in front of the AI engine, keyed by a SHA-256 of the
+ * whitespace-normalized text plus the request parameters.
+ * The in-memory tier is bounded by an approximate character weight and a TTL.
+ * An optional on-disk tier keeps results across restarts, bounded by
+ * {@code ai.cache.disk.max-bytes}: the least recently used entries are
+ * deleted first. Cached lists and maps are unmodifiable copies, since the
+ * same instance is handed to every caller.
+ * Hit, miss, eviction and size meters are published as {@code cache.*}
+ * with {@code cache=ai-results}. Hits from either tier count as hits and
+ * only calls that reach the AI engine count as misses; Caffeine's own
+ * statistics would count a disk hit as a miss.
+ */
+@Component
+public class AIResultCache implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(AIResultCache.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final Cache<String, Object> memory;
+    private final Duration ttl;
+    private final Path diskDir;
+    private final long diskMaxBytes;
+    // Entry file sizes in access order, eldest first; guarded by itself
+    private final LinkedHashMap<String, Long> diskEntries = new LinkedHashMap<>(16, 0.75f, true);
+    private long diskBytes;
+
+    private final LongAdder memoryHits = new LongAdder();
+    private final LongAdder diskHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder diskEvictions = new LongAdder();
+
+    @Autowired
+    public AIResultCache(
+            @Value("${ai.cache.max-weight-chars:50000000}") long maxWeightChars,
+            @Value("${ai.cache.ttl-minutes:60}") long ttlMinutes,
+            @Value("${ai.cache.disk.enabled:false}") boolean diskEnabled,
+            @Value("${ai.cache.disk.dir:${java.io.tmpdir}/ai-backend-cache}") String diskDir,
+            @Value("${ai.cache.disk.max-bytes:1073741824}") long diskMaxBytes) {
+        this.ttl = Duration.ofMinutes(ttlMinutes);
+        this.memory = Caffeine.newBuilder()
+                .maximumWeight(maxWeightChars)
+                .weigher((String key, Object value) -> key.length() + String.valueOf(value).length())
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.diskMaxBytes = Math.max(0L, diskMaxBytes);
+        this.diskDir = diskEnabled ? prepareDiskDir(Paths.get(diskDir)) : null;
+    }
+
+    /**
+     * Returns the cached result for {@code operation} on {@code text} with the
+     * given parameters, or calls {@code loader} and caches what it returns if
+     * {@code cacheable} accepts it. Error results are never cached.
+     */
+    public <T> T get(String operation, String text, String params, TypeReference<T> type,
+                     Supplier<T> loader, Predicate<T> cacheable) {
+        String key = key(operation, text, params);
+
+        // The map view leaves Caffeine's hit and miss statistics alone
+        @SuppressWarnings("unchecked")
+        T cached = (T) memory.asMap().get(key);
+        if (cached != null) {
+            memoryHits.increment();
+            return cached;
+        }
+
+        T fromDisk = readDisk(key, type);
+        if (fromDisk != null) {
+            diskHits.increment();
+            T frozen = freeze(fromDisk);
+            memory.put(key, frozen);
+            return frozen;
+        }
+
+        misses.increment();
+        T loaded = loader.get();
+        if (loaded != null && cacheable.test(loaded)) {
+            T frozen = freeze(loaded);
+            memory.put(key, frozen);
+            writeDisk(key, frozen);
+            return frozen;
+        }
+        return loaded;
+    }
+
+    public Map<String, Object> getStats() {
+        CacheStats stats = memory.stats();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("hits", memoryHits.sum() + diskHits.sum());
+        result.put("memoryHits", memoryHits.sum());
+        result.put("diskHits", diskHits.sum());
+        result.put("misses", misses.sum());
+        result.put("evictions", stats.evictionCount());
+        result.put("entries", memory.estimatedSize());
+        result.put("diskEnabled", diskDir != null);
+        if (diskDir != null) {
+            synchronized (diskEntries) {
+                result.put("diskEntries", diskEntries.size());
+                result.put("diskBytes", diskBytes);
+            }
+            result.put("diskEvictions", diskEvictions.sum());
+        }
+        return result;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("cache.gets", this, cache -> cache.memoryHits.sum() + cache.diskHits.sum())
+                .description("Results served from the cache")
+                .tags("cache", "ai-results", "result", "hit").register(registry);
+        FunctionCounter.builder("cache.gets", misses, LongAdder::sum)
+                .description("Results the AI engine had to compute")
+                .tags("cache", "ai-results", "result", "miss").register(registry);
+        FunctionCounter.builder("cache.evictions", memory, cache -> cache.stats().evictionCount())
+                .description("Entries evicted from the in-memory tier")
+                .tag("cache", "ai-results").register(registry);
+        Gauge.builder("cache.size", memory, Cache::estimatedSize)
+                .description("Entries in the in-memory tier")
+                .tag("cache", "ai-results").register(registry);
+        FunctionCounter.builder("cache.disk.hits", diskHits, LongAdder::sum)
+                .description("Results served from the on-disk tier")
+                .tag("cache", "ai-results").register(registry);
+        FunctionCounter.builder("cache.disk.evictions", diskEvictions, LongAdder::sum)
+                .description("Entries deleted from the on-disk tier to stay within its size limit")
+                .tag("cache", "ai-results").register(registry);
+    }
+
+    public void invalidateAll() {
+        memory.invalidateAll();
+    }
+
+    static String key(String operation, String text, String params) {
+        String normalized = text.strip().replaceAll("\\s+", " ");
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(params.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            byte[] hash = digest.digest(normalized.getBytes(StandardCharsets.UTF_8));
+            return operation + "-" + HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Unmodifiable deep copy of list and map values; anything else, such as
+     * strings and numbers, is immutable already.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T freeze(T value) {
+        if (value instanceof List<?> list) {
+            List<Object> copy = new ArrayList<>(list.size());
+            list.forEach(item -> copy.add(freeze(item)));
+            return (T) Collections.unmodifiableList(copy);
+        }
+        if (value instanceof Map<?, ?> map) {
+            Map<Object, Object> copy = new LinkedHashMap<>();
+            map.forEach((k, v) -> copy.put(k, freeze(v)));
+            return (T) Collections.unmodifiableMap(copy);
+        }
+        return value;
+    }
+
+    private <T> T readDisk(String key, TypeReference<T> type) {
+        if (diskDir == null) {
+            return null;
+        }
+        Path file = diskDir.resolve(key + ".json");
+        try {
+            synchronized (diskEntries) {
+                // Known entries only; this also marks the entry as recently used
+                if (diskEntries.get(key) == null) {
+                    return null;
+                }
+            }
+            if (!Files.exists(file) || isExpired(file)) {
+                removeDiskEntry(key);
+                return null;
+            }
+            return MAPPER.readValue(file.toFile(), type);
+        } catch (IOException e) {
+            logger.warn("⚠️ Could not read AI cache entry {}", file, e);
+            return null;
+        }
+    }
+
+    private void writeDisk(String key, Object value) {
+        if (diskDir == null) {
+            return;
+        }
+        Path target = diskDir.resolve(key + ".json");
+        Path tmp = null;
+        try {
+            // Write to a temp file and move it so readers never see a partial entry
+            tmp = Files.createTempFile(diskDir, key, ".tmp");
+            MAPPER.writeValue(tmp.toFile(), value);
+            long size = Files.size(tmp);
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            tmp = null;
+            addDiskEntry(diskDir, key, size);
+        } catch (IOException e) {
+            logger.warn("⚠️ Could not write AI cache entry {}", target, e);
+        } finally {
+            if (tmp != null) {
+                tmp.toFile().delete();
+            }
+        }
+    }
+
+    private void addDiskEntry(Path dir, String key, long size) {
+        List<String> evicted = new ArrayList<>();
+        synchronized (diskEntries) {
+            Long previous = diskEntries.put(key, size);
+            diskBytes += size - (previous == null ? 0L : previous);
+            Iterator<Map.Entry<String, Long>> eldest = diskEntries.entrySet().iterator();
+            while (diskBytes > diskMaxBytes && eldest.hasNext()) {
+                Map.Entry<String, Long> entry = eldest.next();
+                diskBytes -= entry.getValue();
+                evicted.add(entry.getKey());
+                eldest.remove();
+            }
+        }
+        // A concurrent rewrite of an evicted key may lose its file; that is only a later miss
+        evicted.forEach(k -> dir.resolve(k + ".json").toFile().delete());
+        diskEvictions.add(evicted.size());
+    }
+
+    private void removeDiskEntry(String key) {
+        synchronized (diskEntries) {
+            Long size = diskEntries.remove(key);
+            if (size != null) {
+                diskBytes -= size;
+            }
+        }
+        diskDir.resolve(key + ".json").toFile().delete();
+    }
+
+    private boolean isExpired(Path file) throws IOException {
+        long age = System.currentTimeMillis() - Files.getLastModifiedTime(file).toMillis();
+        return age > ttl.toMillis();
+    }
+
+    /**
+     * Deletes expired entries and temp files left by an interrupted write,
+     * then indexes the remaining entries, oldest first, trimming them to
+     * {@code ai.cache.disk.max-bytes}.
+     */
+    private Path prepareDiskDir(Path dir) {
+        try {
+            Files.createDirectories(dir);
+            List<Path> entries = new ArrayList<>();
+            try (Stream<Path> files = Files.list(dir)) {
+                files.forEach(f -> {
+                    String name = f.getFileName().toString();
+                    try {
+                        if (name.endsWith(".tmp") || (name.endsWith(".json") && isExpired(f))) {
+                            Files.deleteIfExists(f);
+                        } else if (name.endsWith(".json")) {
+                            entries.add(f);
+                        }
+                    } catch (IOException e) {
+                        logger.warn("⚠️ Could not check AI cache file {}", f, e);
+                    }
+                });
+            }
+            entries.sort(Comparator.comparingLong(f -> f.toFile().lastModified()));
+            for (Path f : entries) {
+                String name = f.getFileName().toString();
+                addDiskEntry(dir, name.substring(0, name.length() - ".json".length()), f.toFile().length());
+            }
+            logger.info("💾 AI result cache disk tier at {} ({} entries, {} bytes)", dir, diskEntries.size(), diskBytes);
+            return dir;
+        } catch (IOException e) {
+            logger.warn("⚠️ Disabling AI cache disk tier, cannot use {}", dir, e);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,286 @@
+package com.enterprise.ai_backend.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+import org.apache.commons.compress.archivers.ArchiveEntry;
+import org.apache.commons.compress.archivers.ArchiveInputStream;
+import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
+import org.apache.commons.compress.archivers.zip.ZipArchiveInputStream;
+import org.apache.commons.compress.compressors.gzip.GzipCompressorInputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.enterprise.ai_backend.config.AsyncConfig;
+import com.enterprise.ai_backend.dto.BulkIngestionReportDTO;
+import com.enterprise.ai_backend.dto.BulkIngestionResultDTO;
+import com.enterprise.ai_backend.model.DocumentEntity;
+import com.enterprise.ai_backend.util.ContentHash;
+import com.enterprise.ai_backend.util.SpooledMultipartFile;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Ingests many files in one request: plain uploads as well as ZIP, TAR and
+ * TAR.GZ archives. Archive entries are streamed one by one to temp files,
+ * never extracting the whole archive. Parsing and AI enrichment run in
+ * parallel up to {@code ingest.bulk.concurrency}, and saves are grouped
+ * into batches of {@code ingest.bulk.batch-size}.
+ */
+@Service
+public class BulkIngestionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkIngestionService.class);
+
+    private final DocumentService documentService;
+    private final FileParserService fileParserService;
+    private final NearDuplicateService nearDuplicateService;
+    private final int concurrency;
+    private final int batchSize;
+    private final ExecutorService workers;
+
+    @Autowired
+    public BulkIngestionService(
+            DocumentService documentService,
+            FileParserService fileParserService,
+            NearDuplicateService nearDuplicateService,
+            @Value("${ingest.bulk.concurrency:4}") int concurrency,
+            @Value("${ingest.bulk.batch-size:50}") int batchSize) {
+        this.documentService = documentService;
+        this.fileParserService = fileParserService;
+        this.nearDuplicateService = nearDuplicateService;
+        this.concurrency = Math.max(1, concurrency);
+        this.batchSize = Math.max(1, batchSize);
+        this.workers = Executors.newFixedThreadPool(this.concurrency, AsyncConfig.namedDaemonThreads("bulk-ingest-"));
+    }
+
+    public BulkIngestionReportDTO ingest(MultipartFile[] files) throws IOException {
+        long start = System.nanoTime();
+        Run run = new Run();
+        try {
+            for (MultipartFile file : files) {
+                String name = Optional.ofNullable(file.getOriginalFilename()).orElse("unknown").trim();
+                if (isArchive(name)) {
+                    streamArchive(name, file, run);
+                } else {
+                    run.submit(SpooledMultipartFile.spool(file));
+                }
+            }
+        } finally {
+            run.finish();
+        }
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        BulkIngestionReportDTO report = new BulkIngestionReportDTO(run.results, elapsedMs);
+        logger.info("📦 Bulk ingestion done: {} files, {} created, {} skipped, {} failed in {} ms",
+                report.getTotal(), report.getCreated(), report.getSkipped(), report.getFailed(), elapsedMs);
+        return report;
+    }
+
+    private void streamArchive(String archiveName, MultipartFile file, Run run) throws IOException {
+        logger.info("📦 Streaming entries of archive '{}'", archiveName);
+        try (InputStream raw = file.getInputStream();
+             ArchiveInputStream archive = openArchive(archiveName, raw)) {
+            ArchiveEntry entry;
+            while ((entry = archive.getNextEntry()) != null) {
+                if (entry.isDirectory()) {
+                    continue;
+                }
+                String entryName = entry.getName().startsWith("./") ? entry.getName().substring(2) : entry.getName();
+                if (!archive.canReadEntryData(entry)) {
+                    run.record(new BulkIngestionResultDTO(entryName, "FAILED", null,
+                            "Archive entry uses an unsupported compression or encryption method."));
+                    continue;
+                }
+                // Only the current entry is copied; the archive stream stops at its end
+                run.submit(SpooledMultipartFile.spool(entryName, null, archive));
+            }
+        }
+    }
+
+    static boolean isArchive(String name) {
+        String lower = name.toLowerCase(Locale.ROOT);
+        return lower.endsWith(".zip") || lower.endsWith(".tar") || lower.endsWith(".tar.gz") || lower.endsWith(".tgz");
+    }
+
+    private static ArchiveInputStream openArchive(String name, InputStream raw) throws IOException {
+        String lower = name.toLowerCase(Locale.ROOT);
+        if (lower.endsWith(".zip")) {
+            return new ZipArchiveInputStream(raw);
+        } else if (lower.endsWith(".tar")) {
+            return new TarArchiveInputStream(raw);
+        }
+        return new TarArchiveInputStream(new GzipCompressorInputStream(raw));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdown();
+    }
+
+    /**
+     * State of one bulk request: results in submission order, names already
+     * claimed in this request, and the batch of documents waiting to be saved.
+     */
+    private class Run {
+
+        private final List<BulkIngestionResultDTO> results = new ArrayList<>();
+        private final Set<String> claimedNames = ConcurrentHashMap.newKeySet();
+        private final Set<String> claimedHashes = ConcurrentHashMap.newKeySet();
+        private final Semaphore inFlight = new Semaphore(concurrency);
+        private final List<DocumentEntity> batch = new ArrayList<>();
+        private final List<BulkIngestionResultDTO> batchResults = new ArrayList<>();
+
+        synchronized void record(BulkIngestionResultDTO result) {
+            results.add(result);
+        }
+
+        /**
+         * Hands a spooled file to a worker, blocking while
+         * {@code concurrency} files are already being processed.
+         */
+        void submit(SpooledMultipartFile file) throws IOException {
+            BulkIngestionResultDTO result =
+                    new BulkIngestionResultDTO(file.getOriginalFilename(), "PENDING", null, null);
+            record(result);
+            try {
+                inFlight.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                file.delete();
+                throw new IOException("Interrupted while queuing " + file.getOriginalFilename(), e);
+            }
+            workers.execute(() -> {
+                try {
+                    process(file, result);
+                } finally {
+                    file.delete();
+                    inFlight.release();
+                }
+            });
+        }
+
+        private void process(SpooledMultipartFile file, BulkIngestionResultDTO result) {
+            String name = file.getOriginalFilename();
+            try {
+                if (!claimedNames.add(name) || documentService.existsByFileName(name)) {
+                    result.setStatus("SKIPPED");
+                    result.setError("A document with this file name already exists.");
+                    return;
+                }
+                String contentHash = ContentHash.sha256(file);
+                if (!claimedHashes.add(contentHash) || documentService.getDocumentByContentHash(contentHash).isPresent()) {
+                    result.setStatus("SKIPPED");
+                    result.setError("A document with identical content already exists.");
+                    return;
+                }
+                String content = fileParserService.parse(file);
+                NearDuplicateService.Verdict verdict = nearDuplicateService.check(content);
+                if (verdict.skip()) {
+                    result.setStatus("SKIPPED");
+                    result.setError("Near-duplicate of document " + verdict.match().docId() + ".");
+                    return;
+                }
+                DocumentEntity entity = documentService.enrich(name, content, IngestionProgress.NONE);
+                nearDuplicateService.stamp(entity, verdict);
+                entity.setContentHash(contentHash);
+                addToBatch(entity, result);
+            } catch (Exception e) {
+                logger.warn("⚠️ Bulk ingestion of '{}' failed: {}", name, e.getMessage());
+                result.setStatus("FAILED");
+                result.setError(e.getMessage());
+            }
+        }
+
+        private void addToBatch(DocumentEntity entity, BulkIngestionResultDTO result) {
+            List<DocumentEntity> toSave = null;
+            List<BulkIngestionResultDTO> toReport = null;
+            synchronized (batch) {
+                batch.add(entity);
+                batchResults.add(result);
+                if (batch.size() >= batchSize) {
+                    toSave = new ArrayList<>(batch);
+                    toReport = new ArrayList<>(batchResults);
+                    batch.clear();
+                    batchResults.clear();
+                }
+            }
+            if (toSave != null) {
+                save(toSave, toReport);
+            }
+        }
+
+        private void save(List<DocumentEntity> documents, List<BulkIngestionResultDTO> reports) {
+            try {
+                List<DocumentEntity> saved = documentService.saveAllAndIndex(documents);
+                for (int i = 0; i < reports.size(); i++) {
+                    reports.get(i).setStatus("CREATED");
+                    reports.get(i).setDocumentId(saved.get(i).getId());
+                }
+            } catch (DataIntegrityViolationException e) {
+                // A concurrent upload took a name or hash; retry row by row so one clash does not fail the batch
+                logger.warn("⚠️ Bulk batch of {} documents clashed with stored ones, saving one by one", documents.size());
+                for (int i = 0; i < documents.size(); i++) {
+                    saveOne(documents.get(i), reports.get(i));
+                }
+            } catch (Exception e) {
+                logger.error("🔥 Saving a bulk batch of {} documents failed", documents.size(), e);
+                reports.forEach(r -> {
+                    r.setStatus("FAILED");
+                    r.setError("Batch save failed: " + e.getMessage());
+                });
+            }
+        }
+
+        private void saveOne(DocumentEntity document, BulkIngestionResultDTO report) {
+            // The rolled-back batch insert may have assigned an ID
+            document.setId(null);
+            try {
+                report.setDocumentId(documentService.saveAllAndIndex(List.of(document)).get(0).getId());
+                report.setStatus("CREATED");
+            } catch (DataIntegrityViolationException clash) {
+                report.setStatus("SKIPPED");
+                report.setError("A document with the same name or content was stored meanwhile.");
+            } catch (Exception e) {
+                logger.error("🔥 Saving bulk document '{}' failed", document.getFileName(), e);
+                report.setStatus("FAILED");
+                report.setError("Save failed: " + e.getMessage());
+            }
+        }
+
+        /**
+         * Waits for every in-flight file and saves the last partial batch.
+         */
+        void finish() {
+            inFlight.acquireUninterruptibly(concurrency);
+            try {
+                List<DocumentEntity> toSave;
+                List<BulkIngestionResultDTO> toReport;
+                synchronized (batch) {
+                    toSave = new ArrayList<>(batch);
+                    toReport = new ArrayList<>(batchResults);
+                    batch.clear();
+                    batchResults.clear();
+                }
+                if (!toSave.isEmpty()) {
+                    save(toSave, toReport);
+                }
+            } finally {
+                inFlight.release(concurrency);
+            }
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.enterprise.ai_backend.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import com.enterprise.ai_backend.config.AsyncConfig;
+import com.enterprise.ai_backend.model.DocumentEntity;
+import com.enterprise.ai_backend.repository.DocumentRepository;
+import com.enterprise.ai_backend.util.ContentCompression;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Moves documents stored before compression was enabled to compressed
+ * storage. Runs once per startup on a background thread, walking the table
+ * in keyset pages, and logs the stored size before and after so the saving
+ * can be compared against read latency. Each row is moved with a targeted
+ * UPDATE of its content columns, so concurrent edits of other columns are
+ * never overwritten.
+ */
+@Service
+public class ContentCompressionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ContentCompressionService.class);
+
+    /** Totals of one migration run. */
+    public record Result(int documents, long plainBytes, long compressedBytes) {
+    }
+
+    private final DocumentRepository documentRepository;
+    private final ContentCompression compression;
+    private final int pageSize;
+    private final ExecutorService migrationExecutor =
+            Executors.newSingleThreadExecutor(AsyncConfig.namedDaemonThreads("content-compression-"));
+
+    @Autowired
+    public ContentCompressionService(
+            DocumentRepository documentRepository,
+            ContentCompression compression,
+            @Value("${documents.content.migration-page-size:100}") int pageSize) {
+        this.documentRepository = documentRepository;
+        this.compression = compression;
+        this.pageSize = Math.max(1, pageSize);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateInBackground() {
+        if (compression.isEnabled()) {
+            migrationExecutor.execute(this::migrate);
+        }
+    }
+
+    /**
+     * Compresses every plain row long enough to compress. Rows written before
+     * {@code content_length} existed are loaded too, so they get their length
+     * even if they stay plain.
+     */
+    public Result migrate() {
+        long afterId = 0;
+        int migrated = 0;
+        long plainBytes = 0;
+        long compressedBytes = 0;
+        List<DocumentEntity> page;
+        try {
+            do {
+                page = documentRepository.findUncompressedAfter(
+                        afterId, compression.getMinChars(), PageRequest.ofSize(pageSize));
+                for (DocumentEntity doc : page) {
+                    String content = doc.getContent();
+                    int length = content == null ? 0 : content.length();
+                    if (compression.shouldCompress(content)) {
+                        byte[] compressed = ContentCompression.compress(content);
+                        if (documentRepository.compressContent(doc.getId(), compressed, length) == 1) {
+                            migrated++;
+                            plainBytes += content.getBytes(StandardCharsets.UTF_8).length;
+                            compressedBytes += compressed.length;
+                        }
+                    } else if (doc.getContentLength() == null) {
+                        documentRepository.backfillContentLength(doc.getId(), length);
+                    }
+                    afterId = doc.getId();
+                }
+            } while (page.size() == pageSize);
+        } catch (RuntimeException e) {
+            logger.error("❌ Content compression stopped after document {}: {}", afterId, e.getMessage());
+        }
+
+        if (migrated > 0) {
+            logger.info("🗜️ Compressed {} documents: {} KB -> {} KB ({}%)", migrated,
+                    plainBytes / 1024, compressedBytes / 1024, compressedBytes * 100 / Math.max(1, plainBytes));
+        }
+        return new Result(migrated, plainBytes, compressedBytes);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        migrationExecutor.shutdownNow();
+    }
+}
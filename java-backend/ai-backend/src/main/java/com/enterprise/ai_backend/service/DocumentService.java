@@ -3,23 +3,46 @@ package com.enterprise.ai_backend.service;
 import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.enterprise.ai_backend.dto.DocumentPageDTO;
+import com.enterprise.ai_backend.dto.DocumentSummaryDTO;
 import com.enterprise.ai_backend.dto.DocumentUpdateDTO;
+import com.enterprise.ai_backend.dto.TermFacetDTO;
 import com.enterprise.ai_backend.model.DocumentEntity;
+import com.enterprise.ai_backend.model.DocumentTermEntity;
+import com.enterprise.ai_backend.model.TermKind;
 import com.enterprise.ai_backend.repository.DocumentRepository;
+import com.enterprise.ai_backend.search.NearDuplicateIndex;
+import com.enterprise.ai_backend.search.Vectors;
+import com.enterprise.ai_backend.util.ContentHash;
+import com.enterprise.ai_backend.util.KeysetCursor;
+import com.enterprise.ai_backend.util.SingleFlight;
 
 @Service
 public class DocumentService {
@@ -30,24 +53,69 @@ public class DocumentService {
     private final FileParserService fileParserService;
     private final AIEngineService aiEngineService;
     private final ElasticService elasticService;
+    private final NearDuplicateService nearDuplicateService;
+    private final FullTextSearchService fullTextSearchService;
+    private final TermService termService;
+    private final SemanticSearchService semanticSearchService;
+    private final PipelineMetrics metrics;
+    private final ExecutorService aiStageExecutor;
+    private final long stageTimeoutMs;
+    private final int defaultPageSize;
+    private final int maxPageSize;
+    private final SingleFlight<String, DocumentEntity> inFlightUploads = new SingleFlight<>();
 
     @Autowired
     public DocumentService(
             DocumentRepository documentRepository,
             FileParserService fileParserService,
             AIEngineService aiEngineService,
-            ElasticService elasticService
+            ElasticService elasticService,
+            NearDuplicateService nearDuplicateService,
+            FullTextSearchService fullTextSearchService,
+            TermService termService,
+            SemanticSearchService semanticSearchService,
+            PipelineMetrics metrics,
+            @Qualifier("aiStageExecutor") ExecutorService aiStageExecutor,
+            @Value("${ai.stages.timeout-ms:60000}") long stageTimeoutMs,
+            @Value("${documents.page.default-size:50}") int defaultPageSize,
+            @Value("${documents.page.max-size:200}") int maxPageSize
     ) {
         this.documentRepository = documentRepository;
         this.fileParserService = fileParserService;
         this.aiEngineService = aiEngineService;
         this.elasticService = elasticService;
+        this.nearDuplicateService = nearDuplicateService;
+        this.fullTextSearchService = fullTextSearchService;
+        this.termService = termService;
+        this.semanticSearchService = semanticSearchService;
+        this.metrics = metrics;
+        this.aiStageExecutor = aiStageExecutor;
+        this.stageTimeoutMs = stageTimeoutMs;
+        this.maxPageSize = Math.max(1, maxPageSize);
+        this.defaultPageSize = Math.min(Math.max(1, defaultPageSize), this.maxPageSize);
     }
 
     public DocumentEntity processAndSave(MultipartFile file) throws IOException {
+        return processAndSave(file, IngestionProgress.NONE);
+    }
+
+    /**
+     * Parses, enriches, saves and indexes the upload, reporting each stage
+     * to {@code progress} as it starts and finishes.
+     */
+    public DocumentEntity processAndSave(MultipartFile file, IngestionProgress progress) throws IOException {
         String filename = Optional.ofNullable(file.getOriginalFilename()).orElse("unknown").trim();
         logger.info("📥 Upload received for '{}'", filename);
 
+        // ✅ Identical bytes are ingested once, whatever the file name
+        String contentHash = ContentHash.sha256(file);
+        Optional<DocumentEntity> sameContent = documentRepository.findFirstByContentHash(contentHash);
+        if (sameContent.isPresent()) {
+            logger.warn("⚠️ '{}' has the same content as document {}. Skipping upload.",
+                    filename, sameContent.get().getId());
+            return sameContent.get();
+        }
+
         // ✅ Check for existing document by fileName
         List<DocumentEntity> existingDocs = documentRepository.findByFileName(filename);
         if (!existingDocs.isEmpty()) {
@@ -55,31 +123,255 @@ public class DocumentService {
             return existingDocs.get(0); // Return existing document instead of saving a new one
         }
 
+        // ✅ Concurrent uploads of the same bytes share one parse, enrichment and save
+        try {
+            IngestionProgress timed = metrics.timing(progress);
+            return inFlightUploads.execute(contentHash, () -> ingest(file, filename, contentHash, timed));
+        } catch (IOException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException("Ingestion of '" + filename + "' failed", e);
+        }
+    }
+
+    private DocumentEntity ingest(MultipartFile file, String filename, String contentHash, IngestionProgress progress)
+            throws IOException {
+        // A flight that finished just before this one started may already have saved the document
+        Optional<DocumentEntity> sameContent = documentRepository.findFirstByContentHash(contentHash);
+        if (sameContent.isPresent()) {
+            return sameContent.get();
+        }
+
         // ✅ Parse content
-        String content = fileParserService.parse(file);
+        progress.started("parse");
+        String content;
+        try {
+            content = fileParserService.parse(file);
+        } catch (IOException | RuntimeException e) {
+            metrics.stageFailed("parse", "error");
+            throw e;
+        }
+        progress.finished("parse");
         logger.info("📄 Parsed file '{}'", filename);
 
-        // ✅ Generate summary
-        String summary = aiEngineService.getSummary(content);
+        // ✅ Check for a near-duplicate before paying for AI enrichment
+        NearDuplicateService.Verdict verdict = nearDuplicateService.check(content);
+        if (verdict.isNearDuplicate()) {
+            long originalId = verdict.match().docId();
+            logger.warn("⚠️ '{}' nearly duplicates document {} (similarity {})",
+                    filename, originalId, verdict.match().similarity());
+            if (verdict.skip()) {
+                Optional<DocumentEntity> original = documentRepository.findById(originalId);
+                if (original.isPresent()) {
+                    return original.get();
+                }
+            }
+        }
+
+        DocumentEntity entity = enrich(filename, content, progress);
+        nearDuplicateService.stamp(entity, verdict);
+        entity.setContentHash(contentHash);
+
+        // ✅ Save to PostgreSQL
+        progress.started("save");
+        DocumentEntity saved;
+        try {
+            saved = insertOrGetExisting(entity);
+        } catch (RuntimeException e) {
+            metrics.stageFailed("save", "error");
+            throw e;
+        }
+        progress.finished("save");
+        logger.info("✅ Document '{}' saved to DB with ID {}", filename, saved.getId());
+
+        // ✅ Add to the search indexes and the keyword/entity tables
+        progress.started("index");
+        elasticService.indexDocument(saved);
+        nearDuplicateService.register(saved);
+        semanticSearchService.register(saved);
+        // When another upload won the insert, the returned row already has its terms
+        if (saved == entity) {
+            termService.replaceTerms(saved.getId(), saved.getExtractedTerms());
+        }
+        progress.finished("index");
+        logger.info("🔍 Document '{}' indexed for search", filename);
+
+        return saved;
+    }
+
+    /**
+     * Inserts the document, or returns the row that another instance or
+     * request inserted first with the same content hash or file name.
+     * The unique constraints decide the winner atomically.
+     */
+    private DocumentEntity insertOrGetExisting(DocumentEntity entity) {
+        try {
+            return documentRepository.save(entity);
+        } catch (DataIntegrityViolationException e) {
+            logger.warn("⚠️ '{}' was stored concurrently, returning the existing document", entity.getFileName());
+            return documentRepository.findFirstByContentHash(entity.getContentHash())
+                    .or(() -> documentRepository.findByFileName(entity.getFileName()).stream().findFirst())
+                    .orElseThrow(() -> e);
+        }
+    }
+
+    public Optional<DocumentEntity> getDocumentByContentHash(String contentHash) {
+        return documentRepository.findFirstByContentHash(contentHash);
+    }
+
+    /**
+     * Runs summary, keyword and entity extraction and the semantic search
+     * embedding for parsed content and returns the resulting, not yet saved,
+     * entity.
+     */
+    public DocumentEntity enrich(String filename, String content, IngestionProgress listener) {
+        IngestionProgress progress = metrics.timing(listener);
+        // ✅ Run summary, keyword and entity extraction and embedding concurrently
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(stageTimeoutMs);
+        Future<String> summaryStage = submitStage("summary", progress,
+                () -> aiEngineService.getSummary(content));
+        Future<List<Map<String, Object>>> keywordStage = submitStage("keywords", progress,
+                () -> aiEngineService.getKeywords(content, 10));
+        Future<Map<String, Object>> entityStage = submitStage("entities", progress,
+                () -> aiEngineService.getEntities(content, List.of(), false, false, false, false, false));
+        Future<float[]> embeddingStage = submitStage("embedding", progress,
+                () -> semanticSearchService.embed(content));
+
+        String summary = awaitStage("summary", filename, summaryStage, deadline,
+                "Error while calling AI Engine /summarize: timed out after " + stageTimeoutMs + " ms");
         logger.info("🧠 Summary generated for '{}'", filename);
 
-        // ✅ Extract keywords
-        List<Map<String, Object>> keywordList = aiEngineService.getKeywords(content, 10);
-        String keywords = keywordList.stream()
-                .map(k -> (String) k.get("keyword"))
-                .filter(k -> k != null && !k.isBlank())
-                .map(String::trim)
-                .distinct()
-                .collect(Collectors.joining(", "));
+        List<Map<String, Object>> keywordList = awaitStage("keywords", filename, keywordStage, deadline, List.of());
+        String keywords = joinKeywords(keywordList);
         logger.info("🟡 Extracted keywords: {}", keywords.isBlank() ? "None" : keywords);
 
-        // ✅ Extract entities
-        Map<String, Object> entityMap = aiEngineService.getEntities(
-                content, List.of(), false, false, false, false, false
-        );
-
+        Map<String, Object> entityMap = awaitStage("entities", filename, entityStage, deadline, null);
         logger.debug("Raw entityMap from AI Engine: {}", entityMap);
+        if (entityMap == null || entityMap.containsKey("error")) {
+            logger.warn("⚠️ Entity extraction returned empty or error for '{}'", filename);
+        }
+        String entities = flattenEntities(entityMap);
+        logger.info("🔵 Extracted entities: {}", entities.isBlank() ? "None" : entities);
+
+        float[] embedding = awaitStage("embedding", filename, embeddingStage, deadline, null);
+
+        DocumentEntity entity = new DocumentEntity();
+        entity.setFileName(filename);
+        entity.setContent(content);
+        entity.setSummary(summary);
+        entity.setKeywords(keywords);
+        entity.setEntities(entities);
+        entity.setExtractedTerms(extractedTerms(keywordList, entityMap));
+        entity.setEmbedding(Vectors.toBytes(embedding));
+        entity.setCreatedAt(LocalDateTime.now());
+        return entity;
+    }
+
+    private static List<DocumentTermEntity> extractedTerms(List<Map<String, Object>> keywordList,
+                                                           Map<String, Object> entityMap) {
+        List<DocumentTermEntity> terms = new ArrayList<>(TermService.keywordTerms(keywordList));
+        terms.addAll(TermService.entityTerms(entityMap));
+        return terms;
+    }
+
+    /**
+     * Saves a batch of enriched documents in one transaction and adds them
+     * to the search index.
+     */
+    public List<DocumentEntity> saveAllAndIndex(List<DocumentEntity> documents) {
+        List<DocumentEntity> saved = documentRepository.saveAll(documents);
+        saved.forEach(elasticService::indexDocument);
+        saved.forEach(nearDuplicateService::register);
+        saved.forEach(semanticSearchService::register);
+        saved.forEach(doc -> termService.replaceTerms(doc.getId(), doc.getExtractedTerms()));
+        logger.info("✅ Saved and indexed a batch of {} documents", saved.size());
+        return saved;
+    }
+
+    // A stage the saturated pool rejects comes back as a failed future, which awaitStage skips
+    private <T> Future<T> submitStage(String stage, IngestionProgress progress, Callable<T> work) {
+        progress.started(stage);
+        try {
+            return aiStageExecutor.submit(() -> {
+                try {
+                    return work.call();
+                } finally {
+                    progress.finished(stage);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            progress.finished(stage);
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Waits for one enrichment stage until the shared upload deadline and
+     * falls back to {@code fallback} if the stage fails, runs out of time or
+     * was rejected by the saturated stage pool.
+     */
+    private <T> T awaitStage(String stage, String filename, Future<T> future, long deadlineNanos, T fallback) {
+        try {
+            long remaining = Math.max(0L, deadlineNanos - System.nanoTime());
+            T result = future.get(remaining, TimeUnit.NANOSECONDS);
+            if (isErrorResult(result)) {
+                metrics.stageFailed(stage, "error");
+            }
+            return result;
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            metrics.stageFailed(stage, "timeout");
+            logger.warn("⏱️ Stage '{}' timed out for '{}' after {} ms", stage, filename, stageTimeoutMs);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            metrics.stageFailed(stage, "interrupted");
+            logger.warn("⚠️ Interrupted while waiting for stage '{}' of '{}'", stage, filename);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RejectedExecutionException) {
+                metrics.stageFailed(stage, "rejected");
+                logger.warn("🚦 Stage '{}' skipped for '{}': the stage pool is saturated", stage, filename);
+            } else {
+                metrics.stageFailed(stage, "error");
+                logger.error("🔥 Stage '{}' failed for '{}'", stage, filename, e.getCause());
+            }
+        }
+        return fallback;
+    }
+
+    /**
+     * Whether an AI engine result is one of its error shapes: an "Error…"
+     * string, an {@code error} map or a list holding an {@code error} item.
+     */
+    private static boolean isErrorResult(Object result) {
+        if (result instanceof String text) {
+            return text.startsWith("Error");
+        }
+        if (result instanceof Map<?, ?> map) {
+            return map.containsKey("error");
+        }
+        return result instanceof List<?> list
+                && list.stream().anyMatch(item -> item instanceof Map<?, ?> map && map.containsKey("error"));
+    }
 
+    /**
+     * Joins the keyword strings of an AI engine keyword response into a
+     * comma separated, de-duplicated list.
+     */
+    static String joinKeywords(List<Map<String, Object>> keywordList) {
+        return keywordList.stream()
+                .map(k -> k.get("keyword"))
+                .filter(k -> k instanceof String str && !str.isBlank())
+                .map(k -> ((String) k).trim())
+                .distinct()
+                .collect(Collectors.joining(", "));
+    }
+
+    /**
+     * Flattens the label-grouped entity response of the AI engine into a
+     * comma separated, de-duplicated list of entity texts.
+     */
+    static String flattenEntities(Map<String, Object> entityMap) {
         List<String> entityValues = new ArrayList<>();
         if (entityMap != null && !entityMap.containsKey("error")) {
             for (Object value : entityMap.values()) {
@@ -94,35 +386,12 @@ public class DocumentService {
                     }
                 }
             }
-        } else {
-            logger.warn("⚠️ Entity extraction returned empty or error for '{}'", filename);
         }
-
-        String entities = entityValues.stream()
+        return entityValues.stream()
                 .distinct()
                 .collect(Collectors.joining(", "));
-        logger.info("🔵 Extracted entities: {}", entities.isBlank() ? "None" : entities);
-
-        // ✅ Save to PostgreSQL
-        DocumentEntity entity = new DocumentEntity();
-        entity.setFileName(filename);
-        entity.setContent(content);
-        entity.setSummary(summary);
-        entity.setKeywords(keywords);
-        entity.setEntities(entities);
-        entity.setCreatedAt(LocalDateTime.now());
-
-        DocumentEntity saved = documentRepository.save(entity);
-        logger.info("✅ Document '{}' saved to DB with ID {}", filename, saved.getId());
-
-        // ✅ Index in Elasticsearch
-        elasticService.indexDocument(filename, content, summary);
-        logger.info("🔍 Document '{}' indexed in Elasticsearch", filename);
-
-        return saved;
     }
 
-
     public DocumentEntity saveDocument(DocumentEntity document) {
         return documentRepository.save(document);
     }
@@ -135,70 +404,279 @@ public class DocumentService {
                 .collect(Collectors.toList());
     }
 
-    public List<DocumentEntity> searchDocumentsByFileNameContentOrSummary(String query) {
-        return documentRepository
-                .findByFileNameContainingIgnoreCaseOrContentContainingIgnoreCaseOrSummaryContainingIgnoreCase(
-                        query, query, query
-                );
+    /**
+     * Searches fileName, summary and content. On PostgreSQL this is a ranked
+     * full-text search, best match first; elsewhere, or while search vectors
+     * are still being backfilled, it falls back to LIKE matching, newest first.
+     * Returns at most {@code documents.page.max-size} summaries.
+     */
+    public List<DocumentSummaryDTO> searchDocumentsByFileNameContentOrSummary(String query) {
+        if (query == null || query.isBlank()) {
+            return List.of();
+        }
+        if (fullTextSearchService.isReady()) {
+            return metrics.timeSearch("fulltext", () -> searchFullText(query));
+        }
+        return metrics.timeSearch("like", () -> searchByLike(query));
+    }
+
+    private List<DocumentSummaryDTO> searchFullText(String query) {
+        List<Long> ranked = fullTextSearchService.search(query, maxPageSize);
+        Map<Long, DocumentSummaryDTO> byId = documentRepository.findSummariesByIdIn(ranked).stream()
+                .collect(Collectors.toMap(DocumentSummaryDTO::getId, summary -> summary));
+        return ranked.stream().map(byId::get).filter(Objects::nonNull).toList();
+    }
+
+    /**
+     * Case-insensitive partial match on fileName, content or summary, newest first.
+     * <p>
+     * SQL cannot see compressed content, so only file names are matched with
+     * LIKE; content and summary matches come from the search index, which
+     * checks them against the decompressed text.
+     */
+    private List<DocumentSummaryDTO> searchByLike(String query) {
+        List<DocumentSummaryDTO> results = new ArrayList<>(
+                documentRepository.searchSummariesByFileName(query, PageRequest.ofSize(maxPageSize)));
+        Set<Long> found = results.stream().map(DocumentSummaryDTO::getId).collect(Collectors.toSet());
+
+        elasticService.findContaining(query, maxPageSize).stream()
+                .filter(doc -> !found.contains(doc.getId()))
+                .forEach(results::add);
+
+        results.sort(Comparator.comparing(DocumentSummaryDTO::getCreatedAt)
+                .thenComparing(DocumentSummaryDTO::getId).reversed());
+        return results.size() > maxPageSize ? results.subList(0, maxPageSize) : results;
     }
 
     public Optional<DocumentEntity> getDocumentById(Long id) {
         return documentRepository.findById(id);
     }
 
-    public List<DocumentEntity> getAllDocuments() {
-        return documentRepository.findAll();
+    /**
+     * Lists documents newest first, one keyset page at a time. The cursor is
+     * the {@code nextCursor} of the previous page, or null for the first page;
+     * the limit falls back to the default page size and is capped at the maximum.
+     *
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public DocumentPageDTO listDocuments(String cursor, Integer limit) {
+        int size = limit == null || limit < 1 ? defaultPageSize : Math.min(limit, maxPageSize);
+        // Fetch one extra row to learn whether another page exists
+        PageRequest page = PageRequest.ofSize(size + 1);
+        List<DocumentSummaryDTO> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = documentRepository.findSummaries(page);
+        } else {
+            KeysetCursor after = KeysetCursor.decode(cursor);
+            rows = documentRepository.findSummariesAfter(after.createdAt(), after.id(), page);
+        }
+
+        if (rows.size() <= size) {
+            return new DocumentPageDTO(rows, null);
+        }
+        List<DocumentSummaryDTO> items = rows.subList(0, size);
+        DocumentSummaryDTO last = items.get(size - 1);
+        return new DocumentPageDTO(items, new KeysetCursor(last.getCreatedAt(), last.getId()).encode());
     }
 
     public void deleteDocument(Long id) {
         documentRepository.deleteById(id);
+        elasticService.removeFromIndex(id);
+        nearDuplicateService.remove(id);
+        semanticSearchService.remove(id);
+        termService.removeDocuments(List.of(id));
     }
 
+    /**
+     * Applies the update and, when the content changed, re-runs the
+     * enrichment the edit affects (see {@link #reenrich}) and refreshes the
+     * search indexes and keyword/entity tables of the document.
+     */
     public DocumentEntity updateDocument(Long id, DocumentUpdateDTO updateDTO) {
         return documentRepository.findById(id).map(existing -> {
+            String previousContent = existing.getContent();
+            boolean contentChanged = updateDTO.getContent() != null
+                    && !updateDTO.getContent().equals(previousContent);
             if (updateDTO.getFileName() != null) {
                 existing.setFileName(updateDTO.getFileName());
             }
-            if (updateDTO.getContent() != null) {
-                existing.setContent(updateDTO.getContent());
-            }
             if (updateDTO.getSummary() != null) {
                 existing.setSummary(updateDTO.getSummary());
             }
-            return documentRepository.save(existing);
+            Reenrichment refreshed = Reenrichment.NONE;
+            if (contentChanged) {
+                existing.setContent(updateDTO.getContent());
+                nearDuplicateService.stamp(existing, nearDuplicateService.check(updateDTO.getContent()));
+                refreshed = reenrich(existing, previousContent, updateDTO.getSummary() == null);
+            }
+            DocumentEntity saved = documentRepository.save(existing);
+            elasticService.indexDocument(saved);
+            if (contentChanged) {
+                nearDuplicateService.register(saved);
+            }
+            if (refreshed.embedding()) {
+                semanticSearchService.register(saved);
+            }
+            if (refreshed.terms()) {
+                termService.replaceTerms(saved.getId(), saved.getExtractedTerms());
+            }
+            return saved;
         }).orElseThrow(() -> new RuntimeException("Document not found with id: " + id));
     }
 
-    @Transactional
-    public void removeDuplicateDocuments() {
-        List<DocumentEntity> allDocs = documentRepository.findAll();
-
-        Set<String> uniqueKeys = new HashSet<>();
-        List<DocumentEntity> duplicates = new ArrayList<>();
+    /**
+     * Re-enriches edited content at a cost that follows the size of the edit.
+     * Both versions are cut into the same content-defined chunks and
+     * compared by hash. If no chunk changed, nothing is re-run. Otherwise
+     * summary, keywords and entities are requested again: unchanged chunks
+     * of chunked summaries and entities are answered from the AI result
+     * cache, so only the changed chunks and the final reduce reach the
+     * engine. The embedding is only recomputed if the edit touched the
+     * embedded start of the content. A stage that fails keeps its previous
+     * value.
+     *
+     * @return which derived data has to be re-indexed
+     */
+    private Reenrichment reenrich(DocumentEntity doc, String previousContent, boolean refreshSummary) {
+        String content = doc.getContent();
+        List<String> before = aiEngineService.chunk(previousContent);
+        List<String> after = aiEngineService.chunk(content);
+        Map<String, Long> previousHashes = before.stream()
+                .collect(Collectors.groupingBy(chunk -> ContentHash.sha256(chunk), Collectors.counting()));
+        int added = 0;
+        for (String chunk : after) {
+            if (previousHashes.merge(ContentHash.sha256(chunk), -1L, Long::sum) < 0) {
+                added++;
+            }
+        }
+        long removed = previousHashes.values().stream().filter(count -> count > 0).mapToLong(Long::longValue).sum();
+        boolean embeddingStale = !semanticSearchService.sameEmbeddingInput(previousContent, content);
+        logger.info("♻️ Document {} edited: {} of {} chunks new, {} removed{}", doc.getId(), added, after.size(),
+                removed, embeddingStale ? ", embedding affected" : "");
+        if (added == 0 && removed == 0 && !embeddingStale) {
+            return Reenrichment.NONE;
+        }
 
-        for (DocumentEntity doc : allDocs) {
-            String key = doc.getFileName() + "::" + doc.getSummary();
-            if (!uniqueKeys.add(key)) {
-                duplicates.add(doc);
+        String filename = doc.getFileName();
+        IngestionProgress progress = metrics.timing(IngestionProgress.NONE);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(stageTimeoutMs);
+        boolean textChanged = added > 0 || removed > 0;
+        Future<String> summaryStage = textChanged && refreshSummary
+                ? submitStage("summary", progress, () -> aiEngineService.getSummary(content)) : null;
+        Future<List<Map<String, Object>>> keywordStage = textChanged
+                ? submitStage("keywords", progress, () -> aiEngineService.getKeywords(content, 10)) : null;
+        Future<Map<String, Object>> entityStage = textChanged
+                ? submitStage("entities", progress,
+                        () -> aiEngineService.getEntities(content, List.of(), false, false, false, false, false))
+                : null;
+        Future<float[]> embeddingStage = embeddingStale
+                ? submitStage("embedding", progress, () -> semanticSearchService.embed(content)) : null;
+
+        if (summaryStage != null) {
+            String summary = awaitStage("summary", filename, summaryStage, deadline, null);
+            if (summary != null && !summary.startsWith("Error")) {
+                doc.setSummary(summary);
+            } else {
+                logger.warn("⚠️ Keeping the previous summary of '{}'", filename);
             }
         }
+        boolean termsChanged = false;
+        if (keywordStage != null) {
+            List<Map<String, Object>> keywordList = awaitStage("keywords", filename, keywordStage, deadline, null);
+            Map<String, Object> entityMap = awaitStage("entities", filename, entityStage, deadline, null);
+            boolean keywordsOk = keywordList != null && keywordList.stream().noneMatch(k -> k.containsKey("error"));
+            boolean entitiesOk = entityMap != null && !entityMap.containsKey("error");
+            if (keywordsOk) {
+                doc.setKeywords(joinKeywords(keywordList));
+            }
+            if (entitiesOk) {
+                doc.setEntities(flattenEntities(entityMap));
+            }
+            if (keywordsOk && entitiesOk) {
+                doc.setExtractedTerms(extractedTerms(keywordList, entityMap));
+                termsChanged = true;
+            } else {
+                logger.warn("⚠️ Keeping the previous keyword and entity terms of '{}'", filename);
+            }
+        }
+        if (embeddingStage != null) {
+            float[] embedding = awaitStage("embedding", filename, embeddingStage, deadline, null);
+            doc.setEmbedding(Vectors.toBytes(embedding));
+        }
+        return new Reenrichment(termsChanged, embeddingStage != null);
+    }
+
+    private record Reenrichment(boolean terms, boolean embedding) {
+        static final Reenrichment NONE = new Reenrichment(false, false);
+    }
+
+    /**
+     * Deletes documents that nearly duplicate an older document, keeping the
+     * oldest copy. Candidates come from the in-memory LSH index, so no
+     * entities are loaded, and each sweep only checks documents added since
+     * the previous one.
+     *
+     * @return the number of documents removed
+     */
+    @Transactional
+    public int removeDuplicateDocuments() {
+        NearDuplicateIndex.Sweep sweep = nearDuplicateService.findDuplicates();
+        List<Long> duplicates = sweep.duplicates();
 
         if (!duplicates.isEmpty()) {
-            documentRepository.deleteAll(duplicates);
-            logger.info("🧹 Removed {} duplicate documents.", duplicates.size());
+            documentRepository.deleteAllByIdInBatch(duplicates);
+            duplicates.forEach(id -> {
+                elasticService.removeFromIndex(id);
+                nearDuplicateService.remove(id);
+                semanticSearchService.remove(id);
+            });
+            termService.removeDocuments(duplicates);
+            logger.info("🧹 Removed {} near-duplicate documents.", duplicates.size());
         } else {
             logger.info("✅ No duplicates found.");
         }
+        nearDuplicateService.completeSweep(sweep);
+        return duplicates.size();
     }
 
     public void deleteAllDocuments() {
         documentRepository.deleteAll();
         logger.info("🗑️ All documents deleted from PostgreSQL.");
         elasticService.deleteAllIndices();
-        logger.info("🗑️ All documents deleted from Elasticsearch.");
+        nearDuplicateService.clear();
+        semanticSearchService.clear();
+        termService.clear();
+        logger.info("🗑️ Search index cleared.");
     }
 
     public List<DocumentEntity> getDocumentByFileName(String fileName) {
         return documentRepository.findByFileName(fileName);
     }
+
+    public List<DocumentSummaryDTO> getDocumentSummariesByFileName(String fileName) {
+        return documentRepository.findSummariesByFileName(fileName);
+    }
+
+    public boolean existsByFileName(String fileName) {
+        return documentRepository.existsByFileName(fileName);
+    }
+
+    /**
+     * The most mentioned keywords or entities with their document counts,
+     * read from the maintained per-term counts.
+     */
+    public List<TermFacetDTO> getTermFacets(TermKind kind, String label, int limit) {
+        return termService.topTerms(kind, label, limit);
+    }
+
+    /**
+     * Newest documents mentioning the keyword or entity, at most
+     * {@code documents.page.max-size}.
+     */
+    public List<DocumentSummaryDTO> getDocumentsMentioning(TermKind kind, String term, String label) {
+        List<Long> ids = termService.findDocumentIds(kind, term, label, maxPageSize);
+        Map<Long, DocumentSummaryDTO> byId = documentRepository.findSummariesByIdIn(ids).stream()
+                .collect(Collectors.toMap(DocumentSummaryDTO::getId, summary -> summary));
+        return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+    }
 }
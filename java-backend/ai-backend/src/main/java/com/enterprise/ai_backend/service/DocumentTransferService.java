@@ -0,0 +1,333 @@
+package com.enterprise.ai_backend.service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.enterprise.ai_backend.dto.DocumentExportDTO;
+import com.enterprise.ai_backend.dto.DocumentImportReportDTO;
+import com.enterprise.ai_backend.model.DocumentEntity;
+import com.enterprise.ai_backend.repository.DocumentRepository;
+import com.enterprise.ai_backend.search.Vectors;
+import com.enterprise.ai_backend.util.ContentCompression;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Moves the document corpus in and out as NDJSON, one document per line,
+ * optionally gzipped. Both directions stream: the export reads the table
+ * through a server-side cursor and writes each row as it arrives, and the
+ * import reads line by line and inserts in JDBC batches of
+ * {@code documents.import.batch-size}, so memory does not grow with the corpus.
+ */
+@Service
+public class DocumentTransferService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DocumentTransferService.class);
+
+    private static final String INSERT_SQL = "INSERT INTO documents (file_name, content, content_lz4, "
+            + "content_length, summary, keywords, entities, created_at, content_hash, minhash, near_duplicate_of, "
+            + "embedding) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final DocumentRepository documentRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+    private final ElasticService elasticService;
+    private final NearDuplicateService nearDuplicateService;
+    private final TermService termService;
+    private final SemanticSearchService semanticSearchService;
+    private final ContentCompression compression;
+    private final TransactionTemplate readTransaction;
+    private final TransactionTemplate writeTransaction;
+    private final ObjectWriter lineWriter;
+    private final ObjectReader lineReader;
+    private final int batchSize;
+
+    @Autowired
+    public DocumentTransferService(
+            DocumentRepository documentRepository,
+            JdbcTemplate jdbcTemplate,
+            EntityManager entityManager,
+            ElasticService elasticService,
+            NearDuplicateService nearDuplicateService,
+            TermService termService,
+            SemanticSearchService semanticSearchService,
+            ContentCompression compression,
+            PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper,
+            @Value("${documents.import.batch-size:500}") int batchSize) {
+        this.documentRepository = documentRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManager = entityManager;
+        this.elasticService = elasticService;
+        this.nearDuplicateService = nearDuplicateService;
+        this.termService = termService;
+        this.semanticSearchService = semanticSearchService;
+        this.compression = compression;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        // NDJSON needs one object per line, whatever spring.jackson.serialization.INDENT_OUTPUT says
+        this.lineWriter = objectMapper.writerFor(DocumentExportDTO.class).without(SerializationFeature.INDENT_OUTPUT);
+        this.lineReader = objectMapper.readerFor(DocumentExportDTO.class);
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /**
+     * Writes every document to {@code out} in ID order.
+     *
+     * @return the number of documents written
+     */
+    public long export(OutputStream out, boolean gzip) throws IOException {
+        long start = System.nanoTime();
+        OutputStream target = gzip ? new GZIPOutputStream(out, BUFFER_SIZE) : out;
+        long[] written = {0};
+        try {
+            readTransaction.executeWithoutResult(status -> {
+                try (Stream<DocumentEntity> documents = documentRepository.streamAllOrderById()) {
+                    documents.forEach(doc -> {
+                        writeLine(target, DocumentExportDTO.from(doc));
+                        // The persistence context would otherwise keep every exported row
+                        entityManager.detach(doc);
+                        written[0]++;
+                    });
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        if (target instanceof GZIPOutputStream gzipOut) {
+            gzipOut.finish();
+        }
+        target.flush();
+        logger.info("📤 Exported {} documents in {} ms", written[0], (System.nanoTime() - start) / 1_000_000);
+        return written[0];
+    }
+
+    private void writeLine(OutputStream out, DocumentExportDTO record) {
+        try {
+            out.write(lineWriter.writeValueAsBytes(record));
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Imports an NDJSON export, plain or gzipped (detected from the first
+     * bytes). Rows whose file name or content hash is already stored are
+     * skipped, as uploads are. IDs are assigned by this database, so
+     * {@code nearDuplicateOf} is recomputed rather than copied, and search
+     * vectors, signatures, embeddings and normalized terms are rebuilt for
+     * each batch.
+     */
+    public DocumentImportReportDTO importDocuments(InputStream in) throws IOException {
+        long start = System.nanoTime();
+        Counts counts = new Counts();
+        List<DocumentEntity> batch = new ArrayList<>(batchSize);
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(decompressIfGzipped(in), StandardCharsets.UTF_8), BUFFER_SIZE)) {
+            String line;
+            long lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                DocumentEntity doc = toEntity(line, lineNumber);
+                if (doc == null) {
+                    counts.failed++;
+                    continue;
+                }
+                batch.add(doc);
+                if (batch.size() == batchSize) {
+                    insertBatch(batch, counts);
+                    batch.clear();
+                }
+            }
+        }
+        insertBatch(batch, counts);
+
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        logger.info("📥 Import done: {} imported, {} skipped, {} failed in {} ms",
+                counts.imported, counts.skipped, counts.failed, elapsedMs);
+        return new DocumentImportReportDTO(counts.imported, counts.skipped, counts.failed, elapsedMs);
+    }
+
+    private DocumentEntity toEntity(String line, long lineNumber) {
+        DocumentExportDTO record;
+        try {
+            record = lineReader.readValue(line);
+        } catch (JsonProcessingException e) {
+            logger.warn("⚠️ Import line {} is not valid JSON: {}", lineNumber, e.getOriginalMessage());
+            return null;
+        }
+        if (record.getFileName() == null || record.getFileName().isBlank() || record.getContent() == null) {
+            logger.warn("⚠️ Import line {} has no fileName or content", lineNumber);
+            return null;
+        }
+        DocumentEntity doc = new DocumentEntity(record.getFileName().trim(), record.getContent(), record.getSummary(),
+                record.getKeywords(), record.getEntities());
+        doc.setCreatedAt(record.getCreatedAt() != null ? record.getCreatedAt() : LocalDateTime.now());
+        doc.setContentHash(record.getContentHash());
+        NearDuplicateService.Verdict verdict = nearDuplicateService.check(record.getContent());
+        nearDuplicateService.stamp(doc, verdict);
+        // Rows go in over JDBC, past ContentCompressionListener
+        doc.compressContent(compression);
+        return doc;
+    }
+
+    private void insertBatch(List<DocumentEntity> batch, Counts counts) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<DocumentEntity> fresh = withoutStored(batch);
+        counts.skipped += batch.size() - fresh.size();
+        if (fresh.isEmpty()) {
+            return;
+        }
+        // One embedder call per batch rather than per document
+        List<float[]> embeddings = semanticSearchService.embedAll(fresh.stream().map(DocumentEntity::getContent).toList());
+        for (int i = 0; i < fresh.size(); i++) {
+            fresh.get(i).setEmbedding(Vectors.toBytes(embeddings.get(i)));
+        }
+
+        List<DocumentEntity> inserted;
+        try {
+            writeTransaction.executeWithoutResult(status -> insertAll(fresh));
+            inserted = fresh;
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent upload took a name or hash; retry row by row so one clash does not drop the batch
+            inserted = new ArrayList<>();
+            for (DocumentEntity doc : fresh) {
+                try {
+                    writeTransaction.executeWithoutResult(status -> insertAll(List.of(doc)));
+                    inserted.add(doc);
+                } catch (DataIntegrityViolationException clash) {
+                    counts.skipped++;
+                }
+            }
+        }
+
+        for (DocumentEntity doc : inserted) {
+            elasticService.indexDocument(doc);
+            nearDuplicateService.register(doc);
+            semanticSearchService.register(doc);
+            termService.replaceTerms(doc.getId(), TermService.termsFromStrings(doc.getKeywords(), doc.getEntities()));
+        }
+        counts.imported += inserted.size();
+    }
+
+    /**
+     * Drops rows whose file name or content hash is already stored, or
+     * repeats an earlier row of the same batch.
+     */
+    private List<DocumentEntity> withoutStored(List<DocumentEntity> batch) {
+        Set<String> names = new HashSet<>(documentRepository.findExistingFileNames(
+                batch.stream().map(DocumentEntity::getFileName).toList()));
+        List<String> hashes = batch.stream().map(DocumentEntity::getContentHash).filter(Objects::nonNull).toList();
+        Set<String> storedHashes = new HashSet<>(
+                hashes.isEmpty() ? List.of() : documentRepository.findExistingContentHashes(hashes));
+
+        List<DocumentEntity> fresh = new ArrayList<>();
+        for (DocumentEntity doc : batch) {
+            boolean newName = names.add(doc.getFileName());
+            boolean newHash = doc.getContentHash() == null || storedHashes.add(doc.getContentHash());
+            if (newName && newHash) {
+                fresh.add(doc);
+            }
+        }
+        return fresh;
+    }
+
+    private void insertAll(List<DocumentEntity> docs) {
+        GeneratedKeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                con -> con.prepareStatement(INSERT_SQL, new String[] {"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        bind(ps, docs.get(i));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return docs.size();
+                    }
+                },
+                keys);
+        List<Map<String, Object>> keyList = keys.getKeyList();
+        for (int i = 0; i < docs.size(); i++) {
+            docs.get(i).setId(((Number) keyList.get(i).values().iterator().next()).longValue());
+        }
+    }
+
+    private static void bind(PreparedStatement ps, DocumentEntity doc) throws SQLException {
+        ps.setString(1, doc.getFileName());
+        // Compressed rows keep an empty content column, as in DocumentEntity.compressContent
+        ps.setString(2, doc.isContentCompressed() ? "" : doc.getContent());
+        ps.setBytes(3, doc.getContentCompressed());
+        ps.setObject(4, doc.getContentLength(), Types.INTEGER);
+        ps.setString(5, doc.getSummary());
+        ps.setString(6, doc.getKeywords());
+        ps.setString(7, doc.getEntities());
+        ps.setTimestamp(8, Timestamp.valueOf(doc.getCreatedAt()));
+        ps.setString(9, doc.getContentHash());
+        ps.setBytes(10, doc.getMinhash());
+        ps.setObject(11, doc.getNearDuplicateOf(), Types.BIGINT);
+        ps.setBytes(12, doc.getEmbedding());
+    }
+
+    private static InputStream decompressIfGzipped(InputStream in) throws IOException {
+        BufferedInputStream buffered = new BufferedInputStream(in, BUFFER_SIZE);
+        buffered.mark(2);
+        int first = buffered.read();
+        int second = buffered.read();
+        buffered.reset();
+        boolean gzip = first == (GZIPInputStream.GZIP_MAGIC & 0xff) && second == (GZIPInputStream.GZIP_MAGIC >>> 8);
+        return gzip ? new GZIPInputStream(buffered, BUFFER_SIZE) : buffered;
+    }
+
+    private static class Counts {
+        long imported;
+        long skipped;
+        long failed;
+    }
+}
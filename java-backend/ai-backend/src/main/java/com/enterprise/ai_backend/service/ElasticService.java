@@ -1,30 +1,69 @@
 package com.enterprise.ai_backend.service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import com.enterprise.ai_backend.dto.DocumentResponseDTO;
+import com.enterprise.ai_backend.dto.DocumentSummaryDTO;
 import com.enterprise.ai_backend.model.DocumentEntity;
 import com.enterprise.ai_backend.repository.DocumentRepository;
+import com.enterprise.ai_backend.repository.DocumentTextView;
+import com.enterprise.ai_backend.search.InvertedIndex;
+import com.enterprise.ai_backend.search.TrigramIndex;
+import com.enterprise.ai_backend.util.ContentCompression;
 
 @Service
 public class ElasticService {
 
+    private static final Logger logger = LoggerFactory.getLogger(ElasticService.class);
+
     private final DocumentRepository documentRepository;
+    private final InvertedIndex invertedIndex;
+    private final TrigramIndex trigramIndex;
+    private final FullTextSearchService fullTextSearchService;
+
+    // Candidates loaded per query while verifying substring matches
+    private static final int VERIFY_BATCH_SIZE = 50;
+
+    @Value("${search.index.top-k:50}")
+    private int topK = 50;
+
+    @Value("${search.index.rebuild-page-size:500}")
+    private int rebuildPageSize = 500;
+
+    @Value("${search.index.short-query-max-scan:10000}")
+    private int shortQueryMaxScan = 10_000;
 
     @Autowired
-    public ElasticService(DocumentRepository documentRepository) {
+    public ElasticService(DocumentRepository documentRepository, InvertedIndex invertedIndex,
+                          TrigramIndex trigramIndex, FullTextSearchService fullTextSearchService) {
         this.documentRepository = documentRepository;
+        this.invertedIndex = invertedIndex;
+        this.trigramIndex = trigramIndex;
+        this.fullTextSearchService = fullTextSearchService;
     }
 
     /**
-     * Indexes the document content and summary into PostgreSQL
-     * (placeholder for future Elasticsearch integration).
+     * Saves the document content and summary into PostgreSQL and adds it
+     * to the in-process search index.
      */
     public Long indexDocument(String filename, String content, String summary) {
         DocumentEntity doc = new DocumentEntity();
@@ -34,9 +73,64 @@ public class ElasticService {
         doc.setCreatedAt(LocalDateTime.now());
 
         DocumentEntity saved = documentRepository.save(doc);
+        indexDocument(saved);
         return saved.getId();
     }
 
+    /**
+     * Adds an already persisted document to the search indexes, replacing any
+     * previous entry with the same ID: the in-process indexes and, on
+     * PostgreSQL, the document's full-text search vector.
+     */
+    public void indexDocument(DocumentEntity saved) {
+        if (saved == null || saved.getId() == null) {
+            return;
+        }
+        addToInMemoryIndexes(saved);
+        fullTextSearchService.index(saved);
+    }
+
+    private void addToInMemoryIndexes(DocumentEntity saved) {
+        addToInMemoryIndexes(saved.getId(), saved.getFileName(), saved.getContent(), saved.getSummary());
+    }
+
+    private void addToInMemoryIndexes(long id, String fileName, String content, String summary) {
+        invertedIndex.index(id, fileName, content, summary);
+        trigramIndex.index(id, content, summary);
+    }
+
+    /**
+     * Drops a document from the search index.
+     */
+    public void removeFromIndex(Long id) {
+        if (id != null) {
+            invertedIndex.remove(id);
+            trigramIndex.remove(id);
+        }
+    }
+
+    /**
+     * Loads every stored document into the search index in keyset pages by
+     * ID, reading only the columns the index needs, so the index survives
+     * restarts without holding the whole table in memory.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIndex() {
+        invertedIndex.clear();
+        trigramIndex.clear();
+        long afterId = 0;
+        List<DocumentTextView> page;
+        do {
+            page = documentRepository.findByIdGreaterThanOrderByIdAsc(afterId, PageRequest.ofSize(rebuildPageSize));
+            // Search vectors are persisted; only the in-process indexes need rebuilding
+            for (DocumentTextView doc : page) {
+                addToInMemoryIndexes(doc.getId(), doc.getFileName(), textOf(doc), doc.getSummary());
+                afterId = doc.getId();
+            }
+        } while (page.size() == rebuildPageSize);
+        logger.info("🔍 Search index rebuilt with {} documents", invertedIndex.size());
+    }
+
     /**
      * Fetches the document summary by its ID.
      */
@@ -56,21 +150,116 @@ public class ElasticService {
     }
 
     /**
-     * Simulated full-text search using content and summary (PostgreSQL LIKE-based).
+     * Case-insensitive substring search over content and summary, so partial
+     * words, codes and IDs match. Results are capped at {@code search.index.top-k}.
      */
     public List<String> search(String query) {
-        List<DocumentEntity> allDocs = documentRepository.findAll();
-        return allDocs.stream()
-            .filter(doc -> (doc.getContent() != null && doc.getContent().toLowerCase().contains(query.toLowerCase()))
-                        || (doc.getSummary() != null && doc.getSummary().toLowerCase().contains(query.toLowerCase())))
+        if (query == null || query.isBlank()) {
+            return List.of();
+        }
+        return findContaining(query, topK).stream()
             .map(doc -> "📄 " + doc.getFileName() + " → " + doc.getSummary())
             .collect(Collectors.toList());
     }
 
     /**
-     * Deletes all indexed documents (placeholder for Elasticsearch cleanup).
+     * Returns up to {@code limit} documents whose content or summary contains
+     * the query, ignoring case. The trigram index narrows the candidates,
+     * which are then loaded in batches and checked against the text.
+     * Candidates that BM25 ranks for the query's words are checked first, so
+     * whole-word queries come back by relevance; the rest follow by ID.
+     * <p>
+     * Queries shorter than {@link TrigramIndex#MIN_QUERY_LENGTH} cannot be
+     * narrowed, so the stored text is checked newest first in keyset batches,
+     * stopping after {@code search.index.short-query-max-scan} documents.
+     */
+    public List<DocumentSummaryDTO> findContaining(String query, int limit) {
+        if (query == null || query.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        if (!TrigramIndex.isSelective(query)) {
+            return scanContaining(query, limit);
+        }
+        long[] candidates = trigramIndex.candidates(query);
+        if (candidates.length == 0) {
+            return List.of();
+        }
+
+        Set<Long> order = new LinkedHashSet<>();
+        Set<Long> candidateSet = Arrays.stream(candidates).boxed().collect(Collectors.toSet());
+        invertedIndex.search(query, limit).stream()
+            .map(InvertedIndex.Hit::docId)
+            .filter(candidateSet::contains)
+            .forEach(order::add);
+        Arrays.stream(candidates).forEach(order::add);
+
+        String needle = TrigramIndex.normalize(query);
+        List<DocumentSummaryDTO> matches = new ArrayList<>();
+        List<Long> batch = new ArrayList<>(VERIFY_BATCH_SIZE);
+        Iterator<Long> ids = order.iterator();
+        while (ids.hasNext() && matches.size() < limit) {
+            batch.clear();
+            while (ids.hasNext() && batch.size() < VERIFY_BATCH_SIZE) {
+                batch.add(ids.next());
+            }
+            Map<Long, DocumentEntity> loaded = documentRepository.findAllById(batch).stream()
+                .collect(Collectors.toMap(DocumentEntity::getId, doc -> doc));
+            for (Long id : batch) {
+                DocumentEntity doc = loaded.get(id);
+                if (doc != null && matches.size() < limit
+                        && (contains(doc.getContent(), needle) || contains(doc.getSummary(), needle))) {
+                    matches.add(new DocumentSummaryDTO(doc.getId(), doc.getFileName(), doc.getSummary(),
+                        doc.getKeywords(), doc.getEntities(), doc.getCreatedAt(), doc.getContentLength()));
+                }
+            }
+        }
+        return matches;
+    }
+
+    // Checks stored text newest first, decompressing as needed, within the scan budget
+    private List<DocumentSummaryDTO> scanContaining(String query, int limit) {
+        String needle = TrigramIndex.normalize(query);
+        List<Long> matchIds = new ArrayList<>();
+        long beforeId = Long.MAX_VALUE;
+        int scanned = 0;
+        while (matchIds.size() < limit && scanned < shortQueryMaxScan) {
+            int size = Math.min(VERIFY_BATCH_SIZE, shortQueryMaxScan - scanned);
+            List<DocumentTextView> page = documentRepository.findByIdLessThanOrderByIdDesc(
+                beforeId, PageRequest.ofSize(size));
+            for (DocumentTextView doc : page) {
+                if (matchIds.size() < limit
+                        && (contains(textOf(doc), needle) || contains(doc.getSummary(), needle))) {
+                    matchIds.add(doc.getId());
+                }
+            }
+            scanned += page.size();
+            if (page.size() < size) {
+                break;
+            }
+            beforeId = page.get(page.size() - 1).getId();
+        }
+        if (matchIds.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, DocumentSummaryDTO> byId = documentRepository.findSummariesByIdIn(matchIds).stream()
+            .collect(Collectors.toMap(DocumentSummaryDTO::getId, summary -> summary));
+        return matchIds.stream().map(byId::get).filter(Objects::nonNull).toList();
+    }
+
+    private static String textOf(DocumentTextView doc) {
+        byte[] compressed = doc.getContentCompressed();
+        return compressed == null ? doc.getContent() : ContentCompression.decompress(compressed);
+    }
+
+    private static boolean contains(String text, String normalizedQuery) {
+        return text != null && TrigramIndex.normalize(text).contains(normalizedQuery);
+    }
+
+    /**
+     * Clears the in-process search index (placeholder for Elasticsearch cleanup).
      */
     public void deleteAllIndices() {
-        documentRepository.deleteAll();
+        invertedIndex.clear();
+        trigramIndex.clear();
     }
 }
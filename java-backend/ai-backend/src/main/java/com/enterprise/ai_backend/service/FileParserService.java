@@ -1,20 +1,62 @@
 package com.enterprise.ai_backend.service;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.nio.charset.StandardCharsets;
+import java.util.List;
 
-import org.apache.pdfbox.pdmodel.PDDocument;
-import org.apache.pdfbox.text.PDFTextStripper;
+import org.apache.tika.config.TikaConfig;
+import org.apache.tika.detect.Detector;
+import org.apache.tika.io.TikaInputStream;
+import org.apache.tika.metadata.Metadata;
+import org.apache.tika.metadata.TikaCoreProperties;
+import org.apache.tika.mime.MediaType;
+import org.apache.tika.mime.MimeTypes;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.enterprise.ai_backend.parser.DocumentParser;
+import com.enterprise.ai_backend.util.SpooledMultipartFile;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Registry of {@link DocumentParser}s. The type of each upload is sniffed
+ * from its content bytes and the first parser that supports it extracts
+ * the text.
+ */
 @Service
 public class FileParserService {
 
+    private static final Logger logger = LoggerFactory.getLogger(FileParserService.class);
+
+    private final List<DocumentParser> parsers;
+    private final Detector detector;
+    private final MimeTypes mimeTypes;
+    private final int maxChars;
+    private final MeterRegistry registry;
+
+    @Autowired
+    public FileParserService(
+            List<DocumentParser> parsers,
+            TikaConfig tikaConfig,
+            @Value("${parser.max-chars:5000000}") int maxChars,
+            MeterRegistry registry) {
+        this.parsers = List.copyOf(parsers);
+        this.detector = tikaConfig.getDetector();
+        this.mimeTypes = tikaConfig.getMimeRepository();
+        this.maxChars = maxChars > 0 ? maxChars : Integer.MAX_VALUE;
+        this.registry = registry;
+    }
+
     /**
-     * Parses a .txt or .pdf file and returns its content as a string.
+     * Parses an uploaded document and returns its content as a string.
+     * At most {@code parser.max-chars} characters are extracted. The time,
+     * bytes read and characters extracted are recorded per parser.
      *
      * @param file the uploaded MultipartFile
      * @return the extracted text content
@@ -22,38 +64,65 @@ public class FileParserService {
      */
     public String parse(MultipartFile file) throws IOException {
         String filename = file.getOriginalFilename();
-        if (filename == null || file.isEmpty()) {
+        if (filename == null || filename.isBlank() || file.isEmpty()) {
             throw new IllegalArgumentException("Invalid file: name is null or file is empty.");
         }
 
-        if (filename.endsWith(".txt")) {
-            return parseTextFile(file);
-        } else if (filename.endsWith(".pdf")) {
-            return parsePdfFile(file);
-        } else {
-            throw new IllegalArgumentException("Unsupported file type. Only .txt and .pdf are allowed.");
-        }
+        MediaType type = detect(file);
+        DocumentParser parser = parsers.stream()
+                .filter(p -> p.supports(type))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unsupported file type: " + type));
+        logger.info("🔎 Detected {} for '{}', parsing with {}", type, filename, parser.getClass().getSimpleName());
+        String parserName = parser.getClass().getSimpleName();
+        Timer.Sample sample = Timer.start(registry);
+        String content = parser.parse(file, maxChars);
+        sample.stop(Timer.builder("ingestion.parse")
+                .description("Time to extract the text of a document")
+                .tag("parser", parserName)
+                .publishPercentileHistogram()
+                .register(registry));
+        DistributionSummary.builder("ingestion.parsed.bytes")
+                .description("Size of parsed documents")
+                .baseUnit("bytes")
+                .tag("parser", parserName)
+                .register(registry)
+                .record(file.getSize());
+        DistributionSummary.builder("ingestion.parsed.chars")
+                .description("Characters extracted from parsed documents")
+                .baseUnit("characters")
+                .tag("parser", parserName)
+                .register(registry)
+                .record(content == null ? 0 : content.length());
+        return content;
     }
 
-    private String parseTextFile(MultipartFile file) throws IOException {
-        StringBuilder sb = new StringBuilder();
-        try (BufferedReader reader = new BufferedReader(
-                new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                sb.append(line).append("\n");
-            }
+    /**
+     * Detects the media type from the leading bytes (and, for ZIP-based
+     * office formats, the container structure) without trusting the file
+     * name. Text content uploaded under the name of a binary format is
+     * rejected rather than parsed as text.
+     */
+    MediaType detect(MultipartFile file) throws IOException {
+        MediaType detected;
+        try (TikaInputStream stream = file instanceof SpooledMultipartFile spooled
+                ? TikaInputStream.get(spooled.getPath())
+                : TikaInputStream.get(file.getInputStream())) {
+            detected = detector.detect(stream, new Metadata());
         }
-        return sb.toString().trim(); // remove trailing newline
-    }
 
-    private String parsePdfFile(MultipartFile file) throws IOException {
-        try (PDDocument document = PDDocument.load(file.getInputStream())) {
-            if (document.isEncrypted()) {
-                throw new IOException("Cannot parse encrypted PDF file.");
+        if (MediaType.TEXT_PLAIN.equals(detected.getBaseType())) {
+            // Without a stream the MIME repository matches on the file name alone
+            Metadata byName = new Metadata();
+            byName.set(TikaCoreProperties.RESOURCE_NAME_KEY, file.getOriginalFilename());
+            MediaType declared = mimeTypes.detect(null, byName);
+            boolean declaredBinary = !"text".equals(declared.getType())
+                    && !MediaType.OCTET_STREAM.equals(declared)
+                    && !mimeTypes.getMediaTypeRegistry().isSpecializationOf(declared, MediaType.TEXT_PLAIN);
+            if (declaredBinary) {
+                throw new IllegalArgumentException("File content does not match its declared type " + declared + ".");
             }
-            PDFTextStripper stripper = new PDFTextStripper();
-            return stripper.getText(document).trim();
         }
+        return detected;
     }
 }
@@ -0,0 +1,238 @@
+package com.enterprise.ai_backend.service;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import com.enterprise.ai_backend.config.AsyncConfig;
+import com.enterprise.ai_backend.model.DocumentEntity;
+import com.enterprise.ai_backend.repository.DocumentRepository;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * PostgreSQL full-text search over a weighted {@code search_vector} column
+ * (fileName A, summary B, content C) with a GIN index.
+ * <p>
+ * The vector is maintained by the application rather than as a generated
+ * column, because large content is stored compressed and PostgreSQL cannot
+ * read it. On startup the column and index are created if missing and rows
+ * without a vector are backfilled in the background; until that finishes,
+ * and on databases other than PostgreSQL, {@link #isReady()} is false and
+ * callers fall back to LIKE matching. A vector that cannot be written is
+ * retried for that document alone every {@code search.fts.retry-delay-ms};
+ * full-text search keeps serving the other documents meanwhile.
+ */
+@Service
+public class FullTextSearchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(FullTextSearchService.class);
+
+    private final DocumentRepository documentRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSource dataSource;
+    private final boolean enabled;
+    private final String config;
+    private final int maxContentChars;
+    private final int pageSize;
+    private final long retryDelayMs;
+    private final ScheduledExecutorService backfillExecutor =
+            Executors.newSingleThreadScheduledExecutor(AsyncConfig.namedDaemonThreads("fts-backfill-"));
+    private final AtomicBoolean backfillPending = new AtomicBoolean();
+    // Documents whose vector could not be written, retried together
+    private final Set<Long> retryIds = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean retryPending = new AtomicBoolean();
+
+    // Column and index exist, so writes keep vectors current
+    private volatile boolean maintained;
+    // Every row has a vector, so search results are complete
+    private volatile boolean ready;
+
+    @Autowired
+    public FullTextSearchService(
+            DocumentRepository documentRepository,
+            JdbcTemplate jdbcTemplate,
+            DataSource dataSource,
+            @Value("${search.fts.enabled:true}") boolean enabled,
+            @Value("${search.fts.config:english}") String config,
+            @Value("${search.fts.max-content-chars:1000000}") int maxContentChars,
+            @Value("${search.fts.backfill-page-size:100}") int pageSize,
+            @Value("${search.fts.retry-delay-ms:30000}") long retryDelayMs) {
+        this.documentRepository = documentRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSource = dataSource;
+        this.enabled = enabled;
+        this.config = config;
+        this.maxContentChars = maxContentChars;
+        this.pageSize = Math.max(1, pageSize);
+        this.retryDelayMs = Math.max(0L, retryDelayMs);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        if (!enabled) {
+            return;
+        }
+        if (!isPostgres()) {
+            logger.info("🔎 Full-text search needs PostgreSQL; /api/documents/search uses LIKE matching.");
+            return;
+        }
+        jdbcTemplate.execute("ALTER TABLE documents ADD COLUMN IF NOT EXISTS search_vector tsvector");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_documents_search_vector "
+                + "ON documents USING GIN (search_vector)");
+        maintained = true;
+        scheduleBackfill(0L);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Recomputes the search vector of a saved document. On failure the
+     * document is queued for a retry, and until then search may miss it or
+     * match its previous text.
+     */
+    public void index(DocumentEntity doc) {
+        if (!maintained || doc == null || doc.getId() == null) {
+            return;
+        }
+        if (writeVector(doc)) {
+            retryIds.remove(doc.getId());
+        } else {
+            retryIds.add(doc.getId());
+            scheduleRetry();
+        }
+    }
+
+    private boolean writeVector(DocumentEntity doc) {
+        String content = doc.getContent() == null ? "" : doc.getContent();
+        if (content.length() > maxContentChars) {
+            content = content.substring(0, maxContentChars);
+        }
+        try {
+            documentRepository.updateSearchVector(doc.getId(), config,
+                    doc.getFileName() == null ? "" : doc.getFileName(),
+                    doc.getSummary() == null ? "" : doc.getSummary(),
+                    content);
+            return true;
+        } catch (RuntimeException e) {
+            logger.warn("⚠️ Could not update search vector of document {}: {}", doc.getId(), e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * IDs of documents matching the query, best {@code ts_rank} first. The
+     * query uses web-search syntax: quoted phrases, {@code or}, and {@code -} to exclude.
+     */
+    public List<Long> search(String query, int limit) {
+        return documentRepository.searchRankedIds(config, query, limit);
+    }
+
+    // At most one backfill is queued at a time; one that starts later sees every row missed before it
+    private void scheduleBackfill(long delayMs) {
+        if (backfillPending.compareAndSet(false, true)) {
+            backfillExecutor.schedule(() -> {
+                backfillPending.set(false);
+                backfill();
+            }, delayMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    // At most one retry is queued at a time; it rewrites every document that failed before it runs
+    private void scheduleRetry() {
+        if (retryPending.compareAndSet(false, true)) {
+            backfillExecutor.schedule(() -> {
+                retryPending.set(false);
+                retryFailed();
+            }, retryDelayMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    void retryFailed() {
+        List<Long> ids = List.copyOf(retryIds);
+        try {
+            for (int from = 0; from < ids.size(); from += pageSize) {
+                List<Long> batch = ids.subList(from, Math.min(ids.size(), from + pageSize));
+                // Deleted documents need no vector; a failure below queues the ID again
+                batch.forEach(retryIds::remove);
+                for (DocumentEntity doc : documentRepository.findAllById(batch)) {
+                    if (!writeVector(doc)) {
+                        retryIds.add(doc.getId());
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            logger.warn("⚠️ Search vector retry failed: {}", e.getMessage());
+            retryIds.addAll(ids);
+        }
+        if (!retryIds.isEmpty()) {
+            logger.warn("⚠️ {} search vectors still failing, retrying in {} ms", retryIds.size(), retryDelayMs);
+            scheduleRetry();
+        }
+    }
+
+    void backfill() {
+        long afterId = 0;
+        int filled = 0;
+        int failed = 0;
+        List<Long> ids;
+        try {
+            do {
+                ids = documentRepository.findIdsWithoutSearchVector(afterId, pageSize);
+                for (DocumentEntity doc : documentRepository.findAllById(ids)) {
+                    if (writeVector(doc)) {
+                        filled++;
+                    } else {
+                        retryIds.add(doc.getId());
+                        failed++;
+                    }
+                }
+                if (!ids.isEmpty()) {
+                    afterId = ids.get(ids.size() - 1);
+                }
+            } while (ids.size() == pageSize);
+        } catch (RuntimeException e) {
+            logger.error("❌ Full-text search backfill stopped after document {}: {}", afterId, e.getMessage());
+            scheduleBackfill(retryDelayMs);
+            return;
+        }
+        ready = true;
+        logger.info("🔎 Full-text search ready ({} documents backfilled, {} to retry)", filled, failed);
+        if (failed > 0) {
+            scheduleRetry();
+        }
+    }
+
+    private boolean isPostgres() {
+        try (Connection connection = dataSource.getConnection()) {
+            return "PostgreSQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName());
+        } catch (SQLException e) {
+            logger.warn("⚠️ Could not detect the database type: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        backfillExecutor.shutdownNow();
+    }
+}
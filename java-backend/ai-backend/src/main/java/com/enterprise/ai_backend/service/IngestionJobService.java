@@ -0,0 +1,174 @@
+package com.enterprise.ai_backend.service;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.enterprise.ai_backend.config.AsyncConfig;
+import com.enterprise.ai_backend.dto.IngestionJobStatusDTO;
+import com.enterprise.ai_backend.model.DocumentEntity;
+import com.enterprise.ai_backend.util.SpooledMultipartFile;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Runs uploads in the background so the HTTP request can return as soon
+ * as the file has been accepted. Jobs are queued on a bounded worker pool;
+ * when the queue is full, {@link #submit} throws
+ * {@link RejectedExecutionException}, which is answered with 429.
+ */
+@Service
+public class IngestionJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(IngestionJobService.class);
+
+    private final DocumentService documentService;
+    private final ThreadPoolExecutor workers;
+    private final long retainMinutes;
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+
+    @Autowired
+    public IngestionJobService(
+            DocumentService documentService,
+            @Value("${ingest.workers:4}") int workerCount,
+            @Value("${ingest.queue-capacity:100}") int queueCapacity,
+            @Value("${ingest.jobs.retain-minutes:60}") long retainMinutes) {
+        this.documentService = documentService;
+        this.retainMinutes = retainMinutes;
+        this.workers = new ThreadPoolExecutor(
+                workerCount, workerCount,
+                60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                AsyncConfig.namedDaemonThreads("ingest-"),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Spools the upload to disk and queues it for processing.
+     *
+     * @return the ID to poll with {@link #getStatus(String)}
+     * @throws RejectedExecutionException if the ingestion queue is full
+     */
+    public String submit(MultipartFile file) throws IOException {
+        purgeFinishedJobs();
+        if (workers.getQueue().remainingCapacity() == 0) {
+            throw new RejectedExecutionException("Ingestion queue is full, retry later.");
+        }
+
+        SpooledMultipartFile spooled = SpooledMultipartFile.spool(file);
+        Job job = new Job(UUID.randomUUID().toString(), spooled.getOriginalFilename());
+        jobs.put(job.id, job);
+        try {
+            workers.execute(() -> run(job, spooled));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id);
+            spooled.delete();
+            throw new RejectedExecutionException("Ingestion queue is full, retry later.", e);
+        }
+        logger.info("📨 Queued ingestion job {} for '{}'", job.id, job.fileName);
+        return job.id;
+    }
+
+    public Optional<IngestionJobStatusDTO> getStatus(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId)).map(Job::toStatus);
+    }
+
+    public int getQueueDepth() {
+        return workers.getQueue().size();
+    }
+
+    private void run(Job job, SpooledMultipartFile file) {
+        job.setState("RUNNING");
+        try {
+            DocumentEntity saved = documentService.processAndSave(file, job);
+            job.complete(saved.getId());
+            logger.info("✅ Ingestion job {} finished with document ID {}", job.id, saved.getId());
+        } catch (Exception e) {
+            logger.error("🔥 Ingestion job {} failed", job.id, e);
+            job.fail(e.getMessage());
+        } finally {
+            file.delete();
+        }
+    }
+
+    private void purgeFinishedJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(retainMinutes);
+        jobs.values().removeIf(job -> job.isFinishedBefore(cutoff));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdown();
+    }
+
+    /**
+     * Mutable job state; stage updates arrive from several stage threads.
+     */
+    private static class Job implements IngestionProgress {
+
+        private final String id;
+        private final String fileName;
+        private final LocalDateTime submittedAt = LocalDateTime.now();
+        private final Map<String, String> stages = new LinkedHashMap<>();
+        private String state = "QUEUED";
+        private Long documentId;
+        private String error;
+        private LocalDateTime finishedAt;
+
+        Job(String id, String fileName) {
+            this.id = id;
+            this.fileName = fileName;
+        }
+
+        @Override
+        public synchronized void started(String stage) {
+            stages.put(stage, "RUNNING");
+        }
+
+        @Override
+        public synchronized void finished(String stage) {
+            stages.put(stage, "DONE");
+        }
+
+        synchronized void setState(String state) {
+            this.state = state;
+        }
+
+        synchronized void complete(Long documentId) {
+            this.documentId = documentId;
+            this.state = "COMPLETED";
+            this.finishedAt = LocalDateTime.now();
+        }
+
+        synchronized void fail(String error) {
+            this.error = error;
+            this.state = "FAILED";
+            this.finishedAt = LocalDateTime.now();
+            stages.replaceAll((stage, status) -> "RUNNING".equals(status) ? "FAILED" : status);
+        }
+
+        synchronized boolean isFinishedBefore(LocalDateTime cutoff) {
+            return finishedAt != null && finishedAt.isBefore(cutoff);
+        }
+
+        synchronized IngestionJobStatusDTO toStatus() {
+            return new IngestionJobStatusDTO(id, fileName, state, new LinkedHashMap<>(stages),
+                    documentId, error, submittedAt, finishedAt);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.enterprise.ai_backend.service;
+
+/**
+ * Receives stage transitions of an ingestion run, e.g. "parse", "summary",
+ * "keywords", "entities", "embedding", "save" and "index".
+ */
+public interface IngestionProgress {
+
+    IngestionProgress NONE = new IngestionProgress() {
+        @Override
+        public void started(String stage) {
+        }
+
+        @Override
+        public void finished(String stage) {
+        }
+    };
+
+    void started(String stage);
+
+    void finished(String stage);
+}
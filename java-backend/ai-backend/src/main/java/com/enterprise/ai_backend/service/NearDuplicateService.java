@@ -0,0 +1,177 @@
+package com.enterprise.ai_backend.service;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import com.enterprise.ai_backend.model.DocumentEntity;
+import com.enterprise.ai_backend.repository.DocumentRepository;
+import com.enterprise.ai_backend.repository.DocumentSignatureView;
+import com.enterprise.ai_backend.search.MinHash;
+import com.enterprise.ai_backend.search.NearDuplicateIndex;
+
+/**
+ * Detects uploads that nearly duplicate a stored document, using MinHash
+ * signatures stored with each document and an in-memory LSH index.
+ * Depending on {@code dedup.near-duplicate.action}, a near-duplicate upload
+ * is skipped ({@code skip}), saved with {@code nearDuplicateOf} set
+ * ({@code flag}), or not checked at all ({@code off}).
+ */
+@Service
+public class NearDuplicateService {
+
+    private static final Logger logger = LoggerFactory.getLogger(NearDuplicateService.class);
+
+    /** Outcome of checking new content against the stored corpus. */
+    public record Verdict(int[] signature, NearDuplicateIndex.Match match, boolean skip) {
+
+        public boolean isNearDuplicate() {
+            return match != null;
+        }
+    }
+
+    private final DocumentRepository documentRepository;
+    private final NearDuplicateIndex index;
+    private final double threshold;
+    private final String action;
+    private final int pageSize;
+
+    // Highest document ID already covered by a sweep
+    private volatile long lastSweptId;
+    // Documents at or below lastSweptId whose content changed after they were swept
+    private final Set<Long> changedSinceSweep = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    public NearDuplicateService(
+            DocumentRepository documentRepository,
+            NearDuplicateIndex index,
+            @Value("${dedup.near-duplicate.threshold:0.8}") double threshold,
+            @Value("${dedup.near-duplicate.action:flag}") String action,
+            @Value("${dedup.rebuild-page-size:500}") int pageSize) {
+        this.documentRepository = documentRepository;
+        this.index = index;
+        this.threshold = threshold;
+        this.action = action.trim().toLowerCase(Locale.ROOT);
+        this.pageSize = Math.max(1, pageSize);
+    }
+
+    /**
+     * Signs the content and looks up the most similar stored document.
+     */
+    public Verdict check(String content) {
+        int[] signature = MinHash.signature(content);
+        if ("off".equals(action)) {
+            return new Verdict(signature, null, false);
+        }
+        NearDuplicateIndex.Match match = index.findSimilar(signature, threshold).stream().findFirst().orElse(null);
+        return new Verdict(signature, match, match != null && "skip".equals(action));
+    }
+
+    /**
+     * Copies the signature, and for flagged near-duplicates the original's
+     * ID, onto an entity about to be saved.
+     */
+    public void stamp(DocumentEntity entity, Verdict verdict) {
+        entity.setMinhash(signatureBytes(verdict.signature()));
+        if (verdict.isNearDuplicate()) {
+            entity.setNearDuplicateOf(verdict.match().docId());
+        }
+    }
+
+    /**
+     * Adds or replaces the document's signature in the index. A document
+     * already covered by a sweep, i.e. one whose content was edited, is
+     * checked again by the next sweep.
+     */
+    public void register(DocumentEntity saved) {
+        if (saved != null && saved.getId() != null) {
+            index.add(saved.getId(), MinHash.fromBytes(saved.getMinhash()));
+            if (saved.getId() <= lastSweptId) {
+                changedSinceSweep.add(saved.getId());
+            }
+        }
+    }
+
+    public void remove(Long id) {
+        if (id != null) {
+            index.remove(id);
+            changedSinceSweep.remove(id);
+        }
+    }
+
+    public void clear() {
+        index.clear();
+        lastSweptId = 0;
+        changedSinceSweep.clear();
+    }
+
+    /**
+     * Returns IDs of documents that nearly duplicate an older document.
+     * Only documents added or edited since the previous sweep are checked;
+     * call {@link #completeSweep} once the returned documents are deleted.
+     */
+    public NearDuplicateIndex.Sweep findDuplicates() {
+        return index.findDuplicatesAfter(lastSweptId, List.copyOf(changedSinceSweep), threshold);
+    }
+
+    public void completeSweep(NearDuplicateIndex.Sweep sweep) {
+        lastSweptId = Math.max(lastSweptId, sweep.lastId());
+        changedSinceSweep.removeAll(sweep.rechecked());
+    }
+
+    /**
+     * Signs documents stored before signatures existed, then loads every
+     * signature into the LSH index. Both passes walk the table in keyset
+     * pages, and the second one reads only IDs and signatures. Documents
+     * without words get an empty signature, so they are not read again on
+     * the next start. Only the signature column is written, and only while
+     * it is still empty, so edits saved meanwhile are kept.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIndex() {
+        index.clear();
+        lastSweptId = 0;
+        changedSinceSweep.clear();
+
+        long afterId = 0;
+        int backfilled = 0;
+        List<DocumentEntity> unsigned;
+        do {
+            unsigned = documentRepository.findByIdGreaterThanAndMinhashIsNullOrderByIdAsc(
+                    afterId, PageRequest.ofSize(pageSize));
+            for (DocumentEntity doc : unsigned) {
+                documentRepository.updateMinhash(doc.getId(), signatureBytes(MinHash.signature(doc.getContent())));
+                afterId = doc.getId();
+            }
+            backfilled += unsigned.size();
+        } while (unsigned.size() == pageSize);
+
+        afterId = 0;
+        List<DocumentSignatureView> page;
+        do {
+            page = documentRepository.findByIdGreaterThanAndMinhashIsNotNullOrderByIdAsc(
+                    afterId, PageRequest.ofSize(pageSize));
+            for (DocumentSignatureView view : page) {
+                index.add(view.getId(), MinHash.fromBytes(view.getMinhash()));
+                afterId = view.getId();
+            }
+        } while (page.size() == pageSize);
+
+        logger.info("🧬 Near-duplicate index rebuilt with {} documents ({} newly signed)", index.size(), backfilled);
+    }
+
+    // Empty rather than null for content without words: null marks a document still to be signed
+    private static byte[] signatureBytes(int[] signature) {
+        return signature == null ? new byte[0] : MinHash.toBytes(signature);
+    }
+}
@@ -0,0 +1,99 @@
+package com.enterprise.ai_backend.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Micrometer meters for the ingestion pipeline and search, published at
+ * {@code /actuator/prometheus}:
+ * <ul>
+ *   <li>{@code ingestion.stage} – time per stage (parse, summary, keywords,
+ *       entities, embedding, save, index), with percentile histograms</li>
+ *   <li>{@code ingestion.stage.errors} – failed stages by stage and reason
+ *       (error, timeout, interrupted)</li>
+ *   <li>{@code search.requests} – search latency by mode (fulltext, like, semantic)</li>
+ * </ul>
+ * AI engine calls, parsing sizes, caches and pools have their own meters,
+ * see {@link AIEngineLimiter}, {@link FileParserService} and
+ * {@link com.enterprise.ai_backend.config.MetricsConfig}.
+ */
+@Component
+public class PipelineMetrics {
+
+    private final MeterRegistry registry;
+
+    public PipelineMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Wraps the progress listener of one ingestion run so that every stage
+     * it reports is timed as well. Wrapping twice times each stage once.
+     */
+    public IngestionProgress timing(IngestionProgress progress) {
+        return progress instanceof TimingProgress ? progress : new TimingProgress(progress);
+    }
+
+    public void stageFailed(String stage, String reason) {
+        Counter.builder("ingestion.stage.errors")
+                .description("Ingestion stages that failed, timed out, were interrupted or were rejected")
+                .tag("stage", stage)
+                .tag("reason", reason)
+                .register(registry)
+                .increment();
+    }
+
+    /**
+     * Runs a search and records its latency under the given mode.
+     */
+    public <T> T timeSearch(String mode, Supplier<T> search) {
+        return Timer.builder("search.requests")
+                .description("Document search latency")
+                .tag("mode", mode)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(search);
+    }
+
+    private Timer stageTimer(String stage) {
+        return Timer.builder("ingestion.stage")
+                .description("Time spent in each ingestion stage")
+                .tag("stage", stage)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    /** Times the stages of one run; AI stages finish on other threads than they start. */
+    private final class TimingProgress implements IngestionProgress {
+
+        private final IngestionProgress delegate;
+        private final Map<String, Long> startedAt = new ConcurrentHashMap<>();
+
+        TimingProgress(IngestionProgress delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void started(String stage) {
+            startedAt.put(stage, System.nanoTime());
+            delegate.started(stage);
+        }
+
+        @Override
+        public void finished(String stage) {
+            Long start = startedAt.remove(stage);
+            if (start != null) {
+                stageTimer(stage).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+            delegate.finished(stage);
+        }
+    }
+}
@@ -0,0 +1,284 @@
+package com.enterprise.ai_backend.service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import com.enterprise.ai_backend.config.AsyncConfig;
+import com.enterprise.ai_backend.dto.DocumentSummaryDTO;
+import com.enterprise.ai_backend.dto.SemanticSearchResultDTO;
+import com.enterprise.ai_backend.model.DocumentEntity;
+import com.enterprise.ai_backend.repository.DocumentEmbeddingView;
+import com.enterprise.ai_backend.repository.DocumentRepository;
+import com.enterprise.ai_backend.search.Embedder;
+import com.enterprise.ai_backend.search.HnswIndex;
+import com.enterprise.ai_backend.search.VectorStore;
+import com.enterprise.ai_backend.search.Vectors;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Semantic search: documents are embedded at ingest, the vectors are stored
+ * with each document and loaded into an in-JVM {@link HnswIndex}, and a
+ * query is answered with the k approximate nearest documents by cosine
+ * similarity. On startup the index is loaded and documents without a usable
+ * embedding are embedded, both in the background; until then results cover
+ * the documents loaded so far.
+ */
+@Service
+public class SemanticSearchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SemanticSearchService.class);
+    private static final int DEFAULT_RESULTS = 10;
+
+    private final DocumentRepository documentRepository;
+    private final Embedder embedder;
+    private final PipelineMetrics metrics;
+    private final HnswIndex index;
+    private final boolean enabled;
+    private final int efSearch;
+    private final int maxResults;
+    private final int maxChars;
+    private final int pageSize;
+    private final ExecutorService indexExecutor =
+            Executors.newSingleThreadExecutor(AsyncConfig.namedDaemonThreads("semantic-index-"));
+
+    @Autowired
+    public SemanticSearchService(
+            DocumentRepository documentRepository,
+            Embedder embedder,
+            PipelineMetrics metrics,
+            @Value("${search.semantic.enabled:true}") boolean enabled,
+            @Value("${search.semantic.hnsw.m:16}") int maxLinks,
+            @Value("${search.semantic.hnsw.ef-construction:100}") int efConstruction,
+            @Value("${search.semantic.hnsw.ef-search:64}") int efSearch,
+            @Value("${search.semantic.max-results:100}") int maxResults,
+            @Value("${search.semantic.max-chars:4000}") int maxChars,
+            @Value("${search.semantic.vector-file:}") String vectorFile,
+            @Value("${search.semantic.page-size:32}") int pageSize) {
+        this.documentRepository = documentRepository;
+        this.embedder = embedder;
+        this.metrics = metrics;
+        this.enabled = enabled;
+        this.efSearch = Math.max(1, efSearch);
+        this.maxResults = Math.max(1, maxResults);
+        this.maxChars = Math.max(1, maxChars);
+        this.pageSize = Math.max(1, pageSize);
+        VectorStore vectors = new VectorStore(embedder.dimensions(),
+                vectorFile == null || vectorFile.isBlank() ? null : Path.of(vectorFile));
+        this.index = new HnswIndex(vectors, maxLinks, efConstruction);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Embeds the start of a document's content.
+     *
+     * @return the vector, or {@code null} if semantic search is off or embedding failed
+     */
+    public float[] embed(String content) {
+        if (!enabled || content == null || content.isBlank()) {
+            return null;
+        }
+        try {
+            return embedder.embed(truncate(content));
+        } catch (RuntimeException e) {
+            logger.error("🔥 Embedding failed: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Whether two versions of a document produce the same embedding input,
+     * i.e. an edit left the embedded start of the content untouched.
+     */
+    public boolean sameEmbeddingInput(String before, String after) {
+        return truncate(before).equals(truncate(after));
+    }
+
+    /**
+     * Embeds several documents' content at once, e.g. a page of an import.
+     * Entries are {@code null} where embedding failed.
+     */
+    public List<float[]> embedAll(List<String> contents) {
+        if (!enabled) {
+            return contents.stream().map(content -> (float[]) null).toList();
+        }
+        try {
+            return embedder.embedAll(contents.stream().map(this::truncate).toList());
+        } catch (RuntimeException e) {
+            logger.error("🔥 Batched embedding failed: {}", e.getMessage());
+            return contents.stream().map(content -> (float[]) null).toList();
+        }
+    }
+
+    /**
+     * Adds a saved document's stored embedding to the index.
+     */
+    public void register(DocumentEntity saved) {
+        if (!enabled || saved == null || saved.getId() == null) {
+            return;
+        }
+        float[] vector = Vectors.fromBytes(saved.getEmbedding(), embedder.dimensions());
+        if (vector != null) {
+            index.add(saved.getId(), vector);
+        } else {
+            index.remove(saved.getId());
+        }
+    }
+
+    public void remove(Long id) {
+        if (id != null) {
+            index.remove(id);
+        }
+    }
+
+    public void clear() {
+        index.clear();
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    /**
+     * The documents closest in meaning to the query, best first, with their
+     * cosine similarity. {@code k} defaults to 10 and is capped at
+     * {@code search.semantic.max-results}.
+     */
+    public List<SemanticSearchResultDTO> search(String query, Integer k) {
+        if (!enabled || query == null || query.isBlank()) {
+            return List.of();
+        }
+        return metrics.timeSearch("semantic", () -> searchIndex(query, k));
+    }
+
+    private List<SemanticSearchResultDTO> searchIndex(String query, Integer k) {
+        int size = k == null || k < 1 ? DEFAULT_RESULTS : Math.min(k, maxResults);
+        float[] vector = embed(query);
+        if (vector == null) {
+            logger.warn("⚠️ Query could not be embedded, returning no semantic results");
+            return List.of();
+        }
+        List<HnswIndex.Hit> hits = index.search(vector, size, Math.max(efSearch, size));
+        Map<Long, DocumentSummaryDTO> byId = documentRepository.findSummariesByIdIn(
+                        hits.stream().map(HnswIndex.Hit::docId).toList()).stream()
+                .collect(Collectors.toMap(DocumentSummaryDTO::getId, summary -> summary));
+
+        List<SemanticSearchResultDTO> results = new ArrayList<>(hits.size());
+        for (HnswIndex.Hit hit : hits) {
+            DocumentSummaryDTO doc = byId.get(hit.docId());
+            if (doc != null) {
+                results.add(new SemanticSearchResultDTO(doc.getId(), doc.getFileName(), doc.getSummary(), hit.score()));
+            }
+        }
+        return results;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadInBackground() {
+        if (enabled) {
+            indexExecutor.execute(() -> {
+                load();
+                backfill();
+            });
+        }
+    }
+
+    /**
+     * Loads stored embeddings into the index in keyset pages, reading only
+     * IDs and vectors. Vectors of other dimensions, left by a different
+     * model, are cleared so {@link #backfill()} embeds those documents again.
+     */
+    int load() {
+        long afterId = 0;
+        int loaded = 0;
+        List<Long> stale = new ArrayList<>();
+        List<DocumentEmbeddingView> page;
+        try {
+            do {
+                page = documentRepository.findByIdGreaterThanAndEmbeddingIsNotNullOrderByIdAsc(
+                        afterId, PageRequest.ofSize(pageSize * 16));
+                for (DocumentEmbeddingView view : page) {
+                    float[] vector = Vectors.fromBytes(view.getEmbedding(), embedder.dimensions());
+                    if (vector != null) {
+                        index.add(view.getId(), vector);
+                        loaded++;
+                    } else {
+                        stale.add(view.getId());
+                    }
+                    afterId = view.getId();
+                }
+            } while (page.size() == pageSize * 16);
+            stale.forEach(id -> documentRepository.updateEmbedding(id, null));
+        } catch (RuntimeException e) {
+            logger.error("❌ Loading the semantic index stopped after document {}: {}", afterId, e.getMessage());
+        }
+        logger.info("🧭 Semantic index loaded with {} documents ({} KB of vectors off-heap, {} to re-embed)",
+                loaded, index.offHeapBytes() / 1024, stale.size());
+        return loaded;
+    }
+
+    /**
+     * Embeds documents that have no embedding yet, a page at a time in one
+     * embedder call per page, and stores and indexes the results. Documents
+     * the embedder fails on are left for the next startup.
+     */
+    int backfill() {
+        long afterId = 0;
+        int embedded = 0;
+        List<DocumentEntity> page;
+        try {
+            do {
+                page = documentRepository.findByIdGreaterThanAndEmbeddingIsNullOrderByIdAsc(
+                        afterId, PageRequest.ofSize(pageSize));
+                List<float[]> vectors = embedAll(page.stream().map(DocumentEntity::getContent).toList());
+                for (int i = 0; i < page.size(); i++) {
+                    DocumentEntity doc = page.get(i);
+                    float[] vector = vectors.get(i);
+                    if (vector != null) {
+                        documentRepository.updateEmbedding(doc.getId(), Vectors.toBytes(vector));
+                        index.add(doc.getId(), vector);
+                        embedded++;
+                    }
+                    afterId = doc.getId();
+                }
+            } while (page.size() == pageSize);
+        } catch (RuntimeException e) {
+            logger.error("❌ Embedding backfill stopped after document {}: {}", afterId, e.getMessage());
+        }
+        if (embedded > 0) {
+            logger.info("🧭 Embedded {} documents stored without a vector", embedded);
+        }
+        return embedded;
+    }
+
+    @PreDestroy
+    public void shutdown() throws IOException {
+        indexExecutor.shutdownNow();
+        index.close();
+    }
+
+    private String truncate(String content) {
+        if (content == null) {
+            return "";
+        }
+        return content.length() > maxChars ? content.substring(0, maxChars) : content;
+    }
+}
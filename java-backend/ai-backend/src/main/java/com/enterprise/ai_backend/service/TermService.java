@@ -0,0 +1,337 @@
+package com.enterprise.ai_backend.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.enterprise.ai_backend.config.AsyncConfig;
+import com.enterprise.ai_backend.dto.TermFacetDTO;
+import com.enterprise.ai_backend.model.DocumentTermEntity;
+import com.enterprise.ai_backend.model.TermCountEntity;
+import com.enterprise.ai_backend.model.TermKind;
+import com.enterprise.ai_backend.repository.DocumentRepository;
+import com.enterprise.ai_backend.repository.DocumentTermRepository;
+import com.enterprise.ai_backend.repository.DocumentTermView;
+import com.enterprise.ai_backend.repository.TermCountRepository;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Stores the keywords and entities of each document in the
+ * {@code document_terms} table and keeps per-term document counts in
+ * {@code term_counts}, so facets and "documents mentioning X" lookups are
+ * index reads instead of splitting the comma-joined strings of every row.
+ * <p>
+ * Writes are serialized within the JVM and committed before the lock is
+ * released, so two documents introducing the same new term never race to
+ * insert its count row. They run in their own transaction even when the
+ * caller has one open, since joining it would commit only after the lock
+ * is gone.
+ */
+@Service
+public class TermService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TermService.class);
+
+    // Longest term stored; longer AI output is truncated to fit the column
+    private static final int MAX_TERM_LENGTH = 255;
+
+    private final DocumentTermRepository termRepository;
+    private final TermCountRepository countRepository;
+    private final DocumentRepository documentRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxFacets;
+    private final int pageSize;
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final ExecutorService backfillExecutor =
+            Executors.newSingleThreadExecutor(AsyncConfig.namedDaemonThreads("term-backfill-"));
+
+    @Autowired
+    public TermService(
+            DocumentTermRepository termRepository,
+            TermCountRepository countRepository,
+            DocumentRepository documentRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${documents.facets.max-size:100}") int maxFacets,
+            @Value("${documents.terms.backfill-page-size:500}") int pageSize) {
+        this.termRepository = termRepository;
+        this.countRepository = countRepository;
+        this.documentRepository = documentRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.maxFacets = Math.max(1, maxFacets);
+        this.pageSize = Math.max(1, pageSize);
+    }
+
+    /**
+     * Replaces the stored terms of a document and adjusts the counts of the
+     * terms it gained or lost. Duplicate terms are merged, keeping the
+     * highest score.
+     */
+    public void replaceTerms(Long documentId, List<DocumentTermEntity> terms) {
+        if (documentId == null) {
+            return;
+        }
+        Map<String, DocumentTermEntity> distinct = distinct(terms);
+        inWriteTransaction(() -> {
+            replaceLocked(documentId, distinct);
+            return null;
+        });
+    }
+
+    /**
+     * Drops the terms of deleted documents and decrements their counts.
+     */
+    public void removeDocuments(Collection<Long> documentIds) {
+        if (documentIds == null || documentIds.isEmpty()) {
+            return;
+        }
+        inWriteTransaction(() -> {
+            List<DocumentTermEntity> terms = termRepository.findByDocumentIdIn(documentIds);
+            Map<String, Long> decrements = new HashMap<>();
+            Map<String, DocumentTermEntity> byKey = new HashMap<>();
+            for (DocumentTermEntity term : terms) {
+                decrements.merge(key(term), 1L, Long::sum);
+                byKey.putIfAbsent(key(term), term);
+            }
+            termRepository.deleteByDocumentIdIn(documentIds);
+            decrements.forEach((key, count) -> decrement(byKey.get(key), count));
+            return null;
+        });
+    }
+
+    public void clear() {
+        inWriteTransaction(() -> {
+            termRepository.deleteAllTerms();
+            countRepository.deleteAllCounts();
+            return null;
+        });
+    }
+
+    /**
+     * The most mentioned terms of a kind, optionally of one entity label,
+     * with the number of documents mentioning each. The limit is capped at
+     * {@code documents.facets.max-size}.
+     */
+    public List<TermFacetDTO> topTerms(TermKind kind, String label, int limit) {
+        PageRequest page = PageRequest.ofSize(Math.min(Math.max(1, limit), maxFacets));
+        List<TermCountEntity> counts = label == null || label.isBlank()
+                ? countRepository.findByKindOrderByDocumentCountDescTermAsc(kind, page)
+                : countRepository.findByKindAndLabelOrderByDocumentCountDescTermAsc(
+                        kind, label.trim().toUpperCase(Locale.ROOT), page);
+        return counts.stream()
+                .map(c -> new TermFacetDTO(c.getTerm(), c.getLabel(), c.getDocumentCount()))
+                .toList();
+    }
+
+    /**
+     * IDs of the newest documents mentioning the term, of any label when
+     * {@code label} is blank.
+     */
+    public List<Long> findDocumentIds(TermKind kind, String term, String label, int limit) {
+        String normalizedLabel = label == null || label.isBlank() ? null : label.trim().toUpperCase(Locale.ROOT);
+        return termRepository.findDocumentIdsByTerm(kind, normalizeTerm(term), normalizedLabel,
+                PageRequest.ofSize(Math.max(1, limit)));
+    }
+
+    /**
+     * Terms of the AI engine keyword response, with their relevance scores.
+     */
+    public static List<DocumentTermEntity> keywordTerms(List<Map<String, Object>> keywordList) {
+        List<DocumentTermEntity> terms = new ArrayList<>();
+        if (keywordList == null) {
+            return terms;
+        }
+        for (Map<String, Object> keyword : keywordList) {
+            if (keyword.get("keyword") instanceof String text && !text.isBlank()) {
+                Double score = keyword.get("score") instanceof Number n ? n.doubleValue() : null;
+                terms.add(new DocumentTermEntity(TermKind.KEYWORD, normalizeTerm(text), "", score));
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * Terms of the label-grouped AI engine entity response. The score is the
+     * number of times the entity occurs under its label.
+     */
+    public static List<DocumentTermEntity> entityTerms(Map<String, Object> entityMap) {
+        Map<String, DocumentTermEntity> terms = new LinkedHashMap<>();
+        if (entityMap == null || entityMap.containsKey("error")) {
+            return new ArrayList<>();
+        }
+        for (Map.Entry<String, Object> group : entityMap.entrySet()) {
+            if (!(group.getValue() instanceof List<?> list)) {
+                continue;
+            }
+            String label = group.getKey().trim().toUpperCase(Locale.ROOT);
+            for (Object item : list) {
+                if (item instanceof Map<?, ?> itemMap && itemMap.get("text") instanceof String text
+                        && !text.isBlank()) {
+                    DocumentTermEntity term = new DocumentTermEntity(TermKind.ENTITY, normalizeTerm(text), label, 1.0);
+                    terms.merge(key(term), term, (a, b) ->
+                            new DocumentTermEntity(TermKind.ENTITY, a.getTerm(), label, a.getScore() + 1));
+                }
+            }
+        }
+        return new ArrayList<>(terms.values());
+    }
+
+    /**
+     * Terms recovered from the stored comma-joined strings, for documents
+     * saved before terms were normalized. Scores and entity labels were not
+     * kept in those strings, so they stay empty.
+     */
+    public static List<DocumentTermEntity> termsFromStrings(String keywords, String entities) {
+        List<DocumentTermEntity> terms = new ArrayList<>();
+        for (String keyword : split(keywords)) {
+            terms.add(new DocumentTermEntity(TermKind.KEYWORD, normalizeTerm(keyword), "", null));
+        }
+        for (String entity : split(entities)) {
+            terms.add(new DocumentTermEntity(TermKind.ENTITY, normalizeTerm(entity), "", null));
+        }
+        return terms;
+    }
+
+    /**
+     * Normalizes terms of documents stored before this table existed.
+     * Runs once per startup on a background thread, in keyset pages.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillInBackground() {
+        backfillExecutor.execute(this::backfill);
+    }
+
+    void backfill() {
+        long afterId = 0;
+        int filled = 0;
+        List<DocumentTermView> page;
+        try {
+            do {
+                page = documentRepository.findWithoutTermsAfter(afterId, PageRequest.ofSize(pageSize));
+                for (DocumentTermView doc : page) {
+                    Map<String, DocumentTermEntity> terms =
+                            distinct(termsFromStrings(doc.getKeywords(), doc.getEntities()));
+                    // An upload may have stored the richer extracted terms since the page was read
+                    inWriteTransaction(() -> {
+                        if (!termRepository.existsByDocumentId(doc.getId())) {
+                            replaceLocked(doc.getId(), terms);
+                        }
+                        return null;
+                    });
+                    afterId = doc.getId();
+                }
+                filled += page.size();
+            } while (page.size() == pageSize);
+        } catch (RuntimeException e) {
+            logger.error("❌ Term backfill stopped after document {}: {}", afterId, e.getMessage());
+        }
+        if (filled > 0) {
+            logger.info("🏷️ Normalized keywords and entities of {} documents", filled);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        backfillExecutor.shutdownNow();
+    }
+
+    private void replaceLocked(Long documentId, Map<String, DocumentTermEntity> distinct) {
+        List<DocumentTermEntity> previous = termRepository.findByDocumentIdIn(List.of(documentId));
+        Map<String, DocumentTermEntity> before = distinct(previous);
+        termRepository.deleteAllInBatch(previous);
+
+        List<DocumentTermEntity> rows = new ArrayList<>();
+        for (DocumentTermEntity term : distinct.values()) {
+            DocumentTermEntity row = new DocumentTermEntity(term.getKind(), term.getTerm(), term.getLabel(), term.getScore());
+            row.setDocumentId(documentId);
+            rows.add(row);
+        }
+        termRepository.saveAll(rows);
+
+        before.forEach((key, term) -> {
+            if (!distinct.containsKey(key)) {
+                decrement(term, 1);
+            }
+        });
+        distinct.forEach((key, term) -> {
+            if (!before.containsKey(key)) {
+                increment(term);
+            }
+        });
+    }
+
+    private void increment(DocumentTermEntity term) {
+        if (countRepository.adjust(term.getKind(), term.getLabel(), term.getTerm(), 1) == 0) {
+            countRepository.save(new TermCountEntity(term.getKind(), term.getTerm(), term.getLabel(), 1));
+        }
+    }
+
+    // Drops the count row once no document mentions the term; only the adjusted row is touched
+    private void decrement(DocumentTermEntity term, long count) {
+        countRepository.adjust(term.getKind(), term.getLabel(), term.getTerm(), -count);
+        countRepository.deleteIfUnused(term.getKind(), term.getLabel(), term.getTerm());
+    }
+
+    private <T> T inWriteTransaction(Supplier<T> work) {
+        writeLock.lock();
+        try {
+            return transactionTemplate.execute(status -> work.get());
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private static Map<String, DocumentTermEntity> distinct(List<DocumentTermEntity> terms) {
+        Map<String, DocumentTermEntity> distinct = new LinkedHashMap<>();
+        if (terms != null) {
+            for (DocumentTermEntity term : terms) {
+                if (term.getTerm() == null || term.getTerm().isEmpty()) {
+                    continue;
+                }
+                distinct.merge(key(term), term, (a, b) ->
+                        b.getScore() != null && (a.getScore() == null || b.getScore() > a.getScore()) ? b : a);
+            }
+        }
+        return distinct;
+    }
+
+    private static String key(DocumentTermEntity term) {
+        return term.getKind() + "\u0000" + term.getLabel() + "\u0000" + term.getTerm();
+    }
+
+    private static String normalizeTerm(String text) {
+        String term = text.trim().replaceAll("\\s+", " ");
+        return term.length() > MAX_TERM_LENGTH ? term.substring(0, MAX_TERM_LENGTH) : term;
+    }
+
+    private static List<String> split(String joined) {
+        if (joined == null || joined.isBlank()) {
+            return List.of();
+        }
+        return List.of(joined.split(",")).stream()
+                .map(String::trim)
+                .filter(s -> !s.isEmpty())
+                .toList();
+    }
+}
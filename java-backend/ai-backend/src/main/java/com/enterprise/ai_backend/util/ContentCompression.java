@@ -0,0 +1,71 @@
+package com.enterprise.ai_backend.util;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4FastDecompressor;
+
+/**
+ * LZ4 block compression of document content. Extracted text typically
+ * shrinks 2-4x, and LZ4 decompresses at several GB/s, so reading a
+ * document back costs far less than fetching the uncompressed TEXT value.
+ * <p>
+ * An instance is the compression policy, a bean built from
+ * {@code documents.content.*} (see {@code StorageConfig}); the codec itself
+ * is stateless.
+ */
+public final class ContentCompression {
+
+    /** Stores all content as plain TEXT, for contexts without a configured policy. */
+    public static final ContentCompression NONE = new ContentCompression(false, 0);
+
+    // Compressed layout: 4-byte UTF-8 length, then the LZ4 block
+    private static final int HEADER_BYTES = Integer.BYTES;
+
+    private static final LZ4Factory LZ4 = LZ4Factory.fastestInstance();
+    private static final LZ4Compressor COMPRESSOR = LZ4.fastCompressor();
+    private static final LZ4FastDecompressor DECOMPRESSOR = LZ4.fastDecompressor();
+
+    private final boolean enabled;
+    private final int minChars;
+
+    public ContentCompression(boolean enabled, int minChars) {
+        this.enabled = enabled;
+        this.minChars = Math.max(0, minChars);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getMinChars() {
+        return minChars;
+    }
+
+    /**
+     * Whether new content should be stored compressed. Short texts are kept
+     * as plain TEXT: they barely compress and PostgreSQL stores them inline.
+     */
+    public boolean shouldCompress(String text) {
+        return enabled && text != null && text.length() >= minChars;
+    }
+
+    public static byte[] compress(String text) {
+        byte[] utf8 = text.getBytes(StandardCharsets.UTF_8);
+        byte[] out = new byte[HEADER_BYTES + COMPRESSOR.maxCompressedLength(utf8.length)];
+        ByteBuffer.wrap(out).putInt(utf8.length);
+        int compressed = COMPRESSOR.compress(utf8, 0, utf8.length, out, HEADER_BYTES);
+        byte[] result = new byte[HEADER_BYTES + compressed];
+        System.arraycopy(out, 0, result, 0, result.length);
+        return result;
+    }
+
+    public static String decompress(byte[] data) {
+        int length = ByteBuffer.wrap(data).getInt();
+        byte[] utf8 = new byte[length];
+        DECOMPRESSOR.decompress(data, HEADER_BYTES, utf8, 0, length);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+}
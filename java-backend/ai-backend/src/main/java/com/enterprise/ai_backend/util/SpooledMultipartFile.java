@@ -0,0 +1,121 @@
+package com.enterprise.ai_backend.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * A {@link MultipartFile} backed by a temp file on disk. Used to hand an
+ * upload to work that outlives the HTTP request, and to keep large uploads
+ * off the heap. Call {@link #delete()} once the file has been processed.
+ */
+public class SpooledMultipartFile implements MultipartFile {
+
+    private final String originalFilename;
+    private final String contentType;
+    private final Path path;
+
+    private SpooledMultipartFile(String originalFilename, String contentType, Path path) {
+        this.originalFilename = originalFilename;
+        this.contentType = contentType;
+        this.path = path;
+    }
+
+    /**
+     * Copies the upload to a new temp file.
+     */
+    public static SpooledMultipartFile spool(MultipartFile file) throws IOException {
+        if (file instanceof SpooledMultipartFile spooled) {
+            return spooled;
+        }
+        Path tmp = Files.createTempFile("upload-", ".bin");
+        try {
+            file.transferTo(tmp);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+        return new SpooledMultipartFile(file.getOriginalFilename(), file.getContentType(), tmp);
+    }
+
+    /**
+     * Streams {@code in} to a new temp file without buffering it in memory.
+     */
+    public static SpooledMultipartFile spool(String originalFilename, String contentType, InputStream in)
+            throws IOException {
+        Path tmp = Files.createTempFile("upload-", ".bin");
+        try {
+            Files.copy(in, tmp, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+        return new SpooledMultipartFile(originalFilename, contentType, tmp);
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public void delete() {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            path.toFile().deleteOnExit();
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "file";
+    }
+
+    @Override
+    public String getOriginalFilename() {
+        return originalFilename;
+    }
+
+    @Override
+    public String getContentType() {
+        return contentType;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return getSize() == 0;
+    }
+
+    @Override
+    public long getSize() {
+        try {
+            return Files.size(path);
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    @Override
+    public byte[] getBytes() throws IOException {
+        return Files.readAllBytes(path);
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        return Files.newInputStream(path);
+    }
+
+    @Override
+    public void transferTo(File dest) throws IOException {
+        Files.copy(path, dest.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    @Override
+    public void transferTo(Path dest) throws IOException {
+        Files.copy(path, dest, StandardCopyOption.REPLACE_EXISTING);
+    }
+}
@@ -0,0 +1,90 @@
+package com.enterprise.ai_backend.util;
+
+import java.text.BreakIterator;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Splits long text into bounded chunks for map-reduce summarization and
+ * change detection.
+ * <p>
+ * Boundaries are content-defined: once a chunk holds a quarter of the
+ * limit, it ends after any paragraph or sentence whose hash has its two low
+ * bits clear. Inserting or deleting text therefore only moves the boundaries
+ * next to the edit, and the chunks further away keep their exact text, so
+ * their cached AI results stay valid.
+ */
+public final class TextChunker {
+
+    private static final Pattern PARAGRAPH_BREAK = Pattern.compile("\\n\\s*\\n");
+    private static final int BOUNDARY_MASK = 0b11;
+
+    private TextChunker() {
+    }
+
+    /**
+     * Packs whole paragraphs into chunks of at most {@code maxChars}. A
+     * paragraph that does not fit on its own is split into sentences, and a
+     * sentence that does not fit is cut at the last space before the limit.
+     * A chunk also ends early at a content-defined boundary.
+     */
+    public static List<String> split(String text, int maxChars) {
+        List<String> chunks = new ArrayList<>();
+        if (text == null || text.isBlank()) {
+            return chunks;
+        }
+        int limit = Math.max(1, maxChars);
+        StringBuilder current = new StringBuilder();
+        for (String paragraph : PARAGRAPH_BREAK.split(text.strip())) {
+            boolean firstPiece = true;
+            for (String piece : pieces(paragraph.strip(), limit)) {
+                String separator = current.isEmpty() ? "" : firstPiece ? "\n\n" : " ";
+                if (current.length() + separator.length() + piece.length() > limit) {
+                    chunks.add(current.toString());
+                    current.setLength(0);
+                    separator = "";
+                }
+                current.append(separator).append(piece);
+                firstPiece = false;
+                if (current.length() >= limit / 4 && (piece.hashCode() & BOUNDARY_MASK) == 0) {
+                    chunks.add(current.toString());
+                    current.setLength(0);
+                }
+            }
+        }
+        if (!current.isEmpty()) {
+            chunks.add(current.toString());
+        }
+        return chunks;
+    }
+
+    private static List<String> pieces(String paragraph, int limit) {
+        if (paragraph.isEmpty()) {
+            return List.of();
+        }
+        if (paragraph.length() <= limit) {
+            return List.of(paragraph);
+        }
+        List<String> pieces = new ArrayList<>();
+        BreakIterator sentences = BreakIterator.getSentenceInstance(Locale.ROOT);
+        sentences.setText(paragraph);
+        int start = sentences.first();
+        for (int end = sentences.next(); end != BreakIterator.DONE; start = end, end = sentences.next()) {
+            String sentence = paragraph.substring(start, end).strip();
+            while (sentence.length() > limit) {
+                int cut = sentence.lastIndexOf(' ', limit);
+                if (cut <= 0) {
+                    cut = limit;
+                }
+                pieces.add(sentence.substring(0, cut).strip());
+                sentence = sentence.substring(cut).strip();
+            }
+            if (!sentence.isEmpty()) {
+                pieces.add(sentence);
+            }
+        }
+        return pieces;
+    }
+}
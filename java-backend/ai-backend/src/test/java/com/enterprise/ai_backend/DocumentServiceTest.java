@@ -12,10 +12,12 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import static org.mockito.Mockito.when;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 
 import com.enterprise.ai_backend.dto.DocumentResponseDTO;
 import com.enterprise.ai_backend.model.DocumentEntity;
 import com.enterprise.ai_backend.repository.DocumentRepository;
+import com.enterprise.ai_backend.search.InvertedIndex;
 import com.enterprise.ai_backend.service.ElasticService;
 
 public class DocumentServiceTest {
@@ -23,6 +25,9 @@ public class DocumentServiceTest {
     @Mock
     private DocumentRepository documentRepository;
 
+    @Spy
+    private InvertedIndex invertedIndex = new InvertedIndex();
+
     @InjectMocks
     private ElasticService elasticService;
 
@@ -0,0 +1,321 @@
+package com.enterprise.ai_backend;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.client.RestClientResponseException;
+import org.springframework.web.client.RestTemplate;
+
+import com.enterprise.ai_backend.config.AsyncConfig;
+import com.enterprise.ai_backend.support.StubAIEngine;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * End-to-end load test: concurrent uploads through POST /api/upload while
+ * searches hit /api/search, /api/documents/search and /api/search/semantic,
+ * against the full application on an in-memory H2 database and a
+ * {@link StubAIEngine} with log-normal latencies and random 503s.
+ * <p>
+ * Reports throughput, latency percentiles per operation, CPU, heap, GC and
+ * thread usage of the JVM (application and stub together) to the console
+ * and to {@code target/load-test-report.json}. Excluded from the default
+ * build; run with
+ * {@code mvn test -Dtest.excludedGroups= -Dgroups=load}, tuned with
+ * {@code -Dload.uploads=500 -Dload.concurrency=32 -Dload.ai.workers=2 ...}
+ * (see the constants below).
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class IngestionLoadTest {
+
+    private static final int UPLOADS = Integer.getInteger("load.uploads", 200);
+    private static final int UPLOAD_CONCURRENCY = Integer.getInteger("load.concurrency", 16);
+    private static final int SEARCH_CONCURRENCY = Integer.getInteger("load.search-concurrency", 4);
+    private static final int DOCUMENT_CHARS = Integer.getInteger("load.document-chars", 20_000);
+    private static final int AI_WORKERS = Integer.getInteger("load.ai.workers", 4);
+    private static final long AI_MEDIAN_MS = Long.getLong("load.ai.latency-median-ms", 40);
+    private static final long AI_P99_MS = Long.getLong("load.ai.latency-p99-ms", 400);
+    private static final double AI_ERROR_RATE = Double.parseDouble(System.getProperty("load.ai.error-rate", "0.01"));
+    private static final String REPORT = System.getProperty("load.report", "target/load-test-report.json");
+
+    private static final String[] VOCABULARY = ("revenue quarter region customer contract policy employee "
+            + "report growth margin forecast supplier invoice compliance audit risk product market "
+            + "strategy budget project delivery schedule review approval meeting analysis").split(" ");
+
+    private static StubAIEngine engine;
+
+    @LocalServerPort
+    private int port;
+
+    @DynamicPropertySource
+    static void loadTestProperties(DynamicPropertyRegistry registry) throws IOException {
+        engine = new StubAIEngine();
+        engine.setLatency(StubAIEngine.logNormalLatency(AI_MEDIAN_MS, AI_P99_MS, 7));
+        engine.setErrorRate(AI_ERROR_RATE);
+        engine.setWorkers(AI_WORKERS);
+
+        registry.add("spring.datasource.url", () -> "jdbc:h2:mem:load;DB_CLOSE_DELAY=-1");
+        registry.add("spring.datasource.driver-class-name", () -> "org.h2.Driver");
+        registry.add("spring.datasource.username", () -> "sa");
+        registry.add("spring.datasource.password", () -> "");
+        registry.add("spring.jpa.database-platform", () -> "org.hibernate.dialect.H2Dialect");
+        registry.add("ai.summarization-url", () -> engine.url("/summarize/"));
+        registry.add("ai.keyword-url", () -> engine.url("/keywords/"));
+        registry.add("ai.entities-url", () -> engine.url("/entities/"));
+        registry.add("ai.embed-url", () -> engine.url("/embed/"));
+        registry.add("ai.embed-batch-url", () -> engine.url("/embed/batch"));
+        registry.add("ai.summarization-batch-url", () -> engine.url("/summarize/batch"));
+        registry.add("ai.keyword-batch-url", () -> engine.url("/keywords/batch"));
+        // Per-request SQL and INFO logging would dominate the measurement
+        registry.add("logging.level.root", () -> System.getProperty("load.log-level", "WARN"));
+        registry.add("logging.level.org.hibernate.SQL", () -> "WARN");
+        registry.add("logging.level.org.hibernate.type.descriptor.sql.BasicBinder", () -> "WARN");
+    }
+
+    @AfterAll
+    static void stopEngine() {
+        engine.close();
+    }
+
+    @Test
+    void uploadsAndSearchesUnderLoad() throws Exception {
+        // Arrange
+        RestTemplate http = new RestTemplate();
+        String base = "http://127.0.0.1:" + port;
+        Map<String, Recorder> recorders = new LinkedHashMap<>();
+        for (String operation : List.of("upload", "search", "documentSearch", "semanticSearch")) {
+            recorders.put(operation, new Recorder());
+        }
+        ExecutorService uploaders = Executors.newFixedThreadPool(UPLOAD_CONCURRENCY,
+                AsyncConfig.namedDaemonThreads("load-upload-"));
+        ExecutorService searchers = Executors.newFixedThreadPool(SEARCH_CONCURRENCY,
+                AsyncConfig.namedDaemonThreads("load-search-"));
+        AtomicBoolean ingesting = new AtomicBoolean(true);
+        int engineRequestsBefore = engine.getRequestCount();
+        ResourceSampler resources = new ResourceSampler();
+
+        // Act
+        long start = System.nanoTime();
+        for (int i = 0; i < UPLOADS; i++) {
+            int n = i;
+            uploaders.execute(() -> recorders.get("upload").time(() -> upload(http, base, n)));
+        }
+        for (int s = 0; s < SEARCH_CONCURRENCY; s++) {
+            Random random = new Random(s);
+            searchers.execute(() -> {
+                while (ingesting.get()) {
+                    String word = VOCABULARY[random.nextInt(VOCABULARY.length)];
+                    recorders.get("search").time(() -> get(http, base + "/api/search?query=" + word));
+                    recorders.get("documentSearch").time(() -> get(http, base + "/api/documents/search?q=" + word));
+                    recorders.get("semanticSearch").time(() -> get(http, base + "/api/search/semantic?q=" + word + "+growth"));
+                }
+            });
+        }
+        uploaders.shutdown();
+        assertTrue(uploaders.awaitTermination(1, TimeUnit.HOURS), "uploads did not finish within an hour");
+        ingesting.set(false);
+        searchers.shutdown();
+        assertTrue(searchers.awaitTermination(1, TimeUnit.MINUTES));
+        double wallSeconds = (System.nanoTime() - start) / 1e9;
+
+        // Report
+        Map<String, Object> report = new LinkedHashMap<>();
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("uploads", UPLOADS);
+        settings.put("uploadConcurrency", UPLOAD_CONCURRENCY);
+        settings.put("searchConcurrency", SEARCH_CONCURRENCY);
+        settings.put("documentChars", DOCUMENT_CHARS);
+        settings.put("aiWorkers", AI_WORKERS);
+        settings.put("aiLatencyMedianMs", AI_MEDIAN_MS);
+        settings.put("aiLatencyP99Ms", AI_P99_MS);
+        settings.put("aiErrorRate", AI_ERROR_RATE);
+        report.put("settings", settings);
+        report.put("wallSeconds", Math.round(wallSeconds * 100) / 100.0);
+        Map<String, Object> operations = new LinkedHashMap<>();
+        recorders.forEach((operation, recorder) -> operations.put(operation, recorder.summary(wallSeconds)));
+        report.put("operations", operations);
+        report.put("resources", resources.stop());
+        Map<String, Object> aiEngine = new LinkedHashMap<>();
+        aiEngine.put("requests", engine.getRequestCount() - engineRequestsBefore);
+        aiEngine.put("injectedErrors", engine.getErrorCount());
+        report.put("aiEngine", aiEngine);
+
+        ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        File reportFile = new File(REPORT);
+        mapper.writeValue(reportFile, report);
+        System.out.println("📊 Load test report (" + reportFile.getAbsolutePath() + "):\n"
+                + mapper.writeValueAsString(report));
+
+        // Assert: AI engine errors degrade enrichment but never fail an upload or a search
+        assertEquals(Map.of(200, (long) UPLOADS), recorders.get("upload").statuses());
+        recorders.forEach((operation, recorder) -> assertTrue(recorder.statuses().keySet().stream()
+                .allMatch(status -> status >= 200 && status < 500), operation + ": " + recorder.statuses()));
+    }
+
+    private int upload(RestTemplate http, String base, int n) {
+        StringBuilder text = new StringBuilder("Load test document ").append(n).append(".\n\n");
+        Random random = new Random(n);
+        while (text.length() < DOCUMENT_CHARS) {
+            for (int w = 0; w < 60; w++) {
+                text.append(VOCABULARY[random.nextInt(VOCABULARY.length)]).append(w % 12 == 11 ? ". " : " ");
+            }
+            text.append("INV-").append(random.nextInt(1_000_000)).append(".\n\n");
+        }
+        MultiValueMap<String, Object> form = new LinkedMultiValueMap<>();
+        form.add("file", new ByteArrayResource(text.toString().getBytes(StandardCharsets.UTF_8)) {
+            @Override
+            public String getFilename() {
+                return "load-" + n + ".txt";
+            }
+        });
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.MULTIPART_FORM_DATA);
+        return exchange(() -> http.postForEntity(base + "/api/upload", new HttpEntity<>(form, headers), String.class)
+                .getStatusCode().value());
+    }
+
+    private int get(RestTemplate http, String url) {
+        return exchange(() -> http.getForEntity(url, String.class).getStatusCode().value());
+    }
+
+    private static int exchange(IntSupplier call) {
+        try {
+            return call.getAsInt();
+        } catch (RestClientResponseException e) {
+            return e.getStatusCode().value();
+        } catch (RuntimeException e) {
+            return -1;
+        }
+    }
+
+    /** Latencies and response statuses of one kind of request. */
+    private static final class Recorder {
+
+        private final ConcurrentLinkedQueue<Long> nanos = new ConcurrentLinkedQueue<>();
+        private final ConcurrentLinkedQueue<Integer> codes = new ConcurrentLinkedQueue<>();
+
+        void time(IntSupplier request) {
+            long start = System.nanoTime();
+            int status = request.getAsInt();
+            nanos.add(System.nanoTime() - start);
+            codes.add(status);
+        }
+
+        Map<Integer, Long> statuses() {
+            Map<Integer, Long> counts = new TreeMap<>();
+            codes.forEach(code -> counts.merge(code, 1L, Long::sum));
+            return counts;
+        }
+
+        Map<String, Object> summary(double wallSeconds) {
+            List<Long> sorted = new ArrayList<>(nanos);
+            sorted.sort(null);
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("requests", sorted.size());
+            summary.put("throughputPerSecond", Math.round(sorted.size() / wallSeconds * 100) / 100.0);
+            summary.put("statuses", statuses());
+            summary.put("p50Ms", percentileMs(sorted, 0.50));
+            summary.put("p90Ms", percentileMs(sorted, 0.90));
+            summary.put("p99Ms", percentileMs(sorted, 0.99));
+            summary.put("maxMs", percentileMs(sorted, 1.0));
+            return summary;
+        }
+
+        private static double percentileMs(List<Long> sorted, double percentile) {
+            if (sorted.isEmpty()) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile * sorted.size()) - 1;
+            return Math.round(sorted.get(Math.max(0, index)) / 10_000.0) / 100.0;
+        }
+    }
+
+    /** Samples heap and CPU while the load runs and diffs GC and CPU time over the run. */
+    private static final class ResourceSampler {
+
+        private final com.sun.management.OperatingSystemMXBean os =
+                (com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+        private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        private final ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor(
+                AsyncConfig.namedDaemonThreads("load-sampler-"));
+        private final AtomicLong peakHeapBytes = new AtomicLong();
+        private final ConcurrentLinkedQueue<Double> cpuLoads = new ConcurrentLinkedQueue<>();
+        private final long startNanos = System.nanoTime();
+        private final long startCpuNanos = os.getProcessCpuTime();
+        private final long startGcCount = gcCount();
+        private final long startGcMillis = gcMillis();
+
+        ResourceSampler() {
+            threads.resetPeakThreadCount();
+            sampler.scheduleAtFixedRate(() -> {
+                peakHeapBytes.accumulateAndGet(ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed(),
+                        Math::max);
+                double load = os.getProcessCpuLoad();
+                if (load >= 0) {
+                    cpuLoads.add(load);
+                }
+            }, 0, 250, TimeUnit.MILLISECONDS);
+        }
+
+        Map<String, Object> stop() {
+            sampler.shutdownNow();
+            double wallSeconds = (System.nanoTime() - startNanos) / 1e9;
+            double cpuSeconds = (os.getProcessCpuTime() - startCpuNanos) / 1e9;
+            Map<String, Object> usage = new LinkedHashMap<>();
+            usage.put("availableProcessors", os.getAvailableProcessors());
+            usage.put("cpuSeconds", Math.round(cpuSeconds * 100) / 100.0);
+            usage.put("averageCoresBusy", Math.round(cpuSeconds / wallSeconds * 100) / 100.0);
+            usage.put("peakProcessCpuLoad", Math.round(cpuLoads.stream().mapToDouble(Double::doubleValue)
+                    .max().orElse(0) * 100) / 100.0);
+            usage.put("peakHeapMb", peakHeapBytes.get() / (1024 * 1024));
+            usage.put("peakThreads", threads.getPeakThreadCount());
+            usage.put("gcCount", gcCount() - startGcCount);
+            usage.put("gcMillis", gcMillis() - startGcMillis);
+            return usage;
+        }
+
+        private static long gcCount() {
+            return ManagementFactory.getGarbageCollectorMXBeans().stream()
+                    .mapToLong(GarbageCollectorMXBean::getCollectionCount).filter(c -> c > 0).sum();
+        }
+
+        private static long gcMillis() {
+            return ManagementFactory.getGarbageCollectorMXBeans().stream()
+                    .mapToLong(GarbageCollectorMXBean::getCollectionTime).filter(t -> t > 0).sum();
+        }
+    }
+}
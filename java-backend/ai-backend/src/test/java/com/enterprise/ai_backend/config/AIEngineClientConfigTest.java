@@ -0,0 +1,68 @@
+package com.enterprise.ai_backend.config;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestTemplate;
+
+import com.enterprise.ai_backend.support.StubAIEngine;
+
+class AIEngineClientConfigTest {
+
+    private StubAIEngine engine;
+    private PoolingHttpClientConnectionManager connectionManager;
+    private CloseableHttpClient httpClient;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        engine = new StubAIEngine();
+        connectionManager = AIEngineClientConfig.connectionManager(4, 4, 1_000, 5_000);
+        httpClient = AIEngineClientConfig.httpClient(connectionManager, 1_000, 5_000, 30_000);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        httpClient.close();
+        connectionManager.close();
+        engine.close();
+    }
+
+    @Test
+    void completedCallsDropTheirDeadline() {
+        // Arrange
+        RestTemplate restTemplate = AIEngineClientConfig.restTemplate(httpClient, 60_000);
+        int pendingBefore = AIEngineClientConfig.DeadlineRequestFactory.pendingDeadlines();
+
+        // Act
+        for (int i = 0; i < 5; i++) {
+            restTemplate.postForObject(engine.url("/summarize/"), Map.of("text", "call " + i), Map.class);
+        }
+
+        // Assert
+        assertEquals(pendingBefore, AIEngineClientConfig.DeadlineRequestFactory.pendingDeadlines());
+    }
+
+    @Test
+    void totalDeadlineCancelsCallsThatOutliveIt() {
+        // Arrange
+        engine.setLatencyMs(2_000);
+        RestTemplate restTemplate = AIEngineClientConfig.restTemplate(httpClient, 300);
+
+        // Act
+        long start = System.nanoTime();
+        assertThrows(RuntimeException.class,
+                () -> restTemplate.postForObject(engine.url("/summarize/"), Map.of("text", "slow"), Map.class));
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        // Assert
+        assertTrue(elapsedMs < 1_500, "Call should be cancelled at the deadline but took " + elapsedMs + " ms");
+        assertEquals(0, AIEngineClientConfig.DeadlineRequestFactory.pendingDeadlines());
+    }
+}
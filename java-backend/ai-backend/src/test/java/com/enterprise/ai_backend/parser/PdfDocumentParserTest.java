@@ -0,0 +1,170 @@
+package com.enterprise.ai_backend.parser;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+
+import com.enterprise.ai_backend.support.TestPdfs;
+
+class PdfDocumentParserTest {
+
+    @Test
+    void parallelRangesMatchSequentialText() throws IOException {
+        // Arrange: 12 pages in ranges of 5 -> three ranges on the fork-join pool
+        PdfDocumentParser parser = new PdfDocumentParser(true, 10, 3, 5, Long.MAX_VALUE, 60_000);
+        byte[] pdf = TestPdfs.create(12, 20);
+        MockMultipartFile mockFile = new MockMultipartFile("file", "report.pdf", "application/pdf", pdf);
+
+        try {
+            // Act
+            String result = parser.parse(mockFile, Integer.MAX_VALUE);
+
+            // Assert
+            assertEquals(extractSequentially(pdf, Integer.MAX_VALUE), result);
+            assertTrue(result.indexOf("Page 1 line 1 ") < result.indexOf("Page 12 line 20 "));
+        } finally {
+            parser.shutdown();
+        }
+    }
+
+    @Test
+    void eachWorkerOpensTheDocumentOnce() throws IOException {
+        // Arrange: eight ranges of 5 pages on two threads
+        PdfDocumentParser parser = new PdfDocumentParser(true, 10, 2, 5, Long.MAX_VALUE, 60_000);
+        byte[] pdf = TestPdfs.create(40, 20);
+        AtomicInteger opened = new AtomicInteger();
+
+        try {
+            // Act
+            String result = parser.extractInParallel(() -> {
+                opened.incrementAndGet();
+                return PDDocument.load(pdf);
+            }, 40, "report.pdf", Integer.MAX_VALUE);
+
+            // Assert
+            assertEquals(extractSequentially(pdf, Integer.MAX_VALUE), result.trim());
+            assertTrue(opened.get() <= 2, "Expected one document per thread but " + opened + " were opened");
+        } finally {
+            parser.shutdown();
+        }
+    }
+
+    @Test
+    void parallelRangesStopOnceTheCapIsFilled() throws IOException {
+        // Arrange: 40 pages in eight ranges of 5 on one thread; the first range alone fills the cap
+        PdfDocumentParser parser = new PdfDocumentParser(true, 10, 1, 5, Long.MAX_VALUE, 60_000);
+        byte[] pdf = TestPdfs.create(40, 20);
+
+        try {
+            // Act
+            String result = parser.extractInParallel(() -> PDDocument.load(pdf), 40, "report.pdf", 500);
+
+            // Assert: the same prefix as a sequential run that stops at the cap
+            assertEquals(extractSequentially(pdf, 500), result.trim());
+        } finally {
+            parser.shutdown();
+        }
+    }
+
+    @Test
+    void largeFileParsedFromDiskMatchesInMemory() throws IOException {
+        // Arrange: threshold of 1 byte forces the temp-file path
+        PdfDocumentParser diskParser = new PdfDocumentParser(false, 100, 1, 25, 1, 60_000);
+        PdfDocumentParser memoryParser = new PdfDocumentParser(false, 100, 1, 25, Long.MAX_VALUE, 60_000);
+        MockMultipartFile mockFile = new MockMultipartFile(
+                "file", "report.pdf", "application/pdf", TestPdfs.create(3, 10));
+
+        try {
+            // Act
+            String result = diskParser.parse(mockFile, Integer.MAX_VALUE);
+
+            // Assert
+            assertEquals(memoryParser.parse(mockFile, Integer.MAX_VALUE), result);
+            assertTrue(result.contains("Page 3 line 10"));
+        } finally {
+            diskParser.shutdown();
+            memoryParser.shutdown();
+        }
+    }
+
+    @Test
+    void stopsAtCharacterCap() throws IOException {
+        // Arrange
+        PdfDocumentParser parser = new PdfDocumentParser(false, 100, 1, 25, Long.MAX_VALUE, 60_000);
+        MockMultipartFile pdfFile = new MockMultipartFile(
+                "file", "big.pdf", "application/pdf", TestPdfs.create(5, 40));
+
+        try {
+            // Act
+            String pdfText = parser.parse(pdfFile, 100);
+
+            // Assert
+            assertTrue(pdfText.length() <= 100);
+            assertTrue(pdfText.startsWith("Page 1 line 1"));
+        } finally {
+            parser.shutdown();
+        }
+    }
+
+    @Test
+    void parallelExtractionGivesUpAtTheTimeout() {
+        // Arrange: workers that never get their document open
+        PdfDocumentParser parser = new PdfDocumentParser(true, 10, 2, 5, Long.MAX_VALUE, 200);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try {
+            // Act
+            long start = System.nanoTime();
+            IOException error = assertThrows(IOException.class, () -> parser.extractInParallel(() -> {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                throw new IOException("released");
+            }, 40, "stuck.pdf", Integer.MAX_VALUE));
+
+            // Assert
+            assertTrue(error.getMessage().contains("timed out"), error.getMessage());
+            assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(10));
+        } finally {
+            release.countDown();
+            parser.shutdown();
+        }
+    }
+
+    @Test
+    void anErrorInAWorkerFailsTheExtraction() {
+        // Arrange
+        PdfDocumentParser parser = new PdfDocumentParser(true, 10, 2, 5, Long.MAX_VALUE, 60_000);
+
+        try {
+            // Act & Assert
+            IOException error = assertThrows(IOException.class, () -> parser.extractInParallel(() -> {
+                throw new StackOverflowError();
+            }, 40, "broken.pdf", Integer.MAX_VALUE));
+            assertInstanceOf(StackOverflowError.class, error.getCause());
+        } finally {
+            parser.shutdown();
+        }
+    }
+
+    // Reference text from the single-threaded path
+    private static String extractSequentially(byte[] pdf, int maxChars) throws IOException {
+        PdfDocumentParser parser = new PdfDocumentParser(false, 100, 1, 25, Long.MAX_VALUE, 60_000);
+        try {
+            return parser.parse(new MockMultipartFile("file", "report.pdf", "application/pdf", pdf), maxChars);
+        } finally {
+            parser.shutdown();
+        }
+    }
+}
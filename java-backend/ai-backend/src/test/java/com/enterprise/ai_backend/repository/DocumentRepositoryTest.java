@@ -1,6 +1,7 @@
 package com.enterprise.ai_backend.repository;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -9,7 +10,9 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
 
+import com.enterprise.ai_backend.dto.DocumentSummaryDTO;
 import com.enterprise.ai_backend.model.DocumentEntity;
 
 @DataJpaTest
@@ -38,4 +41,31 @@ class DocumentRepositoryTest {
         assertEquals("This is a test document.", retrieved.get().getContent());
         assertEquals("Test summary", retrieved.get().getSummary());
     }
+
+    @Test
+    @DisplayName("Should page summaries newest first by (createdAt, id) without gaps or repeats")
+    void testKeysetSummaryPages() {
+        // Arrange: two documents share a timestamp, so the id breaks the tie
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 12, 0);
+        for (int i = 0; i < 5; i++) {
+            DocumentEntity document = new DocumentEntity("doc-" + i + ".txt", "content " + i, "summary " + i);
+            document.setCreatedAt(i == 4 ? base.plusMinutes(3) : base.plusMinutes(i));
+            documentRepository.save(document);
+        }
+
+        // Act
+        List<DocumentSummaryDTO> first = documentRepository.findSummaries(PageRequest.ofSize(2));
+        DocumentSummaryDTO last = first.get(1);
+        List<DocumentSummaryDTO> second = documentRepository.findSummariesAfter(
+                last.getCreatedAt(), last.getId(), PageRequest.ofSize(2));
+        last = second.get(1);
+        List<DocumentSummaryDTO> third = documentRepository.findSummariesAfter(
+                last.getCreatedAt(), last.getId(), PageRequest.ofSize(2));
+
+        // Assert
+        assertEquals(List.of("doc-4.txt", "doc-3.txt"), first.stream().map(DocumentSummaryDTO::getFileName).toList());
+        assertEquals(List.of("doc-2.txt", "doc-1.txt"), second.stream().map(DocumentSummaryDTO::getFileName).toList());
+        assertEquals(List.of("doc-0.txt"), third.stream().map(DocumentSummaryDTO::getFileName).toList());
+        assertEquals("content 4".length(), first.get(0).getContentLength());
+    }
 }
@@ -0,0 +1,151 @@
+package com.enterprise.ai_backend.search;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class HnswIndexTest {
+
+    private static final int DIMENSIONS = 32;
+
+    @Test
+    void search_findsStoredVectorsAndHidesRemovedOnes() throws IOException {
+        // Arrange
+        float[][] vectors = randomUnitVectors(2_000, new Random(1));
+        try (HnswIndex index = new HnswIndex(new VectorStore(DIMENSIONS, null), 16, 100)) {
+            for (int i = 0; i < vectors.length; i++) {
+                index.add(i, vectors[i]);
+            }
+
+            // Act
+            List<HnswIndex.Hit> hits = index.search(vectors[42], 5, 64);
+            index.remove(42);
+            List<HnswIndex.Hit> afterRemove = index.search(vectors[42], 5, 64);
+            index.add(7, vectors[42]);
+            List<HnswIndex.Hit> afterReplace = index.search(vectors[7], 5, 64);
+
+            // Assert
+            assertEquals(5, hits.size());
+            assertEquals(42, hits.get(0).docId());
+            assertEquals(1.0f, hits.get(0).score(), 1e-5);
+            assertTrue(afterRemove.stream().noneMatch(hit -> hit.docId() == 42));
+            assertEquals(7, index.search(vectors[42], 1, 64).get(0).docId());
+            assertTrue(afterReplace.stream().noneMatch(hit -> hit.docId() == 7 && hit.score() > 0.999f));
+            assertEquals(1_999, index.size());
+        }
+    }
+
+    @Test
+    void search_recallsTrueNearestNeighbours() throws IOException {
+        // Arrange
+        Random random = new Random(2);
+        float[][] vectors = randomUnitVectors(3_000, random);
+        float[][] queries = randomUnitVectors(50, random);
+        try (HnswIndex index = new HnswIndex(new VectorStore(DIMENSIONS, null), 16, 100)) {
+            for (int i = 0; i < vectors.length; i++) {
+                index.add(i, vectors[i]);
+            }
+
+            // Act
+            int found = 0;
+            for (float[] query : queries) {
+                Set<Long> exact = bruteForce(vectors, query, 10);
+                found += (int) index.search(query, 10, 64).stream().filter(hit -> exact.contains(hit.docId())).count();
+            }
+
+            // Assert
+            double recall = found / (queries.length * 10.0);
+            assertTrue(recall >= 0.9, "recall@10 was " + recall);
+        }
+    }
+
+    @Test
+    void replacingAndRemovingReclaimsSlotsAndKeepsRecall() throws IOException {
+        // Arrange
+        float[][] vectors = randomUnitVectors(400, new Random(4));
+        try (HnswIndex index = new HnswIndex(new VectorStore(DIMENSIONS, null), 16, 100)) {
+            for (int i = 0; i < vectors.length; i++) {
+                index.add(i, vectors[i]);
+            }
+
+            // Act: without reclaiming, three rounds of re-embedding would take 1,600 slots
+            for (int round = 0; round < 3; round++) {
+                for (int i = 0; i < vectors.length; i++) {
+                    index.add(i, vectors[i]);
+                }
+            }
+            for (int i = 200; i < vectors.length; i++) {
+                index.remove(i);
+            }
+
+            // Assert: at most a quarter of the slots hold deleted nodes
+            assertEquals(200, index.size());
+            assertTrue(index.slotCount() < 200 / 0.75 + 1, "slots in use: " + index.slotCount());
+            for (int i = 0; i < 200; i += 20) {
+                assertEquals(i, index.search(vectors[i], 1, 64).get(0).docId());
+            }
+            assertTrue(index.search(vectors[300], 10, 64).stream().allMatch(hit -> hit.docId() < 200));
+        }
+    }
+
+    @Test
+    void memoryMappedStore_keepsVectorsAcrossChunks(@TempDir Path dir) throws IOException {
+        // Arrange
+        float[][] vectors = randomUnitVectors(2, new Random(3));
+        try (VectorStore store = new VectorStore(DIMENSIONS, dir.resolve("vectors.bin"))) {
+            // Act
+            store.set(0, vectors[0]);
+            store.set(VectorStore.SLOTS_PER_CHUNK + 1, vectors[1]);
+
+            // Assert
+            assertArrayEquals(vectors[0], store.get(0));
+            assertArrayEquals(vectors[1], store.get(VectorStore.SLOTS_PER_CHUNK + 1));
+            assertEquals(Vectors.dot(vectors[0], vectors[1]), store.dot(0, VectorStore.SLOTS_PER_CHUNK + 1), 1e-6);
+            assertTrue(store.allocatedBytes() >= 2L * VectorStore.SLOTS_PER_CHUNK * DIMENSIONS * Float.BYTES);
+        }
+    }
+
+    @Test
+    void vectorsRoundTripThroughBytesAndRejectOtherDimensions() {
+        // Arrange
+        float[] vector = randomUnitVectors(1, new Random(4))[0];
+
+        // Act
+        byte[] bytes = Vectors.toBytes(vector);
+
+        // Assert
+        assertArrayEquals(vector, Vectors.fromBytes(bytes, DIMENSIONS));
+        assertNull(Vectors.fromBytes(bytes, DIMENSIONS * 2));
+    }
+
+    static float[][] randomUnitVectors(int count, Random random) {
+        float[][] vectors = new float[count][DIMENSIONS];
+        for (float[] vector : vectors) {
+            for (int d = 0; d < DIMENSIONS; d++) {
+                vector[d] = (float) random.nextGaussian();
+            }
+            Vectors.normalize(vector);
+        }
+        return vectors;
+    }
+
+    static Set<Long> bruteForce(float[][] vectors, float[] query, int k) {
+        return IntStream.range(0, vectors.length).boxed()
+                .sorted(Comparator.comparingDouble((Integer i) -> Vectors.dot(vectors[i], query)).reversed())
+                .limit(k)
+                .map(Integer::longValue)
+                .collect(Collectors.toSet());
+    }
+}
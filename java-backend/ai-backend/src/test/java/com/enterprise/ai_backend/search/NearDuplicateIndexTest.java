@@ -0,0 +1,90 @@
+package com.enterprise.ai_backend.search;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+class NearDuplicateIndexTest {
+
+    private static final String REPORT = "Acme Corporation reported record quarterly revenue of 4.2 billion dollars, "
+            + "driven by strong demand for cloud services in Europe and Asia. Operating margin improved to "
+            + "21 percent while headcount stayed flat. The board approved a new share buyback program and "
+            + "raised guidance for the full fiscal year, citing a healthy pipeline of enterprise contracts.";
+
+    @Test
+    void similarTextsScoreHighAndUnrelatedTextsLow() {
+        // Arrange
+        String edited = REPORT.replace("4.2 billion", "4.3 billion").replace("Europe", "EUROPE");
+        String unrelated = "The hiking trail climbs through pine forest to an alpine lake, where campers "
+                + "can pitch tents near the shore and watch the sunrise over the northern ridge.";
+
+        // Act & Assert
+        assertTrue(MinHash.similarity(MinHash.signature(REPORT), MinHash.signature(edited)) > 0.8);
+        assertTrue(MinHash.similarity(MinHash.signature(REPORT), MinHash.signature(unrelated)) < 0.1);
+    }
+
+    @Test
+    void findSimilar_returnsNearDuplicateFromBuckets() {
+        // Arrange
+        NearDuplicateIndex index = new NearDuplicateIndex();
+        index.add(1L, MinHash.signature(REPORT));
+        index.add(2L, MinHash.signature("Completely different minutes of the safety committee meeting."));
+
+        // Act
+        List<NearDuplicateIndex.Match> matches = index.findSimilar(MinHash.signature(REPORT + " Contact: ir@acme.test"), 0.8);
+
+        // Assert
+        assertEquals(1, matches.size());
+        assertEquals(1L, matches.get(0).docId());
+    }
+
+    @Test
+    void findDuplicatesAfter_keepsOldestCopyAndOnlyChecksNewDocuments() {
+        // Arrange
+        NearDuplicateIndex index = new NearDuplicateIndex();
+        index.add(1L, MinHash.signature(REPORT));
+        index.add(2L, MinHash.signature("An unrelated memo about parking spaces in the west garage."));
+        index.add(3L, MinHash.signature(REPORT + " Updated."));
+
+        // Act
+        NearDuplicateIndex.Sweep first = index.findDuplicatesAfter(0, 0.8);
+        index.remove(3L);
+        index.add(4L, MinHash.signature("Updated: " + REPORT));
+        NearDuplicateIndex.Sweep second = index.findDuplicatesAfter(first.lastId(), 0.8);
+
+        // Assert
+        assertEquals(List.of(3L), first.duplicates());
+        assertEquals(3L, first.lastId());
+        assertEquals(List.of(4L), second.duplicates());
+    }
+
+    @Test
+    void findDuplicatesAfter_rechecksDocumentsEditedAfterTheirSweep() {
+        // Arrange: 1 and 3 were swept as distinct documents, then 1 was edited into a copy of 3
+        NearDuplicateIndex index = new NearDuplicateIndex();
+        index.add(1L, MinHash.signature("An unrelated memo about parking spaces in the west garage."));
+        index.add(2L, MinHash.signature("Completely different minutes of the safety committee meeting."));
+        index.add(3L, MinHash.signature(REPORT));
+        NearDuplicateIndex.Sweep first = index.findDuplicatesAfter(0, 0.8);
+        index.add(1L, MinHash.signature(REPORT + " Updated."));
+
+        // Act
+        NearDuplicateIndex.Sweep second = index.findDuplicatesAfter(first.lastId(), List.of(1L), 0.8);
+
+        // Assert: the newer copy goes, the edited older document stays
+        assertEquals(List.of(), first.duplicates());
+        assertEquals(List.of(3L), second.duplicates());
+        assertEquals(Set.of(1L), second.rechecked());
+        assertEquals(3L, second.lastId());
+    }
+
+    @Test
+    void signatureRoundTripsThroughBytes() {
+        int[] signature = MinHash.signature(REPORT);
+        assertArrayEquals(signature, MinHash.fromBytes(MinHash.toBytes(signature)));
+    }
+}
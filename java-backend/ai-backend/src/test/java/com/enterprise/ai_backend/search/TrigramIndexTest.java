@@ -0,0 +1,82 @@
+package com.enterprise.ai_backend.search;
+
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+
+class TrigramIndexTest {
+
+    @Test
+    void candidates_intersectPostingListsOfAllQueryTrigrams() {
+        // Arrange: IDs indexed out of order exercise the sorted inserts
+        TrigramIndex index = new TrigramIndex();
+        index.index(5L, "Invoice INV-00042 paid", null);
+        index.index(2L, "invoice inv-00043 open", "Summary");
+        index.index(9L, "Unrelated text", "No invoices here");
+
+        // Act & Assert
+        assertArrayEquals(new long[] {2L, 5L}, index.candidates("INV-0004"));
+        assertArrayEquals(new long[] {5L}, index.candidates("00042"));
+        assertArrayEquals(new long[] {2L, 5L, 9L}, index.candidates("invoice"));
+        assertArrayEquals(new long[0], index.candidates("zzz"));
+    }
+
+    @Test
+    void candidates_mayIncludeScatteredTrigramsButNeverMissMatches() {
+        // Arrange: "abcd" has trigrams abc and bcd, which doc 2 contains apart
+        TrigramIndex index = new TrigramIndex();
+        index.index(1L, "xxabcdxx", null);
+        index.index(2L, "abc ... bcd", null);
+
+        // Act & Assert: the caller verifies and drops doc 2
+        assertArrayEquals(new long[] {1L, 2L}, index.candidates("ABCD"));
+    }
+
+    @Test
+    void shortQueriesAreRejectedAndRemovalAndClearWork() {
+        // Arrange
+        TrigramIndex index = new TrigramIndex();
+        index.index(1L, "alpha", "first");
+        index.index(2L, "beta", "second");
+        index.index(1L, "gamma", "first again");
+
+        // Act & Assert
+        assertFalse(TrigramIndex.isSelective("ga"));
+        assertThrows(IllegalArgumentException.class, () -> index.candidates("ga"));
+        assertArrayEquals(new long[0], index.candidates("alpha"));
+
+        index.remove(2L);
+        assertArrayEquals(new long[] {1L}, index.candidates("gam"));
+        assertArrayEquals(new long[0], index.candidates("beta"));
+        assertEquals(1, index.size());
+
+        index.clear();
+        assertArrayEquals(new long[0], index.candidates("gamma"));
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void postingsSurviveManyReindexesAndRemovals() {
+        // Arrange: enough documents to grow and rehash the maps, then remove every other one
+        TrigramIndex index = new TrigramIndex();
+        for (long id = 1; id <= 2_000; id++) {
+            index.index(id, "document " + id + " code X" + (id % 7), null);
+        }
+        for (long id = 2; id <= 2_000; id += 2) {
+            index.remove(id);
+        }
+
+        // Act
+        long[] candidates = index.candidates("code x3");
+
+        // Assert: odd IDs with id % 7 == 3
+        long[] expected = LongStream.rangeClosed(1, 2_000)
+                .filter(id -> id % 2 == 1 && id % 7 == 3).toArray();
+        assertArrayEquals(expected, candidates);
+        assertEquals(1_000, index.size());
+    }
+}
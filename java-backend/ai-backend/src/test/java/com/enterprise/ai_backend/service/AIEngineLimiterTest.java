@@ -0,0 +1,137 @@
+package com.enterprise.ai_backend.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.ResourceAccessException;
+
+import com.enterprise.ai_backend.exception.AIEngineSaturatedException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class AIEngineLimiterTest {
+
+    private final ExecutorService callers = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+    }
+
+    @Test
+    void queuedInteractiveCallsGoBeforeBackgroundOnes() throws Exception {
+        // Arrange: a limit of one, held by a background call
+        AIEngineLimiter limiter = new AIEngineLimiter(true, 1, 1, 1, 20_000, 10, 5_000, 5_000, new SimpleMeterRegistry());
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> order = new CopyOnWriteArrayList<>();
+        Future<?> holder = callers.submit(() -> limiter.execute("summarize", () -> await(release)));
+        waitFor(limiter, "inFlight", 1);
+
+        // Act
+        Future<?> background = callers.submit(() -> limiter.execute("summarize", () -> order.add("background")));
+        waitFor(limiter, "waitingBackground", 1);
+        Future<?> interactive = callers.submit(() -> AIEnginePriority.callAs(AIEnginePriority.INTERACTIVE,
+                () -> limiter.execute("summarize", () -> order.add("interactive"))));
+        waitFor(limiter, "waitingInteractive", 1);
+        release.countDown();
+        holder.get();
+        background.get();
+        interactive.get();
+
+        // Assert
+        assertEquals(List.of("interactive", "background"), order);
+    }
+
+    @Test
+    void fullQueueRejectsAtOnce() throws Exception {
+        // Arrange
+        AIEngineLimiter limiter = new AIEngineLimiter(true, 1, 1, 1, 20_000, 0, 5_000, 5_000, new SimpleMeterRegistry());
+        CountDownLatch release = new CountDownLatch(1);
+        callers.submit(() -> limiter.execute("keywords", () -> await(release)));
+        waitFor(limiter, "inFlight", 1);
+
+        // Act & Assert
+        assertThrows(AIEngineSaturatedException.class, () -> limiter.execute("keywords", () -> "too many"));
+        release.countDown();
+        assertEquals(1L, stats(limiter, "keywords").get("rejected"));
+    }
+
+    @Test
+    void overloadCutsTheLimitOncePerRound() throws Exception {
+        // Arrange: two calls in flight that both time out
+        AIEngineLimiter limiter = new AIEngineLimiter(true, 4, 1, 8, 20_000, 10, 5_000, 5_000, new SimpleMeterRegistry());
+        CountDownLatch release = new CountDownLatch(1);
+        Runnable timingOut = () -> limiter.execute("entities", () -> {
+            await(release);
+            throw new ResourceAccessException("Read timed out");
+        });
+        Future<?> first = callers.submit(timingOut);
+        Future<?> second = callers.submit(timingOut);
+        waitFor(limiter, "inFlight", 2);
+
+        // Act
+        release.countDown();
+        assertThrows(Exception.class, first::get);
+        assertThrows(Exception.class, second::get);
+
+        // Assert: both failures belong to one round, so the limit drops once, from 4 to 3
+        assertEquals(1L, stats(limiter, "entities").get("backoffs"));
+        assertEquals(3, stats(limiter, "entities").get("limit"));
+    }
+
+    @Test
+    void callsAreTimedPerEndpointAndOutcome() {
+        // Arrange
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        AIEngineLimiter limiter = new AIEngineLimiter(true, 2, 1, 4, 20_000, 10, 5_000, 5_000, registry);
+
+        // Act
+        limiter.execute("embed", () -> "vector");
+        limiter.execute("embed", () -> "vector");
+        assertThrows(ResourceAccessException.class, () -> limiter.execute("embed", () -> {
+            throw new ResourceAccessException("Connection refused");
+        }));
+
+        // Assert
+        assertEquals(2, registry.get("ai.engine.requests").tags("endpoint", "embed", "outcome", "success").timer().count());
+        assertEquals(1, registry.get("ai.engine.requests").tags("endpoint", "embed", "outcome", "error").timer().count());
+        assertEquals(1.0, registry.get("ai.engine.backoffs").tag("endpoint", "embed").functionCounter().count());
+        assertEquals(1.0, registry.get("ai.engine.concurrency.limit").tag("endpoint", "embed").gauge().value());
+        assertEquals(0.0, registry.get("ai.engine.calls.inflight").tag("endpoint", "embed").gauge().value());
+    }
+
+    private static String await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return "done";
+    }
+
+    private static Map<?, ?> stats(AIEngineLimiter limiter, String endpoint) {
+        return (Map<?, ?>) limiter.getStats().get(endpoint);
+    }
+
+    private static void waitFor(AIEngineLimiter limiter, String stat, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            Object endpointStats = limiter.getStats().values().stream().findFirst().orElse(null);
+            if (endpointStats instanceof Map<?, ?> map && Integer.valueOf(expected).equals(map.get(stat))) {
+                return;
+            }
+            Thread.sleep(5);
+        }
+        throw new AssertionError(stat + " never reached " + expected + ": " + limiter.getStats());
+    }
+}
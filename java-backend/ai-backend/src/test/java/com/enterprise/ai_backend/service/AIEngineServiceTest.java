@@ -0,0 +1,335 @@
+package com.enterprise.ai_backend.service;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.web.client.RestTemplate;
+
+import com.enterprise.ai_backend.config.AIEngineClientConfig;
+import com.enterprise.ai_backend.exception.AIEngineSaturatedException;
+import com.enterprise.ai_backend.support.StubAIEngine;
+import com.fasterxml.jackson.core.type.TypeReference;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class AIEngineServiceTest {
+
+    private StubAIEngine engine;
+    private PoolingHttpClientConnectionManager connectionManager;
+    private CloseableHttpClient httpClient;
+    private ExecutorService chunkExecutor;
+    private AIEngineService aiEngineService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        engine = new StubAIEngine();
+        connectionManager = AIEngineClientConfig.connectionManager(4, 4, 1_000, 500);
+        httpClient = AIEngineClientConfig.httpClient(connectionManager, 1_000, 500, 30_000);
+        chunkExecutor = Executors.newFixedThreadPool(4);
+        aiEngineService = newService(new AIResultCache(1_000_000, 60, false, null, 1_000_000_000));
+    }
+
+    private AIEngineService newService(AIResultCache cache) {
+        return newService(cache, false);
+    }
+
+    private AIEngineService newService(AIResultCache cache, boolean batching) {
+        return newService(cache, batching, 4_000);
+    }
+
+    private AIEngineService newService(AIResultCache cache, boolean batching, int chunkChars) {
+        return newService(cache, batching, chunkChars, new AIEngineLimiter(true, 8, 1, 8, 20_000, 100, 2_000, 10_000,
+                new SimpleMeterRegistry()));
+    }
+
+    private AIEngineService newService(AIResultCache cache, boolean batching, int chunkChars, AIEngineLimiter limiter) {
+        return newService(cache, batching, chunkChars, limiter, 10_000);
+    }
+
+    private AIEngineService newService(AIResultCache cache, boolean batching, int chunkChars, AIEngineLimiter limiter,
+                                       long chunkTimeoutMs) {
+        RestTemplate restTemplate = AIEngineClientConfig.restTemplate(httpClient, 2_000);
+        AIEngineBatcher batcher = new AIEngineBatcher(restTemplate, limiter, batching, 8, 20, 10_000,
+                engine.url("/summarize/batch"), engine.url("/keywords/batch"));
+        return new AIEngineService(
+                restTemplate,
+                connectionManager,
+                cache,
+                batcher,
+                limiter,
+                engine.url("/summarize/"),
+                engine.url("/keywords/"),
+                engine.url("/entities/"),
+                chunkExecutor,
+                true,
+                true,
+                chunkChars,
+                chunkTimeoutMs);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        chunkExecutor.shutdownNow();
+        httpClient.close();
+        engine.close();
+    }
+
+    @Test
+    void callsConfiguredEndpointsOverPooledConnections() {
+        String summary = aiEngineService.getSummary("Some document text");
+        List<Map<String, Object>> keywords = aiEngineService.getKeywords("Some document text", 5);
+        Map<String, Object> entities = aiEngineService.getEntities(
+                "Some document text", List.of(), false, false, false, false, false);
+
+        assertEquals("summary of 18 chars", summary);
+        assertEquals("alpha", keywords.get(0).get("keyword"));
+        assertTrue(entities.containsKey("ORG"));
+
+        // Keep-alive: the connection is returned to the pool instead of being closed
+        Map<String, Object> pool = aiEngineService.getPoolStats();
+        assertEquals(0, pool.get("leased"));
+        assertEquals(1, pool.get("available"));
+    }
+
+    @Test
+    void slowEngineHitsReadTimeoutInsteadOfHanging() {
+        engine.setLatencyMs(2_000);
+
+        long start = System.nanoTime();
+        String summary = aiEngineService.getSummary("Some document text");
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(summary.startsWith("Error while calling AI Engine /summarize"));
+        assertTrue(elapsedMs < 1_500, "Call should fail at the read timeout but took " + elapsedMs + " ms");
+    }
+
+    @Test
+    void repeatedAnalysesAreServedFromCache() {
+        aiEngineService.getSummary("Quarterly   report\n text");
+        aiEngineService.getSummary("Quarterly report text");
+        aiEngineService.getKeywords("Quarterly report text", 10);
+        aiEngineService.extractKeywords("Quarterly report text");
+        aiEngineService.getKeywords("Quarterly report text", 5);
+
+        // summary once, keywords once for top_k=10 (shared with extractKeywords), once for top_k=5
+        assertEquals(3, engine.getRequestCount());
+        Map<String, Object> stats = aiEngineService.getCacheStats();
+        assertEquals(2L, stats.get("hits"));
+        assertEquals(3L, stats.get("misses"));
+    }
+
+    @Test
+    void errorResultsAreNotCached() {
+        engine.setLatencyMs(700);
+        aiEngineService.getSummary("Some document text");
+        engine.setLatencyMs(0);
+
+        assertEquals("summary of 18 chars", aiEngineService.getSummary("Some document text"));
+    }
+
+    @Test
+    void diskTierSurvivesRestart(@TempDir Path cacheDir) {
+        newService(new AIResultCache(1_000_000, 60, true, cacheDir.toString(), 1_000_000_000)).getSummary("Persisted text");
+        int callsBeforeRestart = engine.getRequestCount();
+
+        AIResultCache restartedCache = new AIResultCache(1_000_000, 60, true, cacheDir.toString(), 1_000_000_000);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        restartedCache.bindTo(registry);
+        AIEngineService restarted = newService(restartedCache);
+        assertEquals("summary of 14 chars", restarted.getSummary("Persisted text"));
+        assertEquals("summary of 14 chars", restarted.getSummary("Persisted text"));
+        assertEquals(callsBeforeRestart, engine.getRequestCount());
+
+        // One hit from each tier, and the disk hit is not also counted as a miss
+        Map<String, Object> stats = restarted.getCacheStats();
+        assertEquals(1L, stats.get("diskHits"));
+        assertEquals(1L, stats.get("memoryHits"));
+        assertEquals(0L, stats.get("misses"));
+        assertEquals(2.0, registry.get("cache.gets").tag("result", "hit").functionCounter().count());
+        assertEquals(0.0, registry.get("cache.gets").tag("result", "miss").functionCounter().count());
+    }
+
+    @Test
+    void diskTierDeletesLeastRecentlyUsedEntriesOverItsLimit(@TempDir Path cacheDir) throws Exception {
+        // Arrange: a temp file left by an interrupted write, and room for about two entries
+        Path leftover = Files.createFile(cacheDir.resolve("summary-interrupted.tmp"));
+        AIResultCache cache = new AIResultCache(1_000_000, 60, true, cacheDir.toString(), 150);
+        TypeReference<String> type = new TypeReference<>() { };
+        Supplier<String> entry = () -> "x".repeat(60);
+
+        // Act: a, b, read a, then c pushes out b, the least recently used
+        cache.get("summary", "a", "", type, entry, v -> true);
+        cache.get("summary", "b", "", type, entry, v -> true);
+        cache.invalidateAll();
+        cache.get("summary", "a", "", type, entry, v -> true);
+        cache.get("summary", "c", "", type, entry, v -> true);
+
+        // Assert
+        assertFalse(Files.exists(leftover));
+        assertTrue(Files.exists(cacheDir.resolve(AIResultCache.key("summary", "a", "") + ".json")));
+        assertFalse(Files.exists(cacheDir.resolve(AIResultCache.key("summary", "b", "") + ".json")));
+        assertTrue(Files.exists(cacheDir.resolve(AIResultCache.key("summary", "c", "") + ".json")));
+        Map<String, Object> stats = cache.getStats();
+        assertEquals(2, stats.get("diskEntries"));
+        assertEquals(1L, stats.get("diskEvictions"));
+        assertTrue((long) stats.get("diskBytes") <= 150);
+    }
+
+    @Test
+    void cachedResultsCannotBeChangedByCallers() {
+        // Arrange
+        List<Map<String, Object>> keywords = aiEngineService.getKeywords("Quarterly report text", 5);
+
+        // Act / Assert: the instance every later caller gets back is read-only, nested maps too
+        assertThrows(UnsupportedOperationException.class, keywords::clear);
+        assertThrows(UnsupportedOperationException.class, () -> keywords.get(0).put("keyword", "changed"));
+        assertEquals("alpha", aiEngineService.getKeywords("Quarterly report text", 5).get(0).get("keyword"));
+    }
+
+    @Test
+    void batchingCoalescesConcurrentCallsAndRaisesThroughput() throws Exception {
+        engine.setLatencyMs(20);
+        engine.setPerItemLatencyMs(2);
+        AIEngineService batched = newService(new AIResultCache(1_000_000, 60, false, null, 1_000_000_000), true);
+
+        long unbatchedMs = timeConcurrentSummaries(aiEngineService, "plain");
+        int unbatchedRequests = engine.getRequestCount();
+
+        long batchedMs = timeConcurrentSummaries(batched, "batched");
+        int batchedRequests = engine.getRequestCount() - unbatchedRequests;
+
+        assertEquals(32, unbatchedRequests);
+        assertTrue(batchedRequests <= 8, "32 calls should fit in a few batches but took " + batchedRequests);
+        assertTrue(batchedMs * 2 < unbatchedMs,
+                "Batched run took " + batchedMs + " ms vs " + unbatchedMs + " ms unbatched");
+        assertTrue((double) ((Map<?, ?>) batched.getBatchStats().get("summarize")).get("avgBatchSize") > 1.0);
+    }
+
+    @Test
+    void batchedCallerGivesUpAtWaitTimeout() {
+        engine.setLatencyMs(1_500);
+        AIEngineLimiter limiter = new AIEngineLimiter(true, 8, 1, 8, 20_000, 100, 2_000, 10_000,
+                new SimpleMeterRegistry());
+        AIEngineBatcher batcher = new AIEngineBatcher(AIEngineClientConfig.restTemplate(httpClient, 2_000), limiter,
+                true, 8, 20, 200, engine.url("/summarize/batch"), engine.url("/keywords/batch"));
+
+        TimeoutException timeout = assertThrows(TimeoutException.class, () -> batcher.summarize("Some document text"));
+        assertTrue(timeout.getMessage().contains("within 200 ms"));
+    }
+
+    @Test
+    void longDocumentsAreSummarizedChunkByChunkAndReduced() {
+        AIEngineService chunked = newService(new AIResultCache(1_000_000, 60, false, null, 1_000_000_000), false, 200);
+        List<String> paragraphs = new ArrayList<>();
+        for (char section = 'A'; section <= 'F'; section++) {
+            paragraphs.add(paragraph(section));
+        }
+
+        // Six 150-char paragraphs become six chunks; their 20-char summaries are reduced in one call
+        String summary = chunked.getSummary(String.join("\n\n", paragraphs));
+        assertEquals("summary of 130 chars", summary);
+        assertEquals(7, engine.getRequestCount());
+
+        // Only the edited chunk and the reduce step go back to the engine
+        paragraphs.set(2, paragraphs.get(2) + "!");
+        chunked.getSummary(String.join("\n\n", paragraphs));
+        assertEquals(9, engine.getRequestCount());
+    }
+
+    @Test
+    void failedChunkFailsTheWholeSummary() {
+        AIEngineService chunked = newService(new AIResultCache(1_000_000, 60, false, null, 1_000_000_000), false, 200);
+        engine.setLatencyMs(700);
+
+        String summary = chunked.getSummary(paragraph('A') + "\n\n" + paragraph('B'));
+
+        assertTrue(summary.startsWith("Error while calling AI Engine /summarize: chunk "), summary);
+    }
+
+    @Test
+    void chunkedCallsGiveUpAtTheChunkDeadline() {
+        // Arrange
+        AIEngineService chunked = newService(new AIResultCache(1_000_000, 60, false, null, 1_000_000_000), false, 200,
+                new AIEngineLimiter(true, 8, 1, 8, 20_000, 100, 2_000, 10_000, new SimpleMeterRegistry()), 300);
+        engine.setLatencyMs(1_000);
+        String content = paragraph('A') + "\n\n" + paragraph('B');
+
+        // Act
+        long start = System.nanoTime();
+        String summary = chunked.getSummary(content);
+        Map<String, Object> entities = chunked.getEntities(content, List.of(), false, false, false, false, false);
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        // Assert
+        assertTrue(summary.contains("timed out after 300 ms"), summary);
+        assertTrue(String.valueOf(entities.get("error")).contains("timed out after 300 ms"), entities.toString());
+        assertTrue(elapsedMs < 1_500, "Chunk waits should stop at the deadline but took " + elapsedMs + " ms");
+    }
+
+    @Test
+    void saturatedEngineRejectsInsteadOfQueueingWithoutBound() throws Exception {
+        engine.setLatencyMs(300);
+        // One call at a time and no wait queue
+        AIEngineService limited = newService(new AIResultCache(1_000_000, 60, false, null, 1_000_000_000), false, 4_000,
+                new AIEngineLimiter(true, 1, 1, 1, 20_000, 0, 2_000, 2_000, new SimpleMeterRegistry()));
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> first = callers.submit(() -> limited.getSummary("first document"));
+            Thread.sleep(100);
+
+            long start = System.nanoTime();
+            Future<String> second = callers.submit(() -> limited.getSummary("second document"));
+            ExecutionException rejected = assertThrows(ExecutionException.class, second::get);
+            long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+            assertTrue(rejected.getCause() instanceof AIEngineSaturatedException);
+            assertTrue(elapsedMs < 150, "Rejection should be immediate but took " + elapsedMs + " ms");
+            assertEquals("summary of 14 chars", first.get());
+            assertEquals(1L, ((Map<?, ?>) limited.getLimiterStats().get("summarize")).get("rejected"));
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    private static String paragraph(char section) {
+        return ("Section " + section + " covers revenue, margin and growth. ").repeat(5).substring(0, 149) + ".";
+    }
+
+    private long timeConcurrentSummaries(AIEngineService service, String prefix) throws Exception {
+        ExecutorService callers = Executors.newFixedThreadPool(32);
+        try {
+            long start = System.nanoTime();
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 32; i++) {
+                String text = prefix + " document number " + i;
+                results.add(callers.submit(() -> service.getSummary(text)));
+            }
+            for (int i = 0; i < 32; i++) {
+                String expected = "summary of " + (prefix + " document number " + i).length() + " chars";
+                assertEquals(expected, results.get(i).get());
+            }
+            return (System.nanoTime() - start) / 1_000_000;
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+}
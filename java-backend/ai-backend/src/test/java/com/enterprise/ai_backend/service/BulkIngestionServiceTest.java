@@ -0,0 +1,143 @@
+package com.enterprise.ai_backend.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import org.apache.tika.config.TikaConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.enterprise.ai_backend.dto.BulkIngestionReportDTO;
+import com.enterprise.ai_backend.dto.BulkIngestionResultDTO;
+import com.enterprise.ai_backend.model.DocumentEntity;
+import com.enterprise.ai_backend.parser.PdfDocumentParser;
+import com.enterprise.ai_backend.parser.PlainTextDocumentParser;
+import com.enterprise.ai_backend.parser.TikaDocumentParser;
+import com.enterprise.ai_backend.repository.DocumentRepository;
+import com.enterprise.ai_backend.search.NearDuplicateIndex;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class BulkIngestionServiceTest {
+
+    private final DocumentService documentService = mock(DocumentService.class);
+    private BulkIngestionService bulkIngestionService;
+
+    @BeforeEach
+    void setUp() {
+        bulkIngestionService = new BulkIngestionService(documentService, new FileParserService(
+                List.of(new PdfDocumentParser(), new PlainTextDocumentParser(), new TikaDocumentParser()),
+                TikaConfig.getDefaultConfig(), 5_000_000, new SimpleMeterRegistry()),
+                new NearDuplicateService(mock(DocumentRepository.class), new NearDuplicateIndex(), 0.8, "skip", 500), 3, 2);
+
+        AtomicLong ids = new AtomicLong();
+        when(documentService.existsByFileName(anyString())).thenReturn(false);
+        when(documentService.existsByFileName(eq("docs/existing.txt"))).thenReturn(true);
+        when(documentService.enrich(anyString(), anyString(), any())).thenAnswer(inv ->
+                new DocumentEntity(inv.getArgument(0), inv.getArgument(1), "summary"));
+        when(documentService.saveAllAndIndex(anyList())).thenAnswer(inv -> {
+            List<DocumentEntity> docs = inv.getArgument(0);
+            docs.forEach(d -> d.setId(ids.incrementAndGet()));
+            return docs;
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        bulkIngestionService.shutdown();
+    }
+
+    @Test
+    void ingest_streamsArchiveEntriesAndPlainFiles() throws IOException {
+        // Arrange
+        MockMultipartFile archive = new MockMultipartFile("files", "corpus.zip", "application/zip", zip(Map.of(
+                "docs/a.txt", "First document",
+                "docs/b.txt", "Second document",
+                "docs/c.txt", "Third document",
+                "docs/existing.txt", "Already stored",
+                "docs/image.png", "not a document")));
+        MockMultipartFile plain = new MockMultipartFile("files", "d.txt", "text/plain",
+                "Fourth document".getBytes(StandardCharsets.UTF_8));
+
+        // Act
+        BulkIngestionReportDTO report = bulkIngestionService.ingest(new MultipartFile[] {archive, plain});
+
+        // Assert
+        Map<String, BulkIngestionResultDTO> byName = report.getResults().stream()
+                .collect(Collectors.toMap(BulkIngestionResultDTO::getFileName, r -> r));
+        assertEquals(6, report.getTotal());
+        assertEquals(4, report.getCreated());
+        assertEquals(1, report.getSkipped());
+        assertEquals(1, report.getFailed());
+        assertEquals("CREATED", byName.get("docs/a.txt").getStatus());
+        assertNotNull(byName.get("d.txt").getDocumentId());
+        assertEquals("FAILED", byName.get("docs/image.png").getStatus());
+        assertEquals("SKIPPED", byName.get("docs/existing.txt").getStatus());
+
+        // Four new documents with batch size 2 -> saved in batches, not one by one
+        verify(documentService, atLeast(2)).saveAllAndIndex(anyList());
+    }
+
+    @Test
+    void ingest_clashInABatchSkipsOnlyTheClashingFile() throws IOException {
+        // Arrange: a concurrent upload stored "docs/b.txt" after the existence check
+        when(documentService.saveAllAndIndex(anyList())).thenAnswer(inv -> {
+            List<DocumentEntity> docs = inv.getArgument(0);
+            if (docs.stream().anyMatch(d -> d.getFileName().equals("docs/b.txt"))) {
+                docs.forEach(d -> d.setId(-1L));
+                throw new DataIntegrityViolationException("duplicate key value violates unique constraint");
+            }
+            docs.forEach(d -> d.setId(100L + d.getFileName().charAt(5)));
+            return docs;
+        });
+        MockMultipartFile archive = new MockMultipartFile("files", "corpus.zip", "application/zip", zip(Map.of(
+                "docs/a.txt", "First document",
+                "docs/b.txt", "Second document")));
+
+        // Act
+        BulkIngestionReportDTO report = bulkIngestionService.ingest(new MultipartFile[] {archive});
+
+        // Assert
+        Map<String, BulkIngestionResultDTO> byName = report.getResults().stream()
+                .collect(Collectors.toMap(BulkIngestionResultDTO::getFileName, r -> r));
+        assertEquals("CREATED", byName.get("docs/a.txt").getStatus());
+        assertEquals(100L + 'a', byName.get("docs/a.txt").getDocumentId());
+        assertEquals("SKIPPED", byName.get("docs/b.txt").getStatus());
+        assertEquals(1, report.getCreated());
+        assertEquals(1, report.getSkipped());
+        assertEquals(0, report.getFailed());
+    }
+
+    private static byte[] zip(Map<String, String> entries) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(bytes)) {
+            for (Map.Entry<String, String> entry : entries.entrySet()) {
+                zip.putNextEntry(new ZipEntry(entry.getKey()));
+                zip.write(entry.getValue().getBytes(StandardCharsets.UTF_8));
+                zip.closeEntry();
+            }
+        }
+        return bytes.toByteArray();
+    }
+}
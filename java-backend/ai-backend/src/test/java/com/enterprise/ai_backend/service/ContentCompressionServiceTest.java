@@ -0,0 +1,149 @@
+package com.enterprise.ai_backend.service;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import static org.mockito.Mockito.mock;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.enterprise.ai_backend.config.StorageConfig;
+import com.enterprise.ai_backend.dto.DocumentSummaryDTO;
+import com.enterprise.ai_backend.model.DocumentEntity;
+import com.enterprise.ai_backend.repository.DocumentRepository;
+import com.enterprise.ai_backend.search.InvertedIndex;
+import com.enterprise.ai_backend.search.NearDuplicateIndex;
+import com.enterprise.ai_backend.search.TrigramIndex;
+import com.enterprise.ai_backend.util.ContentCompression;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DataJpaTest
+@Import(StorageConfig.class)
+class ContentCompressionServiceTest {
+
+    private static final String LONG_TEXT = "Quarterly revenue grew in every region. Ünïcödé stays intact. ".repeat(200);
+
+    @Autowired
+    private DocumentRepository documentRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ContentCompression compression;
+
+    @Test
+    void compressedContentRoundTripsThroughTheDatabase() {
+        // Arrange
+        DocumentEntity saved = documentRepository.save(new DocumentEntity("report.txt", LONG_TEXT, "summary"));
+        DocumentEntity small = documentRepository.save(new DocumentEntity("note.txt", "short note", "summary"));
+        entityManager.flush();
+        entityManager.clear();
+
+        // Act
+        DocumentEntity loaded = documentRepository.findById(saved.getId()).orElseThrow();
+        DocumentEntity loadedSmall = documentRepository.findById(small.getId()).orElseThrow();
+
+        // Assert
+        assertTrue(loaded.isContentCompressed());
+        assertEquals(LONG_TEXT, loaded.getContent());
+        assertEquals(LONG_TEXT.length(), loaded.getContentLength());
+        assertTrue(loaded.getStoredContentBytes() < LONG_TEXT.length() / 4);
+        assertFalse(loadedSmall.isContentCompressed());
+        assertEquals("short note", loadedSmall.getContent());
+    }
+
+    @Test
+    void migrateCompressesRowsStoredAsPlainText() {
+        // Arrange: rows written before compression and content_length existed
+        insertLegacyRow("legacy.txt", LONG_TEXT);
+        insertLegacyRow("tiny.txt", "tiny");
+        DocumentEntity edited = documentRepository.save(new DocumentEntity("edited.txt", "edited", "summary"));
+        entityManager.flush();
+        ContentCompressionService service = new ContentCompressionService(documentRepository, compression, 1);
+
+        // Act
+        ContentCompressionService.Result result = service.migrate();
+        entityManager.flush();
+        entityManager.clear();
+
+        // Assert
+        assertEquals(1, result.documents());
+        assertTrue(result.compressedBytes() < result.plainBytes());
+        DocumentEntity loaded = documentRepository.findByFileName("legacy.txt").get(0);
+        assertTrue(loaded.isContentCompressed());
+        assertEquals(LONG_TEXT, loaded.getContent());
+        assertEquals(LONG_TEXT.length(), loaded.getContentLength());
+        assertEquals("summary", loaded.getSummary());
+        DocumentEntity tiny = documentRepository.findByFileName("tiny.txt").get(0);
+        assertFalse(tiny.isContentCompressed());
+        assertEquals(4, tiny.getContentLength());
+        assertEquals("edited", documentRepository.findById(edited.getId()).orElseThrow().getContent());
+        assertEquals(0, service.migrate().documents());
+    }
+
+    @Test
+    void searchMatchesCompressedContentThroughTheIndex() {
+        // Arrange: SQL LIKE cannot see inside content_lz4
+        DocumentEntity compressed = documentRepository.save(new DocumentEntity("report.txt", LONG_TEXT, "summary"));
+        DocumentEntity plain = documentRepository.save(new DocumentEntity("memo.txt", "revenue memo", "summary"));
+        DocumentEntity unrelated = documentRepository.save(
+                new DocumentEntity("other.txt", "Nothing to see here. ".repeat(100), "summary"));
+        entityManager.flush();
+        entityManager.clear();
+        ElasticService elasticService = new ElasticService(documentRepository, new InvertedIndex(),
+                new TrigramIndex(), mock(FullTextSearchService.class));
+        List.of(compressed, plain, unrelated).forEach(elasticService::indexDocument);
+        DocumentService documentService = new DocumentService(documentRepository, null, null, elasticService,
+                new NearDuplicateService(documentRepository, new NearDuplicateIndex(), 0.8, "flag", 500),
+                mock(FullTextSearchService.class), mock(TermService.class), mock(SemanticSearchService.class),
+                new PipelineMetrics(new SimpleMeterRegistry()), null, 1_000, 50, 200);
+
+        // Act
+        List<DocumentSummaryDTO> results = documentService.searchDocumentsByFileNameContentOrSummary("Evenue");
+
+        // Assert
+        assertEquals(List.of("memo.txt", "report.txt"),
+                results.stream().map(DocumentSummaryDTO::getFileName).toList());
+    }
+
+    @Test
+    void shortQueriesMatchCompressedContentButNotFileNamesInIndexSearch() {
+        // Arrange: two characters are too few for the trigram index
+        DocumentEntity compressed = documentRepository.save(new DocumentEntity("report.txt", LONG_TEXT, "summary"));
+        documentRepository.save(new DocumentEntity("evening.txt", "Nothing to see here. ".repeat(100), "summary"));
+        entityManager.flush();
+        entityManager.clear();
+        ElasticService elasticService = new ElasticService(documentRepository, new InvertedIndex(),
+                new TrigramIndex(), mock(FullTextSearchService.class));
+        DocumentService documentService = new DocumentService(documentRepository, null, null, elasticService,
+                new NearDuplicateService(documentRepository, new NearDuplicateIndex(), 0.8, "flag", 500),
+                mock(FullTextSearchService.class), mock(TermService.class), mock(SemanticSearchService.class),
+                new PipelineMetrics(new SimpleMeterRegistry()), null, 1_000, 50, 200);
+
+        // Act
+        List<String> indexResults = elasticService.search("EV");
+        List<DocumentSummaryDTO> results = documentService.searchDocumentsByFileNameContentOrSummary("ev");
+
+        // Assert: /api/search reads content and summary only; document search also reads file names
+        assertTrue(documentRepository.findById(compressed.getId()).orElseThrow().isContentCompressed());
+        assertEquals(List.of("📄 report.txt → summary"), indexResults);
+        assertEquals(List.of("evening.txt", "report.txt"),
+                results.stream().map(DocumentSummaryDTO::getFileName).sorted().toList());
+    }
+
+    private void insertLegacyRow(String fileName, String content) {
+        jdbcTemplate.update("INSERT INTO documents (file_name, content, summary, created_at) "
+                + "VALUES (?, ?, 'summary', CURRENT_TIMESTAMP)", fileName, content);
+    }
+}
@@ -0,0 +1,298 @@
+package com.enterprise.ai_backend.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import org.mockito.Mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.mock.web.MockMultipartFile;
+
+import com.enterprise.ai_backend.model.DocumentEntity;
+import com.enterprise.ai_backend.repository.DocumentRepository;
+import com.enterprise.ai_backend.search.MinHash;
+import com.enterprise.ai_backend.search.NearDuplicateIndex;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class DocumentServicePipelineTest {
+
+    @Mock
+    private DocumentRepository documentRepository;
+
+    @Mock
+    private FileParserService fileParserService;
+
+    @Mock
+    private AIEngineService aiEngineService;
+
+    @Mock
+    private ElasticService elasticService;
+
+    @Mock
+    private FullTextSearchService fullTextSearchService;
+
+    @Mock
+    private TermService termService;
+
+    @Mock
+    private SemanticSearchService semanticSearchService;
+
+    private ExecutorService executor;
+    private SimpleMeterRegistry meterRegistry;
+    private AutoCloseable mocks;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        mocks = MockitoAnnotations.openMocks(this);
+        executor = Executors.newFixedThreadPool(4);
+        meterRegistry = new SimpleMeterRegistry();
+
+        when(documentRepository.findByFileName(anyString())).thenReturn(List.of());
+        when(documentRepository.save(any(DocumentEntity.class))).thenAnswer(inv -> {
+            DocumentEntity doc = inv.getArgument(0);
+            doc.setId(1L);
+            return doc;
+        });
+        when(fileParserService.parse(any())).thenReturn("Parsed content");
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        executor.shutdownNow();
+        mocks.close();
+    }
+
+    @Test
+    void processAndSave_runsStagesConcurrently() throws Exception {
+        // Arrange: each stage waits until all three are running, which only happens if they overlap
+        CountDownLatch running = new CountDownLatch(3);
+        List<Boolean> overlapped = new CopyOnWriteArrayList<>();
+        when(aiEngineService.getSummary(anyString())).thenAnswer(inv -> {
+            overlapped.add(awaitOthers(running));
+            return "A summary";
+        });
+        when(aiEngineService.getKeywords(anyString(), anyInt())).thenAnswer(inv -> {
+            overlapped.add(awaitOthers(running));
+            return List.of(Map.of("keyword", "alpha"), Map.of("keyword", "beta"), Map.of("keyword", "alpha"));
+        });
+        when(aiEngineService.getEntities(anyString(), anyList(), anyBoolean(), anyBoolean(),
+                anyBoolean(), anyBoolean(), anyBoolean())).thenAnswer(inv -> {
+            overlapped.add(awaitOthers(running));
+            return Map.of("ORG", List.of(Map.of("text", "Acme")));
+        });
+        DocumentService service = newService(5_000);
+
+        // Act
+        DocumentEntity saved = service.processAndSave(upload());
+
+        // Assert: no stage had to wait for another one to finish first
+        assertEquals(List.of(true, true, true), overlapped);
+        assertEquals("A summary", saved.getSummary());
+        assertEquals("alpha, beta", saved.getKeywords());
+        assertEquals("Acme", saved.getEntities());
+    }
+
+    private static boolean awaitOthers(CountDownLatch running) throws InterruptedException {
+        running.countDown();
+        return running.await(2, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void processAndSave_degradesWhenStagesTimeOut() throws Exception {
+        // Arrange: keywords and entities hang past the stage timeout
+        when(aiEngineService.getSummary(anyString())).thenReturn("A summary");
+        when(aiEngineService.getKeywords(anyString(), anyInt())).thenAnswer(inv -> {
+            Thread.sleep(5_000);
+            return List.of(Map.of("keyword", "late"));
+        });
+        when(aiEngineService.getEntities(anyString(), anyList(), anyBoolean(), anyBoolean(),
+                anyBoolean(), anyBoolean(), anyBoolean())).thenThrow(new IllegalStateException("boom"));
+        DocumentService service = newService(200);
+
+        // Act
+        DocumentEntity saved = service.processAndSave(upload());
+
+        // Assert
+        assertEquals("A summary", saved.getSummary());
+        assertEquals("", saved.getKeywords());
+        assertEquals("", saved.getEntities());
+        assertEquals(1.0, meterRegistry.get("ingestion.stage.errors")
+                .tags("stage", "keywords", "reason", "timeout").counter().count());
+        assertEquals(1.0, meterRegistry.get("ingestion.stage.errors")
+                .tags("stage", "entities", "reason", "error").counter().count());
+    }
+
+    @Test
+    void processAndSave_skipsStagesTheSaturatedPoolRejects() throws Exception {
+        // Arrange: one thread busy with the summary and one queue slot, taken by keywords
+        executor.shutdownNow();
+        executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1),
+                new ThreadPoolExecutor.AbortPolicy());
+        when(aiEngineService.getSummary(anyString())).thenAnswer(inv -> {
+            Thread.sleep(300);
+            return "A summary";
+        });
+        when(aiEngineService.getKeywords(anyString(), anyInt())).thenReturn(List.of(Map.of("keyword", "alpha")));
+        DocumentService service = newService(5_000);
+
+        // Act
+        DocumentEntity saved = service.processAndSave(upload());
+
+        // Assert: the rejected stages are skipped, not run on the uploading thread
+        assertEquals("A summary", saved.getSummary());
+        assertEquals("alpha", saved.getKeywords());
+        assertEquals("", saved.getEntities());
+        verify(aiEngineService, never()).getEntities(anyString(), anyList(), anyBoolean(), anyBoolean(),
+                anyBoolean(), anyBoolean(), anyBoolean());
+        verify(semanticSearchService, never()).embed(anyString());
+        assertEquals(1.0, meterRegistry.get("ingestion.stage.errors")
+                .tags("stage", "entities", "reason", "rejected").counter().count());
+        assertEquals(1.0, meterRegistry.get("ingestion.stage.errors")
+                .tags("stage", "embedding", "reason", "rejected").counter().count());
+    }
+
+    @Test
+    void processAndSave_timesEveryStage() throws Exception {
+        // Arrange
+        when(aiEngineService.getSummary(anyString())).thenAnswer(inv -> {
+            Thread.sleep(50);
+            return "A summary";
+        });
+        when(aiEngineService.getKeywords(anyString(), anyInt())).thenReturn(List.of(Map.of("keyword", "alpha")));
+        when(aiEngineService.getEntities(anyString(), anyList(), anyBoolean(), anyBoolean(),
+                anyBoolean(), anyBoolean(), anyBoolean())).thenReturn(Map.of());
+        DocumentService service = newService(5_000);
+
+        // Act
+        service.processAndSave(upload());
+
+        // Assert
+        for (String stage : List.of("parse", "summary", "keywords", "entities", "embedding", "save", "index")) {
+            assertEquals(1, meterRegistry.get("ingestion.stage").tag("stage", stage).timer().count(), stage);
+        }
+        assertTrue(meterRegistry.get("ingestion.stage").tag("stage", "summary").timer()
+                .totalTime(TimeUnit.MILLISECONDS) >= 50);
+        assertTrue(meterRegistry.find("ingestion.stage.errors").counters().isEmpty());
+    }
+
+    @Test
+    void processAndSave_nearDuplicateIsSkippedBeforeEnrichment() throws Exception {
+        // Arrange: an earlier document with almost the same text is already indexed
+        String original = "The quarterly revenue report shows strong growth in every region and "
+                + "a steady improvement of operating margins across all product lines this year.";
+        NearDuplicateIndex index = new NearDuplicateIndex();
+        index.add(7L, MinHash.signature(original));
+        DocumentEntity stored = new DocumentEntity("q3-report.txt", original, "Summary");
+        stored.setId(7L);
+        when(documentRepository.findById(7L)).thenReturn(Optional.of(stored));
+        when(fileParserService.parse(any())).thenReturn(original + " Thanks.");
+        DocumentService service = new DocumentService(documentRepository, fileParserService, aiEngineService,
+                elasticService, new NearDuplicateService(documentRepository, index, 0.8, "skip", 500),
+                fullTextSearchService, termService, semanticSearchService, new PipelineMetrics(meterRegistry),
+                executor, 5_000, 50, 200);
+
+        // Act
+        DocumentEntity result = service.processAndSave(upload());
+
+        // Assert
+        assertEquals(7L, result.getId());
+        verifyNoInteractions(aiEngineService);
+    }
+
+    @Test
+    void processAndSave_concurrentIdenticalUploadsShareOneIngestion() throws Exception {
+        // Arrange: a slow parse keeps the first upload in flight while the others arrive
+        Map<String, DocumentEntity> byHash = new ConcurrentHashMap<>();
+        when(documentRepository.findFirstByContentHash(anyString()))
+                .thenAnswer(inv -> Optional.ofNullable(byHash.get(inv.<String>getArgument(0))));
+        when(documentRepository.save(any(DocumentEntity.class))).thenAnswer(inv -> {
+            DocumentEntity doc = inv.getArgument(0);
+            doc.setId(1L);
+            byHash.put(doc.getContentHash(), doc);
+            return doc;
+        });
+        when(fileParserService.parse(any())).thenAnswer(inv -> {
+            Thread.sleep(200);
+            return "Parsed content";
+        });
+        when(aiEngineService.getSummary(anyString())).thenReturn("A summary");
+        when(aiEngineService.getKeywords(anyString(), anyInt())).thenReturn(List.of());
+        DocumentService service = newService(5_000);
+        ExecutorService uploaders = Executors.newFixedThreadPool(8);
+
+        try {
+            // Act
+            List<Future<DocumentEntity>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(uploaders.submit(() -> service.processAndSave(upload())));
+            }
+
+            // Assert: every caller gets the same document, and the work ran once
+            for (Future<DocumentEntity> result : results) {
+                assertEquals(1L, result.get(5, TimeUnit.SECONDS).getId());
+            }
+            verify(fileParserService, times(1)).parse(any());
+            verify(aiEngineService, times(1)).getSummary(anyString());
+            verify(documentRepository, times(1)).save(any(DocumentEntity.class));
+        } finally {
+            uploaders.shutdownNow();
+        }
+    }
+
+    @Test
+    void processAndSave_returnsWinnerWhenInsertLosesRace() throws Exception {
+        // Arrange: another instance inserted the same file between our check and our insert
+        DocumentEntity winner = new DocumentEntity("report.txt", "Parsed content", "Their summary");
+        winner.setId(99L);
+        when(documentRepository.save(any(DocumentEntity.class)))
+                .thenThrow(new DataIntegrityViolationException("duplicate key value violates unique constraint"));
+        when(documentRepository.findFirstByContentHash(anyString()))
+                .thenReturn(Optional.empty(), Optional.empty(), Optional.of(winner));
+        when(aiEngineService.getSummary(anyString())).thenReturn("A summary");
+        when(aiEngineService.getKeywords(anyString(), anyInt())).thenReturn(List.of());
+
+        // Act
+        DocumentEntity result = newService(5_000).processAndSave(upload());
+
+        // Assert
+        assertEquals(99L, result.getId());
+    }
+
+    private DocumentService newService(long stageTimeoutMs) {
+        return new DocumentService(documentRepository, fileParserService, aiEngineService, elasticService,
+                new NearDuplicateService(documentRepository, new NearDuplicateIndex(), 0.8, "flag", 500),
+                fullTextSearchService, termService, semanticSearchService, new PipelineMetrics(meterRegistry),
+                executor, stageTimeoutMs, 50, 200);
+    }
+
+    private MockMultipartFile upload() {
+        return new MockMultipartFile("file", "report.txt", "text/plain", "Parsed content".getBytes());
+    }
+}
@@ -0,0 +1,140 @@
+package com.enterprise.ai_backend.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.springframework.web.client.RestTemplate;
+
+import com.enterprise.ai_backend.config.AIEngineClientConfig;
+import com.enterprise.ai_backend.dto.DocumentUpdateDTO;
+import com.enterprise.ai_backend.model.DocumentEntity;
+import com.enterprise.ai_backend.repository.DocumentRepository;
+import com.enterprise.ai_backend.search.HashingEmbedder;
+import com.enterprise.ai_backend.search.NearDuplicateIndex;
+import com.enterprise.ai_backend.support.StubAIEngine;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class DocumentServiceUpdateTest {
+
+    private final DocumentRepository documentRepository = mock(DocumentRepository.class);
+    private final ElasticService elasticService = mock(ElasticService.class);
+    private final TermService termService = mock(TermService.class);
+
+    private StubAIEngine engine;
+    private CloseableHttpClient httpClient;
+    private ExecutorService executor;
+    private ExecutorService chunkExecutor;
+    private DocumentService documentService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        engine = new StubAIEngine();
+        PoolingHttpClientConnectionManager connectionManager = AIEngineClientConfig.connectionManager(8, 8, 1_000, 500);
+        httpClient = AIEngineClientConfig.httpClient(connectionManager, 1_000, 2_000, 30_000);
+        RestTemplate restTemplate = AIEngineClientConfig.restTemplate(httpClient, 2_000);
+        executor = Executors.newFixedThreadPool(8);
+        chunkExecutor = Executors.newFixedThreadPool(4);
+        AIEngineLimiter limiter = new AIEngineLimiter(true, 8, 1, 8, 20_000, 100, 2_000, 10_000,
+                new SimpleMeterRegistry());
+        AIEngineService aiEngineService = new AIEngineService(restTemplate, connectionManager,
+                new AIResultCache(10_000_000, 60, false, null, 1_000_000_000),
+                new AIEngineBatcher(restTemplate, limiter, false, 8, 20, 10_000,
+                        engine.url("/summarize/batch"), engine.url("/keywords/batch")),
+                limiter,
+                engine.url("/summarize/"), engine.url("/keywords/"), engine.url("/entities/"),
+                chunkExecutor, true, true, 200, 10_000);
+        SemanticSearchService semanticSearchService = new SemanticSearchService(
+                documentRepository, new HashingEmbedder(64), new PipelineMetrics(new SimpleMeterRegistry()), true, 16, 100, 64, 100, 4000, "", 32);
+        documentService = new DocumentService(documentRepository, mock(FileParserService.class), aiEngineService,
+                elasticService, new NearDuplicateService(documentRepository, new NearDuplicateIndex(), 0.8, "flag", 500),
+                mock(FullTextSearchService.class), termService, semanticSearchService,
+                new PipelineMetrics(new SimpleMeterRegistry()), executor, 10_000, 50, 200);
+        when(documentRepository.save(any(DocumentEntity.class))).thenAnswer(inv -> inv.getArgument(0));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        executor.shutdownNow();
+        chunkExecutor.shutdownNow();
+        httpClient.close();
+        engine.close();
+    }
+
+    @Test
+    void editingOneParagraphOnlySendsItsChunksToTheEngine() {
+        // Arrange: forty 150-char paragraphs, enriched as at upload
+        List<String> paragraphs = paragraphs(40);
+        DocumentEntity stored = storedDocument(String.join("\n\n", paragraphs));
+        byte[] embedding = stored.getEmbedding();
+        int uploadRequests = engine.getRequestCount();
+
+        // Act: append to a paragraph past the embedded first 4000 chars
+        paragraphs.set(35, paragraphs.get(35) + " Revised.");
+        DocumentUpdateDTO update = new DocumentUpdateDTO();
+        update.setContent(String.join("\n\n", paragraphs));
+        DocumentEntity updated = documentService.updateDocument(1L, update);
+
+        // Assert
+        int updateRequests = engine.getRequestCount() - uploadRequests;
+        assertTrue(uploadRequests >= 80, "upload took " + uploadRequests + " requests");
+        assertTrue(updateRequests <= 8, "a one-paragraph edit took " + updateRequests + " requests");
+        assertTrue(updated.getSummary().startsWith("summary of "));
+        assertEquals("alpha, beta", updated.getKeywords());
+        assertEquals("Acme", updated.getEntities());
+        assertSame(embedding, updated.getEmbedding());
+        verify(termService).replaceTerms(eq(1L), anyList());
+        verify(elasticService).indexDocument(updated);
+    }
+
+    @Test
+    void renamingLeavesEnrichmentAlone() {
+        // Arrange
+        storedDocument(String.join("\n\n", paragraphs(3)));
+        int uploadRequests = engine.getRequestCount();
+
+        // Act
+        DocumentUpdateDTO update = new DocumentUpdateDTO();
+        update.setFileName("renamed.txt");
+        DocumentEntity updated = documentService.updateDocument(1L, update);
+
+        // Assert
+        assertEquals("renamed.txt", updated.getFileName());
+        assertEquals(uploadRequests, engine.getRequestCount());
+        verify(termService, never()).replaceTerms(any(), anyList());
+    }
+
+    private DocumentEntity storedDocument(String content) {
+        DocumentEntity doc = documentService.enrich("report.txt", content, IngestionProgress.NONE);
+        doc.setId(1L);
+        when(documentRepository.findById(1L)).thenReturn(Optional.of(doc));
+        return doc;
+    }
+
+    private static List<String> paragraphs(int count) {
+        List<String> paragraphs = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            paragraphs.add(String.format("Section %02d reviews revenue, margin and growth. ", i)
+                    .repeat(4).substring(0, 149) + ".");
+        }
+        return paragraphs;
+    }
+}
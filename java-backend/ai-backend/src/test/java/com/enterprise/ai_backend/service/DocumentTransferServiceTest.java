@@ -0,0 +1,150 @@
+package com.enterprise.ai_backend.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.enterprise.ai_backend.config.StorageConfig;
+import com.enterprise.ai_backend.model.DocumentEntity;
+import com.enterprise.ai_backend.repository.DocumentRepository;
+import com.enterprise.ai_backend.search.HashingEmbedder;
+import com.enterprise.ai_backend.search.NearDuplicateIndex;
+import com.enterprise.ai_backend.util.ContentCompression;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DataJpaTest
+@Import(StorageConfig.class)
+class DocumentTransferServiceTest {
+
+    private static final String LONG_TEXT = "Quarterly revenue grew in every region. Ünïcödé stays intact. ".repeat(200);
+
+    @Autowired
+    private DocumentRepository documentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ContentCompression compression;
+
+    private final ElasticService elasticService = mock(ElasticService.class);
+    private final TermService termService = mock(TermService.class);
+    private final SemanticSearchService semanticSearchService = new SemanticSearchService(
+            null, new HashingEmbedder(64), new PipelineMetrics(new SimpleMeterRegistry()), true, 16, 100, 64, 100, 4000, "", 32);
+
+    private DocumentTransferService transferService;
+
+    @BeforeEach
+    void setUp() {
+        NearDuplicateService nearDuplicateService =
+                new NearDuplicateService(documentRepository, new NearDuplicateIndex(), 0.8, "flag", 100);
+        transferService = new DocumentTransferService(documentRepository, jdbcTemplate,
+                entityManager.getEntityManager(), elasticService, nearDuplicateService, termService,
+                semanticSearchService, compression, transactionManager,
+                // Pretty printing as configured in application.properties must not split records
+                Jackson2ObjectMapperBuilder.json().featuresToEnable(SerializationFeature.INDENT_OUTPUT).build(),
+                2);
+    }
+
+    @Test
+    void gzippedExportImportsIntoAnEmptyTable() throws IOException {
+        // Arrange
+        documentRepository.save(document("report.txt", LONG_TEXT, "hash-1"));
+        documentRepository.save(document("note.txt", "short note", "hash-2"));
+        documentRepository.save(document("memo.txt", "line one\nline two", null));
+        entityManager.flush();
+        entityManager.clear();
+        List<DocumentEntity> original = documentRepository.findAll();
+
+        // Act
+        ByteArrayOutputStream exported = new ByteArrayOutputStream();
+        long written = transferService.export(exported, true);
+        documentRepository.deleteAllInBatch();
+        var report = transferService.importDocuments(new ByteArrayInputStream(exported.toByteArray()));
+        entityManager.clear();
+
+        // Assert
+        assertEquals(3, written);
+        String ndjson = new String(new GZIPInputStream(new ByteArrayInputStream(exported.toByteArray())).readAllBytes(),
+                StandardCharsets.UTF_8);
+        assertEquals(3, ndjson.lines().count());
+        assertTrue(ndjson.lines().allMatch(line -> line.startsWith("{\"id\":") && line.endsWith("}")));
+
+        assertEquals(3, report.getImported());
+        assertEquals(0, report.getSkipped() + report.getFailed());
+        for (DocumentEntity before : original) {
+            DocumentEntity after = documentRepository.findByFileName(before.getFileName()).get(0);
+            assertEquals(before.getContent(), after.getContent());
+            assertEquals(before.getSummary(), after.getSummary());
+            assertEquals(before.getCreatedAt(), after.getCreatedAt());
+            assertEquals(before.getContentHash(), after.getContentHash());
+            assertEquals(before.isContentCompressed(), after.isContentCompressed());
+            assertEquals(before.getContent().length(), after.getContentLength());
+        }
+        verify(elasticService, times(3)).indexDocument(any(DocumentEntity.class));
+        verify(termService, times(3)).replaceTerms(any(), anyList());
+    }
+
+    @Test
+    void importSkipsStoredAndRepeatedDocumentsAndReportsBadLines() throws IOException {
+        // Arrange
+        DocumentEntity stored = documentRepository.save(document("a.txt", "alpha", "hash-a"));
+        String ndjson = String.join("\n",
+                "{\"fileName\":\"a.txt\",\"content\":\"same name\"}",
+                "{\"fileName\":\"b.txt\",\"content\":\"same hash\",\"contentHash\":\"hash-a\"}",
+                "{\"fileName\":\"c.txt\",\"content\":\"new\",\"keywords\":\"k1, k2\",\"unknownField\":1}",
+                "{\"fileName\":\"c.txt\",\"content\":\"repeated\"}",
+                "not json",
+                "",
+                "{\"fileName\":\"d.txt\"}");
+
+        // Act
+        var report = transferService.importDocuments(new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)));
+
+        // Assert
+        assertEquals(1, report.getImported());
+        assertEquals(3, report.getSkipped());
+        assertEquals(2, report.getFailed());
+        assertEquals(2, documentRepository.count());
+        DocumentEntity imported = documentRepository.findByFileName("c.txt").get(0);
+        assertEquals("new", imported.getContent());
+        assertFalse(imported.getId().equals(stored.getId()));
+        verify(termService).replaceTerms(eq(imported.getId()), anyList());
+    }
+
+    private static DocumentEntity document(String fileName, String content, String hash) {
+        DocumentEntity doc = new DocumentEntity(fileName, content, "summary of " + fileName, "revenue", "Acme");
+        doc.setContentHash(hash);
+        return doc;
+    }
+}
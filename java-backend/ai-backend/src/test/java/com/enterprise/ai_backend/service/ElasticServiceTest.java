@@ -1,36 +1,71 @@
 package com.enterprise.ai_backend.service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.eq;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.data.domain.Pageable;
 
 import com.enterprise.ai_backend.dto.DocumentResponseDTO;
 import com.enterprise.ai_backend.model.DocumentEntity;
 import com.enterprise.ai_backend.repository.DocumentRepository;
+import com.enterprise.ai_backend.repository.DocumentTextView;
+import com.enterprise.ai_backend.search.InvertedIndex;
+import com.enterprise.ai_backend.search.TrigramIndex;
+import com.enterprise.ai_backend.util.ContentCompression;
 
 class ElasticServiceTest {
 
     @Mock
     private DocumentRepository documentRepository;
 
+    @Spy
+    private InvertedIndex invertedIndex = new InvertedIndex();
+
+    @Spy
+    private TrigramIndex trigramIndex = new TrigramIndex();
+
+    @Mock
+    private FullTextSearchService fullTextSearchService;
+
     @InjectMocks
     private ElasticService elasticService;
 
+    // Documents the mocked repository returns when search verifies candidates
+    private final Map<Long, DocumentEntity> stored = new HashMap<>();
+
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        when(documentRepository.findAllById(anyIterable())).thenAnswer(inv -> {
+            List<DocumentEntity> found = new ArrayList<>();
+            for (Long id : inv.<Iterable<Long>>getArgument(0)) {
+                if (stored.containsKey(id)) {
+                    found.add(stored.get(id));
+                }
+            }
+            return found;
+        });
     }
 
     @Test
@@ -88,4 +123,83 @@ class ElasticServiceTest {
         // Act & Assert
         assertThrows(RuntimeException.class, () -> elasticService.fetchSummaryById(id));
     }
+
+    @Test
+    void testSearch_ranksFromIndexWithoutScanningRepository() {
+        // Arrange
+        elasticService.indexDocument(doc(1L, "notes.txt", "Quarterly revenue grew in Europe.", "Revenue summary"));
+        elasticService.indexDocument(doc(2L, "plan.pdf", "Revenue revenue revenue targets for next year.", "Targets"));
+        elasticService.indexDocument(doc(3L, "misc.txt", "Nothing relevant here.", "Misc"));
+
+        // Act
+        List<String> results = elasticService.search("Revenue");
+
+        // Assert
+        assertEquals(2, results.size());
+        assertTrue(results.get(0).contains("plan.pdf"));
+        verify(documentRepository, never()).findAll();
+    }
+
+    @Test
+    void testSearch_reflectsRemovalAndClear() {
+        // Arrange
+        elasticService.indexDocument(doc(1L, "a.txt", "alpha beta", "first"));
+        elasticService.indexDocument(doc(2L, "b.txt", "alpha gamma", "second"));
+
+        // Act & Assert
+        elasticService.removeFromIndex(1L);
+        assertEquals(List.of("📄 b.txt → second"), elasticService.search("alpha"));
+
+        elasticService.deleteAllIndices();
+        assertTrue(elasticService.search("alpha").isEmpty());
+    }
+
+    @Test
+    void testSearch_matchesPartialWordsAndCodes() {
+        // Arrange
+        elasticService.indexDocument(doc(1L, "po.txt", "Purchase order PO-2024-0117 approved.", "Orders"));
+        elasticService.indexDocument(doc(2L, "misc.txt", "Order PO-2023-9999 pending.", "Orders"));
+        elasticService.indexDocument(doc(3L, "notes.txt", "Quarterly revenue grew.", "Revenue summary"));
+
+        // Act & Assert: substrings no word tokenizer would produce
+        assertEquals(List.of("📄 po.txt → Orders"), elasticService.search("2024-01"));
+        assertEquals(List.of("📄 notes.txt → Revenue summary"), elasticService.search("EVENU"));
+        assertEquals(2, elasticService.search("po-20").size());
+        assertTrue(elasticService.search("PO-2025").isEmpty());
+    }
+
+    @Test
+    void testRebuildIndex_readsKeysetPagesOfTextIncludingCompressedContent() {
+        // Arrange
+        when(documentRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Pageable.class))).thenReturn(List.of(
+            text(1L, "plain.txt", "Quarterly revenue grew.", null),
+            text(2L, "packed.txt", "", ContentCompression.compress("Invoice INV-7731 is overdue."))));
+        doc(1L, "plain.txt", "Quarterly revenue grew.", "Plain");
+        doc(2L, "packed.txt", "Invoice INV-7731 is overdue.", "Packed");
+
+        // Act
+        elasticService.rebuildIndex();
+
+        // Assert
+        assertEquals(List.of("📄 packed.txt → Packed"), elasticService.search("inv-77"));
+        assertEquals(List.of("📄 plain.txt → Plain"), elasticService.search("revenue"));
+        verify(documentRepository, never()).findAll(any(Pageable.class));
+    }
+
+    private static DocumentTextView text(Long id, String fileName, String content, byte[] compressed) {
+        return new DocumentTextView() {
+            public Long getId() { return id; }
+            public String getFileName() { return fileName; }
+            public String getSummary() { return null; }
+            public String getContent() { return content; }
+            public byte[] getContentCompressed() { return compressed; }
+        };
+    }
+
+    private DocumentEntity doc(Long id, String fileName, String content, String summary) {
+        DocumentEntity doc = new DocumentEntity(fileName, content, summary);
+        doc.setId(id);
+        stored.put(id, doc);
+        return doc;
+    }
 }
@@ -1,21 +1,35 @@
 package com.enterprise.ai_backend.service;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+import org.apache.tika.config.TikaConfig;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.mock.web.MockMultipartFile;
 
+import com.enterprise.ai_backend.parser.PdfDocumentParser;
+import com.enterprise.ai_backend.parser.PlainTextDocumentParser;
+import com.enterprise.ai_backend.parser.TikaDocumentParser;
+import com.enterprise.ai_backend.support.TestPdfs;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
 class FileParserServiceTest {
 
     private FileParserService fileParserService;
 
     @BeforeEach
     void setUp() {
-        fileParserService = new FileParserService();
+        fileParserService = new FileParserService(
+                List.of(new PdfDocumentParser(), new PlainTextDocumentParser(), new TikaDocumentParser()),
+                TikaConfig.getDefaultConfig(), 5_000_000, new SimpleMeterRegistry());
     }
 
     @Test
@@ -48,6 +62,77 @@ class FileParserServiceTest {
         });
     }
 
+    @Test
+    void testParse_detectsTypeFromContentNotExtension() throws IOException {
+        // Arrange: a real PDF uploaded without a .pdf extension
+        MockMultipartFile mockFile = new MockMultipartFile(
+                "file", "scan-0001", "application/octet-stream", TestPdfs.create(1, 3));
+
+        // Act
+        String result = fileParserService.parse(mockFile);
+
+        // Assert
+        assertTrue(result.contains("Page 1 line 3"));
+    }
+
+    @Test
+    void testParseDocxFile_routedToTika() throws IOException {
+        // Arrange
+        ByteArrayOutputStream docx = new ByteArrayOutputStream();
+        try (XWPFDocument document = new XWPFDocument()) {
+            document.createParagraph().createRun().setText("Quarterly board minutes");
+            document.write(docx);
+        }
+        MockMultipartFile mockFile = new MockMultipartFile("file", "minutes.docx",
+                "application/vnd.openxmlformats-officedocument.wordprocessingml.document", docx.toByteArray());
+
+        // Act
+        String result = fileParserService.parse(mockFile);
+
+        // Assert
+        assertEquals("Quarterly board minutes", result);
+    }
+
+    @Test
+    void testParseHtmlFile_returnsBodyText() throws IOException {
+        // Arrange
+        MockMultipartFile mockFile = new MockMultipartFile("file", "page.html", "text/html",
+                "<html><head><title>T</title></head><body><p>Hello <b>world</b></p></body></html>".getBytes());
+
+        // Act
+        String result = fileParserService.parse(mockFile);
+
+        // Assert
+        assertTrue(result.contains("Hello world"));
+    }
+
+    @Test
+    void testParse_stopsAtCharacterCap() throws IOException {
+        // Arrange
+        FileParserService cappedParser = new FileParserService(
+                List.of(new PlainTextDocumentParser(), new TikaDocumentParser()), TikaConfig.getDefaultConfig(), 100,
+                new SimpleMeterRegistry());
+        MockMultipartFile textFile = new MockMultipartFile(
+                "file", "big.txt", "text/plain", "word ".repeat(100_000).getBytes());
+        MockMultipartFile htmlFile = new MockMultipartFile(
+                "file", "big.html", "text/html", ("<html><body>" + "<p>word</p>".repeat(10_000) + "</body></html>").getBytes());
+
+        // Act & Assert
+        assertTrue(cappedParser.parse(textFile).length() <= 100);
+        assertTrue(cappedParser.parse(htmlFile).length() <= 100);
+    }
+
+    @Test
+    void testParseTextFile_multiByteCharactersAcrossBufferBoundaries() throws IOException {
+        // Arrange: 3-byte characters straddle every 64 KB decode buffer
+        String textContent = "€uro ".repeat(50_000).trim();
+        MockMultipartFile mockFile = new MockMultipartFile(
+                "file", "euro.txt", "text/plain", textContent.getBytes(java.nio.charset.StandardCharsets.UTF_8));
+
+        // Act & Assert
+        assertEquals(textContent, fileParserService.parse(mockFile));
+    }
+
     @Test
     void testParseFile_nullFilename() {
         // Arrange: mock file with null filename
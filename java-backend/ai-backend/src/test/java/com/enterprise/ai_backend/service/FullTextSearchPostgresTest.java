@@ -0,0 +1,87 @@
+package com.enterprise.ai_backend.service;
+
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.enterprise.ai_backend.model.DocumentEntity;
+import com.enterprise.ai_backend.repository.DocumentRepository;
+
+/**
+ * Full-text search against a real PostgreSQL in Docker: column and GIN index
+ * creation, the startup backfill and {@code ts_rank} ordering. Excluded from
+ * the default build; run with
+ * {@code mvn test -Dtest.excludedGroups= -Dgroups=postgres}.
+ */
+@Tag("postgres")
+@Testcontainers(disabledWithoutDocker = true)
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class FullTextSearchPostgresTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void postgres(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @Autowired
+    private DocumentRepository documentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void backfillsExistingRowsAndRanksMatches() throws Exception {
+        // Arrange: rows written before full-text search was switched on
+        DocumentEntity passing = documentRepository.save(
+                new DocumentEntity("notes.txt", "The revenue line was flat this quarter.", "Quarterly notes"));
+        DocumentEntity strong = documentRepository.save(
+                new DocumentEntity("revenue.txt", "Revenue grew. Revenue per region grew too.", "Revenue report"));
+        documentRepository.save(new DocumentEntity("hiring.txt", "Hiring plans for the next year.", "Hiring"));
+        FullTextSearchService service = new FullTextSearchService(
+                documentRepository, jdbcTemplate, dataSource, true, "english", 1_000_000, 2, 100);
+
+        // Act
+        service.initialize();
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!service.isReady() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        DocumentEntity added = documentRepository.save(
+                new DocumentEntity("outlook.txt", "Q4 revenue.", "Revenue outlook"));
+        service.index(added);
+
+        // Assert: the file name and summary weigh more than the content
+        assertTrue(service.isReady());
+        List<Long> ranked = service.search("revenue", 10);
+        assertEquals(3, ranked.size());
+        assertEquals(strong.getId(), ranked.get(0));
+        assertTrue(ranked.containsAll(List.of(passing.getId(), added.getId())));
+        service.shutdown();
+    }
+}
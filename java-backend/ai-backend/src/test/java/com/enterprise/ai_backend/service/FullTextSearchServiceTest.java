@@ -0,0 +1,137 @@
+package com.enterprise.ai_backend.service;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.enterprise.ai_backend.dto.DocumentSummaryDTO;
+import com.enterprise.ai_backend.model.DocumentEntity;
+import com.enterprise.ai_backend.repository.DocumentRepository;
+import com.enterprise.ai_backend.search.NearDuplicateIndex;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DataJpaTest
+class FullTextSearchServiceTest {
+
+    @Autowired
+    private DocumentRepository documentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void staysOffOutsidePostgres() {
+        // Arrange: the test database is H2
+        DocumentRepository repository = mock(DocumentRepository.class);
+        FullTextSearchService service = new FullTextSearchService(
+                repository, jdbcTemplate, dataSource, true, "english", 1_000_000, 100, 30_000);
+        DocumentEntity doc = new DocumentEntity("report.txt", "Quarterly revenue", "Revenue summary");
+        doc.setId(1L);
+
+        // Act
+        service.initialize();
+        service.index(doc);
+
+        // Assert
+        assertFalse(service.isReady());
+        verify(repository, never()).updateSearchVector(anyLong(), anyString(), anyString(), anyString(), anyString());
+    }
+
+    @Test
+    void failedVectorWriteIsRetriedWhileSearchStaysOn() throws Exception {
+        // Arrange: a PostgreSQL connection as far as detection goes
+        DataSource postgres = mock(DataSource.class);
+        Connection connection = mock(Connection.class);
+        DatabaseMetaData metaData = mock(DatabaseMetaData.class);
+        when(postgres.getConnection()).thenReturn(connection);
+        when(connection.getMetaData()).thenReturn(metaData);
+        when(metaData.getDatabaseProductName()).thenReturn("PostgreSQL");
+        DocumentRepository repository = mock(DocumentRepository.class);
+        DocumentEntity doc = new DocumentEntity("report.txt", "Quarterly revenue", "Revenue summary");
+        doc.setId(7L);
+        when(repository.findIdsWithoutSearchVector(anyLong(), anyInt())).thenReturn(List.of());
+        FullTextSearchService service = new FullTextSearchService(
+                repository, mock(JdbcTemplate.class), postgres, true, "english", 1_000_000, 100, 100);
+        service.initialize();
+        awaitReady(service, true);
+
+        // Act: the first write fails and the retry succeeds
+        when(repository.updateSearchVector(anyLong(), anyString(), anyString(), anyString(), anyString()))
+                .thenThrow(new IllegalStateException("connection reset"))
+                .thenReturn(1);
+        when(repository.findAllById(List.of(7L))).thenReturn(List.of(doc));
+        service.index(doc);
+
+        // Assert: only that document is retried, and search never falls back to LIKE
+        assertTrue(service.isReady());
+        verify(repository, timeout(5_000).times(2))
+                .updateSearchVector(eq(7L), anyString(), anyString(), anyString(), anyString());
+        assertTrue(service.isReady());
+        verify(repository, times(1)).findIdsWithoutSearchVector(anyLong(), anyInt());
+        service.shutdown();
+    }
+
+    private static void awaitReady(FullTextSearchService service, boolean ready) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (service.isReady() != ready && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(service.isReady() == ready, "ready should be " + ready);
+    }
+
+    @Test
+    void searchReturnsSummariesInRankOrder() {
+        // Arrange
+        LocalDateTime now = LocalDateTime.now();
+        DocumentEntity older = new DocumentEntity("older.txt", "revenue", "summary");
+        older.setCreatedAt(now.minusDays(1));
+        DocumentEntity newer = new DocumentEntity("newer.txt", "revenue revenue", "summary");
+        newer.setCreatedAt(now);
+        Long olderId = documentRepository.save(older).getId();
+        Long newerId = documentRepository.save(newer).getId();
+
+        FullTextSearchService fullTextSearchService = mock(FullTextSearchService.class);
+        when(fullTextSearchService.isReady()).thenReturn(true);
+        // Best rank first, even though it is the older document
+        when(fullTextSearchService.search(eq("revenue"), anyInt())).thenReturn(List.of(olderId, newerId));
+        DocumentService documentService = new DocumentService(documentRepository, null, null,
+                mock(ElasticService.class),
+                new NearDuplicateService(documentRepository, new NearDuplicateIndex(), 0.8, "flag", 500),
+                fullTextSearchService, mock(TermService.class), mock(SemanticSearchService.class),
+                new PipelineMetrics(new SimpleMeterRegistry()), null, 1_000, 50, 200);
+
+        // Act
+        List<DocumentSummaryDTO> results = documentService.searchDocumentsByFileNameContentOrSummary("revenue");
+
+        // Assert
+        assertEquals(List.of("older.txt", "newer.txt"), results.stream().map(DocumentSummaryDTO::getFileName).toList());
+        verify(fullTextSearchService).search(eq("revenue"), eq(200));
+        verify(fullTextSearchService, never()).index(any());
+    }
+}
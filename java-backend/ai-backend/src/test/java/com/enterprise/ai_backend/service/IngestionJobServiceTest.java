@@ -0,0 +1,107 @@
+package com.enterprise.ai_backend.service;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import org.springframework.mock.web.MockMultipartFile;
+
+import com.enterprise.ai_backend.dto.IngestionJobStatusDTO;
+import com.enterprise.ai_backend.model.DocumentEntity;
+
+class IngestionJobServiceTest {
+
+    private final DocumentService documentService = mock(DocumentService.class);
+    private IngestionJobService jobService;
+
+    @AfterEach
+    void tearDown() {
+        jobService.shutdown();
+    }
+
+    @Test
+    void submit_runsJobInBackgroundAndReportsStages() throws Exception {
+        // Arrange
+        jobService = new IngestionJobService(documentService, 1, 4, 60);
+        when(documentService.processAndSave(any(), any())).thenAnswer(inv -> {
+            IngestionProgress progress = inv.getArgument(1);
+            progress.started("parse");
+            progress.finished("parse");
+            DocumentEntity saved = new DocumentEntity("report.txt", "content", "summary");
+            saved.setId(42L);
+            return saved;
+        });
+
+        // Act
+        String jobId = jobService.submit(upload());
+        IngestionJobStatusDTO status = awaitFinished(jobId);
+
+        // Assert
+        assertEquals("COMPLETED", status.getState());
+        assertEquals(42L, status.getDocumentId());
+        assertEquals("DONE", status.getStages().get("parse"));
+        assertEquals("report.txt", status.getFileName());
+    }
+
+    @Test
+    void submit_rejectsWhenQueueIsFull() throws Exception {
+        // Arrange: one worker blocked, queue of one already taken
+        jobService = new IngestionJobService(documentService, 1, 1, 60);
+        CountDownLatch release = new CountDownLatch(1);
+        when(documentService.processAndSave(any(), any())).thenAnswer(inv -> {
+            release.await(5, TimeUnit.SECONDS);
+            return new DocumentEntity("report.txt", "content", "summary");
+        });
+        jobService.submit(upload());
+        awaitQueueDepth(0);
+        jobService.submit(upload());
+
+        // Act & Assert
+        assertThrows(RejectedExecutionException.class, () -> jobService.submit(upload()));
+        release.countDown();
+    }
+
+    @Test
+    void failedJobIsReported() throws Exception {
+        // Arrange
+        jobService = new IngestionJobService(documentService, 1, 4, 60);
+        when(documentService.processAndSave(any(), any())).thenThrow(new IllegalArgumentException("bad file"));
+
+        // Act
+        IngestionJobStatusDTO status = awaitFinished(jobService.submit(upload()));
+
+        // Assert
+        assertEquals("FAILED", status.getState());
+        assertEquals("bad file", status.getError());
+    }
+
+    private IngestionJobStatusDTO awaitFinished(String jobId) throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            IngestionJobStatusDTO status = jobService.getStatus(jobId).orElseThrow();
+            if (status.getFinishedAt() != null) {
+                return status;
+            }
+            Thread.sleep(20);
+        }
+        throw new AssertionError("Job " + jobId + " did not finish");
+    }
+
+    private void awaitQueueDepth(int depth) throws InterruptedException {
+        for (int i = 0; i < 100 && jobService.getQueueDepth() != depth; i++) {
+            Thread.sleep(10);
+        }
+        assertTrue(jobService.getQueueDepth() == depth);
+    }
+
+    private MockMultipartFile upload() {
+        return new MockMultipartFile("file", "report.txt", "text/plain", "Some report".getBytes());
+    }
+}
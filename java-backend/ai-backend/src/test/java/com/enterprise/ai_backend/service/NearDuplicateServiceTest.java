@@ -0,0 +1,75 @@
+package com.enterprise.ai_backend.service;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+
+import com.enterprise.ai_backend.model.DocumentEntity;
+import com.enterprise.ai_backend.repository.DocumentRepository;
+import com.enterprise.ai_backend.search.NearDuplicateIndex;
+
+@DataJpaTest
+class NearDuplicateServiceTest {
+
+    private static final String REPORT = "Acme Corporation reported record quarterly revenue of 4.2 billion dollars, "
+            + "driven by strong demand for cloud services in Europe and Asia. Operating margin improved to "
+            + "21 percent while headcount stayed flat.";
+
+    @Autowired
+    private DocumentRepository documentRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    void rebuildSignsContentWithoutWordsOnlyOnce() {
+        // Arrange: a legacy row without a signature and without words
+        DocumentEntity empty = documentRepository.save(new DocumentEntity("scan.pdf", "  ", "No text"));
+        NearDuplicateService service = new NearDuplicateService(
+                documentRepository, new NearDuplicateIndex(), 0.8, "flag", 500);
+
+        // Act
+        service.rebuildIndex();
+        entityManager.clear();
+
+        // Assert: marked as signed, so the next start does not load it again
+        assertArrayEquals(new byte[0], documentRepository.findById(empty.getId()).orElseThrow().getMinhash());
+        assertEquals(List.of(), documentRepository.findByIdGreaterThanAndMinhashIsNullOrderByIdAsc(
+                0L, PageRequest.ofSize(10)));
+    }
+
+    @Test
+    void sweepChecksDocumentsEditedBelowTheLastSweptId() {
+        // Arrange: two distinct documents, swept
+        NearDuplicateService service = new NearDuplicateService(
+                documentRepository, new NearDuplicateIndex(), 0.8, "flag", 500);
+        DocumentEntity memo = save(service, "memo.txt", "An unrelated memo about parking spaces in the west garage.");
+        DocumentEntity report = save(service, "report.txt", REPORT);
+        service.completeSweep(service.findDuplicates());
+
+        // Act: the older memo is edited into a copy of the newer report
+        memo.setContent(REPORT + " Revised.");
+        service.stamp(memo, service.check(memo.getContent()));
+        service.register(documentRepository.save(memo));
+        NearDuplicateIndex.Sweep sweep = service.findDuplicates();
+        service.completeSweep(sweep);
+
+        // Assert
+        assertEquals(List.of(report.getId()), sweep.duplicates());
+        assertEquals(List.of(), service.findDuplicates().duplicates());
+    }
+
+    private DocumentEntity save(NearDuplicateService service, String fileName, String content) {
+        DocumentEntity doc = new DocumentEntity(fileName, content, "summary");
+        service.stamp(doc, service.check(content));
+        DocumentEntity saved = documentRepository.save(doc);
+        service.register(saved);
+        return saved;
+    }
+}
@@ -0,0 +1,93 @@
+package com.enterprise.ai_backend.service;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import com.enterprise.ai_backend.dto.SemanticSearchResultDTO;
+import com.enterprise.ai_backend.model.DocumentEntity;
+import com.enterprise.ai_backend.repository.DocumentRepository;
+import com.enterprise.ai_backend.search.HashingEmbedder;
+import com.enterprise.ai_backend.search.Vectors;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DataJpaTest
+class SemanticSearchServiceTest {
+
+    @Autowired
+    private DocumentRepository documentRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private SemanticSearchService semanticSearchService;
+
+    @BeforeEach
+    void setUp() {
+        semanticSearchService = new SemanticSearchService(
+                documentRepository, new HashingEmbedder(256), new PipelineMetrics(new SimpleMeterRegistry()), true, 16, 100, 64, 100, 4000, "", 2);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        semanticSearchService.shutdown();
+    }
+
+    @Test
+    void loadAndBackfill_makeStoredDocumentsSearchable() {
+        // Arrange
+        DocumentEntity invoice = save("invoice.txt", "Supplier invoice overdue, payment terms net thirty days", true);
+        save("hiking.txt", "Mountain hiking trail through pine forest to an alpine lake", true);
+        DocumentEntity stale = save("policy.txt", "Remote work policy for employees and managers", false);
+        stale.setEmbedding(new byte[] {1, 2, 3, 4});
+        save("safety.txt", "Safety committee minutes about fire drills in the warehouse", false);
+        entityManager.flush();
+        entityManager.clear();
+
+        // Act
+        int loaded = semanticSearchService.load();
+        int embedded = semanticSearchService.backfill();
+        List<SemanticSearchResultDTO> results = semanticSearchService.search("overdue supplier payment invoice", 2);
+
+        // Assert
+        assertEquals(2, loaded);
+        assertEquals(2, embedded);
+        assertEquals(4, semanticSearchService.size());
+        assertEquals(2, results.size());
+        assertEquals(invoice.getId(), results.get(0).getId());
+        assertEquals("invoice.txt", results.get(0).getFileName());
+        assertTrue(results.get(0).getScore() > results.get(1).getScore());
+        entityManager.clear();
+        assertNotNull(Vectors.fromBytes(documentRepository.findById(stale.getId()).orElseThrow().getEmbedding(), 256));
+    }
+
+    @Test
+    void removedDocumentsAreNoLongerReturned() {
+        // Arrange
+        DocumentEntity doc = save("contract.txt", "Contract renewal for the cloud hosting agreement", true);
+        semanticSearchService.register(doc);
+
+        // Act
+        semanticSearchService.remove(doc.getId());
+
+        // Assert
+        assertTrue(semanticSearchService.search("cloud hosting contract", 5).isEmpty());
+    }
+
+    private DocumentEntity save(String fileName, String content, boolean embed) {
+        DocumentEntity doc = new DocumentEntity(fileName, content, "summary of " + fileName, "", "");
+        if (embed) {
+            doc.setEmbedding(Vectors.toBytes(semanticSearchService.embed(content)));
+        }
+        return documentRepository.save(doc);
+    }
+}
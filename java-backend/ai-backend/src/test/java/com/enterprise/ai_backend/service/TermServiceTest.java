@@ -0,0 +1,147 @@
+package com.enterprise.ai_backend.service;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.enterprise.ai_backend.model.DocumentEntity;
+import com.enterprise.ai_backend.model.DocumentTermEntity;
+import com.enterprise.ai_backend.model.TermKind;
+import com.enterprise.ai_backend.repository.DocumentRepository;
+import com.enterprise.ai_backend.repository.DocumentTermRepository;
+import com.enterprise.ai_backend.repository.TermCountRepository;
+
+// Term writes commit in their own transactions, so the test must not hold one open
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TermServiceTest {
+
+    @Autowired
+    private DocumentTermRepository termRepository;
+
+    @Autowired
+    private TermCountRepository countRepository;
+
+    @Autowired
+    private DocumentRepository documentRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TermService termService;
+
+    @BeforeEach
+    void setUp() {
+        termService = new TermService(termRepository, countRepository, documentRepository, transactionManager, 100, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        termService.clear();
+        documentRepository.deleteAll();
+    }
+
+    @Test
+    void countsFollowReplacedAndRemovedDocuments() {
+        // Arrange
+        termService.replaceTerms(1L, List.of(keyword("revenue"), keyword("growth"), entity("Acme", "ORG")));
+        termService.replaceTerms(2L, List.of(keyword("revenue"), entity("Acme", "ORG"), entity("Acme", "ORG")));
+        termService.replaceTerms(3L, List.of(keyword("revenue"), entity("Jane Doe", "PERSON")));
+
+        // Act & Assert
+        assertEquals(List.of("revenue:3", "growth:1"), facets(TermKind.KEYWORD, null));
+        assertEquals(List.of("Acme:2", "Jane Doe:1"), facets(TermKind.ENTITY, null));
+        assertEquals(List.of("Jane Doe:1"), facets(TermKind.ENTITY, "person"));
+        assertEquals(List.of(2L, 1L), termService.findDocumentIds(TermKind.ENTITY, "Acme", "ORG", 10));
+
+        termService.replaceTerms(1L, List.of(keyword("margin")));
+        assertEquals(List.of("revenue:2", "margin:1"), facets(TermKind.KEYWORD, null));
+        assertEquals(List.of("Acme:1", "Jane Doe:1"), facets(TermKind.ENTITY, null));
+
+        termService.removeDocuments(List.of(2L, 3L));
+        assertEquals(List.of("margin:1"), facets(TermKind.KEYWORD, null));
+        assertTrue(facets(TermKind.ENTITY, null).isEmpty());
+        assertEquals(1, countRepository.count());
+    }
+
+    @Test
+    void termWritesCommitInsideACallersTransaction() {
+        // Arrange: a caller transaction that rolls back, as when removeDuplicateDocuments fails
+        TransactionTemplate caller = new TransactionTemplate(transactionManager);
+
+        // Act
+        caller.executeWithoutResult(status -> {
+            termService.replaceTerms(1L, List.of(keyword("revenue")));
+            status.setRollbackOnly();
+        });
+
+        // Assert: the counts were committed while TermService held its lock
+        assertEquals(List.of("revenue:1"), facets(TermKind.KEYWORD, null));
+    }
+
+    @Test
+    void parsesAiEngineResponsesWithScoresAndLabels() {
+        // Arrange
+        List<Map<String, Object>> keywords = List.of(
+                Map.of("keyword", "cloud revenue", "score", 0.71),
+                Map.of("keyword", "  "));
+        Map<String, Object> entities = Map.of(
+                "ORG", List.of(Map.of("text", "Acme"), Map.of("text", "Acme "), Map.of("text", "Globex")),
+                "GPE", List.of(Map.of("text", "Europe")));
+
+        // Act
+        List<DocumentTermEntity> keywordTerms = TermService.keywordTerms(keywords);
+        List<DocumentTermEntity> entityTerms = TermService.entityTerms(entities);
+
+        // Assert
+        assertEquals(1, keywordTerms.size());
+        assertEquals(0.71, keywordTerms.get(0).getScore());
+        DocumentTermEntity acme = entityTerms.stream().filter(t -> t.getTerm().equals("Acme")).findFirst().orElseThrow();
+        assertEquals("ORG", acme.getLabel());
+        assertEquals(2.0, acme.getScore());
+        assertEquals(3, entityTerms.size());
+    }
+
+    @Test
+    void backfillNormalizesDocumentsStoredAsJoinedStrings() {
+        // Arrange: three legacy documents, read in pages of two
+        for (int i = 0; i < 3; i++) {
+            documentRepository.save(new DocumentEntity("legacy-" + i + ".txt", "content", "summary",
+                    "revenue, growth", i == 0 ? "Acme, Europe" : ""));
+        }
+
+        // Act
+        termService.backfill();
+
+        // Assert
+        assertEquals(List.of("growth:3", "revenue:3"), facets(TermKind.KEYWORD, null));
+        assertEquals(List.of("Acme:1", "Europe:1"), facets(TermKind.ENTITY, null));
+        assertTrue(documentRepository.findWithoutTermsAfter(0L, PageRequest.ofSize(10)).isEmpty());
+    }
+
+    private List<String> facets(TermKind kind, String label) {
+        return termService.topTerms(kind, label, 10).stream()
+                .map(f -> f.getTerm() + ":" + f.getCount())
+                .toList();
+    }
+
+    private static DocumentTermEntity keyword(String term) {
+        return new DocumentTermEntity(TermKind.KEYWORD, term, "", 0.5);
+    }
+
+    private static DocumentTermEntity entity(String term, String label) {
+        return new DocumentTermEntity(TermKind.ENTITY, term, label, 1.0);
+    }
+}
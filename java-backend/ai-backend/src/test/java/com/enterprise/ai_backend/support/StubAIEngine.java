@@ -0,0 +1,186 @@
+package com.enterprise.ai_backend.support;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+import com.enterprise.ai_backend.search.HashingEmbedder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * In-process stand-in for the Python AI engine, serving /summarize/,
+ * /keywords/, /entities/ and /embed/ (plus the batched variants) on a random
+ * local port. Like a model server, it handles as many requests at a time as
+ * it has workers, one by default: each request costs a latency drawn from
+ * the configured distribution plus a per-item cost, and fails with 503 at
+ * the configured error rate.
+ */
+public class StubAIEngine implements AutoCloseable {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final List<Map<String, Object>> KEYWORDS = List.of(
+            Map.of("keyword", "alpha", "score", 0.9),
+            Map.of("keyword", "beta", "score", 0.5));
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final AtomicInteger requestCount = new AtomicInteger();
+    private final AtomicInteger errorCount = new AtomicInteger();
+    private final HashingEmbedder embedder;
+    private volatile Semaphore workers = new Semaphore(1, true);
+    private volatile LongSupplier latencyMs = () -> 0L;
+    private volatile long perItemLatencyMs;
+    private volatile double errorRate;
+
+    public StubAIEngine() throws IOException {
+        this(384);
+    }
+
+    @SuppressWarnings("unchecked")
+    public StubAIEngine(int embeddingDimensions) throws IOException {
+        embedder = new HashingEmbedder(embeddingDimensions);
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/summarize/", exchange -> respond(exchange, body -> {
+            String text = (String) body.get("text");
+            return Map.of("summary", "summary of " + text.length() + " chars");
+        }));
+        server.createContext("/keywords/", exchange -> respond(exchange, body -> Map.of("keywords", KEYWORDS)));
+        server.createContext("/entities/", exchange -> respond(exchange, body -> Map.of(
+                "ORG", List.of(Map.of("text", "Acme")))));
+        server.createContext("/embed/", exchange -> respond(exchange, body ->
+                Map.of("embedding", embed((String) body.get("text")))));
+        server.createContext("/summarize/batch", exchange -> respond(exchange, body -> {
+            List<String> texts = (List<String>) body.get("texts");
+            return Map.of("summaries", texts.stream().map(t -> "summary of " + t.length() + " chars").toList());
+        }));
+        server.createContext("/keywords/batch", exchange -> respond(exchange, body -> {
+            List<?> items = (List<?>) body.get("items");
+            return Map.of("results", items.stream().map(i -> Map.of("keywords", KEYWORDS)).toList());
+        }));
+        server.createContext("/embed/batch", exchange -> respond(exchange, body -> {
+            List<String> texts = (List<String>) body.get("texts");
+            return Map.of("embeddings", texts.stream().map(this::embed).toList());
+        }));
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    /**
+     * Log-normal latencies with the given median and 99th percentile, the
+     * long-tailed shape of model inference times.
+     */
+    public static LongSupplier logNormalLatency(long medianMs, long p99Ms, long seed) {
+        double mu = Math.log(Math.max(1, medianMs));
+        double sigma = Math.max(0, Math.log((double) Math.max(p99Ms, medianMs) / Math.max(1, medianMs))) / 2.326;
+        Random random = new Random(seed);
+        return () -> {
+            synchronized (random) {
+                return Math.round(Math.exp(mu + sigma * random.nextGaussian()));
+            }
+        };
+    }
+
+    public String url(String path) {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + path;
+    }
+
+    public void setLatencyMs(long latencyMs) {
+        this.latencyMs = () -> latencyMs;
+    }
+
+    public void setLatency(LongSupplier latencyMs) {
+        this.latencyMs = latencyMs;
+    }
+
+    public void setPerItemLatencyMs(long perItemLatencyMs) {
+        this.perItemLatencyMs = perItemLatencyMs;
+    }
+
+    /** Share of requests, between 0 and 1, that fail with 503 after their latency. */
+    public void setErrorRate(double errorRate) {
+        this.errorRate = errorRate;
+    }
+
+    /** Number of requests served at the same time. */
+    public void setWorkers(int workers) {
+        this.workers = new Semaphore(Math.max(1, workers), true);
+    }
+
+    public int getRequestCount() {
+        return requestCount.get();
+    }
+
+    public int getErrorCount() {
+        return errorCount.get();
+    }
+
+    private List<Float> embed(String text) {
+        float[] vector = embedder.embed(text);
+        Float[] boxed = new Float[vector.length];
+        for (int i = 0; i < vector.length; i++) {
+            boxed[i] = vector[i];
+        }
+        return List.of(boxed);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void respond(HttpExchange exchange, Handler handler) throws IOException {
+        requestCount.incrementAndGet();
+        try (InputStream in = exchange.getRequestBody()) {
+            Map<String, Object> body = MAPPER.readValue(in, Map.class);
+            Semaphore model = workers;
+            model.acquire();
+            try {
+                Thread.sleep(Math.max(0, latencyMs.getAsLong()) + perItemLatencyMs * itemCount(body));
+            } finally {
+                model.release();
+            }
+            if (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+                errorCount.incrementAndGet();
+                send(exchange, 503, "model overloaded".getBytes(StandardCharsets.UTF_8));
+                return;
+            }
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            send(exchange, 200, MAPPER.writeValueAsBytes(handler.handle(body)));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            send(exchange, 500, "interrupted".getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private static void send(HttpExchange exchange, int status, byte[] response) throws IOException {
+        exchange.sendResponseHeaders(status, response.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(response);
+        }
+    }
+
+    private static int itemCount(Map<String, Object> body) {
+        Object batch = body.containsKey("texts") ? body.get("texts") : body.get("items");
+        return batch instanceof List<?> list ? list.size() : 1;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        Object handle(Map<String, Object> body);
+    }
+}
@@ -0,0 +1,44 @@
+package com.enterprise.ai_backend.support;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+
+/**
+ * Builds synthetic multi-page PDFs for parser tests and benchmarks.
+ */
+public final class TestPdfs {
+
+    private TestPdfs() {
+    }
+
+    /**
+     * Creates a PDF with {@code pages} pages of {@code linesPerPage} numbered lines each.
+     */
+    public static byte[] create(int pages, int linesPerPage) throws IOException {
+        try (PDDocument document = new PDDocument();
+             ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            for (int p = 1; p <= pages; p++) {
+                PDPage page = new PDPage();
+                document.addPage(page);
+                try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+                    content.beginText();
+                    content.setFont(PDType1Font.HELVETICA, 10);
+                    content.setLeading(14);
+                    content.newLineAtOffset(40, 750);
+                    for (int line = 1; line <= linesPerPage; line++) {
+                        content.showText("Page " + p + " line " + line + " quarterly revenue grew across regions");
+                        content.newLine();
+                    }
+                    content.endText();
+                }
+            }
+            document.save(out);
+            return out.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.enterprise.ai_backend.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+class TextChunkerTest {
+
+    @Test
+    void splitsLongParagraphsOnSentencesWithinTheLimit() {
+        // Arrange
+        String text = "Short intro.\n\n"
+                + "First long sentence about revenue. Second long sentence about margin. Third one about growth.";
+
+        // Act
+        List<String> chunks = TextChunker.split(text, 40);
+
+        // Assert
+        assertTrue(chunks.stream().allMatch(chunk -> chunk.length() <= 40), chunks.toString());
+        assertTrue(chunks.contains("Second long sentence about margin."), chunks.toString());
+        assertEquals(text.replace("\n\n", " "), String.join(" ", chunks).replace("\n\n", " "));
+    }
+
+    @Test
+    void cutsOversizedSentencesAtSpacesAndKeepsEveryWord() {
+        // Arrange
+        String text = "word ".repeat(100).strip();
+
+        // Act
+        List<String> chunks = TextChunker.split(text, 32);
+
+        // Assert
+        assertTrue(chunks.stream().allMatch(chunk -> chunk.length() <= 32 && !chunk.endsWith("wor")));
+        assertEquals(text, String.join(" ", chunks));
+        assertEquals(List.of(), TextChunker.split("  \n\n ", 32));
+    }
+
+    @Test
+    void insertingAParagraphOnlyChangesNearbyChunks() {
+        // Arrange
+        List<String> paragraphs = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            paragraphs.add("Paragraph " + i + " discusses item " + (i * 7919 % 1000) + " of the quarterly report.");
+        }
+        List<String> before = TextChunker.split(String.join("\n\n", paragraphs), 400);
+
+        // Act
+        paragraphs.add(20, "An inserted paragraph about a late supplier invoice.");
+        List<String> after = TextChunker.split(String.join("\n\n", paragraphs), 400);
+
+        // Assert
+        List<String> changed = new ArrayList<>(after);
+        changed.removeAll(before);
+        assertTrue(before.size() > 20, "expected many chunks, got " + before.size());
+        assertTrue(changed.size() <= 3, changed.size() + " of " + after.size() + " chunks changed");
+    }
+}